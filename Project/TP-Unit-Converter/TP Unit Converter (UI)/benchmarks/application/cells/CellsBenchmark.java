@@ -0,0 +1,143 @@
+package application.cells;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import measures.MeasureType;
+
+/**
+ * Benchmark of custom cells creation.
+ * Compares cells whose FXML file is loaded for each cell with cells stamped
+ * from a {@link CellTemplate}:
+ * <ul>
+ * <li>cell creation time: mean time to create a {@link MeasuresCell}</li>
+ * <li>popup-open latency: mean time to show the popup of a new
+ * {@link ComboBox} (which creates and lays out all its cells)</li>
+ * </ul>
+ * This benchmark belongs to the benchmarks source folder (not shipped with
+ * the application) but to the {@code application.cells} package of the cells
+ * it measures.
+ * Usage: {@code java application.cells.CellsBenchmark [cells] [popups]}
+ * @author davidroussel
+ */
+public class CellsBenchmark
+{
+	/**
+	 * Default number of cells to create
+	 */
+	private static final int DefaultCells = 2000;
+
+	/**
+	 * Default number of popups to open
+	 */
+	private static final int DefaultPopups = 100;
+
+	/**
+	 * Mean time (in µs) to create a cell
+	 * @param cells number of cells to create
+	 * @return the mean creation time of a cell
+	 */
+	private static double cellCreation(int cells)
+	{
+		long start = System.nanoTime();
+		for (int i = 0; i < cells; i++)
+		{
+			new MeasuresCell().updateItem(MeasureType.LENGTH, false);
+		}
+		return (System.nanoTime() - start) / (1000.0 * cells);
+	}
+
+	/**
+	 * Mean time (in µs) to open the popup of a new combo box of measures
+	 * @param stage the stage to show combo boxes in
+	 * @param popups number of popups to open
+	 * @return the mean opening time of a popup
+	 */
+	private static double popupOpening(Stage stage, int popups)
+	{
+		long total = 0L;
+		for (int i = 0; i < popups; i++)
+		{
+			ComboBox<MeasureType> comboBox = new ComboBox<>();
+			comboBox.getItems().setAll(MeasureType.all());
+			comboBox.setValue(MeasureType.LENGTH);
+			comboBox.setButtonCell(new MeasuresCell());
+			comboBox.setCellFactory(listView -> new MeasuresCell());
+			stage.getScene().setRoot(new StackPane(comboBox));
+			comboBox.applyCss();
+			long start = System.nanoTime();
+			comboBox.show();
+			total += System.nanoTime() - start;
+			comboBox.hide();
+		}
+		return total / (1000.0 * popups);
+	}
+
+	/**
+	 * Runs the benchmark (on the JavaFX Application Thread)
+	 * @param cells number of cells to create
+	 * @param popups number of popups to open
+	 */
+	private static void run(int cells, int popups)
+	{
+		Stage stage = new Stage();
+		stage.setScene(new Scene(new StackPane(), 300, 200));
+		stage.show();
+		System.out.println(String.format(Locale.ROOT,
+		                                 "%-8s %16s %16s",
+		                                 "cells",
+		                                 "creation (µs)",
+		                                 "popup (µs)"));
+		for (boolean stamping : new boolean[] {false, true})
+		{
+			CellTemplate.setStamping(stamping);
+			// Warmup
+			cellCreation(cells);
+			popupOpening(stage, popups / 2);
+			double creation = cellCreation(cells);
+			double popup = popupOpening(stage, popups);
+			System.out.println(String.format(Locale.ROOT,
+			                                 "%-8s %16.1f %16.1f",
+			                                 stamping ? "stamped" : "loaded",
+			                                 creation,
+			                                 popup));
+		}
+		CellTemplate.setStamping(true);
+		stage.close();
+	}
+
+	/**
+	 * Benchmark main program
+	 * @param args optional number of cells to create and number of popups to
+	 * open
+	 * @throws InterruptedException if interrupted while waiting for the
+	 * benchmark to complete
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int cells = args.length > 0 ? Integer.parseInt(args[0]) : DefaultCells;
+		int popups = args.length > 1 ? Integer.parseInt(args[1]) : DefaultPopups;
+		CountDownLatch done = new CountDownLatch(1);
+		Platform.startup(() -> {
+			try
+			{
+				if (!CellTemplate.of("MeasuresCell.fxml").isStampable())
+				{
+					System.err.println("MeasuresCell.fxml can't be stamped");
+				}
+				run(cells, popups);
+			}
+			finally
+			{
+				done.countDown();
+			}
+		});
+		done.await();
+		Platform.exit();
+	}
+}
@@ -25,6 +25,7 @@ import javafx.scene.control.Labeled;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
+import logger.LazyLog;
 import logger.LoggerFactory;
 import measures.MeasureType;
 import measures.units.DummyUnit;
@@ -411,8 +412,7 @@ public class Controller implements Initializable //, ChangeListener<String>
 				e.printStackTrace();
 			}
 		}
-		logger.info("Measures changed action triggered: Measures =  "
-			+ content);
+		LazyLog.info(logger, "Measures changed action triggered: Measures =  ", content);
 	}
 
 	/**
@@ -455,12 +455,10 @@ public class Controller implements Initializable //, ChangeListener<String>
 			content = combo.getValue().toString();
 			String src=sourceTextField.getText();
 			sourceUnitLabel.setText(converter.getSourceUnit().getSymbol());
-			if(!src.isEmpty()) {
-				converter.getSourceUnit().setValue(Double.parseDouble(src));
-				converter.convert();
-			}}
+			convertSourceText(src);
+			}
 		}
-		logger.info("Change source unit action triggered. source unit = " + content);
+		LazyLog.info(logger, "Change source unit action triggered. source unit = ", content);
 	}
 
 	/**
@@ -482,12 +480,10 @@ public class Controller implements Initializable //, ChangeListener<String>
 			content = combo.getValue().toString();
 			String destination = sourceTextField.getText();
 			destinationUnitLabel.setText(converter.getDestinationUnit().getSymbol());
-			if(!destination.isEmpty()) {
-				converter.getSourceUnit().setValue(Double.parseDouble(destination));
-				converter.convert();
-			}}
+			convertSourceText(destination);
+			}
 		}
-		logger.info("Change destination unit action triggered. destination unit = " + content);
+		LazyLog.info(logger, "Change destination unit action triggered. destination unit = ", content);
 	}
 
 	/**
@@ -508,7 +504,7 @@ public class Controller implements Initializable //, ChangeListener<String>
 			content = combo.getValue().toString();
 			converter.setSourceSortOrder(sourceUnitSortingComboBox.getValue());
 		}
-		logger.info("Change source unit sorting action triggered. source unit sorting = " + content);
+		LazyLog.info(logger, "Change source unit sorting action triggered. source unit sorting = ", content);
 	}
 
 	/**
@@ -529,7 +525,7 @@ public class Controller implements Initializable //, ChangeListener<String>
 			content = combo.getValue().toString();
 			converter.setDestinationSortOrder(destinationUnitSortingComboBox.getValue());
 		}
-		logger.info("Change destination unit sorting action triggered. destination unit sorting = " + content);
+		LazyLog.info(logger, "Change destination unit sorting action triggered. destination unit sorting = ", content);
 	}
 
 	/**
@@ -540,27 +536,37 @@ public class Controller implements Initializable //, ChangeListener<String>
 	public void onChangeSourceTextdAction(ActionEvent event)
 	{
 		Object source = event.getSource();
-		String text;
-		double value = 0.0;
 		if (source instanceof TextField)
 		{
 			/*
 			 * FIXME It will be much easier to access #sourceTextField when ConverterFrame.fxml is ready
 			 */
 			TextField field = (TextField) source;
-			text = field.getText();
-			try
-			{
-				value = Double.parseDouble(text);
-			}
-			catch (NumberFormatException e)
-			{
-				logger.severe("Unable to parse \"" + text + "\" to double :" + e.getLocalizedMessage());
-			}
-			converter.getSourceUnit().setValue(value);
+			convertSourceText(field.getText());
+		}
+		LazyLog.info(logger, "Source Text changed action triggered with current value ", converter.getSourceValue());
+	}
+
+	/**
+	 * Parse source text into {@link #converter}'s source value and convert it.
+	 * Text is parsed by {@link Converter#setInputText(String)} with a reused
+	 * {@link measures.units.ValueParser} which never throws: incomplete or
+	 * invalid texts leave the current source value unchanged, and
+	 * {@link Converter#convert()} is skipped by the converter when neither
+	 * units nor source value changed.
+	 * @param text the source text to parse (empty texts are ignored)
+	 */
+	private void convertSourceText(String text)
+	{
+		if (text == null || text.isEmpty())
+		{
+			return;
+		}
+		converter.setInputText(text);
+		if (converter.getSourceValue() != null)
+		{
 			converter.convert();
 		}
-		logger.info("Source Text changed action triggered with current value " +  value);
 	}
 
 	/**
@@ -1,12 +1,14 @@
 package application;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.SceneAntialiasing;
@@ -88,6 +90,7 @@ public class Main extends Application
 	@Override
 	public void start(Stage primaryStage)
 	{
+		logger.info("Starting after " + uptime() + " ms");
 		// --------------------------------------------------------------------
 		// Loads Scene from FXML
 		// --------------------------------------------------------------------
@@ -149,9 +152,32 @@ public class Main extends Application
 		 * the window instead of properly quitting
 		 */
 		primaryStage.setOnCloseRequest(controller::quitActionImpl);
+
+		/*
+		 * Startup instrumentation: report when the first frame is laid out
+		 */
+		scene.addPostLayoutPulseListener(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				logger.info("First frame after " + uptime() + " ms");
+				Runnable listener = this;
+				Platform.runLater(() -> scene.removePostLayoutPulseListener(listener));
+			}
+		});
 		primaryStage.show();
 	}
 
+	/**
+	 * Time elapsed since JVM start
+	 * @return the time elapsed since JVM start (in ms)
+	 */
+	private static long uptime()
+	{
+		return ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+
 	/**
 	 * This method is called when the application should stop, and provides a
 	 * convenient place to prepare for application exit and destroy resources.
@@ -1,6 +1,7 @@
 package application.cells;
 
 import javafx.fxml.FXML;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -62,6 +63,20 @@ public abstract class AbstractCustomCellController<T>
 	 */
 	protected void setImage(Image image)
 	{
+		iconView.setViewport(null);
+		iconView.setImage(image);
+	}
+
+	/**
+	 * Sets an area of an image (such as an icon of an atlas) in
+	 * {@link #iconView}.
+	 * To be used in implementations of {@link #setIcon(Object)}
+	 * @param image the image to set in {@link #iconView}
+	 * @param viewport the area of the image to show in {@link #iconView}
+	 */
+	protected void setImage(Image image, Rectangle2D viewport)
+	{
+		iconView.setViewport(viewport);
 		iconView.setImage(image);
 	}
 }
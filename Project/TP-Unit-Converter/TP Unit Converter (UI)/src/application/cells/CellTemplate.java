@@ -0,0 +1,547 @@
+package application.cells;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.Initializable;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import logger.LoggerFactory;
+
+/**
+ * Template of cells layout parsed once from an FXML file and then stamped out
+ * for each new cell.
+ * Parsing an FXML file with a {@link FXMLLoader} involves XML parsing,
+ * reflection on each element and on the controller, which is far too costly
+ * to be performed each time a {@link javafx.scene.control.ComboBox} popup
+ * creates its cells. Instead, the FXML file is loaded once into a prototype
+ * node graph and each {@link #newInstance()} builds a copy of this prototype
+ * programmatically, creates a new controller through a cached constructor and
+ * injects the copied nodes into the controller's fields named after their
+ * fx:id (as {@link FXMLLoader} would).
+ * Only the nodes used by cells layouts ({@link HBox}, {@link VBox},
+ * {@link StackPane}, {@link Pane}, {@link Label} and {@link ImageView}) can
+ * be copied (see {@link #canCopy(Node)}). Templates containing other nodes
+ * fall back to a full {@link FXMLLoader} parse for each instance.
+ * Templates are meant to be used on the JavaFX Application Thread.
+ * @author davidroussel
+ * @see CustomCell
+ */
+public final class CellTemplate
+{
+	/**
+	 * System property used to disable stamping (e.g.
+	 * -Dapplication.cells.stamping=false) so that each instance is loaded
+	 * from its FXML file
+	 */
+	public static final String StampingProperty = "application.cells.stamping";
+
+	/**
+	 * Templates already parsed indexed by FXML file name
+	 */
+	private static final Map<String, CellTemplate> templates = new HashMap<>();
+
+	/**
+	 * Types of nodes which can be copied by {@link #copy(Node, Map)}
+	 */
+	private static final Set<Class<?>> copyableTypes = Set.of(HBox.class,
+	                                                          VBox.class,
+	                                                          StackPane.class,
+	                                                          Pane.class,
+	                                                          Label.class,
+	                                                          ImageView.class);
+
+	/**
+	 * Stamping status: instances are stamped from templates when true and
+	 * loaded from FXML files otherwise
+	 */
+	private static volatile boolean stamping =
+	    Boolean.parseBoolean(System.getProperty(StampingProperty, "true"));
+
+	/**
+	 * Logger to use
+	 */
+	private static final Logger logger =
+	    LoggerFactory.getConsoleLogger(CellTemplate.class, Level.INFO);
+
+	/**
+	 * An instance of this template: a node graph and its controller
+	 */
+	public static final class Instance
+	{
+		/**
+		 * The root node of this instance
+		 */
+		private final Node root;
+
+		/**
+		 * The controller of this instance (might be null if the FXML file
+		 * doesn't specify any controller)
+		 */
+		private final Object controller;
+
+		/**
+		 * Valued constructor
+		 * @param root the root node of this instance
+		 * @param controller the controller of this instance
+		 */
+		private Instance(Node root, Object controller)
+		{
+			this.root = root;
+			this.controller = controller;
+		}
+
+		/**
+		 * Root node accessor
+		 * @return the root node of this instance
+		 */
+		public Node getRoot()
+		{
+			return root;
+		}
+
+		/**
+		 * Controller accessor
+		 * @param <C> the expected type of controller
+		 * @return the controller of this instance
+		 * @throws ClassCastException if the controller is not a C
+		 */
+		@SuppressWarnings("unchecked")
+		public <C> C getController() throws ClassCastException
+		{
+			return (C) controller;
+		}
+	}
+
+	/**
+	 * The FXML file name of this template
+	 */
+	private final String fxmlFile;
+
+	/**
+	 * The root node of the prototype loaded from {@link #fxmlFile} (or null
+	 * if this template can't be stamped)
+	 */
+	private Node prototype;
+
+	/**
+	 * Cached constructor of the controller (or null if there is no controller)
+	 */
+	private Constructor<?> controllerConstructor;
+
+	/**
+	 * Controller fields to inject and the prototype nodes to inject in them
+	 */
+	private final Map<Field, Node> injections;
+
+	/**
+	 * Cached no-arg initialize method of the controller (or null if there is
+	 * no such method)
+	 */
+	private Method initializer;
+
+	/**
+	 * Location of {@link #fxmlFile}
+	 */
+	private final URL location;
+
+	/**
+	 * Private constructor from FXML file.
+	 * Loads the prototype and prepares controller creation.
+	 * @param fxmlFile the FXML file to load
+	 */
+	private CellTemplate(String fxmlFile)
+	{
+		this.fxmlFile = fxmlFile;
+		location = CellTemplate.class.getResource(fxmlFile);
+		injections = new HashMap<>();
+		prototype = null;
+		controllerConstructor = null;
+		initializer = null;
+		if (location == null)
+		{
+			logger.severe("Unable to find " + fxmlFile);
+			return;
+		}
+		FXMLLoader loader = new FXMLLoader(location);
+		try
+		{
+			Node root = loader.load();
+			Object controller = loader.getController();
+			if (controller != null)
+			{
+				Class<?> controllerClass = controller.getClass();
+				controllerConstructor = controllerClass.getDeclaredConstructor();
+				controllerConstructor.setAccessible(true);
+				for (Map.Entry<String, Object> entry : loader.getNamespace().entrySet())
+				{
+					if (entry.getValue() instanceof Node)
+					{
+						Field field = findField(controllerClass, entry.getKey());
+						if (field != null)
+						{
+							injections.put(field, (Node) entry.getValue());
+						}
+					}
+				}
+				if (!(controller instanceof Initializable))
+				{
+					initializer = findInitializer(controllerClass);
+				}
+			}
+			if (canCopy(root))
+			{
+				prototype = root;
+			}
+			else
+			{
+				logger.warning(fxmlFile + " contains nodes which can't be copied, "
+				    + "will be loaded for each cell");
+			}
+		}
+		catch (IOException | ReflectiveOperationException | RuntimeException e)
+		{
+			logger.warning(fxmlFile + " can't be stamped, will be loaded for each cell: "
+			    + e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Template factory method from FXML file name.
+	 * Templates are parsed once and cached.
+	 * @param fxmlFile the FXML file name (relative to this package)
+	 * @return the template corresponding to this FXML file
+	 */
+	public static synchronized CellTemplate of(String fxmlFile)
+	{
+		CellTemplate template = templates.get(fxmlFile);
+		if (template == null)
+		{
+			template = new CellTemplate(fxmlFile);
+			templates.put(fxmlFile, template);
+		}
+		return template;
+	}
+
+	/**
+	 * Stamping status accessor
+	 * @return true if instances are stamped from templates, false if they are
+	 * loaded from their FXML file
+	 */
+	public static boolean isStamping()
+	{
+		return stamping;
+	}
+
+	/**
+	 * Stamping status mutator
+	 * @param enabled true to stamp instances from templates, false to load
+	 * them from their FXML file
+	 */
+	public static void setStamping(boolean enabled)
+	{
+		stamping = enabled;
+	}
+
+	/**
+	 * Indicates if this template can be stamped
+	 * @return true if this template's FXML file has been loaded and can be
+	 * copied
+	 */
+	public boolean isStampable()
+	{
+		return prototype != null;
+	}
+
+	/**
+	 * Creates a new instance of this template: stamped from the prototype
+	 * when possible or loaded from the FXML file otherwise
+	 * @return a new instance of this template
+	 * @throws IOException if this template can't be stamped and the FXML
+	 * file can't be loaded
+	 */
+	public Instance newInstance() throws IOException
+	{
+		if (stamping && (prototype != null))
+		{
+			try
+			{
+				return stamp();
+			}
+			catch (ReflectiveOperationException e)
+			{
+				logger.warning(fxmlFile + " stamping failed: " + e.getLocalizedMessage());
+			}
+		}
+		return load();
+	}
+
+	/**
+	 * Loads a new instance from the FXML file
+	 * @return a new instance loaded from the FXML file
+	 * @throws IOException if the FXML file can't be loaded
+	 */
+	public Instance load() throws IOException
+	{
+		if (location == null)
+		{
+			throw new IOException("Unable to find " + fxmlFile);
+		}
+		FXMLLoader loader = new FXMLLoader(location);
+		Node root = loader.load();
+		return new Instance(root, loader.getController());
+	}
+
+	/**
+	 * Stamps a new instance from {@link #prototype}
+	 * @return a new instance stamped from {@link #prototype}
+	 * @throws ReflectiveOperationException if the controller can't be
+	 * created, injected or initialized
+	 */
+	private Instance stamp() throws ReflectiveOperationException
+	{
+		Map<Node, Node> copies = new IdentityHashMap<>();
+		Node root = copy(prototype, copies);
+		Object controller = null;
+		if (controllerConstructor != null)
+		{
+			controller = controllerConstructor.newInstance();
+			for (Map.Entry<Field, Node> injection : injections.entrySet())
+			{
+				injection.getKey().set(controller, copies.get(injection.getValue()));
+			}
+			if (controller instanceof Initializable)
+			{
+				((Initializable) controller).initialize(location, null);
+			}
+			else if (initializer != null)
+			{
+				initializer.invoke(controller);
+			}
+		}
+		return new Instance(root, controller);
+	}
+
+	/**
+	 * Search for a field to inject in controller class hierarchy:
+	 * a public field or a field annotated with {@link FXML}
+	 * @param type the controller class
+	 * @param name the name of the field (the fx:id of the node)
+	 * @return the field to inject or null if there is no such field
+	 */
+	private static Field findField(Class<?> type, String name)
+	{
+		for (Class<?> current = type; current != null; current = current.getSuperclass())
+		{
+			try
+			{
+				Field field = current.getDeclaredField(name);
+				if (Modifier.isStatic(field.getModifiers())
+				    || (!Modifier.isPublic(field.getModifiers())
+				        && !field.isAnnotationPresent(FXML.class)))
+				{
+					return null;
+				}
+				field.setAccessible(true);
+				return field;
+			}
+			catch (NoSuchFieldException e)
+			{
+				// Search in super class
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Search for a no-arg initialize method in controller class hierarchy
+	 * @param type the controller class
+	 * @return the initialize method or null if there is no such method
+	 */
+	private static Method findInitializer(Class<?> type)
+	{
+		for (Class<?> current = type; current != null; current = current.getSuperclass())
+		{
+			try
+			{
+				Method method = current.getDeclaredMethod("initialize");
+				method.setAccessible(true);
+				return method;
+			}
+			catch (NoSuchMethodException e)
+			{
+				// Search in super class
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Indicates if a node (and its children) can be copied by
+	 * {@link #copy(Node, Map)}
+	 * @param node the node to check
+	 * @return true if node, its graphic (for labels) and its children (for
+	 * panes) are all of {@link #copyableTypes}
+	 */
+	public static boolean canCopy(Node node)
+	{
+		if (!copyableTypes.contains(node.getClass()))
+		{
+			return false;
+		}
+		if (node instanceof Label)
+		{
+			Node graphic = ((Label) node).getGraphic();
+			return (graphic == null) || canCopy(graphic);
+		}
+		if (node instanceof Pane)
+		{
+			for (Node child : ((Pane) node).getChildren())
+			{
+				if (!canCopy(child))
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copy a prototype node (and its children)
+	 * @param prototype the node to copy, which shall satisfy
+	 * {@link #canCopy(Node)}
+	 * @param copies map of prototype nodes to their copies to fill
+	 * @return a copy of the prototype node
+	 * @throws IllegalArgumentException if prototype (or one of its children)
+	 * can't be copied
+	 */
+	private static Node copy(Node prototype, Map<Node, Node> copies)
+	    throws IllegalArgumentException
+	{
+		Class<?> type = prototype.getClass();
+		Node copy;
+		if (type == HBox.class)
+		{
+			HBox source = (HBox) prototype;
+			HBox box = new HBox();
+			box.setSpacing(source.getSpacing());
+			box.setAlignment(source.getAlignment());
+			box.setFillHeight(source.isFillHeight());
+			copy = box;
+		}
+		else if (type == VBox.class)
+		{
+			VBox source = (VBox) prototype;
+			VBox box = new VBox();
+			box.setSpacing(source.getSpacing());
+			box.setAlignment(source.getAlignment());
+			box.setFillWidth(source.isFillWidth());
+			copy = box;
+		}
+		else if (type == StackPane.class)
+		{
+			StackPane pane = new StackPane();
+			pane.setAlignment(((StackPane) prototype).getAlignment());
+			copy = pane;
+		}
+		else if (type == Pane.class)
+		{
+			copy = new Pane();
+		}
+		else if (type == Label.class)
+		{
+			Label source = (Label) prototype;
+			Label label = new Label();
+			label.setText(source.getText());
+			label.setAlignment(source.getAlignment());
+			label.setTextAlignment(source.getTextAlignment());
+			label.setTextFill(source.getTextFill());
+			label.setFont(source.getFont());
+			label.setWrapText(source.isWrapText());
+			label.setUnderline(source.isUnderline());
+			label.setContentDisplay(source.getContentDisplay());
+			label.setGraphicTextGap(source.getGraphicTextGap());
+			label.setMnemonicParsing(source.isMnemonicParsing());
+			if (source.getGraphic() != null)
+			{
+				label.setGraphic(copy(source.getGraphic(), copies));
+			}
+			copy = label;
+		}
+		else if (type == ImageView.class)
+		{
+			ImageView source = (ImageView) prototype;
+			ImageView view = new ImageView(source.getImage());
+			view.setFitWidth(source.getFitWidth());
+			view.setFitHeight(source.getFitHeight());
+			view.setPreserveRatio(source.isPreserveRatio());
+			view.setSmooth(source.isSmooth());
+			view.setViewport(source.getViewport());
+			copy = view;
+		}
+		else
+		{
+			throw new IllegalArgumentException(type.getName() + " can't be copied");
+		}
+
+		if (prototype instanceof Region)
+		{
+			Region source = (Region) prototype;
+			Region region = (Region) copy;
+			region.setMinSize(source.getMinWidth(), source.getMinHeight());
+			region.setPrefSize(source.getPrefWidth(), source.getPrefHeight());
+			region.setMaxSize(source.getMaxWidth(), source.getMaxHeight());
+			region.setPadding(source.getPadding());
+		}
+		if (prototype instanceof Pane)
+		{
+			Pane source = (Pane) prototype;
+			Pane pane = (Pane) copy;
+			pane.getStylesheets().setAll(source.getStylesheets());
+			List<Node> children = new ArrayList<>(source.getChildren().size());
+			for (Node child : source.getChildren())
+			{
+				children.add(copy(child, copies));
+			}
+			pane.getChildren().setAll(children);
+		}
+		copy.setId(prototype.getId());
+		copy.setStyle(prototype.getStyle());
+		copy.getStyleClass().setAll(prototype.getStyleClass());
+		copy.setVisible(prototype.isVisible());
+		copy.setManaged(prototype.isManaged());
+		copy.setOpacity(prototype.getOpacity());
+		copy.setDisable(prototype.isDisable());
+		copy.setMouseTransparent(prototype.isMouseTransparent());
+		copy.setPickOnBounds(prototype.isPickOnBounds());
+		copy.setFocusTraversable(prototype.isFocusTraversable());
+		if (prototype.hasProperties())
+		{
+			// Layout constraints such as HBox.hgrow or margins
+			copy.getProperties().putAll(prototype.getProperties());
+		}
+		copies.put(prototype, copy);
+		return copy;
+	}
+}
@@ -2,7 +2,6 @@ package application.cells;
 
 import java.io.IOException;
 
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
@@ -45,15 +44,17 @@ public class CustomCell<T> extends ComboBoxListCell<T>
 	 * @param useText to use text in rendered cell
 	 * @implSpec the actual {@link #controller} shall be specified in the provided
 	 * #fxmlFile
+	 * @implNote The FXML file is only parsed once by a {@link CellTemplate}
+	 * which then stamps out the layout and controller of each new cell
 	 */
 	protected CustomCell(String fxmlFile, boolean useText)
 	{
 		this.useText = useText;
-		FXMLLoader loader = new FXMLLoader(CustomCell.class.getResource(fxmlFile));
 		try
 		{
-			graphic = loader.load();
-			controller = loader.getController();
+			CellTemplate.Instance instance = CellTemplate.of(fxmlFile).newInstance();
+			graphic = instance.getRoot();
+			controller = instance.getController();
 		}
 		catch (IOException e)
 		{
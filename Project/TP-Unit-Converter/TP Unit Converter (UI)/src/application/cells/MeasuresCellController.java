@@ -10,13 +10,16 @@ public class MeasuresCellController extends AbstractCustomCellController<Measure
 {
 	/**
 	 * Set image in {@link AbstractCustomCellController#iconView} depending on
-	 * the {@link MeasureType}
+	 * the {@link MeasureType}.
+	 * All cells share the single image of {@link MeasuresIconsFactory#getAtlas()}
+	 * and only differ by their viewport
 	 * @param value the measure type to decide which {@link javafx.scene.image.Image}
 	 * to set in {@link AbstractCustomCellController#iconView}
 	 */
 	@Override
 	public void setIcon(MeasureType value)
 	{
-		setImage(MeasuresIconsFactory.getIconFromType(value));
+		setImage(MeasuresIconsFactory.getAtlas().getImage(),
+		         MeasuresIconsFactory.getViewportFromType(value));
 	}
 }
@@ -3,62 +3,35 @@ package application.cells;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import logger.LoggerFactory;
 import measures.MeasureType;
+import utils.IconAtlas;
 import utils.IconFactory;
 
 /**
  * Icon Sub-Factory dedicated to Measures types icons.
  * Suitable for {@link MeasuresCellController}
+ * All measures icons are packed in a single {@link IconAtlas} decoded in the
+ * background, so icons are blank placeholders until {@link #getAtlas()} is
+ * ready.
  * @author davidroussel
  */
 public class MeasuresIconsFactory
 {
 	/**
-	 * Icon for "length" measures
+	 * Atlas of all measures icons
 	 */
-	private static Image lengthIcon = IconFactory.getIcon("length");
-
-	/**
-	 * Icon for "area" measures
-	 */
-	private static Image areaIcon = IconFactory.getIcon("surface");
-
-	/**
-	 * Icon for "volume" measures
-	 */
-	private static Image volumeIcon = IconFactory.getIcon("volume");
-
-	/**
-	 * Icon for "weight" measures
-	 */
-	private static Image weightIcon = IconFactory.getIcon("weight");
-
-	/**
-	 * Icon for "speed" measures
-	 */
-	private static Image speedIcon = IconFactory.getIcon("speed");
-
-	/**
-	 * Icon for "pressure" measures
-	 */
-	private static Image pressureIcon = IconFactory.getIcon("pressure");
-
-	/**
-	 * Icon for "direction" measures
-	 */
-	private static Image directionIcon = IconFactory.getIcon("compass");
-
-	/**
-	 * Icon for "temperature" measures
-	 */
-	private static Image temperatureIcon = IconFactory.getIcon("temperature");
-
-	/**
-	 * Icon for "time" measures
-	 */
-	private static Image timeIcon = IconFactory.getIcon("time");
+	private static IconAtlas atlas = IconFactory.getAtlas("length",
+	                                                      "surface",
+	                                                      "volume",
+	                                                      "weight",
+	                                                      "speed",
+	                                                      "pressure",
+	                                                      "compass",
+	                                                      "temperature",
+	                                                      "time");
 
 	/**
 	 * Logger to use
@@ -69,36 +42,67 @@ public class MeasuresIconsFactory
 	                                                              Level.INFO : null)); // null level to inherits parent logger's level
 
 	/**
-	 * Retriev icon image from {@link MeasureType}s
+	 * Retrieve icon name from {@link MeasureType}s
 	 * @param type the type of measure to icon
-	 * @return the icon corresponding to the provided measure type
+	 * @return the name of the icon corresponding to the provided measure type
 	 */
-	public static Image getIconFromType(MeasureType type)
+	private static String getIconName(MeasureType type)
 	{
 		switch(type)
 		{
 			case LENGTH :
-				return lengthIcon;
+				return "length";
 			case AREA :
-				return areaIcon;
+				return "surface";
 			case VOLUME :
-				return volumeIcon;
+				return "volume";
 			case WEIGHT :
-				return weightIcon;
+				return "weight";
 			case SPEED :
-				return speedIcon;
+				return "speed";
 			case PRESSURE :
-				return pressureIcon;
+				return "pressure";
 			case DIRECTION :
-				return directionIcon;
+				return "compass";
 			case TEMPERATURE :
-				return temperatureIcon;
+				return "temperature";
 			case TIME :
-				return timeIcon;
+				return "time";
 			default:
 				String message = "Unexpected value: " + type.toString();
 				logger.severe(message);
 				throw new IllegalArgumentException(message);
 		}
 	}
+
+	/**
+	 * Retriev icon image from {@link MeasureType}s
+	 * @param type the type of measure to icon
+	 * @return the icon corresponding to the provided measure type (a blank
+	 * placeholder filled when {@link #getAtlas()} is ready)
+	 */
+	public static Image getIconFromType(MeasureType type)
+	{
+		return atlas.getIcon(getIconName(type));
+	}
+
+	/**
+	 * Atlas accessor
+	 * @return the atlas containing all measures icons
+	 */
+	public static IconAtlas getAtlas()
+	{
+		return atlas;
+	}
+
+	/**
+	 * Retrieve icon area within {@link #getAtlas()} from {@link MeasureType}s
+	 * @param type the type of measure to icon
+	 * @return the area of the icon corresponding to the provided measure type
+	 * within {@link #getAtlas()}'s image
+	 */
+	public static Rectangle2D getViewportFromType(MeasureType type)
+	{
+		return atlas.getViewport(getIconName(type));
+	}
 }
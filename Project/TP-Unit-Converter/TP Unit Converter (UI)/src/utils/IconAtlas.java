@@ -0,0 +1,414 @@
+package utils;
+
+import java.net.URL;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+import logger.LoggerFactory;
+
+/**
+ * Texture atlas packing several square icons of the same size into a single
+ * image whose icon files are decoded in the background.
+ * Icons are packed row by row in a grid of {@link #getImage()}, each icon
+ * area being available through {@link #getViewport(String)} so that
+ * {@link javafx.scene.image.ImageView}s can share the same texture.
+ * Until icons have been decoded, {@link #getImage()} and the images provided
+ * by {@link #getIcon(String)} are blank placeholders (fully transparent
+ * images of the right size) which are filled in place on the JavaFX
+ * Application Thread once decoding completes, so views using them are
+ * updated without any further action and the first frame never waits on
+ * icon decoding.
+ * Except for {@link #load()}, {@link #loadInBackground()} and
+ * {@link #getDecodingTime()}, methods are meant to be called on the JavaFX
+ * Application Thread, which is the only thread filling the atlas and
+ * accessing its mutable state (so it doesn't need to be synchronized). When
+ * the JavaFX toolkit is not running, decoded pixels are handed back to the
+ * thread using the atlas, which fills it on its next access.
+ * @author davidroussel
+ */
+public class IconAtlas
+{
+	/**
+	 * Pixel format used to transfer icons pixels
+	 */
+	private static final WritablePixelFormat<IntBuffer> Format =
+	    PixelFormat.getIntArgbPreInstance();
+
+	/**
+	 * Icons size (width and height) in pixels
+	 */
+	private final int size;
+
+	/**
+	 * Number of icons per row in {@link #atlas}
+	 */
+	private final int columns;
+
+	/**
+	 * Icons files URLs indexed by icon names (in packing order)
+	 */
+	private final Map<String, String> locations;
+
+	/**
+	 * Icons areas within {@link #atlas} indexed by icon names
+	 */
+	private final Map<String, Rectangle2D> viewports;
+
+	/**
+	 * The atlas image containing all icons once {@link #ready}
+	 */
+	private final WritableImage atlas;
+
+	/**
+	 * Individual icons images already provided by {@link #getIcon(String)}
+	 * (only accessed on the JavaFX Application Thread)
+	 */
+	private final Map<String, WritableImage> icons;
+
+	/**
+	 * Ready status: true when all icons have been copied into {@link #atlas}
+	 * (only accessed on the JavaFX Application Thread)
+	 */
+	private boolean ready;
+
+	/**
+	 * Actions to run when atlas is ready (only accessed on the JavaFX
+	 * Application Thread)
+	 */
+	private final List<Runnable> readyActions;
+
+	/**
+	 * Decoded pixels waiting to be filled into {@link #atlas} by the next
+	 * access when they couldn't be handed to the JavaFX Application Thread
+	 * (or null)
+	 */
+	private final AtomicReference<int[]> pending;
+
+	/**
+	 * Loading request time (in ns)
+	 */
+	private final long requested;
+
+	/**
+	 * Time (in ns) at which all icons have been decoded (or 0 if not yet)
+	 */
+	private volatile long decoded;
+
+	/**
+	 * Time (in ns) at which {@link #atlas} has been filled (or 0 if not yet),
+	 * only accessed on the JavaFX Application Thread
+	 */
+	private long filled;
+
+	/**
+	 * Logger to use
+	 */
+	private final Logger logger;
+
+	/**
+	 * Constructor.
+	 * Allocates a blank atlas for the provided icons, which will be filled
+	 * when {@link #load()} completes
+	 * @param prefix path beginning of icons files (e.g. "icons/")
+	 * @param postfix path end of icons files (e.g. "-32.png")
+	 * @param size icons width and height in pixels
+	 * @param names names of the icons to pack
+	 * @param parentLogger parent logger (might be null)
+	 * @throws IllegalArgumentException if size is not positive or if there is
+	 * no icon names
+	 */
+	public IconAtlas(String prefix,
+	                 String postfix,
+	                 int size,
+	                 Collection<String> names,
+	                 Logger parentLogger)
+	    throws IllegalArgumentException
+	{
+		if ((size <= 0) || names.isEmpty())
+		{
+			throw new IllegalArgumentException("invalid size " + size
+			    + " or empty names");
+		}
+		this.size = size;
+		columns = (int) Math.ceil(Math.sqrt(names.size()));
+		int rows = (names.size() + columns - 1) / columns;
+		locations = new LinkedHashMap<>();
+		viewports = new HashMap<>();
+		int index = 0;
+		for (String name : names)
+		{
+			if (locations.containsKey(name))
+			{
+				continue;
+			}
+			URL url = IconAtlas.class.getResource("/" + prefix + name + postfix);
+			locations.put(name, url != null ? url.toExternalForm() : null);
+			viewports.put(name,
+			              new Rectangle2D((index % columns) * size,
+			                              (index / columns) * size,
+			                              size,
+			                              size));
+			index++;
+		}
+		atlas = new WritableImage(columns * size, rows * size);
+		icons = new HashMap<>();
+		ready = false;
+		readyActions = new ArrayList<>();
+		pending = new AtomicReference<>();
+		requested = System.nanoTime();
+		decoded = 0L;
+		filled = 0L;
+		logger = LoggerFactory.getParentLogger(getClass(),
+		                                       parentLogger,
+		                                       (parentLogger == null ?
+		                                        Level.INFO : null)); // null level to inherit parent logger's level
+	}
+
+	/**
+	 * Starts decoding icons in a background daemon thread
+	 * @return this atlas
+	 */
+	public IconAtlas loadInBackground()
+	{
+		Thread loader = new Thread(this::load, "icon-atlas");
+		loader.setDaemon(true);
+		loader.start();
+		return this;
+	}
+
+	/**
+	 * Decodes all icons files (in the current thread) and then fills
+	 * {@link #atlas} and icons placeholders on the JavaFX Application Thread.
+	 * If the JavaFX toolkit is not running, decoded pixels are kept until the
+	 * next access to this atlas, which fills it.
+	 * Icons which can't be decoded remain blank.
+	 */
+	public void load()
+	{
+		int width = (int) atlas.getWidth();
+		int[] pixels = new int[width * (int) atlas.getHeight()];
+		int errors = 0;
+		for (Map.Entry<String, String> entry : locations.entrySet())
+		{
+			String location = entry.getValue();
+			Image icon = location != null ?
+			    new Image(location, size, size, true, true, false) : null;
+			if ((icon == null) || icon.isError())
+			{
+				logger.severe(entry.getKey() + ": couldn't load icon " + location);
+				errors++;
+				continue;
+			}
+			Rectangle2D viewport = viewports.get(entry.getKey());
+			PixelReader reader = icon.getPixelReader();
+			int offset = ((int) viewport.getMinY() * width) + (int) viewport.getMinX();
+			reader.getPixels(0,
+			                 0,
+			                 Math.min(size, (int) icon.getWidth()),
+			                 Math.min(size, (int) icon.getHeight()),
+			                 Format,
+			                 pixels,
+			                 offset,
+			                 width);
+		}
+		decoded = System.nanoTime();
+		if (errors > 0)
+		{
+			logger.warning(errors + " icons couldn't be loaded");
+		}
+		pending.set(pixels);
+		try
+		{
+			Platform.runLater(this::fillPending);
+		}
+		catch (IllegalStateException e)
+		{
+			logger.fine("JavaFX toolkit not running, atlas will be filled on next access");
+		}
+	}
+
+	/**
+	 * Fills {@link #atlas} with {@link #pending} pixels, if any
+	 */
+	private void fillPending()
+	{
+		int[] pixels = pending.getAndSet(null);
+		if (pixels != null)
+		{
+			fill(pixels);
+		}
+	}
+
+	/**
+	 * Fills {@link #atlas} and icons placeholders with decoded pixels, then
+	 * runs ready actions
+	 * @param pixels decoded pixels of the atlas
+	 */
+	private void fill(int[] pixels)
+	{
+		int width = (int) atlas.getWidth();
+		atlas.getPixelWriter().setPixels(0,
+		                                 0,
+		                                 width,
+		                                 (int) atlas.getHeight(),
+		                                 Format,
+		                                 pixels,
+		                                 0,
+		                                 width);
+		for (Map.Entry<String, WritableImage> entry : icons.entrySet())
+		{
+			Rectangle2D viewport = viewports.get(entry.getKey());
+			entry.getValue().getPixelWriter().setPixels(0,
+			                                            0,
+			                                            size,
+			                                            size,
+			                                            atlas.getPixelReader(),
+			                                            (int) viewport.getMinX(),
+			                                            (int) viewport.getMinY());
+		}
+		ready = true;
+		filled = System.nanoTime();
+		logger.info(String.format(Locale.ROOT,
+		                          "%d icons decoded in %.1f ms, atlas ready after %.1f ms",
+		                          locations.size(),
+		                          getDecodingTime(),
+		                          getLoadingTime()));
+		for (Runnable action : readyActions)
+		{
+			action.run();
+		}
+		readyActions.clear();
+	}
+
+	/**
+	 * Atlas image accessor
+	 * @return the image containing all icons (blank until {@link #isReady()})
+	 */
+	public Image getImage()
+	{
+		fillPending();
+		return atlas;
+	}
+
+	/**
+	 * Icon area accessor
+	 * @param name the name of the icon
+	 * @return the area of the named icon within {@link #getImage()} or null
+	 * if there is no such icon in this atlas
+	 */
+	public Rectangle2D getViewport(String name)
+	{
+		return viewports.get(name);
+	}
+
+	/**
+	 * Checks if this atlas contains an icon
+	 * @param name the name of the icon
+	 * @return true if this atlas contains the named icon
+	 */
+	public boolean contains(String name)
+	{
+		return viewports.containsKey(name);
+	}
+
+	/**
+	 * Individual icon image accessor
+	 * @param name the name of the icon
+	 * @return an image of the named icon (a blank placeholder filled when
+	 * atlas is ready if it is not ready yet) or null if there is no such icon
+	 * in this atlas
+	 */
+	public Image getIcon(String name)
+	{
+		fillPending();
+		WritableImage icon = icons.get(name);
+		if (icon == null)
+		{
+			Rectangle2D viewport = viewports.get(name);
+			if (viewport == null)
+			{
+				return null;
+			}
+			if (ready)
+			{
+				icon = new WritableImage(atlas.getPixelReader(),
+				                         (int) viewport.getMinX(),
+				                         (int) viewport.getMinY(),
+				                         size,
+				                         size);
+			}
+			else
+			{
+				icon = new WritableImage(size, size);
+			}
+			icons.put(name, icon);
+		}
+		return icon;
+	}
+
+	/**
+	 * Ready status accessor
+	 * @return true if all icons have been decoded and copied into this atlas
+	 */
+	public boolean isReady()
+	{
+		fillPending();
+		return ready;
+	}
+
+	/**
+	 * Runs an action when this atlas is ready (or immediately if it is
+	 * already ready)
+	 * @param action the action to run
+	 */
+	public void whenReady(Runnable action)
+	{
+		fillPending();
+		if (ready)
+		{
+			action.run();
+		}
+		else
+		{
+			readyActions.add(action);
+		}
+	}
+
+	/**
+	 * Decoding time accessor
+	 * @return the time (in ms) spent from loading request until all icons
+	 * have been decoded, or NaN if they are not decoded yet
+	 */
+	public double getDecodingTime()
+	{
+		long end = decoded;
+		return end != 0L ? (end - requested) / 1e6 : Double.NaN;
+	}
+
+	/**
+	 * Loading time accessor
+	 * @return the time (in ms) spent from loading request until this atlas
+	 * is ready, or NaN if it is not ready yet
+	 */
+	public double getLoadingTime()
+	{
+		fillPending();
+		return ready ? (filled - requested) / 1e6 : Double.NaN;
+	}
+}
@@ -1,5 +1,8 @@
 package utils;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,12 +25,23 @@ public class IconFactory
 	 */
 	private final static String ImagePostfix = "-32.png";
 
+	/**
+	 * Icons size corresponding to {@link #ImagePostfix}
+	 */
+	private final static int ImageSize = 32;
+
 	/**
 	 * The factoy providing Images
 	 */
 	static private FlyweightFactory<Image> iconFactory =
 		new FlyweightFactory<Image>();
 
+	/**
+	 * Atlases created by {@link #getAtlas(String...)}, searched first by
+	 * {@link #getIcon(String)}
+	 */
+	static private List<IconAtlas> atlases = new CopyOnWriteArrayList<IconAtlas>();
+
 	/**
 	 * Logger from {@link #iconFactory}
 	 */
@@ -43,6 +57,10 @@ public class IconFactory
 	 * a search for "Circle-32.png" file)
 	 * @return The image corresponding to this name or null if there is no such
 	 * image.
+	 * @implNote icons belonging to an atlas created by
+	 * {@link #getAtlas(String...)} are provided by this atlas (and might be
+	 * blank placeholders until the atlas is ready) rather than decoded
+	 * synchronously
 	 */
 	static public Image getIcon(String name)
 	{
@@ -52,6 +70,14 @@ public class IconFactory
 			return null;
 		}
 
+		for (IconAtlas atlas : atlases)
+		{
+			if (atlas.contains(name))
+			{
+				return atlas.getIcon(name);
+			}
+		}
+
 		int hash = name.hashCode();
 		Image icon = iconFactory.get(hash);
 
@@ -76,6 +102,28 @@ public class IconFactory
 		return icon;
 	}
 
+	/**
+	 * Factory method creating an atlas of icons decoded in the background.
+	 * Named icons are then provided by this atlas through
+	 * {@link #getIcon(String)}.
+	 * @param names the names of the icons to pack in the atlas (e.g.
+	 * "Circle" for "Circle-32.png" file)
+	 * @return a new atlas whose icons are being decoded in the background
+	 * @throws IllegalArgumentException if there is no names
+	 */
+	static public IconAtlas getAtlas(String... names)
+	    throws IllegalArgumentException
+	{
+		List<String> iconNames = Arrays.asList(names);
+		IconAtlas atlas = new IconAtlas(ImagePrefix,
+		                                ImagePostfix,
+		                                ImageSize,
+		                                iconNames,
+		                                logger);
+		atlases.add(atlas);
+		return atlas.loadInBackground();
+	}
+
 	/**
 	 * Logger accessor
 	 * @return the current logger of this factory
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.text.ParseException;
+import java.util.NoSuchElementException;
+
+import measures.MeasureType;
+import measures.units.SortOrder;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * Utility class retrieving units from {@link UnitsFactory} catalogues to be
+ * used as benchmarks fixtures
+ * @author davidroussel
+ */
+public class BenchmarkUnits
+{
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BenchmarkUnits()
+	{
+	}
+
+	/**
+	 * Retrieves a unit by its symbol within a particular type of measures
+	 * @param type the type of measures of the requested unit
+	 * @param symbol the symbol of the requested unit
+	 * @return the first unit of type's catalogue (in
+	 * {@link SortOrder#NAME_ASCENDING} order) having the provided symbol
+	 * @throws NoSuchElementException if there is no such unit
+	 * @throws ParseException if type's units can't be created
+	 */
+	public static Unit<Double> find(MeasureType type, String symbol)
+	    throws NoSuchElementException,
+	    ParseException
+	{
+		for (Unit<Double> unit : UnitsFactory.getCatalogue(type)
+		    .getUnits(SortOrder.NAME_ASCENDING))
+		{
+			if (unit.getSymbol().equals(symbol))
+			{
+				return unit;
+			}
+		}
+		throw new NoSuchElementException(type + ": no unit with symbol \""
+		    + symbol + "\"");
+	}
+
+	/**
+	 * Retrieves a unit by its class within a particular type of measures
+	 * @param type the type of measures of the requested unit
+	 * @param unitClass the class of the requested unit
+	 * @return the first unit of type's catalogue (in
+	 * {@link SortOrder#NAME_ASCENDING} order) which is exactly an instance of
+	 * unitClass
+	 * @throws NoSuchElementException if there is no such unit
+	 * @throws ParseException if type's units can't be created
+	 */
+	public static Unit<Double> find(MeasureType type, Class<?> unitClass)
+	    throws NoSuchElementException,
+	    ParseException
+	{
+		for (Unit<Double> unit : UnitsFactory.getCatalogue(type)
+		    .getUnits(SortOrder.NAME_ASCENDING))
+		{
+			if (unit.getClass() == unitClass)
+			{
+				return unit;
+			}
+		}
+		throw new NoSuchElementException(type + ": no unit of class "
+		    + unitClass.getSimpleName());
+	}
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs units model benchmarks with the GC profiler so that allocation rates
+ * (gc.alloc.rate.norm in bytes per operation) are reported alongside
+ * timings.
+ * Usage: BenchmarksRunner [regexp]... where each regexp selects benchmarks to
+ * run (e.g. "UnitsFormatBenchmark" or "OperationOrderBenchmark.toSI").
+ * All benchmarks are run when no regexp is provided.
+ * @author davidroussel
+ */
+public class BenchmarksRunner
+{
+	/**
+	 * Runs selected benchmarks
+	 * @param args regular expressions selecting benchmarks to run
+	 * @throws RunnerException if benchmarks can't be run
+	 */
+	public static void main(String[] args) throws RunnerException
+	{
+		OptionsBuilder builder = new OptionsBuilder();
+		if (args.length == 0)
+		{
+			builder.include("benchmarks\\..*Benchmark");
+			builder.include("measures\\.units\\..*Benchmark");
+		}
+		for (String arg : args)
+		{
+			builder.include(arg);
+		}
+		Options options = builder.addProfiler(GCProfiler.class)
+		    .shouldFailOnError(true)
+		    .build();
+		new Runner(options).run();
+	}
+}
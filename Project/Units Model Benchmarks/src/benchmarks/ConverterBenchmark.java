@@ -0,0 +1,96 @@
+package benchmarks;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import application.Converter;
+import measures.MeasureType;
+import measures.units.Unit;
+
+/**
+ * Benchmark of the full {@link Converter} round trip as performed by the UI:
+ * input text is set, parsed, converted and output text is retrieved.
+ * @author davidroussel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark
+{
+	/**
+	 * Number of precomputed input texts (power of 2)
+	 */
+	private static final int InputsSize = 256;
+
+	/**
+	 * The type of measures to convert
+	 */
+	@Param({"LENGTH", "TEMPERATURE", "TIME"})
+	public MeasureType type;
+
+	/**
+	 * The converter to benchmark
+	 */
+	private Converter converter;
+
+	/**
+	 * Input texts
+	 */
+	private String[] inputs;
+
+	/**
+	 * Index of the next input text
+	 */
+	private int index;
+
+	/**
+	 * Setup: creates the converter and selects its middle destination unit so
+	 * that source and destination units differ
+	 * @throws ParseException if converter's units can't be created
+	 */
+	@Setup
+	public void setUp() throws ParseException
+	{
+		converter = new Converter(type);
+		List<Unit<Double>> destinations = converter.getdestinationUnits();
+		converter.setDestinationUnit(destinations.get(destinations.size() / 2));
+		Random random = new Random(42);
+		inputs = new String[InputsSize];
+		for (int i = 0; i < InputsSize; i++)
+		{
+			inputs[i] = String.format(Locale.ROOT, "%.3f", random.nextDouble() * 1000.0);
+		}
+		index = 0;
+	}
+
+	/**
+	 * Input text → output text round trip
+	 * @return the output text
+	 */
+	@Benchmark
+	public String roundTrip()
+	{
+		index = (index + 1) & (InputsSize - 1);
+		converter.setInputText(inputs[index]);
+		converter.convert();
+		return converter.getOutputText();
+	}
+}
@@ -0,0 +1,112 @@
+package benchmarks;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logger.LazyLog;
+import measures.MeasureType;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * Benchmarks of disabled log statements: eager string concatenation versus
+ * {@link LazyLog} forms. With logging disabled, {@link LazyLog} forms should
+ * report a gc.alloc.rate.norm of 0 B/op whereas eager concatenation allocates
+ * the message (and calls {@link Unit#toString()}) at each call.
+ * @author davidroussel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark
+{
+	/**
+	 * Logger whose level disables {@link Level#INFO} messages
+	 */
+	private Logger logger;
+
+	/**
+	 * The unit appended to messages
+	 */
+	private Unit<Double> unit;
+
+	/**
+	 * The value appended to messages
+	 */
+	private double value;
+
+	/**
+	 * Setup: creates a disabled logger and a unit to log
+	 * @throws ParseException if units can't be created
+	 */
+	@Setup
+	public void setUp() throws ParseException
+	{
+		logger = Logger.getLogger(LoggingBenchmark.class.getName());
+		logger.setUseParentHandlers(false);
+		logger.setLevel(Level.WARNING);
+		unit = UnitsFactory.getCatalogue(MeasureType.LENGTH).getUnits().iterator().next();
+		value = 42.0;
+	}
+
+	/**
+	 * Disabled eager message
+	 */
+	@Benchmark
+	public void eager()
+	{
+		logger.info("Built unit: " + unit);
+	}
+
+	/**
+	 * Disabled JUL supplier message (capturing lambda)
+	 */
+	@Benchmark
+	public void julSupplier()
+	{
+		logger.info(() -> "Built unit: " + unit);
+	}
+
+	/**
+	 * Disabled prefix + argument message
+	 */
+	@Benchmark
+	public void lazyArgument()
+	{
+		LazyLog.info(logger, "Built unit: ", unit);
+	}
+
+	/**
+	 * Disabled prefix + double argument message
+	 */
+	@Benchmark
+	public void lazyDouble()
+	{
+		LazyLog.info(logger, "Value: ", value);
+	}
+
+	/**
+	 * Disabled message formatted by a non capturing function
+	 */
+	@Benchmark
+	public void lazyFunction()
+	{
+		LazyLog.log(logger, Level.INFO, (Unit<Double> u) -> "Built unit: " + u, unit);
+	}
+}
@@ -0,0 +1,140 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import measures.units.OperationOrder;
+
+/**
+ * Benchmarks of {@link OperationOrder} conversions to and from SI values for
+ * every operation order, on single values and on arrays of values.
+ * @author davidroussel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationOrderBenchmark
+{
+	/**
+	 * Number of values converted by arrays benchmarks
+	 */
+	public static final int ArraySize = 1024;
+
+	/**
+	 * The operation order to benchmark
+	 */
+	@Param({"NO_CHANGE",
+	        "FACTOR_ONLY",
+	        "OFFSET_ONLY",
+	        "FACTOR_AND_OFFSET",
+	        "OFFSET_AND_FACTOR"})
+	public OperationOrder order;
+
+	/**
+	 * The power to apply (1.0 avoids {@link Math#pow(double, double)} calls)
+	 */
+	@Param({"1.0", "2.0"})
+	public double power;
+
+	/**
+	 * The factor to apply
+	 */
+	private double factor = 0.3048;
+
+	/**
+	 * The offset to apply
+	 */
+	private double offset = 273.15;
+
+	/**
+	 * Single value to convert
+	 */
+	private double value;
+
+	/**
+	 * Values to convert
+	 */
+	private double[] values;
+
+	/**
+	 * Converted values
+	 */
+	private double[] results;
+
+	/**
+	 * Setup: random values to convert
+	 */
+	@Setup
+	public void setUp()
+	{
+		Random random = new Random(42);
+		value = random.nextDouble() * 100.0;
+		values = new double[ArraySize];
+		results = new double[ArraySize];
+		for (int i = 0; i < ArraySize; i++)
+		{
+			values[i] = random.nextDouble() * 100.0;
+		}
+	}
+
+	/**
+	 * Single value conversion to SI
+	 * @return the converted value
+	 */
+	@Benchmark
+	public double toSI()
+	{
+		return order.toSI(value, factor, offset, power);
+	}
+
+	/**
+	 * Single value conversion from SI
+	 * @return the converted value
+	 */
+	@Benchmark
+	public double fromSI()
+	{
+		return order.fromSI(value, factor, offset, power);
+	}
+
+	/**
+	 * Array of values conversion to SI
+	 * @param blackhole consumes converted values
+	 */
+	@Benchmark
+	@OperationsPerInvocation(ArraySize)
+	public void toSIArray(Blackhole blackhole)
+	{
+		order.toSI(values, 0, results, 0, ArraySize, factor, offset, power);
+		blackhole.consume(results);
+	}
+
+	/**
+	 * Array of values conversion from SI
+	 * @param blackhole consumes converted values
+	 */
+	@Benchmark
+	@OperationsPerInvocation(ArraySize)
+	public void fromSIArray(Blackhole blackhole)
+	{
+		order.fromSI(values, 0, results, 0, ArraySize, factor, offset, power);
+		blackhole.consume(results);
+	}
+}
@@ -0,0 +1,149 @@
+package benchmarks;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import measures.MeasureType;
+import measures.units.ConversionPlan;
+import measures.units.OperationOrder;
+import measures.units.SortOrder;
+import measures.units.Unit;
+import measures.units.UnitsCatalogue;
+import measures.units.UnitsFactory;
+
+/**
+ * Benchmarks of {@link UnitsFactory} lookups once units have been created:
+ * flyweight units retrieval, catalogues retrieval and conversion plans
+ * retrieval.
+ * @author davidroussel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitsFactoryBenchmark
+{
+	/**
+	 * The type of measures of catalogues and plans lookups
+	 */
+	@Param({"LENGTH", "TEMPERATURE", "TIME"})
+	public MeasureType type;
+
+	/**
+	 * Source unit of {@link #getConversionPlan()}
+	 */
+	private Unit<Double> source;
+
+	/**
+	 * Destination unit of {@link #getConversionPlan()}
+	 */
+	private Unit<Double> destination;
+
+	/**
+	 * Setup: creates all units of {@link #type} so that only lookups are
+	 * measured and selects first and last units as conversion plan ends
+	 * @throws ParseException if units can't be created
+	 */
+	@Setup
+	public void setUp() throws ParseException
+	{
+		List<Unit<Double>> units = UnitsFactory.getCatalogue(type)
+		    .getUnits(SortOrder.NAME_ASCENDING);
+		source = units.get(0);
+		destination = units.get(units.size() - 1);
+		UnitsFactory.getConversionPlan(source, destination);
+	}
+
+	/**
+	 * Retrieval of an already created {@link measures.units.BaseNumericUnit}
+	 * @return the retrieved unit
+	 * @throws ParseException if unit's format can't be parsed (should not
+	 * happen)
+	 */
+	@Benchmark
+	public Unit<Double> getBoundedBaseNumericUnit() throws ParseException
+	{
+		return UnitsFactory.getBoundedBaseNumericUnit(MeasureType.LENGTH,
+		                                              "Mètres",
+		                                              "m",
+		                                              "7.3");
+	}
+
+	/**
+	 * Retrieval of an already created {@link measures.units.DerivedNumericUnit}
+	 * @return the retrieved unit
+	 * @throws ParseException if unit's format can't be parsed (should not
+	 * happen)
+	 */
+	@Benchmark
+	public Unit<Double> getDerivedNumericUnit() throws ParseException
+	{
+		return UnitsFactory.getDerivedNumericUnit(MeasureType.LENGTH,
+		                                          "Centimètres",
+		                                          "cm",
+		                                          "8.2",
+		                                          1.0,
+		                                          0.01,
+		                                          0.0,
+		                                          OperationOrder.FACTOR_ONLY);
+	}
+
+	/**
+	 * Retrieval of {@link #type}'s catalogue
+	 * @return the retrieved catalogue
+	 * @throws ParseException if units can't be created (should not happen)
+	 */
+	@Benchmark
+	public UnitsCatalogue getCatalogue() throws ParseException
+	{
+		return UnitsFactory.getCatalogue(type);
+	}
+
+	/**
+	 * Retrieval of a (modifiable) copy of {@link #type}'s units
+	 * @return the retrieved units
+	 * @throws ParseException if units can't be created (should not happen)
+	 */
+	@Benchmark
+	public Set<Unit<Double>> getUnits() throws ParseException
+	{
+		return UnitsFactory.getUnits(type);
+	}
+
+	/**
+	 * Retrieval of sorted units of {@link #type}
+	 * @return the retrieved units
+	 * @throws ParseException if units can't be created (should not happen)
+	 */
+	@Benchmark
+	public List<Unit<Double>> getSortedUnits() throws ParseException
+	{
+		return UnitsFactory.getCatalogue(type).getUnits(SortOrder.FACTOR_DESCENDING);
+	}
+
+	/**
+	 * Retrieval of an already compiled conversion plan
+	 * @return the retrieved plan
+	 */
+	@Benchmark
+	public ConversionPlan getConversionPlan()
+	{
+		return UnitsFactory.getConversionPlan(source, destination);
+	}
+}
@@ -0,0 +1,166 @@
+package benchmarks;
+
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import measures.MeasureType;
+import measures.units.BaseSymbolicUnit;
+import measures.units.DecomposedUnit;
+import measures.units.NumericFormat;
+import measures.units.Unit;
+
+/**
+ * Benchmarks of units values formatting through the public API of the units
+ * model.
+ * @author davidroussel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitsFormatBenchmark
+{
+	/**
+	 * Number of precomputed values to format (power of 2)
+	 */
+	private static final int ValuesSize = 1024;
+
+	/**
+	 * Format string parsed by {@link #parseFormatString()}
+	 */
+	@Param({"7.3", "+8.2"})
+	public String format;
+
+	/**
+	 * Numeric unit (meters)
+	 */
+	private Unit<Double> numericUnit;
+
+	/**
+	 * Decomposed unit (time)
+	 */
+	private Unit<Double> decomposedUnit;
+
+	/**
+	 * Symbolic unit (directions)
+	 */
+	private Unit<Double> symbolicUnit;
+
+	/**
+	 * Values to format
+	 */
+	private double[] values;
+
+	/**
+	 * Symbolic values to format (in [-pi/8 .. 15pi/8])
+	 */
+	private double[] angles;
+
+	/**
+	 * Index of the next value to format
+	 */
+	private int index;
+
+	/**
+	 * Setup: retrieves units and generates values to format
+	 * @throws ParseException if units can't be created
+	 */
+	@Setup
+	public void setUp() throws ParseException
+	{
+		numericUnit = BenchmarkUnits.find(MeasureType.LENGTH, "m");
+		decomposedUnit = BenchmarkUnits.find(MeasureType.TIME,
+		                                    DecomposedUnit.class);
+		symbolicUnit = BenchmarkUnits.find(MeasureType.DIRECTION,
+		                                   BaseSymbolicUnit.class);
+		Random random = new Random(42);
+		values = new double[ValuesSize];
+		angles = new double[ValuesSize];
+		for (int i = 0; i < ValuesSize; i++)
+		{
+			values[i] = random.nextDouble() * 10000.0;
+			angles[i] = (random.nextDouble() * 2.0 * Math.PI) - (Math.PI / 8.0);
+		}
+		index = 0;
+	}
+
+	/**
+	 * Next value to format
+	 * @return the next value of {@link #values}
+	 */
+	private double nextValue()
+	{
+		index = (index + 1) & (ValuesSize - 1);
+		return values[index];
+	}
+
+	/**
+	 * Parsing of {@link #format} into a {@link DecimalFormat} (just as
+	 * numeric units do when their format is set)
+	 * @return the parsed format
+	 * @throws ParseException if {@link #format} can't be parsed
+	 */
+	@Benchmark
+	public DecimalFormat parseFormatString() throws ParseException
+	{
+		return NumericFormat.parse(format).toDecimalFormat();
+	}
+
+	/**
+	 * Formatting of a numeric unit's current value
+	 * @return the formatted value
+	 */
+	@Benchmark
+	public String numericFormatValue()
+	{
+		numericUnit.setValue(nextValue());
+		return numericUnit.formatValue();
+	}
+
+	/**
+	 * Formatting of a value with a numeric unit
+	 * @return the formatted value
+	 */
+	@Benchmark
+	public String numericFormatDouble()
+	{
+		return numericUnit.formatValue(nextValue());
+	}
+
+	/**
+	 * Formatting of a value with a decomposed unit
+	 * @return the formatted value
+	 */
+	@Benchmark
+	public String decomposedFormatValue()
+	{
+		return decomposedUnit.formatValue(nextValue());
+	}
+
+	/**
+	 * Formatting of a value with a symbolic unit
+	 * @return the formatted value
+	 */
+	@Benchmark
+	public String symbolicFormatValue()
+	{
+		index = (index + 1) & (ValuesSize - 1);
+		return symbolicUnit.formatValue(angles[index]);
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Package containing JMH benchmarks of the units model hot paths
+ * @author davidroussel
+ */
+package benchmarks;
@@ -0,0 +1,284 @@
+package application;
+
+import java.util.Objects;
+
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import measures.units.ConversionPlan;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * Service converting large arrays of values from a source {@link Unit} to a
+ * destination {@link Unit} off the JavaFX Application Thread.
+ * Values are converted in chunks of {@link #chunkSizeProperty()} values with
+ * the {@link ConversionPlan} of (source, destination) units.
+ * <ul>
+ * 	<li>Progress is reported through {@link Task#updateProgress(long, long)}
+ * 	which is already coalesced by JavaFX</li>
+ * 	<li>Converted rows are published into {@link #getResults()} in the same
+ * 	way: at most one pending publication on the JavaFX Application Thread
+ * 	which publishes all rows converted so far in a single change, so that
+ * 	the UI is never flooded by millions of events</li>
+ * </ul>
+ * The service's value is the array of all converted values once the
+ * conversion succeeds.
+ * @author davidroussel
+ * @see Converter#convert(double[], int, double[], int, int)
+ */
+public final class BulkConversionService extends Service<double[]>
+{
+	/**
+	 * Default number of values converted at once
+	 */
+	public static final int DefaultChunkSize = 65536;
+
+	/**
+	 * Property holding the unit to convert values from
+	 */
+	private final ObjectProperty<Unit<Double>> sourceUnit;
+
+	/**
+	 * Property holding the unit to convert values to
+	 */
+	private final ObjectProperty<Unit<Double>> destinationUnit;
+
+	/**
+	 * Property holding the values to convert
+	 * @implNote values shall not be modified while the service is running
+	 */
+	private final ObjectProperty<double[]> values;
+
+	/**
+	 * Property holding the number of values converted at once
+	 */
+	private final IntegerProperty chunkSize;
+
+	/**
+	 * Rows converted by the last (or current) task
+	 */
+	private final ConvertedRowsList results;
+
+	/**
+	 * Default constructor
+	 */
+	public BulkConversionService()
+	{
+		sourceUnit = new SimpleObjectProperty<Unit<Double>>(this, "sourceUnit");
+		destinationUnit = new SimpleObjectProperty<Unit<Double>>(this, "destinationUnit");
+		values = new SimpleObjectProperty<double[]>(this, "values");
+		chunkSize = new SimpleIntegerProperty(this, "chunkSize", DefaultChunkSize);
+		results = new ConvertedRowsList();
+	}
+
+	/**
+	 * Constructor converting values with a {@link Converter}'s units:
+	 * {@link #sourceUnitProperty()} and {@link #destinationUnitProperty()} are
+	 * bound to the converter's {@link Converter#sourceUnitProperty()} and
+	 * {@link Converter#destinationUnitProperty()}
+	 * @param converter the converter providing units
+	 * @throws NullPointerException if converter is null
+	 */
+	public BulkConversionService(Converter converter)
+	    throws NullPointerException
+	{
+		this();
+		sourceUnit.bind(converter.sourceUnitProperty());
+		destinationUnit.bind(converter.destinationUnitProperty());
+	}
+
+	/**
+	 * Accessor to the source unit property
+	 * @return the property holding the unit to convert values from
+	 */
+	public final ObjectProperty<Unit<Double>> sourceUnitProperty()
+	{
+		return sourceUnit;
+	}
+
+	/**
+	 * Accessor to the destination unit property
+	 * @return the property holding the unit to convert values to
+	 */
+	public final ObjectProperty<Unit<Double>> destinationUnitProperty()
+	{
+		return destinationUnit;
+	}
+
+	/**
+	 * Accessor to the values property
+	 * @return the property holding the values to convert
+	 */
+	public final ObjectProperty<double[]> valuesProperty()
+	{
+		return values;
+	}
+
+	/**
+	 * Values setter
+	 * @param newValues the values to convert with the next task
+	 */
+	public final void setValues(double[] newValues)
+	{
+		values.set(newValues);
+	}
+
+	/**
+	 * Accessor to the chunk size property
+	 * @return the property holding the number of values converted at once
+	 */
+	public final IntegerProperty chunkSizeProperty()
+	{
+		return chunkSize;
+	}
+
+	/**
+	 * Accessor to the rows converted by the last (or current) task.
+	 * Rows are appended in chunks while the conversion progresses and
+	 * formatted by the destination unit only when requested.
+	 * @return a read only observable list of formatted converted values
+	 * @implNote this list shall only be accessed from the JavaFX Application
+	 * Thread
+	 */
+	public ObservableList<String> getResults()
+	{
+		return results;
+	}
+
+	/**
+	 * Creates a new conversion task using current units and values.
+	 * This method is invoked on the JavaFX Application Thread when the
+	 * service starts, so that {@link #getResults()} can safely be reset.
+	 * @return a new conversion task
+	 * @throws IllegalStateException if units or values are null or if
+	 * chunk size is not positive
+	 */
+	@Override
+	protected Task<double[]> createTask() throws IllegalStateException
+	{
+		Unit<Double> source = sourceUnit.get();
+		Unit<Double> destination = destinationUnit.get();
+		double[] input = values.get();
+		int chunk = chunkSize.get();
+		if ((source == null) || (destination == null))
+		{
+			throw new IllegalStateException("null source or destination unit");
+		}
+		if (input == null)
+		{
+			throw new IllegalStateException("null values to convert");
+		}
+		if (chunk <= 0)
+		{
+			throw new IllegalStateException("invalid chunk size: " + chunk);
+		}
+		double[] output = new double[input.length];
+		results.reset(destination, output);
+		return new ConversionTask(UnitsFactory.getConversionPlan(source, destination),
+		                          input,
+		                          output,
+		                          chunk,
+		                          results);
+	}
+
+	/**
+	 * Task converting values in chunks and publishing converted rows
+	 */
+	private static final class ConversionTask extends Task<double[]>
+	{
+		/**
+		 * The plan converting values
+		 */
+		private final ConversionPlan plan;
+
+		/**
+		 * The values to convert
+		 */
+		private final double[] input;
+
+		/**
+		 * The converted values
+		 */
+		private final double[] output;
+
+		/**
+		 * Number of values converted at once
+		 */
+		private final int chunk;
+
+		/**
+		 * The publisher of converted rows
+		 */
+		private final ConvertedRowsList.Publisher publisher;
+
+		/**
+		 * Constructor
+		 * @param plan the plan converting values
+		 * @param input the values to convert
+		 * @param output the array to store converted values in
+		 * @param chunk the number of values converted at once
+		 * @param rows the list to publish converted rows into
+		 */
+		private ConversionTask(ConversionPlan plan,
+		                       double[] input,
+		                       double[] output,
+		                       int chunk,
+		                       ConvertedRowsList rows)
+		{
+			this.plan = Objects.requireNonNull(plan);
+			this.input = input;
+			this.output = output;
+			this.chunk = chunk;
+			publisher = rows.publisher(output, Platform::runLater);
+		}
+
+		/**
+		 * Converts all values chunk by chunk (unless cancelled)
+		 * @return the converted values
+		 */
+		@Override
+		protected double[] call()
+		{
+			int length = input.length;
+			updateProgress(0, length);
+			for (int pos = 0; pos < length; pos += chunk)
+			{
+				if (isCancelled())
+				{
+					break;
+				}
+				int count = Math.min(chunk, length - pos);
+				plan.convert(input, pos, output, pos, count);
+				publisher.converted(pos + count);
+				updateProgress(pos + count, length);
+			}
+			return output;
+		}
+
+		/**
+		 * Publishes remaining rows once all values have been converted
+		 */
+		@Override
+		protected void succeeded()
+		{
+			publisher.flush();
+			super.succeeded();
+		}
+
+		/**
+		 * Publishes rows converted before cancellation
+		 */
+		@Override
+		protected void cancelled()
+		{
+			publisher.flush();
+			super.cancelled();
+		}
+	}
+}
@@ -0,0 +1,773 @@
+package application;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import measures.units.Unit;
+
+/**
+ * History of conversions (timestamp, source unit, destination unit, input
+ * value and output value) able to hold millions of entries.
+ * Entries are stored column-wise in growable primitive arrays used as a ring
+ * buffer and units are interned as int ids, so an entry costs
+ * {@link #EntryBytes} bytes and no objects. The number of entries is bounded
+ * by a memory budget: once reached, the oldest entries are evicted to make
+ * room for new ones.
+ * Entries are exposed to {@link javafx.scene.control.ListView}s or
+ * {@link javafx.scene.control.TableView}s through {@link #getEntries()}, a
+ * read only {@link ObservableList} which only materializes {@link Entry}
+ * objects when they are requested (e.g. by visible cells). Each record
+ * fires a single change (evicted entries removal and new entries addition).
+ * This class is not thread safe: it shall be used from a single thread (the
+ * JavaFX Application Thread when {@link #getEntries()} is shown in a view).
+ * @author davidroussel
+ * @see Converter#setHistory(ConversionHistory)
+ */
+public class ConversionHistory
+{
+	/**
+	 * Memory used by each entry (in bytes): a long timestamp, two int units
+	 * ids and two double values
+	 */
+	public static final int EntryBytes = Long.BYTES
+	    + (2 * Integer.BYTES)
+	    + (2 * Double.BYTES);
+
+	/**
+	 * Default memory budget of entries (in bytes)
+	 */
+	public static final long DefaultMaxBytes = 128L << 20;
+
+	/**
+	 * Initial capacity of columns (unless memory budget is lower)
+	 */
+	private static final int InitialCapacity = 1024;
+
+	/**
+	 * Greatest capacity of columns
+	 */
+	private static final int MaxCapacity = Integer.MAX_VALUE - 8;
+
+	/**
+	 * A conversion of the history
+	 */
+	public static final class Entry
+	{
+		/**
+		 * Conversion time (in ms since epoch)
+		 */
+		private final long timestamp;
+
+		/**
+		 * The source unit
+		 */
+		private final Unit<Double> source;
+
+		/**
+		 * The destination unit
+		 */
+		private final Unit<Double> destination;
+
+		/**
+		 * The value expressed in source unit
+		 */
+		private final double input;
+
+		/**
+		 * The value converted in destination unit
+		 */
+		private final double output;
+
+		/**
+		 * Valued constructor
+		 * @param timestamp conversion time (in ms since epoch)
+		 * @param source the source unit
+		 * @param destination the destination unit
+		 * @param input the value expressed in source unit
+		 * @param output the value converted in destination unit
+		 */
+		private Entry(long timestamp,
+		              Unit<Double> source,
+		              Unit<Double> destination,
+		              double input,
+		              double output)
+		{
+			this.timestamp = timestamp;
+			this.source = source;
+			this.destination = destination;
+			this.input = input;
+			this.output = output;
+		}
+
+		/**
+		 * Conversion time accessor
+		 * @return the conversion time
+		 */
+		public Instant getTimestamp()
+		{
+			return Instant.ofEpochMilli(timestamp);
+		}
+
+		/**
+		 * Source unit accessor
+		 * @return the source unit
+		 */
+		public Unit<Double> getSource()
+		{
+			return source;
+		}
+
+		/**
+		 * Destination unit accessor
+		 * @return the destination unit
+		 */
+		public Unit<Double> getDestination()
+		{
+			return destination;
+		}
+
+		/**
+		 * Input value accessor
+		 * @return the value expressed in source unit
+		 */
+		public double getInput()
+		{
+			return input;
+		}
+
+		/**
+		 * Output value accessor
+		 * @return the value converted in destination unit
+		 */
+		public double getOutput()
+		{
+			return output;
+		}
+
+		/**
+		 * String representation of this entry
+		 * @return input value formatted by source unit and output value
+		 * formatted by destination unit
+		 */
+		@Override
+		public String toString()
+		{
+			StringBuilder builder = new StringBuilder();
+			source.formatValue(input, builder);
+			builder.append(" -> ");
+			destination.formatValue(output, builder);
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * Maximum number of entries (according to memory budget)
+	 */
+	private final int maxEntries;
+
+	/**
+	 * Conversions times column (in ms since epoch)
+	 */
+	private long[] timestamps;
+
+	/**
+	 * Source units ids column
+	 */
+	private int[] sources;
+
+	/**
+	 * Destination units ids column
+	 */
+	private int[] destinations;
+
+	/**
+	 * Input values column
+	 */
+	private double[] inputs;
+
+	/**
+	 * Output values column
+	 */
+	private double[] outputs;
+
+	/**
+	 * Index of the oldest entry in columns
+	 */
+	private int head;
+
+	/**
+	 * Number of entries
+	 */
+	private int size;
+
+	/**
+	 * Number of entries recorded since creation (or last {@link #clear()})
+	 */
+	private long recorded;
+
+	/**
+	 * Number of entries evicted since creation (or last {@link #clear()})
+	 */
+	private long evicted;
+
+	/**
+	 * Interned units indexed by their ids
+	 */
+	private List<Unit<Double>> units;
+
+	/**
+	 * Interned units ids
+	 */
+	private final Map<Unit<Double>, Integer> unitsIds;
+
+	/**
+	 * Virtual list of entries
+	 */
+	private final EntriesList entries;
+
+	/**
+	 * Default constructor with {@link #DefaultMaxBytes} memory budget
+	 */
+	public ConversionHistory()
+	{
+		this(DefaultMaxBytes);
+	}
+
+	/**
+	 * Constructor with memory budget
+	 * @param maxBytes the maximum memory used by entries (in bytes)
+	 * @throws IllegalArgumentException if maxBytes can't hold a single entry
+	 */
+	public ConversionHistory(long maxBytes) throws IllegalArgumentException
+	{
+		if (maxBytes < EntryBytes)
+		{
+			throw new IllegalArgumentException("memory budget " + maxBytes
+			    + " can't hold a single entry");
+		}
+		maxEntries = (int) Math.min(MaxCapacity, maxBytes / EntryBytes);
+		unitsIds = new IdentityHashMap<Unit<Double>, Integer>();
+		entries = new EntriesList();
+		reset();
+	}
+
+	/**
+	 * Resets columns and counters
+	 */
+	private void reset()
+	{
+		allocate(Math.min(InitialCapacity, maxEntries));
+		head = 0;
+		size = 0;
+		recorded = 0L;
+		evicted = 0L;
+		units = new ArrayList<Unit<Double>>();
+		unitsIds.clear();
+	}
+
+	/**
+	 * Allocates new columns
+	 * @param capacity the capacity of new columns
+	 */
+	private void allocate(int capacity)
+	{
+		timestamps = new long[capacity];
+		sources = new int[capacity];
+		destinations = new int[capacity];
+		inputs = new double[capacity];
+		outputs = new double[capacity];
+	}
+
+	/**
+	 * Records a single conversion
+	 * @param source the source unit
+	 * @param destination the destination unit
+	 * @param input the value expressed in source unit
+	 * @param output the value converted in destination unit
+	 * @throws NullPointerException if source or destination is null
+	 */
+	public void record(Unit<Double> source,
+	                   Unit<Double> destination,
+	                   double input,
+	                   double output)
+	    throws NullPointerException
+	{
+		int sourceId = intern(source);
+		int destinationId = intern(destination);
+		recorded++;
+		ensureCapacity(size + 1);
+		Rows removed = null;
+		if (size == timestamps.length)
+		{
+			removed = evict(1);
+		}
+		int index = physical(size);
+		timestamps[index] = System.currentTimeMillis();
+		sources[index] = sourceId;
+		destinations[index] = destinationId;
+		inputs[index] = input;
+		outputs[index] = output;
+		size++;
+		entries.fire(removed, size - 1);
+	}
+
+	/**
+	 * Records a range of conversions performed at once (e.g. by
+	 * {@link Converter#convert(double[], int, double[], int, int)}).
+	 * If there are more conversions than {@link #getMaxEntries()}, only the
+	 * last ones are kept.
+	 * @param source the source unit of all conversions
+	 * @param destination the destination unit of all conversions
+	 * @param inputs the values expressed in source unit
+	 * @param inputsPos the index of the first value in inputs
+	 * @param outputs the values converted in destination unit
+	 * @param outputsPos the index of the first converted value in outputs
+	 * @param length the number of conversions to record
+	 * @throws NullPointerException if source, destination, inputs or outputs
+	 * is null
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * inputs or outputs bounds
+	 */
+	public void record(Unit<Double> source,
+	                   Unit<Double> destination,
+	                   double[] inputs,
+	                   int inputsPos,
+	                   double[] outputs,
+	                   int outputsPos,
+	                   int length)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(inputsPos, length, inputs.length);
+		Objects.checkFromIndexSize(outputsPos, length, outputs.length);
+		int sourceId = intern(source);
+		int destinationId = intern(destination);
+		if (length == 0)
+		{
+			return;
+		}
+		recorded += length;
+		if (length > maxEntries)
+		{
+			// Oldest conversions would be evicted right away
+			int skipped = length - maxEntries;
+			inputsPos += skipped;
+			outputsPos += skipped;
+			length = maxEntries;
+			evicted += skipped;
+		}
+		ensureCapacity(size + length);
+		int capacity = timestamps.length;
+		Rows removed = null;
+		if ((size + length) > capacity)
+		{
+			removed = evict((size + length) - capacity);
+		}
+		long timestamp = System.currentTimeMillis();
+		int from = size;
+		int index = physical(size);
+		int done = 0;
+		while (done < length)
+		{
+			int count = Math.min(length - done, capacity - index);
+			Arrays.fill(timestamps, index, index + count, timestamp);
+			Arrays.fill(sources, index, index + count, sourceId);
+			Arrays.fill(destinations, index, index + count, destinationId);
+			System.arraycopy(inputs, inputsPos + done, this.inputs, index, count);
+			System.arraycopy(outputs, outputsPos + done, this.outputs, index, count);
+			done += count;
+			index = 0;
+		}
+		size += length;
+		entries.fire(removed, from);
+	}
+
+	/**
+	 * Number of entries
+	 * @return the number of entries in this history
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Maximum number of entries according to memory budget
+	 * @return the maximum number of entries in this history
+	 */
+	public int getMaxEntries()
+	{
+		return maxEntries;
+	}
+
+	/**
+	 * Number of recorded entries
+	 * @return the number of entries recorded since creation or last
+	 * {@link #clear()} (including evicted ones)
+	 */
+	public long getRecorded()
+	{
+		return recorded;
+	}
+
+	/**
+	 * Number of evicted entries
+	 * @return the number of entries evicted since creation or last
+	 * {@link #clear()} to stay within memory budget
+	 */
+	public long getEvicted()
+	{
+		return evicted;
+	}
+
+	/**
+	 * Conversion time accessor
+	 * @param index the index of the entry (0 being the oldest one)
+	 * @return the conversion time of this entry (in ms since epoch)
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	public long getTimestamp(int index) throws IndexOutOfBoundsException
+	{
+		return timestamps[physical(Objects.checkIndex(index, size))];
+	}
+
+	/**
+	 * Source unit accessor
+	 * @param index the index of the entry (0 being the oldest one)
+	 * @return the source unit of this entry
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	public Unit<Double> getSource(int index) throws IndexOutOfBoundsException
+	{
+		return units.get(sources[physical(Objects.checkIndex(index, size))]);
+	}
+
+	/**
+	 * Destination unit accessor
+	 * @param index the index of the entry (0 being the oldest one)
+	 * @return the destination unit of this entry
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	public Unit<Double> getDestination(int index) throws IndexOutOfBoundsException
+	{
+		return units.get(destinations[physical(Objects.checkIndex(index, size))]);
+	}
+
+	/**
+	 * Input value accessor
+	 * @param index the index of the entry (0 being the oldest one)
+	 * @return the value expressed in source unit of this entry
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	public double getInput(int index) throws IndexOutOfBoundsException
+	{
+		return inputs[physical(Objects.checkIndex(index, size))];
+	}
+
+	/**
+	 * Output value accessor
+	 * @param index the index of the entry (0 being the oldest one)
+	 * @return the value converted in destination unit of this entry
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	public double getOutput(int index) throws IndexOutOfBoundsException
+	{
+		return outputs[physical(Objects.checkIndex(index, size))];
+	}
+
+	/**
+	 * Accessor to the virtual list of entries
+	 * @return a read only observable list of entries (from the oldest to the
+	 * most recent one) whose elements are only created when requested
+	 */
+	public ObservableList<Entry> getEntries()
+	{
+		return entries;
+	}
+
+	/**
+	 * Removes all entries, interned units and resets counters
+	 */
+	public void clear()
+	{
+		Rows removed = entries.listening() ? snapshot(size) : null;
+		reset();
+		if (removed != null)
+		{
+			entries.fire(removed, 0);
+		}
+	}
+
+	/**
+	 * Exports all entries to a text file: a header line starting with '#'
+	 * followed by one line per entry containing tab separated timestamp
+	 * (ISO-8601), source unit description, destination unit description,
+	 * input value and output value (as {@link Double#toString(double)} so
+	 * they can be read back exactly)
+	 * @param file the file to write
+	 * @return the number of exported entries
+	 * @throws IOException if file can't be written
+	 */
+	public int export(Path file) throws IOException
+	{
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+		{
+			writer.write("# timestamp\tsource\tdestination\tinput\toutput");
+			writer.newLine();
+			StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < size; i++)
+			{
+				int index = physical(i);
+				builder.setLength(0);
+				builder.append(Instant.ofEpochMilli(timestamps[index])).append('\t');
+				builder.append(units.get(sources[index]).getDescription()).append('\t');
+				builder.append(units.get(destinations[index]).getDescription()).append('\t');
+				builder.append(inputs[index]).append('\t');
+				builder.append(outputs[index]);
+				writer.append(builder);
+				writer.newLine();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Interns a unit
+	 * @param unit the unit to intern
+	 * @return the id of this unit
+	 * @throws NullPointerException if unit is null
+	 */
+	private int intern(Unit<Double> unit) throws NullPointerException
+	{
+		Objects.requireNonNull(unit);
+		Integer id = unitsIds.get(unit);
+		if (id == null)
+		{
+			id = Integer.valueOf(units.size());
+			units.add(unit);
+			unitsIds.put(unit, id);
+		}
+		return id.intValue();
+	}
+
+	/**
+	 * Index in columns of an entry
+	 * @param index the index of the entry (0 being the oldest one)
+	 * @return the index in columns of this entry
+	 */
+	private int physical(int index)
+	{
+		int result = head + index;
+		return result >= timestamps.length ? result - timestamps.length : result;
+	}
+
+	/**
+	 * Grows columns (within {@link #maxEntries}) so they can hold the
+	 * required number of entries, entries are then stored from index 0
+	 * @param required the required number of entries
+	 */
+	private void ensureCapacity(int required)
+	{
+		int capacity = timestamps.length;
+		if ((required <= capacity) || (capacity == maxEntries))
+		{
+			return;
+		}
+		int newCapacity = (int) Math.min(maxEntries,
+		                                 Math.max(required, 2L * capacity));
+		long[] oldTimestamps = timestamps;
+		int[] oldSources = sources;
+		int[] oldDestinations = destinations;
+		double[] oldInputs = inputs;
+		double[] oldOutputs = outputs;
+		allocate(newCapacity);
+		int first = Math.min(size, capacity - head);
+		int second = size - first;
+		System.arraycopy(oldTimestamps, head, timestamps, 0, first);
+		System.arraycopy(oldTimestamps, 0, timestamps, first, second);
+		System.arraycopy(oldSources, head, sources, 0, first);
+		System.arraycopy(oldSources, 0, sources, first, second);
+		System.arraycopy(oldDestinations, head, destinations, 0, first);
+		System.arraycopy(oldDestinations, 0, destinations, first, second);
+		System.arraycopy(oldInputs, head, inputs, 0, first);
+		System.arraycopy(oldInputs, 0, inputs, first, second);
+		System.arraycopy(oldOutputs, head, outputs, 0, first);
+		System.arraycopy(oldOutputs, 0, outputs, first, second);
+		head = 0;
+	}
+
+	/**
+	 * Evicts the oldest entries
+	 * @param count the number of entries to evict
+	 * @return a snapshot of evicted entries if {@link #entries} has listeners
+	 * or null otherwise
+	 */
+	private Rows evict(int count)
+	{
+		Rows removed = entries.listening() ? snapshot(count) : null;
+		head = physical(count);
+		size -= count;
+		evicted += count;
+		return removed;
+	}
+
+	/**
+	 * Copies the oldest entries into a snapshot (in order to report them as
+	 * removed)
+	 * @param count the number of entries to copy
+	 * @return a snapshot of the count oldest entries
+	 */
+	private Rows snapshot(int count)
+	{
+		Rows rows = new Rows(units, count);
+		for (int i = 0; i < count; i++)
+		{
+			int index = physical(i);
+			rows.timestamps[i] = timestamps[index];
+			rows.sources[i] = sources[index];
+			rows.destinations[i] = destinations[index];
+			rows.inputs[i] = inputs[index];
+			rows.outputs[i] = outputs[index];
+		}
+		return rows;
+	}
+
+	/**
+	 * Virtual list of entries materializing {@link Entry} objects on demand
+	 */
+	private final class EntriesList extends ObservableListBase<Entry>
+	{
+		/**
+		 * Checks if this list has listeners
+		 * @return true if this list has listeners
+		 */
+		boolean listening()
+		{
+			return hasListeners();
+		}
+
+		/**
+		 * Fires a single change (if there are listeners) made of evicted
+		 * entries removal and new entries addition
+		 * @param removed the evicted entries (or null if there is no evicted
+		 * entries)
+		 * @param from the index of the first new entry (after eviction)
+		 */
+		void fire(Rows removed, int from)
+		{
+			if (!hasListeners())
+			{
+				return;
+			}
+			beginChange();
+			if ((removed != null) && !removed.isEmpty())
+			{
+				nextRemove(0, removed);
+			}
+			if (from < size)
+			{
+				nextAdd(from, size);
+			}
+			endChange();
+		}
+
+		@Override
+		public Entry get(int index)
+		{
+			int i = physical(Objects.checkIndex(index, size));
+			return new Entry(timestamps[i],
+			                 units.get(sources[i]),
+			                 units.get(destinations[i]),
+			                 inputs[i],
+			                 outputs[i]);
+		}
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+	}
+
+	/**
+	 * Columns copy of removed entries used to report them without keeping
+	 * {@link Entry} objects
+	 */
+	private static final class Rows extends AbstractList<Entry>
+	{
+		/**
+		 * Interned units at the time of the copy
+		 */
+		private final List<Unit<Double>> units;
+
+		/**
+		 * Conversions times
+		 */
+		private final long[] timestamps;
+
+		/**
+		 * Source units ids
+		 */
+		private final int[] sources;
+
+		/**
+		 * Destination units ids
+		 */
+		private final int[] destinations;
+
+		/**
+		 * Input values
+		 */
+		private final double[] inputs;
+
+		/**
+		 * Output values
+		 */
+		private final double[] outputs;
+
+		/**
+		 * Constructor
+		 * @param units interned units
+		 * @param size number of rows
+		 */
+		private Rows(List<Unit<Double>> units, int size)
+		{
+			this.units = units;
+			timestamps = new long[size];
+			sources = new int[size];
+			destinations = new int[size];
+			inputs = new double[size];
+			outputs = new double[size];
+		}
+
+		@Override
+		public Entry get(int index)
+		{
+			Objects.checkIndex(index, timestamps.length);
+			return new Entry(timestamps[index],
+			                 units.get(sources[index]),
+			                 units.get(destinations[index]),
+			                 inputs[index],
+			                 outputs[index]);
+		}
+
+		@Override
+		public int size()
+		{
+			return timestamps.length;
+		}
+	}
+}
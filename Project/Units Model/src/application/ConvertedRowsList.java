@@ -0,0 +1,298 @@
+package application;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.collections.ObservableListBase;
+import measures.units.Unit;
+
+/**
+ * Read only observable list of rows converted in bulk into a single
+ * {@link Unit} and formatted by this unit.
+ * Converted values are kept in a primitive array and rows are only formatted
+ * when requested (e.g. by visible cells of a
+ * {@link javafx.scene.control.ListView}), so that millions of rows can be
+ * published without creating millions of Strings.
+ * Rows are published in chunks: each call to
+ * {@link #publish(double[], int)} fires a single change adding all rows
+ * converted since the previous call. Rows converted by another thread are
+ * published through a {@link Publisher} which coalesces publications.
+ * This list shall only be modified and read by a single thread (e.g. the
+ * JavaFX Application Thread).
+ * @author davidroussel
+ * @see BulkConversionService#getResults()
+ */
+public final class ConvertedRowsList extends ObservableListBase<String>
+{
+	/**
+	 * The unit formatting rows
+	 */
+	private Unit<Double> unit;
+
+	/**
+	 * Converted values (only the first {@link #size} ones are published)
+	 */
+	private double[] values;
+
+	/**
+	 * Number of published rows
+	 */
+	private int size;
+
+	/**
+	 * Default constructor creating an empty list
+	 */
+	public ConvertedRowsList()
+	{
+		unit = null;
+		values = new double[0];
+		size = 0;
+	}
+
+	/**
+	 * Removes all published rows and prepares publishing new rows
+	 * @param unit the unit formatting new rows
+	 * @param values the array where new rows will be converted. This array is
+	 * not copied: published rows shall not be modified afterwards.
+	 * @throws NullPointerException if unit or values are null
+	 */
+	public void reset(Unit<Double> unit, double[] values) throws NullPointerException
+	{
+		Objects.requireNonNull(unit);
+		Objects.requireNonNull(values);
+		List<String> removed = new Rows(this.unit, this.values, size);
+		int removedSize = size;
+		this.unit = unit;
+		this.values = values;
+		size = 0;
+		if (removedSize > 0)
+		{
+			beginChange();
+			nextRemove(0, removed);
+			endChange();
+		}
+	}
+
+	/**
+	 * Publishes new rows
+	 * @param converted the array where rows have been converted: rows are
+	 * not published if this list has been reset with another array since
+	 * (e.g. when a late publication of a cancelled conversion occurs).
+	 * @param newSize the new number of published rows. Rows between the
+	 * current size and this new size shall already have been converted.
+	 * @throws IndexOutOfBoundsException if newSize is lower than current size
+	 * or greater than the number of values to convert
+	 */
+	public void publish(double[] converted, int newSize) throws IndexOutOfBoundsException
+	{
+		if (converted != values)
+		{
+			return;
+		}
+		Objects.checkFromToIndex(size, newSize, values.length);
+		if (newSize == size)
+		{
+			return;
+		}
+		int from = size;
+		size = newSize;
+		beginChange();
+		nextAdd(from, newSize);
+		endChange();
+	}
+
+	/**
+	 * Accessor to the converted value of a row
+	 * @param index the index of the row
+	 * @return the converted value of this row
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	public double getValue(int index) throws IndexOutOfBoundsException
+	{
+		return values[Objects.checkIndex(index, size)];
+	}
+
+	/**
+	 * Accessor to the (lazily formatted) row at the provided index
+	 * @param index the index of the requested row
+	 * @return the converted value of this row formatted by the unit
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	@Override
+	public String get(int index) throws IndexOutOfBoundsException
+	{
+		return unit.formatValue(getValue(index));
+	}
+
+	/**
+	 * Number of published rows
+	 * @return the number of published rows
+	 */
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Creates a publisher of rows converted into the provided array by
+	 * another thread
+	 * @param converted the array where rows are converted (which shall be the
+	 * array provided to the last {@link #reset(Unit, double[])} for rows to
+	 * be published)
+	 * @param executor the executor running publications on the thread
+	 * owning this list (e.g. {@link javafx.application.Platform#runLater(Runnable)})
+	 * @return a new publisher of rows converted into the provided array
+	 * @throws NullPointerException if converted or executor are null
+	 */
+	public Publisher publisher(double[] converted, Executor executor)
+	    throws NullPointerException
+	{
+		return new Publisher(this, converted, executor);
+	}
+
+	/**
+	 * Publisher of rows converted by another thread: at most one publication
+	 * is pending on the thread owning the list, which publishes all rows
+	 * converted so far in a single change, so that the list's listeners are
+	 * never flooded by events.
+	 * Publications of a publisher whose array has been replaced by
+	 * {@link ConvertedRowsList#reset(Unit, double[])} since (e.g. late
+	 * publications of a cancelled conversion) are ignored.
+	 */
+	public static final class Publisher
+	{
+		/**
+		 * The list to publish rows into
+		 */
+		private final ConvertedRowsList rows;
+
+		/**
+		 * The array where rows are converted
+		 */
+		private final double[] converted;
+
+		/**
+		 * The executor running publications on the thread owning the list
+		 */
+		private final Executor executor;
+
+		/**
+		 * Number of rows converted so far.
+		 * Rows below this index are safely published to other threads since
+		 * they have been written before this counter has been updated.
+		 */
+		private final AtomicInteger count;
+
+		/**
+		 * Flag indicating a publication is pending
+		 */
+		private final AtomicBoolean pending;
+
+		/**
+		 * Constructor
+		 * @param rows the list to publish rows into
+		 * @param converted the array where rows are converted
+		 * @param executor the executor running publications on the thread
+		 * owning the list
+		 * @throws NullPointerException if converted or executor are null
+		 */
+		private Publisher(ConvertedRowsList rows, double[] converted, Executor executor)
+		    throws NullPointerException
+		{
+			this.rows = rows;
+			this.converted = Objects.requireNonNull(converted);
+			this.executor = Objects.requireNonNull(executor);
+			count = new AtomicInteger(0);
+			pending = new AtomicBoolean(false);
+		}
+
+		/**
+		 * Accessor to the number of rows converted so far
+		 * @return the number of rows converted so far
+		 */
+		public int getCount()
+		{
+			return count.get();
+		}
+
+		/**
+		 * Records converted rows and schedules their publication, unless a
+		 * publication is already pending (which will publish these rows as
+		 * well). May be called by any thread.
+		 * @param newCount the number of rows converted so far
+		 */
+		public void converted(int newCount)
+		{
+			count.set(newCount);
+			if (pending.compareAndSet(false, true))
+			{
+				executor.execute(() -> {
+					pending.set(false);
+					rows.publish(converted, count.get());
+				});
+			}
+		}
+
+		/**
+		 * Publishes all rows converted so far immediately.
+		 * Shall be called by the thread owning the list (e.g. once
+		 * conversion has ended).
+		 */
+		public void flush()
+		{
+			rows.publish(converted, count.get());
+		}
+	}
+
+	/**
+	 * Lazily formatted view of previously published rows used to report
+	 * removed rows without formatting them
+	 */
+	private static final class Rows extends AbstractList<String>
+	{
+		/**
+		 * The unit formatting rows
+		 */
+		private final Unit<Double> unit;
+
+		/**
+		 * The rows values
+		 */
+		private final double[] values;
+
+		/**
+		 * The number of rows
+		 */
+		private final int size;
+
+		/**
+		 * Constructor
+		 * @param unit the unit formatting rows
+		 * @param values the rows values
+		 * @param size the number of rows
+		 */
+		private Rows(Unit<Double> unit, double[] values, int size)
+		{
+			this.unit = unit;
+			this.values = values;
+			this.size = size;
+		}
+
+		@Override
+		public String get(int index)
+		{
+			return unit.formatValue(values[Objects.checkIndex(index, size)]);
+		}
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javafx.collections.ObservableListBase;
+import measures.units.Unit;
+
+/**
+ * Read only observable list of values converted into several {@link Unit}s
+ * and formatted by these units.
+ * Values are formatted lazily: only when an element is requested (e.g. by a
+ * visible cell of a {@link javafx.scene.control.ListView}) and only once per
+ * conversion.
+ * <ul>
+ * 	<li>When only values change, a single change containing an update of
+ * 	each element is fired</li>
+ * 	<li>When units change (e.g. new measure type or new sort order), a single
+ * 	change replacing all elements is fired</li>
+ * </ul>
+ * @author davidroussel
+ * @see Converter#convertToAll()
+ */
+final class ConvertedTextList extends ObservableListBase<String>
+{
+	/**
+	 * The units formatting each value
+	 */
+	private List<Unit<Double>> units;
+
+	/**
+	 * The values to format
+	 */
+	private double[] values;
+
+	/**
+	 * Formatted values (or null when not formatted yet)
+	 */
+	private String[] texts;
+
+	/**
+	 * Number of elements in this list
+	 */
+	private int size;
+
+	/**
+	 * Default constructor creating an empty list
+	 */
+	ConvertedTextList()
+	{
+		units = List.of();
+		values = new double[0];
+		texts = new String[0];
+		size = 0;
+	}
+
+	/**
+	 * Sets new values to format
+	 * @param units the units formatting each value
+	 * @param values the values to format. This array is not copied and shall
+	 * not be modified until next call to this method.
+	 * @throws NullPointerException if units or values are null
+	 * @throws IllegalArgumentException if units and values don't have the same
+	 * size
+	 */
+	void setValues(List<Unit<Double>> units, double[] values)
+	    throws NullPointerException,
+	    IllegalArgumentException
+	{
+		Objects.requireNonNull(units);
+		Objects.requireNonNull(values);
+		if (units.size() != values.length)
+		{
+			throw new IllegalArgumentException("units[" + units.size()
+			    + "] and values[" + values.length
+			    + "] don't have the same number of elements");
+		}
+		boolean sameUnits = units.equals(this.units);
+		List<String> removed = sameUnits ? null : materialize();
+
+		this.units = List.copyOf(units);
+		this.values = values;
+		if (texts.length != values.length)
+		{
+			texts = new String[values.length];
+		}
+		else
+		{
+			Arrays.fill(texts, null);
+		}
+		size = values.length;
+
+		beginChange();
+		if (sameUnits)
+		{
+			for (int i = 0; i < size; i++)
+			{
+				nextUpdate(i);
+			}
+		}
+		else
+		{
+			nextReplace(0, size, removed);
+		}
+		endChange();
+	}
+
+	/**
+	 * Removes all elements
+	 */
+	void reset()
+	{
+		if (size == 0)
+		{
+			return;
+		}
+		List<String> removed = materialize();
+		units = List.of();
+		values = new double[0];
+		texts = new String[0];
+		size = 0;
+		beginChange();
+		nextRemove(0, removed);
+		endChange();
+	}
+
+	/**
+	 * Accessor to the (lazily formatted) element at the provided index
+	 * @param index the index of the requested element
+	 * @return the value at the provided index formatted by its unit
+	 * @throws IndexOutOfBoundsException if index is out of [0 .. size()[
+	 */
+	@Override
+	public String get(int index) throws IndexOutOfBoundsException
+	{
+		Objects.checkIndex(index, size);
+		String text = texts[index];
+		if (text == null)
+		{
+			text = units.get(index).formatValue(values[index]);
+			texts[index] = text;
+		}
+		return text;
+	}
+
+	/**
+	 * Number of elements in this list
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Formats all remaining elements before they get removed
+	 * @return a new list containing all current elements
+	 */
+	private List<String> materialize()
+	{
+		List<String> result = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++)
+		{
+			result.add(get(i));
+		}
+		return result;
+	}
+}
@@ -1,8 +1,12 @@
 package application;
 
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,12 +20,19 @@ import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import logger.LazyLog;
 import logger.LoggerFactory;
 import measures.MeasureType;
+import measures.units.ConversionMatrix;
+import measures.units.ConversionPlan;
+import measures.units.Quantity;
 import measures.units.Setable;
 import measures.units.SortOrder;
 import measures.units.Unit;
+import measures.units.UnitsCatalogue;
 import measures.units.UnitsFactory;
+import measures.units.ValueParser;
+import metrics.ConversionMetrics;
 
 /**
  * Converter represents the main Data Model class.
@@ -33,8 +44,15 @@ import measures.units.UnitsFactory;
  * </ul>
  * @author davidroussel
  */
-public class Converter
+public final class Converter
 {
+	/**
+	 * Maximum number of values converted at once when converting
+	 * {@link DoubleBuffer}s which are not backed by arrays
+	 * @see #convert(DoubleBuffer, DoubleBuffer)
+	 */
+	public static final int BufferChunkSize = 4096;
+
 	/**
 	 * Logger to show debug message or only log them in a file
 	 */
@@ -49,6 +67,21 @@ public class Converter
 	 */
 	private ObjectProperty<MeasureType> measureType;
 
+	/**
+	 * Catalogue of units corresponding to the current {@link #measureType}
+	 * providing presorted {@link #sourceUnits} and {@link #destinationUnits}
+	 * @see UnitsFactory#getCatalogue(MeasureType)
+	 */
+	private UnitsCatalogue catalogue;
+
+	/**
+	 * Conversion matrix between all units of the current {@link #measureType}
+	 * used to convert source value into every destination unit at once
+	 * @see UnitsFactory#getConversionMatrix(MeasureType)
+	 * @see #convertToAll()
+	 */
+	private ConversionMatrix matrix;
+
 	/**
 	 * Observable List of source {@link Unit}s.
 	 * Such an Observable list can be set as the content of a
@@ -133,12 +166,79 @@ public class Converter
 
 	/**
 	 * The text property containing the text obtained after value conversion
-	 * from {@link #sourceUnit} to {@link #destinationUnit}
+	 * from {@link #sourceUnit} to {@link #destinationUnit}.
+	 * This property is invalidated by {@link #sourceUnit},
+	 * {@link #destinationUnit} and {@link #sourceValue} changes, and
+	 * {@link #sourceValue} is only converted and formatted when this property
+	 * is read, so that several changes triggered by a single user action (e.g.
+	 * source unit change, then input text reformatting, then destination unit
+	 * change) are converted and formatted at most once.
 	 * @implNote this property shall be bound to a
 	 * {@link javafx.scene.control.Label} in order for changes in this model to
-	 * be reflected in UI.
+	 * be reflected in UI. Bound labels read it (hence convert and format the
+	 * source value) at most once per pulse.
+	 * @see #convertSourceValue()
+	 */
+	private LazyFormattedProperty outputText;
+
+	/**
+	 * Reused parser of {@link #inputText}
+	 * @see #parseInputText(String)
+	 */
+	private final ValueParser parser;
+
+	/**
+	 * Property holding the value to convert (expressed in the
+	 * {@link #sourceUnit} it has been set with) or null if there is no value
+	 * to convert.
+	 * Values are carried by this converter rather than stored into source and
+	 * destination units, so that conversions never modify the flyweight units
+	 * provided by {@link UnitsFactory} which are shared by all converters.
+	 * @see #parseInputText(String)
+	 * @see #setSourceValue(double)
+	 */
+	private ObjectProperty<Quantity> sourceValue;
+
+	/**
+	 * Number of conversions of {@link #sourceValue} into
+	 * {@link #destinationUnit}
+	 */
+	private long conversions;
+
+	/**
+	 * Number of conversions skipped by {@link #convert()} because neither
+	 * units nor source value changed since the last conversion
+	 */
+	private long skippedConversions;
+
+	/**
+	 * Property indicating the "convert to every unit" mode: whenever source
+	 * value is converted, it is also converted into every unit of
+	 * {@link #destinationUnits}
+	 * @see #convertToAll()
+	 */
+	private BooleanProperty fanOut;
+
+	/**
+	 * Indices in {@link #matrix} of each unit of {@link #destinationUnits}
 	 */
-	private StringProperty outputText;
+	private int[] fanOutIndices;
+
+	/**
+	 * Observable list of source value converted into each unit of
+	 * {@link #destinationUnits} lazily formatted by these units
+	 * @implNote this list can be set as the content of a
+	 * {@link javafx.scene.control.ListView} in order for conversions into
+	 * every unit to be reflected in UI.
+	 */
+	private ConvertedTextList fanOutTexts;
+
+	/**
+	 * History recording every conversion performed by this converter (or
+	 * null if conversions are not recorded)
+	 * @see #setHistory(ConversionHistory)
+	 */
+	private ConversionHistory history;
 
 	/**
 	 * Constructor from a single type of measure
@@ -148,7 +248,7 @@ public class Converter
 	 * @see SimpleListProperty
 	 * @see SimpleStringProperty
 	 * @see #applyMeasureType()
-	 * @see #applyUnitListOrder(List, SortOrder)
+	 * @see #applyUnitListOrder(ObservableList, List)
 	 */
 	public Converter(MeasureType type) throws ParseException
 	{
@@ -167,12 +267,20 @@ public class Converter
 		unexchangeableUnits = new SimpleBooleanProperty(false);
 
 		inputText = new SimpleStringProperty();
-		outputText = new SimpleStringProperty();
+		sourceValue = new SimpleObjectProperty<Quantity>();
+		outputText = new LazyFormattedProperty(this::convertSourceValue,
+		                                       sourceUnit,
+		                                       destinationUnit,
+		                                       sourceValue);
+
+		parser = new ValueParser();
+
+		fanOut = new SimpleBooleanProperty(false);
+		fanOutIndices = new int[0];
+		fanOutTexts = new ConvertedTextList();
+		history = null;
 
 		applyMeasureType();
-		applyUnitListOrder(sourceUnits, sourceSortOrder.get());
-		applyUnitListOrder(destinationUnits, destinationSortOrder.get());
-		selectFirstUnits();
 	}
 
 	/**
@@ -254,44 +362,25 @@ public class Converter
 
 	/**
 	 * Apply the chosen {@link #measureType} by clearing {@link #sourceUnits} and
-	 * {@link #destinationUnits} and recreating it.
-	 * Units obtained with {@link UnitsFactory#getUnits(MeasureType)} are set into
-	 * {@link #sourceUnits} (only if setable) and {@link #destinationUnits}.
-	 * Also reapply ordering on both lists.
+	 * {@link #destinationUnits} and refilling them.
+	 * Units obtained with {@link UnitsFactory#getCatalogue(MeasureType)} are
+	 * set into {@link #sourceUnits} (only if setable) and
+	 * {@link #destinationUnits} already sorted according to current orders.
 	 * @throws ParseException if one of the created units can't parse its format
 	 * @see #clear()
-	 * @see UnitsFactory#getUnits(MeasureType)
-	 * @see #applyUnitListOrder(List, SortOrder)
+	 * @see UnitsFactory#getCatalogue(MeasureType)
+	 * @see #applyUnitListOrder(ObservableList, List)
+	 * @implNote Clearing units list might trigger comboboxes changes
+	 * onAction... in UI where the currently selected elt in these comboboxes
+	 * might be null since there is no more elements.
 	 */
 	public void applyMeasureType() throws ParseException
 	{
-		/*
-		 * TODO applyMeasureType
-		 * 	- clear()
-		 * 	- clears #sourceUnits
-		 * 	- clears #destinationUnits
-		 * 	- then use UnitsFactory.getUnits(...) to get units corresponding to measureType's value
-		 * 	- add these units to #sourceUnits (only if they are setable)
-		 * 	- add these units to #destinationUnits
-		 * 	- reapply #sourceSortOrder's value to sort #sourceUnits
-		 * 	- reapply #destinationSortOrder's value to sort #destinationUnits
-		 * 	- selectFirstUnits
-		 * Caution : Clearing units list might trigger comboboxes changes
-		 * onAction... in UI where the currently selected elt in these comboboxes
-		 * might be null since there is no more elements.
-		 */
 		clear();
-		sourceUnits.clear();
-		destinationUnits.clear();
-		Set<Unit<Double>> units=UnitsFactory.getUnits(this.measureType.getValue());
-		for(Unit<Double> e : units){
-			if (e.isSetable()){
-				this.sourceUnits.add(e);
-			}
-			this.destinationUnits.add(e);
-		}
-	    applyUnitListOrder(sourceUnits, sourceSortOrder.get());
-	    applyUnitListOrder(destinationUnits, destinationSortOrder.get());
+		catalogue = UnitsFactory.getCatalogue(measureType.getValue());
+		matrix = UnitsFactory.getConversionMatrix(measureType.getValue());
+		applySourceSortOrder();
+		applyDestinationSortOrder();
 		selectFirstUnits();
 	}
 
@@ -353,8 +442,8 @@ public class Converter
 	/**
 	 * Apply actions associated to {@link #sourceUnit} change.
 	 * if {@link #inputText} is not empty then it shall be parsed to
-	 * obtain source unit's value and conversion to destination unit shall be
-	 * performed.
+	 * obtain source value, which will be converted to destination unit when
+	 * {@link #outputText} is read.
 	 * @see #sourceUnit
 	 * @see #inputText
 	 * @see #applyInputText()
@@ -362,7 +451,6 @@ public class Converter
 	 */
 	public void applySourceUnit()
 	{
-		Unit<Double> source = sourceUnit.get();
 		String input = inputText.get();
 		if (input != null)
 		{
@@ -374,16 +462,9 @@ public class Converter
 					/*
 					 * TODO applySourceUnit()
 					 * 	- apply source formatted value to #inputText
-					 * 	- then try to convert
-					 * 		- logger.severe(...) if conversion is not possible
+					 * 	- conversion is performed when #outputText is read
 					 */
-					inputText.set(source.formatValue());
-		            try {
-		                convert();
-		            }
-					catch (NumberFormatException e){
-						logger.severe("Error converting source unit to destination unit");
-					}
+					inputText.set(sourceValue.get().format());
 				}
 			}
 		}
@@ -429,32 +510,33 @@ public class Converter
 	 * Apply actions related to {@link #sourceSortOrder} changes:
 	 * {@link #sourceUnits} shall be re-sorted according to
 	 * {@link #sourceSortOrder}
-	 * @see #applyUnitListOrder(List, SortOrder)
+	 * @see #applyUnitListOrder(ObservableList, List)
 	 */
 	public void applySourceSortOrder()
 	{
 		SortOrder order = sourceSortOrder.get();
 		if (order != null)
 		{
-			applyUnitListOrder(sourceUnits, order);
+			applyUnitListOrder(sourceUnits,
+			                   catalogue.getSetableUnits(order));
 		}
 	}
 
 	/**
-	 * Sort the provided {@link Unit} list with provided {@link SortOrder}
-	 * @param units the {@link Unit} {@link List} to sort
-	 * @param order the order to use when sorting the {@link Unit} {@link List}
-	 * @see Unit#setOrder(SortOrder)
-	 * @see List#sort(java.util.Comparator)
-	 * @see Unit#compareTo(Unit)
+	 * Fills the provided {@link Unit} list with presorted units in provided
+	 * {@link SortOrder}
+	 * @param units the {@link Unit} {@link ObservableList} to fill
+	 * @param sortedUnits the units from {@link #catalogue} already sorted
+	 * @see UnitsCatalogue#getUnits(SortOrder)
+	 * @see UnitsCatalogue#getSetableUnits(SortOrder)
+	 * @implNote Units are sorted with {@link SortOrder#comparator()} and the
+	 * global {@link Unit#getOrder()} is left untouched so that several
+	 * converters can use different orders concurrently
 	 */
-	private void applyUnitListOrder(List<Unit<Double>> units, SortOrder order)
+	private void applyUnitListOrder(ObservableList<Unit<Double>> units,
+	                                List<Unit<Double>> sortedUnits)
 	{
-		Unit.setOrder(order);
-		if (!units.isEmpty())
-		{
-			units.sort(Unit::compareTo); // Unit::compareTo is a method reference
-		}
+		units.setAll(sortedUnits);
 	}
 
 	/**
@@ -514,9 +596,10 @@ public class Converter
 
 	/**
 	 * Apply actions asociated to {@link #destinationUnit} changes.
-	 * If {@link #sourceUnit} has a value, then conversion is performed.
 	 * Update {@link #unexchangeableUnits} according to the
-	 * chosen {@link #destinationUnit}
+	 * chosen {@link #destinationUnit}.
+	 * {@link #sourceValue} (if any) will be converted into the new
+	 * {@link #destinationUnit} when {@link #outputText} is read.
 	 */
 	public void applyDestinationUnit()
 	{
@@ -526,15 +609,6 @@ public class Converter
 			unexchangeableUnits.set(!(destination.isSetable()));
 //			logger.info("Unexchangeable property set to " + unexchangeableUnits.get());
 		}
-
-		Unit<Double> source = sourceUnit.get();
-		if (source != null)
-		{
-			if (source.hasValue())
-			{
-				convert();
-			}
-		}
 	}
 
 	/**
@@ -559,7 +633,7 @@ public class Converter
 	 * Destination units order setter
 	 * @param order the new destination units order to set
 	 * @implSpec Shall trigger a new sort operation on {@link #destinationUnits}
-	 * @see #applyUnitListOrder(List, SortOrder)
+	 * @see #applyUnitListOrder(ObservableList, List)
 	 */
 	public void setDestinationSortOrder(SortOrder order)
 	{
@@ -573,16 +647,111 @@ public class Converter
 	/**
 	 * Apply actions related to {@link #destinationSortOrder} changes:
 	 * {@link #destinationUnits} list shall be re-sorted according to
-	 * {@link #destinationSortOrder} value.
-	 * @see #applyUnitListOrder(List, SortOrder)
+	 * {@link #destinationSortOrder} value. Then, in "convert to every unit"
+	 * mode, values converted into every destination unit are re-ordered
+	 * accordingly.
+	 * @see #applyUnitListOrder(ObservableList, List)
+	 * @see #applyFanOut()
 	 */
 	public void applyDestinationSortOrder()
 	{
 		SortOrder order = destinationSortOrder.get();
 		if (order != null)
 		{
-			applyUnitListOrder(destinationUnits, order);
+			applyUnitListOrder(destinationUnits,
+			                   catalogue.getUnits(order));
+			fanOutIndices = matrix.indicesOf(destinationUnits);
+			applyFanOut();
+		}
+	}
+
+	/**
+	 * Accessor to the "convert to every unit" mode property
+	 * @return the "convert to every unit" mode property
+	 * @implNote this property can evt be bound to a
+	 * {@link javafx.scene.control.CheckBox#selectedProperty()}
+	 */
+	public BooleanProperty fanOutProperty()
+	{
+		return fanOut;
+	}
+
+	/**
+	 * Accessor to the "convert to every unit" mode
+	 * @return true if source value is converted into every destination unit
+	 */
+	public boolean isFanOut()
+	{
+		return fanOut.get();
+	}
+
+	/**
+	 * "convert to every unit" mode setter (iff not already bound)
+	 * @param enabled the new mode
+	 * @see #applyFanOut()
+	 */
+	public void setFanOut(boolean enabled)
+	{
+		if (!fanOut.isBound())
+		{
+			fanOut.set(enabled);
 		}
+		applyFanOut();
+	}
+
+	/**
+	 * Apply actions related to {@link #fanOut} changes:
+	 * if enabled and there is a {@link #sourceValue}, then this value is
+	 * converted into every destination unit, otherwise
+	 * {@link #getFanOutTexts()} is cleared.
+	 * @see #convertToAll()
+	 */
+	public void applyFanOut()
+	{
+		if (fanOut.get() && (sourceUnit.get() != null) && (sourceValue.get() != null))
+		{
+			convertToAll();
+		}
+		else
+		{
+			fanOutTexts.reset();
+		}
+	}
+
+	/**
+	 * Accessor to the observable list of source value converted into every
+	 * unit of {@link #getdestinationUnits()} (in the same order) and formatted
+	 * by these units.
+	 * This list is updated by {@link #convertToAll()} (hence by
+	 * {@link #convert()} in "convert to every unit" mode) and formats its
+	 * elements only when they are requested.
+	 * @return a read only observable list of formatted converted values
+	 */
+	public ObservableList<String> getFanOutTexts()
+	{
+		return fanOutTexts;
+	}
+
+	/**
+	 * Accessor to the history recording conversions
+	 * @return the history recording conversions performed by this converter
+	 * or null if conversions are not recorded
+	 */
+	public ConversionHistory getHistory()
+	{
+		return history;
+	}
+
+	/**
+	 * Sets the history recording conversions performed by {@link #convert()}
+	 * and by bulk conversions ({@link #convert(double[], int, double[], int, int)}
+	 * and {@link #convert(DoubleBuffer, DoubleBuffer)})
+	 * @param history the history to record conversions in or null to stop
+	 * recording conversions
+	 */
+	public void setHistory(ConversionHistory history)
+	{
+		this.history = history;
 	}
 
 	/**
@@ -595,6 +764,54 @@ public class Converter
 		return unexchangeableUnits;
 	}
 
+	/**
+	 * Accessor to the property holding the value to convert
+	 * @return the property holding the value to convert (or null if there is
+	 * no value to convert)
+	 */
+	public ObjectProperty<Quantity> sourceValueProperty()
+	{
+		return sourceValue;
+	}
+
+	/**
+	 * Accessor to the value to convert
+	 * @return the value to convert or null if there is no value to convert
+	 */
+	public Quantity getSourceValue()
+	{
+		return sourceValue.get();
+	}
+
+	/**
+	 * Sets a new value to convert expressed in {@link #sourceUnit}
+	 * @param value the value to convert (bounded by {@link #sourceUnit} just
+	 * as {@link Unit#setValue(Comparable)} would)
+	 * @throws IllegalStateException if {@link #sourceUnit} is null
+	 */
+	public void setSourceValue(double value) throws IllegalStateException
+	{
+		Unit<Double> source = sourceUnit.get();
+		if (source == null)
+		{
+			throw new IllegalStateException("null source unit");
+		}
+		sourceValue.set(new Quantity(value, source));
+	}
+
+	/**
+	 * Accessor to {@link #sourceValue} converted into {@link #destinationUnit}
+	 * (converting it only if units or source value changed since the last
+	 * conversion)
+	 * @return the converted value or null if there is no source value or if
+	 * source or destination units are null
+	 * @see #convertSourceValue()
+	 */
+	public Quantity getDestinationValue()
+	{
+		return outputText.getQuantity();
+	}
+
 	/**
 	 * Accessor to text property containing input value to parse
 	 * @return the text property
@@ -634,7 +851,7 @@ public class Converter
 	 * Apply actions related to {@link #inputText} changes:
 	 * Parse {@link #inputText} to retrieve value for {@link #sourceUnit}
 	 * @return true if {@link #inputText} text has been parsed and value set into
-	 * {@link #sourceUnit}
+	 * {@link #sourceValue}
 	 * @see #parseInputText(String)
 	 */
 	public boolean applyInputText()
@@ -652,12 +869,18 @@ public class Converter
 	}
 
 	/**
-	 * Parse text to obtain double value to store in {@link #sourceUnit}
-	 * Once value has been set into {@link #sourceUnit}, {@link #inputText} is
-	 * re-formated once again with {@link #sourceUnit}'s value.
+	 * Parse text to obtain double value expressed in {@link #sourceUnit} to
+	 * store in {@link #sourceValue}.
+	 * Once value has been set into {@link #sourceValue}, {@link #inputText} is
+	 * re-formated once again with {@link #sourceUnit}.
+	 * Text is parsed by {@link #sourceUnit} (so decomposed values such as
+	 * "01h : 02m : 07s" are also accepted) with a reused {@link ValueParser}
+	 * which never throws, and value is only set into {@link #sourceValue} when
+	 * it differs from the current one.
 	 * @param text the text to parse
 	 * @return true if the provided text has been parsed and value set into
-	 * {@link #sourceUnit}
+	 * {@link #sourceValue}
+	 * @see Unit#parseValue(CharSequence, ValueParser)
 	 */
 	protected boolean parseInputText(String text)
 	{
@@ -666,27 +889,44 @@ public class Converter
 			logger.severe("Empty text to parse");
 			return false;
 		}
-		double value = 0.0;
-		try
-		{
-			value = Double.parseDouble(text);
-		}
-		catch (NumberFormatException e)
+		Unit<Double> source = sourceUnit.get();
+		ValueParser.Status status = source != null ?
+		    source.parseValue(text, parser) : parser.parse(text);
+		if (status != ValueParser.Status.VALID)
 		{
-			logger.severe("Unable to parse \"" + text + "\" to double :" + e.getLocalizedMessage());
+			if (status == ValueParser.Status.INCOMPLETE)
+			{
+				LazyLog.log(logger,
+				            Level.FINE,
+				            (String t) -> "Incomplete text \"" + t + "\"",
+				            text);
+			}
+			else
+			{
+				UnitsFactory.getMetrics().recordParseFailure(measureType.get());
+				LazyLog.log(logger,
+				            Level.SEVERE,
+				            (String t, ValueParser.Status s) -> "Unable to parse \""
+				                + t + "\" to double : " + s,
+				            text,
+				            status);
+			}
 			if (!inputText.isBound())
 			{
 				inputText.set(null);
 			}
 			return false;
 		}
-		Unit<Double> source = sourceUnit.get();
 		if (source != null)
 		{
-			source.setValue(value);
+			Quantity value = new Quantity(parser.getValue(), source);
+			if (!value.equals(sourceValue.get()))
+			{
+				sourceValue.set(value);
+			}
 			if (!inputText.isBound())
 			{
-				inputText.set(source.formatValue());
+				inputText.set(value.format());
 			}
 			return true;
 		}
@@ -694,12 +934,19 @@ public class Converter
 	}
 
 	/**
-	 * Convert source unit value into destination unit value
+	 * Convert {@link #sourceValue} into {@link #destinationUnit} now rather
+	 * than when {@link #outputText} is read.
+	 * Neither source nor destination units are modified: the converted value
+	 * is available through {@link #getDestinationValue()} and will be
+	 * formatted when {@link #outputText} is read.
+	 * The conversion is skipped if neither units nor source value changed
+	 * since the last conversion.
 	 * @throws IllegalStateException if this conversion can't be performed. If
-	 * {@link #sourceUnit} is null or doesn't have any value
+	 * {@link #sourceUnit} is null or there is no {@link #sourceValue}
 	 * @throws IllegalStateException if {@link #sourceUnit} is null,
-	 * if {@link #sourceUnit} has no values
+	 * if there is no {@link #sourceValue}
 	 * if {@link #destinationUnit} is null
+	 * @see #convertSourceValue()
 	 */
 	public void convert() throws IllegalStateException
 	{
@@ -708,14 +955,15 @@ public class Converter
 		 * 	- Get source unit (throw IllegalStateException if null)
 		 * 	- Check source has a value (throw IllegalStateException no available value)
 		 * 	- Get destination unit (throw IllegalStateException if null)
-		 * 	- convert value from source to destination
-		 * 	- format #outputText with formatted value from destination
+		 * 	- convert value from source to destination (iff needed)
+		 * 	- #outputText is formatted when read
 		 */
 		Unit<Double> source = sourceUnit.get();
 		if (source == null) {
 			throw new IllegalStateException("null source unit");
 		}
-		if (!source.hasValue()) {
+		Quantity value = sourceValue.get();
+		if (value == null) {
 			throw new IllegalStateException("no available value");
 		}
 		
@@ -726,13 +974,311 @@ public class Converter
 		{
 			throw new IllegalStateException("null destination unit");
 		}
-		destination.convertValueFrom(source);
-		outputText.set(destination.formatValue());
+		if (outputText.isConverted())
+		{
+			skippedConversions++;
+			return; // Nothing changed since last conversion
+		}
+		outputText.getQuantity();
+	}
+
+	/**
+	 * Convert {@link #sourceValue} into {@link #destinationUnit}.
+	 * This is the conversion performed by {@link #outputText} when it is read
+	 * after {@link #sourceUnit}, {@link #destinationUnit} or
+	 * {@link #sourceValue} changes.
+	 * In "convert to every unit" mode, source value is also converted into
+	 * every destination unit.
+	 * @return the converted value or null if there is no source value or if
+	 * source or destination units are null
+	 * @implNote when {@link UnitsFactory#getMetrics()} are enabled, each
+	 * performed conversion is recorded with its latency and measure type
+	 * @see #convertToAll()
+	 */
+	private Quantity convertSourceValue()
+	{
+		Quantity value = sourceValue.get();
+		Unit<Double> destination = destinationUnit.get();
+		if ((sourceUnit.get() == null) || (value == null) || (destination == null))
+		{
+			return null;
+		}
+		ConversionMetrics metrics = UnitsFactory.getMetrics();
+		boolean timed = metrics.isEnabled();
+		long start = timed ? System.nanoTime() : 0L;
+		Quantity converted = value.convertTo(destination);
+		if (timed)
+		{
+			metrics.recordConversion(measureType.get(), System.nanoTime() - start);
+		}
+		conversions++;
+		if (history != null)
+		{
+			history.record(value.getUnit(),
+			               destination,
+			               value.getValue(),
+			               converted.getValue());
+		}
+		if (fanOut.get())
+		{
+			convertToAll();
+		}
+		return converted;
+	}
+
+	/**
+	 * Number of conversions of source value into destination unit (whether
+	 * requested by {@link #convert()} or by reading
+	 * {@link #outputTextProperty()})
+	 * @return the number of conversions performed since this converter has
+	 * been created
+	 */
+	public long getConversions()
+	{
+		return conversions;
+	}
+
+	/**
+	 * Number of conversions skipped by {@link #convert()} because neither
+	 * units nor source value changed since the last conversion
+	 * @return the number of conversions skipped since this converter has been
+	 * created
+	 */
+	public long getSkippedConversions()
+	{
+		return skippedConversions;
+	}
+
+	/**
+	 * Number of converted values formatted into {@link #outputTextProperty()}
+	 * @return the number of converted values which have been formatted since
+	 * this converter has been created
+	 */
+	public long getOutputFormats()
+	{
+		return outputText.getFormats();
+	}
+
+	/**
+	 * Number of converted values which have never been formatted into
+	 * {@link #outputTextProperty()} because units or source value changed
+	 * again before it was read
+	 * @return the number of skipped formats since this converter has been
+	 * created
+	 */
+	public long getSkippedOutputFormats()
+	{
+		return outputText.getSkippedFormats();
+	}
+
+	/**
+	 * Convert {@link #sourceValue} into every unit of {@link #destinationUnits}
+	 * at once using the {@link ConversionMatrix} of the current
+	 * {@link #measureType}: source value is bounded (and evt converted to SI)
+	 * only once and no {@link Unit} values are set. Converted values are also
+	 * published (lazily formatted) in {@link #getFanOutTexts()}.
+	 * @return a new array containing source value converted into each unit of
+	 * {@link #destinationUnits} (in the same order)
+	 * @throws IllegalStateException if {@link #sourceUnit} is null, if there
+	 * is no {@link #sourceValue} or if its unit is not part of the current
+	 * {@link #measureType} units
+	 * @see ConversionMatrix#convert(int, double, int[], double[])
+	 */
+	public double[] convertToAll() throws IllegalStateException
+	{
+		Unit<Double> source = sourceUnit.get();
+		if (source == null)
+		{
+			throw new IllegalStateException("null source unit");
+		}
+		Quantity value = sourceValue.get();
+		if (value == null)
+		{
+			throw new IllegalStateException("no available value");
+		}
+		int sourceIndex = matrix.indexOf(value.getUnit());
+		if (sourceIndex < 0)
+		{
+			throw new IllegalStateException("unexpected source unit: "
+			    + value.getUnit());
+		}
+		/*
+		 * A new array is used for each conversion since the previous one is
+		 * still lazily formatted by fanOutTexts
+		 */
+		double[] values = new double[fanOutIndices.length];
+		matrix.convert(sourceIndex,
+		               value.getValue(),
+		               fanOutIndices,
+		               values);
+		fanOutTexts.setValues(destinationUnits, values);
+		return values.clone();
+	}
+
+	/**
+	 * Convert an array of values expressed in {@link #sourceUnit} into values
+	 * expressed in {@link #destinationUnit}.
+	 * @param values the values to convert
+	 * @param results the array to store converted values in (can be values
+	 * itself)
+	 * @throws IllegalStateException if {@link #sourceUnit} or
+	 * {@link #destinationUnit} is null
+	 * @throws IndexOutOfBoundsException if results is shorter than values
+	 * @see #convert(double[], int, double[], int, int)
+	 */
+	public void convert(double[] values, double[] results)
+	    throws IllegalStateException,
+	    IndexOutOfBoundsException
+	{
+		convert(values, 0, results, 0, values.length);
+	}
+
+	/**
+	 * Convert a range of values expressed in {@link #sourceUnit} into values
+	 * expressed in {@link #destinationUnit}.
+	 * Each converted value is the same as the one obtained by setting it with
+	 * {@link #setSourceValue(double)} and then calling {@link #convert()}
+	 * (both use the same {@link ConversionPlan}), but values are never boxed.
+	 * Like any plan, it may differ by one ulp from the two steps conversion
+	 * through SI values (see {@link ConversionPlan}).
+	 * @param values the values to convert
+	 * @param valuesPos the index of the first value to convert in values
+	 * @param results the array to store converted values in (can be values
+	 * itself)
+	 * @param resultsPos the index of the first converted value in results
+	 * @param length the number of values to convert
+	 * @throws IllegalStateException if {@link #sourceUnit} or
+	 * {@link #destinationUnit} is null
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or results bounds
+	 * @implNote when a {@link #getHistory()} is set, all conversions are
+	 * recorded at once in this history (inputs being copied first when
+	 * converted in place)
+	 * @implNote when {@link UnitsFactory#getMetrics()} are enabled, all
+	 * conversions are recorded at once with
+	 * {@link ConversionMetrics#recordConversions(MeasureType, long, long)}
+	 * (so they count in conversions and usage but not in latencies, which
+	 * are per conversion)
+	 * @see UnitsFactory#getConversionPlan(Unit, Unit)
+	 * @see ConversionPlan#convert(double[], int, double[], int, int)
+	 */
+	public void convert(double[] values,
+	                    int valuesPos,
+	                    double[] results,
+	                    int resultsPos,
+	                    int length)
+	    throws IllegalStateException,
+	    IndexOutOfBoundsException
+	{
+		Unit<Double> source = sourceUnit.get();
+		if (source == null)
+		{
+			throw new IllegalStateException("null source unit");
+		}
+		Unit<Double> destination = destinationUnit.get();
+		if (destination == null)
+		{
+			throw new IllegalStateException("null destination unit");
+		}
+		ConversionMetrics metrics = UnitsFactory.getMetrics();
+		boolean timed = metrics.isEnabled();
+		long start = timed ? System.nanoTime() : 0L;
+		if (history == null)
+		{
+			UnitsFactory.getConversionPlan(source, destination)
+			    .convert(values, valuesPos, results, resultsPos, length);
+		}
+		else
+		{
+			/*
+			 * Inputs are copied when converted in place so they can be
+			 * recorded
+			 */
+			double[] inputs = values;
+			int inputsPos = valuesPos;
+			if ((values == results) && (length > 0))
+			{
+				Objects.checkFromIndexSize(valuesPos, length, values.length);
+				inputs = Arrays.copyOfRange(values, valuesPos, valuesPos + length);
+				inputsPos = 0;
+			}
+			UnitsFactory.getConversionPlan(source, destination)
+			    .convert(values, valuesPos, results, resultsPos, length);
+			history.record(source, destination, inputs, inputsPos, results, resultsPos, length);
+		}
+		if (timed && (length > 0))
+		{
+			metrics.recordConversions(measureType.get(), length, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Convert remaining values of a {@link DoubleBuffer} expressed in
+	 * {@link #sourceUnit} into values expressed in {@link #destinationUnit}
+	 * put into another {@link DoubleBuffer}.
+	 * Just like {@link DoubleBuffer#put(DoubleBuffer)} both buffers positions
+	 * are advanced by the number of converted values.
+	 * When values and results are the same buffer, remaining values are
+	 * converted in place and the buffer's position is advanced only once.
+	 * @param values the buffer of values to convert
+	 * @param results the buffer to put converted values in (can be values
+	 * itself)
+	 * @throws IllegalStateException if {@link #sourceUnit} or
+	 * {@link #destinationUnit} is null
+	 * @throws BufferOverflowException if there is not enough room in results
+	 * for the remaining values
+	 * @throws ReadOnlyBufferException if results is read only
+	 * @implNote heap buffers are converted in place through their backing
+	 * arrays, other buffers are converted through an intermediate array
+	 * of at most {@link #BufferChunkSize} values
+	 * @see #convert(double[], int, double[], int, int)
+	 */
+	public void convert(DoubleBuffer values, DoubleBuffer results)
+	    throws IllegalStateException,
+	    BufferOverflowException,
+	    ReadOnlyBufferException
+	{
+		/*
+		 * In place conversions read values through a duplicate so that the
+		 * shared position is only advanced by writing results
+		 */
+		DoubleBuffer inputs = values == results ? values.duplicate() : values;
+		int length = inputs.remaining();
+		if (results.isReadOnly())
+		{
+			throw new ReadOnlyBufferException();
+		}
+		if (results.remaining() < length)
+		{
+			throw new BufferOverflowException();
+		}
+
+		if (inputs.hasArray() && results.hasArray())
+		{
+			convert(inputs.array(),
+			        inputs.arrayOffset() + inputs.position(),
+			        results.array(),
+			        results.arrayOffset() + results.position(),
+			        length);
+			inputs.position(inputs.position() + length);
+			results.position(results.position() + length);
+			return;
+		}
+
+		double[] chunk = new double[Math.min(length, BufferChunkSize)];
+		while (inputs.hasRemaining())
+		{
+			int chunkLength = Math.min(inputs.remaining(), chunk.length);
+			inputs.get(chunk, 0, chunkLength);
+			convert(chunk, 0, chunk, 0, chunkLength);
+			results.put(chunk, 0, chunkLength);
+		}
 	}
 
 	/**
 	 * Accessor to the property holding the output text
-	 * @return the output text property
+	 * @return the output text property, whose text is formatted lazily when
+	 * read
 	 */
 	public StringProperty outputTextProperty()
 	{
@@ -784,36 +1330,31 @@ public class Converter
 
 	/**
 	 * Clears {@link #inputTextProperty()}, {@link #outputTextProperty()}
-	 * as well as {@link #sourceUnit} and {@link #destinationUnits} values
+	 * as well as {@link #sourceValue}
 	 */
 	public void clear()
 	{
 		/*
 		 * TODO clear()
 		 * 	- clear inputText (iff not bound)
-		 * 	- clear sourceUnit's value iff is has a value
+		 * 	- clear source value
 		 * 	- clear outputText (iff not bound)
-		 * 	- clear destinationUnit's value iff it has a value
 		 */
 	    if (this.inputText != null && !this.inputText.isBound()) {
 	        this.inputText.set(null);
 	    }
 		
-		Unit<Double> source = sourceUnit.get();
-	    if (source != null && source.hasValue())
-	    {
-			source.clearValue();
-	    }
+		sourceValue.set(null);
 		// ...
 
 	    if (this.outputText != null && !this.outputText.isBound()) {
 	        this.outputText.set(null);
 	    }
-		Unit<Double> destination = destinationUnit.get();
-		if(destination != null && destination.hasValue()) {
-			destination.clearValue();
-		}
 		// ...
+		if (fanOutTexts != null)
+		{
+			fanOutTexts.reset();
+		}
 	}
 
 	/**
@@ -0,0 +1,219 @@
+package application;
+
+import java.util.function.Supplier;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleStringProperty;
+import measures.units.Quantity;
+
+/**
+ * String property holding a converted value formatted lazily.
+ * This property behaves as a binding over the observables its converted value
+ * depends on (e.g. source unit, destination unit and source value): any
+ * change in these observables only invalidates this property. The value is
+ * converted when it is requested (through {@link #getQuantity()} or when this
+ * property is read) and formatted when this property is read (e.g. during the
+ * next pulse when it is bound to a
+ * {@link javafx.scene.control.Label#textProperty()}), so that several changes
+ * in a row are converted and formatted at most once.
+ * Text can also be set directly with {@link #set(String)} just as any other
+ * {@link javafx.beans.property.StringProperty}.
+ * @author davidroussel
+ * @see Converter#outputTextProperty()
+ */
+final class LazyFormattedProperty extends SimpleStringProperty
+    implements InvalidationListener
+{
+	/**
+	 * The conversion providing the value to format (or null if there is no
+	 * value to format)
+	 */
+	private final Supplier<Quantity> conversion;
+
+	/**
+	 * The last converted value (or null)
+	 */
+	private Quantity quantity;
+
+	/**
+	 * Flag indicating {@link #quantity} is up to date with the observables
+	 * this property depends on
+	 */
+	private boolean converted;
+
+	/**
+	 * Flag indicating {@link #quantity} has not been formatted yet
+	 */
+	private boolean pending;
+
+	/**
+	 * The current (formatted) text
+	 */
+	private String text;
+
+	/**
+	 * Number of values formatted
+	 */
+	private long formats;
+
+	/**
+	 * Number of invalidations which have never been formatted (because
+	 * another invalidation occurred before this property was read)
+	 */
+	private long skippedFormats;
+
+	/**
+	 * Constructor with null initial text
+	 * @param conversion the conversion providing the value to format (or null
+	 * if there is no value to format)
+	 * @param dependencies the observables the converted value depends on
+	 */
+	LazyFormattedProperty(Supplier<Quantity> conversion,
+	                      Observable... dependencies)
+	{
+		super();
+		this.conversion = conversion;
+		quantity = null;
+		converted = true;
+		pending = false;
+		text = null;
+		formats = 0L;
+		skippedFormats = 0L;
+		for (Observable dependency : dependencies)
+		{
+			dependency.addListener(this);
+		}
+	}
+
+	/**
+	 * Invalidates the converted value and this property.
+	 * Listeners are notified only once until this property is read.
+	 * @param observable the observable which has been invalidated
+	 */
+	@Override
+	public void invalidated(Observable observable)
+	{
+		converted = false;
+		if (isBound())
+		{
+			return;
+		}
+		if (pending)
+		{
+			skippedFormats++;
+			return;
+		}
+		pending = true;
+		fireValueChangedEvent();
+	}
+
+	/**
+	 * Converted value accessor: converts the value if any of the observables
+	 * this property depends on has changed since the last conversion
+	 * @return the converted value or null if there is no value to format
+	 */
+	Quantity getQuantity()
+	{
+		if (!converted)
+		{
+			converted = true;
+			quantity = conversion.get();
+		}
+		return quantity;
+	}
+
+	/**
+	 * Indicates the converted value is up to date, hence that
+	 * {@link #getQuantity()} won't convert again
+	 * @return true if none of the observables this property depends on has
+	 * changed since the last conversion
+	 */
+	boolean isConverted()
+	{
+		return converted;
+	}
+
+	/**
+	 * Number of values formatted by this property
+	 * @return the number of values formatted by this property
+	 */
+	long getFormats()
+	{
+		return formats;
+	}
+
+	/**
+	 * Number of invalidations which have been followed by another one before
+	 * this property was read
+	 * @return the number of values which didn't need to be formatted
+	 */
+	long getSkippedFormats()
+	{
+		return skippedFormats;
+	}
+
+	/**
+	 * Text accessor: converts and formats the value if this property has been
+	 * invalidated
+	 * @return the current text of this property
+	 */
+	@Override
+	public String get()
+	{
+		if (isBound())
+		{
+			return super.get();
+		}
+		if (pending)
+		{
+			pending = false;
+			Quantity value = getQuantity();
+			if (value != null)
+			{
+				text = value.format();
+				formats++;
+			}
+			else
+			{
+				text = null;
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * Text setter discarding any pending text (the converted value is left
+	 * untouched)
+	 * @param newValue the new text
+	 * @throws RuntimeException if this property is bound
+	 */
+	@Override
+	public void set(String newValue) throws RuntimeException
+	{
+		if (isBound())
+		{
+			super.set(newValue); // throws
+			return;
+		}
+		pending = false;
+		text = newValue;
+		fireValueChangedEvent();
+	}
+
+	/**
+	 * Unbinds this property and keeps the last text of the observable it
+	 * was bound to
+	 */
+	@Override
+	public void unbind()
+	{
+		if (isBound())
+		{
+			String last = super.get();
+			super.unbind();
+			pending = false;
+			text = last;
+		}
+	}
+}
@@ -0,0 +1,553 @@
+package logger;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Asynchronous {@link Handler} forwarding records to another (target)
+ * {@link Handler} (e.g. a {@link java.util.logging.FileHandler}) from a
+ * background writer thread, so that logging threads never wait for I/O.
+ * <ul>
+ * 	<li>Published records are stored in a bounded lock-free ring buffer of
+ * 	{@link #getCapacity()} slots (rounded up to a power of 2) which can be
+ * 	filled concurrently by any number of logging threads.</li>
+ * 	<li>A single writer thread drains the ring buffer by batches of at most
+ * 	{@link #getBatchSize()} records which are published to the target handler
+ * 	before it is flushed once per batch.</li>
+ * 	<li>When the ring buffer is full, records are either dropped (and counted
+ * 	in {@link #getDropped()}) or logging threads wait for free slots according
+ * 	to the {@link Policy} of this handler.</li>
+ * </ul>
+ * Each published record is eventually counted either in
+ * {@link #getWritten()}, in {@link #getFailed()} (when the target handler
+ * failed to publish it) or in {@link #getDropped()}, including records
+ * published concurrently with {@link #close()}.
+ * Records are handed to the writer thread as is: the caller of records is
+ * inferred before queuing them (since it can't be inferred from the writer
+ * thread) but their message parameters are formatted later by the target
+ * handler's {@link Formatter}, so they should not be modified once logged.
+ * Closing this handler (which {@link java.util.logging.LogManager} does at
+ * shutdown for handlers of its loggers) writes all queued records before
+ * closing the target handler.
+ * @author davidroussel
+ * @see LoggerFactory#getAsyncFileLogger(Class, String, boolean, Level, Policy)
+ */
+public final class AsyncHandler extends Handler
+{
+	/**
+	 * Behaviour of logging threads when the ring buffer is full
+	 */
+	public enum Policy
+	{
+		/**
+		 * New records are dropped (and counted) so logging threads never wait
+		 */
+		DROP,
+		/**
+		 * Logging threads wait until the writer thread frees slots
+		 * (back-pressure) so no record is lost, unless the writer thread has
+		 * died (in which case records are dropped rather than waiting forever)
+		 */
+		BLOCK
+	}
+
+	/**
+	 * Default ring buffer capacity
+	 */
+	public static final int DefaultCapacity = 8192;
+
+	/**
+	 * Default max number of records written by batch
+	 */
+	public static final int DefaultBatchSize = 256;
+
+	/**
+	 * Time (in ns) the writer thread waits for new records when the ring
+	 * buffer is empty, or logging threads wait for free slots when it is
+	 * full, before checking again
+	 */
+	private static final long ParkTime = 1000000L;
+
+	/**
+	 * The handler records are written to
+	 */
+	private final Handler target;
+
+	/**
+	 * The policy to apply when the ring buffer is full
+	 */
+	private final Policy policy;
+
+	/**
+	 * The ring buffer slots
+	 */
+	private final LogRecord[] slots;
+
+	/**
+	 * Sequence numbers of each slot: a slot at index i can be written by the
+	 * producer of sequence s when its sequence number is s, and read by the
+	 * writer thread when its sequence number is s + 1.
+	 */
+	private final AtomicLongArray sequences;
+
+	/**
+	 * Mask to compute slots indices from sequence numbers
+	 */
+	private final int mask;
+
+	/**
+	 * Max number of records written by batch
+	 */
+	private final int batchSize;
+
+	/**
+	 * Sequence number of the next record to publish
+	 */
+	private final AtomicLong tail;
+
+	/**
+	 * Sequence number of the next record to write (only modified by the
+	 * writer thread)
+	 */
+	private volatile long head;
+
+	/**
+	 * Number of dropped records
+	 */
+	private final LongAdder dropped;
+
+	/**
+	 * Number of records successfully published to the target handler
+	 */
+	private final AtomicLong written;
+
+	/**
+	 * Number of records the target handler failed to publish
+	 */
+	private final AtomicLong failed;
+
+	/**
+	 * Number of batches written to the target handler
+	 */
+	private final AtomicLong batches;
+
+	/**
+	 * Flag indicating the writer thread is (about to be) parked waiting for
+	 * records
+	 */
+	private final AtomicBoolean idle;
+
+	/**
+	 * Flag indicating this handler has been closed
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * The background writer thread
+	 */
+	private final Thread writer;
+
+	/**
+	 * Constructor with default capacity and batch size
+	 * @param target the handler records are written to
+	 * @param policy the policy to apply when the ring buffer is full
+	 * @throws NullPointerException if target or policy is null
+	 */
+	public AsyncHandler(Handler target, Policy policy)
+	    throws NullPointerException
+	{
+		this(target, policy, DefaultCapacity, DefaultBatchSize);
+	}
+
+	/**
+	 * Valued constructor.
+	 * Starts the writer thread.
+	 * @param target the handler records are written to
+	 * @param policy the policy to apply when the ring buffer is full
+	 * @param capacity the min capacity of the ring buffer (rounded up to a
+	 * power of 2)
+	 * @param batchSize the max number of records written by batch
+	 * @throws NullPointerException if target or policy is null
+	 * @throws IllegalArgumentException if capacity or batchSize is not
+	 * positive or if capacity exceeds 2^30
+	 */
+	public AsyncHandler(Handler target,
+	                    Policy policy,
+	                    int capacity,
+	                    int batchSize)
+	    throws NullPointerException,
+	    IllegalArgumentException
+	{
+		this.target = Objects.requireNonNull(target, "null target handler");
+		this.policy = Objects.requireNonNull(policy, "null policy");
+		if ((capacity <= 0) || (capacity > (1 << 30)) || (batchSize <= 0))
+		{
+			throw new IllegalArgumentException("invalid capacity " + capacity
+			    + " or batch size " + batchSize);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+		{
+			size <<= 1;
+		}
+		slots = new LogRecord[size];
+		sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++)
+		{
+			sequences.set(i, i);
+		}
+		mask = size - 1;
+		this.batchSize = batchSize;
+		tail = new AtomicLong();
+		head = 0L;
+		dropped = new LongAdder();
+		written = new AtomicLong();
+		failed = new AtomicLong();
+		batches = new AtomicLong();
+		idle = new AtomicBoolean(false);
+		closed = false;
+		setLevel(target.getLevel());
+		writer = new Thread(this::write,
+		                    getClass().getSimpleName() + "-" + target.getClass().getSimpleName());
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Accessor to the handler records are written to
+	 * @return the target handler
+	 */
+	public Handler getTarget()
+	{
+		return target;
+	}
+
+	/**
+	 * Accessor to the policy applied when the ring buffer is full
+	 * @return the policy of this handler
+	 */
+	public Policy getPolicy()
+	{
+		return policy;
+	}
+
+	/**
+	 * Capacity of the ring buffer
+	 * @return the max number of records waiting to be written
+	 */
+	public int getCapacity()
+	{
+		return slots.length;
+	}
+
+	/**
+	 * Max number of records written by batch
+	 * @return the max number of records written by batch
+	 */
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Number of records currently waiting to be written
+	 * @return the number of queued records
+	 */
+	public int getPending()
+	{
+		return (int) Math.max(0L, tail.get() - head);
+	}
+
+	/**
+	 * Number of records dropped because the ring buffer was full (with the
+	 * {@link Policy#DROP} policy or when the writer thread has died) or
+	 * because this handler was closed
+	 * @return the number of dropped records
+	 */
+	public long getDropped()
+	{
+		return dropped.sum();
+	}
+
+	/**
+	 * Number of records successfully published to the target handler
+	 * @return the number of written records
+	 */
+	public long getWritten()
+	{
+		return written.get();
+	}
+
+	/**
+	 * Number of records the target handler failed to publish (which have
+	 * been reported to the {@link ErrorManager} of this handler)
+	 * @return the number of failed records
+	 */
+	public long getFailed()
+	{
+		return failed.get();
+	}
+
+	/**
+	 * Number of batches written to the target handler (i.e. number of
+	 * flushes of the target handler)
+	 * @return the number of written batches
+	 */
+	public long getBatches()
+	{
+		return batches.get();
+	}
+
+	/**
+	 * Queues a record to be written by the writer thread
+	 * @param record the record to write
+	 */
+	@Override
+	public void publish(LogRecord record)
+	{
+		if ((record == null) || !isLoggable(record))
+		{
+			return;
+		}
+		if (closed)
+		{
+			dropped.increment();
+			return;
+		}
+		record.getSourceClassName(); // infer caller before leaving its thread
+
+		long sequence;
+		while (true)
+		{
+			sequence = tail.get();
+			long available = sequences.get((int) sequence & mask);
+			if (available == sequence)
+			{
+				if (tail.compareAndSet(sequence, sequence + 1))
+				{
+					break;
+				}
+			}
+			else if (available < sequence) // full
+			{
+				if ((policy == Policy.DROP) || closed || !writer.isAlive())
+				{
+					dropped.increment();
+					return;
+				}
+				wakeWriter();
+				LockSupport.parkNanos(this, ParkTime);
+			}
+			// else another producer claimed this sequence: retry
+		}
+		int index = (int) sequence & mask;
+		slots[index] = record;
+		sequences.set(index, sequence + 1);
+		wakeWriter();
+		if (closed && (Thread.currentThread() != writer))
+		{
+			/*
+			 * This handler has been closed while this record was queued: the
+			 * writer thread may have stopped before seeing it. Once it has
+			 * stopped, head is final and tells if this record was written.
+			 */
+			awaitWriter();
+			if (head <= sequence)
+			{
+				slots[index] = null;
+				dropped.increment();
+			}
+		}
+	}
+
+	/**
+	 * Waits until all records queued so far have been written, then flushes
+	 * the target handler
+	 */
+	@Override
+	public void flush()
+	{
+		long last = tail.get();
+		while ((head < last) && writer.isAlive())
+		{
+			wakeWriter();
+			LockSupport.parkNanos(this, ParkTime);
+		}
+		target.flush();
+	}
+
+	/**
+	 * Writes all queued records, stops the writer thread and closes the
+	 * target handler
+	 * @throws SecurityException if the target handler can't be closed
+	 */
+	@Override
+	public void close() throws SecurityException
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		LockSupport.unpark(writer);
+		awaitWriter();
+		target.close();
+	}
+
+	/**
+	 * Sets the formatter of the target handler
+	 * @param formatter the formatter to use
+	 */
+	@Override
+	public synchronized void setFormatter(Formatter formatter)
+	{
+		super.setFormatter(formatter);
+		target.setFormatter(formatter);
+	}
+
+	/**
+	 * Sets the level of this handler and of the target handler
+	 * @param level the min level of records to write
+	 */
+	@Override
+	public synchronized void setLevel(Level level)
+	{
+		super.setLevel(level);
+		target.setLevel(level);
+	}
+
+	/**
+	 * Waits (uninterruptibly) until the writer thread has stopped
+	 */
+	private void awaitWriter()
+	{
+		boolean interrupted = false;
+		while (writer.isAlive())
+		{
+			try
+			{
+				writer.join();
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Wakes up the writer thread if it's waiting for records
+	 */
+	private void wakeWriter()
+	{
+		if (idle.get() && idle.compareAndSet(true, false))
+		{
+			LockSupport.unpark(writer);
+		}
+	}
+
+	/**
+	 * Writer thread loop: writes queued records by batches until this handler
+	 * is closed and all queued records have been written
+	 */
+	private void write()
+	{
+		while (true)
+		{
+			int count = drain();
+			if (count > 0)
+			{
+				flushTarget();
+				continue;
+			}
+			if (closed)
+			{
+				if (head == tail.get())
+				{
+					return;
+				}
+				Thread.onSpinWait(); // a record is being published
+				continue;
+			}
+			idle.set(true);
+			if (sequences.get((int) head & mask) != (head + 1)) // still empty
+			{
+				LockSupport.parkNanos(this, ParkTime);
+			}
+			idle.set(false);
+		}
+	}
+
+	/**
+	 * Writes at most {@link #batchSize} available records to the target
+	 * handler
+	 * @return the number of records handed to the target handler (written or
+	 * failed)
+	 */
+	private int drain()
+	{
+		int count = 0;
+		int failures = 0;
+		long sequence = head;
+		while (count < batchSize)
+		{
+			int index = (int) sequence & mask;
+			if (sequences.get(index) != (sequence + 1))
+			{
+				break;
+			}
+			LogRecord record = slots[index];
+			slots[index] = null;
+			sequences.set(index, sequence + slots.length);
+			try
+			{
+				target.publish(record);
+			}
+			catch (RuntimeException e)
+			{
+				failures++;
+				reportError(null, e, ErrorManager.WRITE_FAILURE);
+			}
+			head = ++sequence;
+			count++;
+		}
+		if (count > failures)
+		{
+			written.addAndGet(count - failures);
+		}
+		if (failures > 0)
+		{
+			failed.addAndGet(failures);
+		}
+		return count;
+	}
+
+	/**
+	 * Flushes the target handler after a batch
+	 */
+	private void flushTarget()
+	{
+		try
+		{
+			target.flush();
+		}
+		catch (RuntimeException e)
+		{
+			reportError(null, e, ErrorManager.FLUSH_FAILURE);
+		}
+		batches.incrementAndGet();
+	}
+}
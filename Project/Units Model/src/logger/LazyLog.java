@@ -0,0 +1,257 @@
+package logger;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lazy logging facade: messages are only built when the {@link Logger} is
+ * loggable for the requested {@link Level}, so disabled log statements
+ * neither concatenate strings nor call {@link Object#toString()}.
+ * Messages can be provided as:
+ * <ul>
+ * 	<li>a constant prefix followed by a single argument (e.g.
+ * 	{@code LazyLog.fine(logger, "Built element: ", element)}) which is the
+ * 	preferred form on hot paths since nothing is allocated when the level is
+ * 	disabled (primitive arguments have their own overloads to avoid
+ * 	boxing)</li>
+ * 	<li>a formatting function of one or two arguments (non capturing lambdas or
+ * 	method references are not allocated at each call)</li>
+ * 	<li>a message {@link Supplier} (capturing lambdas are allocated at each
+ * 	call unless the JIT eliminates them, so they'd better be kept off hot
+ * 	paths)</li>
+ * </ul>
+ * Since logged records are created here, their source class and method are
+ * set to the caller of this facade (only when the level is enabled).
+ * A null logger is allowed and logs nothing.
+ * @author davidroussel
+ */
+public class LazyLog
+{
+	/**
+	 * Stack walker used to find the caller of this facade
+	 */
+	private static final StackWalker Walker = StackWalker.getInstance();
+
+	/**
+	 * Checks if a logger is loggable for the provided level
+	 * @param logger the logger to check (might be null)
+	 * @param level the level to check
+	 * @return true if logger is not null and loggable for level
+	 */
+	public static boolean isLoggable(Logger logger, Level level)
+	{
+		return (logger != null) && logger.isLoggable(level);
+	}
+
+	/**
+	 * Logs a message made of a prefix and an argument
+	 * @param logger the logger to log with (might be null)
+	 * @param level the level of the message
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix (through
+	 * {@link String#valueOf(Object)}) only if the message is logged
+	 */
+	public static void log(Logger logger, Level level, String prefix, Object argument)
+	{
+		if (isLoggable(logger, level))
+		{
+			logCaller(logger, level, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs a message made of a prefix and a double argument
+	 * @param logger the logger to log with (might be null)
+	 * @param level the level of the message
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void log(Logger logger, Level level, String prefix, double argument)
+	{
+		if (isLoggable(logger, level))
+		{
+			logCaller(logger, level, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs a message made of a prefix and a long argument
+	 * @param logger the logger to log with (might be null)
+	 * @param level the level of the message
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void log(Logger logger, Level level, String prefix, long argument)
+	{
+		if (isLoggable(logger, level))
+		{
+			logCaller(logger, level, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs a message formatted from an argument
+	 * @param <T> the type of the argument
+	 * @param logger the logger to log with (might be null)
+	 * @param level the level of the message
+	 * @param formatter the function formatting the message, only called if
+	 * the message is logged
+	 * @param argument the argument to format
+	 */
+	public static <T> void log(Logger logger,
+	                           Level level,
+	                           Function<? super T, String> formatter,
+	                           T argument)
+	{
+		if (isLoggable(logger, level))
+		{
+			logCaller(logger, level, formatter.apply(argument));
+		}
+	}
+
+	/**
+	 * Logs a message formatted from two arguments
+	 * @param <T> the type of the first argument
+	 * @param <U> the type of the second argument
+	 * @param logger the logger to log with (might be null)
+	 * @param level the level of the message
+	 * @param formatter the function formatting the message, only called if
+	 * the message is logged
+	 * @param first the first argument to format
+	 * @param second the second argument to format
+	 */
+	public static <T, U> void log(Logger logger,
+	                              Level level,
+	                              BiFunction<? super T, ? super U, String> formatter,
+	                              T first,
+	                              U second)
+	{
+		if (isLoggable(logger, level))
+		{
+			logCaller(logger, level, formatter.apply(first, second));
+		}
+	}
+
+	/**
+	 * Logs a supplied message
+	 * @param logger the logger to log with (might be null)
+	 * @param level the level of the message
+	 * @param message the supplier of the message, only called if the message
+	 * is logged
+	 */
+	public static void log(Logger logger, Level level, Supplier<String> message)
+	{
+		if (isLoggable(logger, level))
+		{
+			logCaller(logger, level, message.get());
+		}
+	}
+
+	/**
+	 * Logs a {@link Level#FINE} message made of a prefix and an argument
+	 * @param logger the logger to log with (might be null)
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void fine(Logger logger, String prefix, Object argument)
+	{
+		if (isLoggable(logger, Level.FINE))
+		{
+			logCaller(logger, Level.FINE, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs an {@link Level#INFO} message made of a prefix and an argument
+	 * @param logger the logger to log with (might be null)
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void info(Logger logger, String prefix, Object argument)
+	{
+		if (isLoggable(logger, Level.INFO))
+		{
+			logCaller(logger, Level.INFO, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs an {@link Level#INFO} message made of a prefix and a double
+	 * argument
+	 * @param logger the logger to log with (might be null)
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void info(Logger logger, String prefix, double argument)
+	{
+		if (isLoggable(logger, Level.INFO))
+		{
+			logCaller(logger, Level.INFO, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs a {@link Level#WARNING} message made of a prefix and an argument
+	 * @param logger the logger to log with (might be null)
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void warning(Logger logger, String prefix, Object argument)
+	{
+		if (isLoggable(logger, Level.WARNING))
+		{
+			logCaller(logger, Level.WARNING, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs a {@link Level#SEVERE} message made of a prefix and an argument
+	 * @param logger the logger to log with (might be null)
+	 * @param prefix the constant beginning of the message
+	 * @param argument the argument appended to prefix only if the message is
+	 * logged
+	 */
+	public static void severe(Logger logger, String prefix, Object argument)
+	{
+		if (isLoggable(logger, Level.SEVERE))
+		{
+			logCaller(logger, Level.SEVERE, prefix + argument);
+		}
+	}
+
+	/**
+	 * Logs a built message with the caller of this facade as source
+	 * @param logger the logger to log with
+	 * @param level the level of the message
+	 * @param message the message to log
+	 */
+	private static void logCaller(Logger logger, Level level, String message)
+	{
+		Optional<StackWalker.StackFrame> caller = Walker
+		    .walk((frames) -> frames
+		        .filter((StackWalker.StackFrame frame) -> !frame.getClassName()
+		            .equals(LazyLog.class.getName()))
+		        .findFirst());
+		if (caller.isPresent())
+		{
+			logger.logp(level,
+			            caller.get().getClassName(),
+			            caller.get().getMethodName(),
+			            message);
+		}
+		else
+		{
+			logger.log(level, message);
+		}
+	}
+}
@@ -91,6 +91,28 @@ public class LoggerFactory
 		return getLogger(client, false, fileName, xmlFormat, null, level);
 	}
 
+	/**
+	 * Factory method for an asynchronous file logger : records are written to
+	 * file by a background thread so logging threads never wait for file I/O
+	 * @param client the logger's client class, used to provide name to logger
+	 * @param fileName file name to log in
+	 * @param xmlFormat flag to format output with XML
+	 * @param level min log level (e.g. FINE, INFO, WARNING, SEVERE)
+	 * @param policy the policy to apply when the records queue is full
+	 * @return a file logger using an {@link AsyncHandler}
+	 * @throws IOException if the file could not be opened
+	 * @see AsyncHandler
+	 */
+	public static <E> Logger getAsyncFileLogger(Class<E> client,
+	                                            String fileName,
+	                                            boolean xmlFormat,
+	                                            Level level,
+	                                            AsyncHandler.Policy policy)
+	    throws IOException
+	{
+		return getLogger(client, false, fileName, xmlFormat, null, level, policy);
+	}
+
 	/**
 	 * Factory method for a general logger
 	 * @param client the logger's client class, used to provide name to logger
@@ -109,6 +131,38 @@ public class LoggerFactory
 	                                   Logger parentLogger,
 	                                   Level level)
 	    throws IOException
+	{
+		return getLogger(client,
+		                 verbose,
+		                 logFileName,
+		                 xmlFormat,
+		                 parentLogger,
+		                 level,
+		                 null);
+	}
+
+	/**
+	 * Factory method for a general logger with an optionally asynchronous
+	 * file handler
+	 * @param client the logger's client class, used to provide name to logger
+	 * @param verbose true to display messages in console
+	 * @param logFileName file name to log in (or null)
+	 * @param xmlFormat flag to format output with XML
+	 * @param parentLogger the parent logger (if any)
+	 * @param level min log level (e.g. FINE, INFO, WARNING, SEVERE)
+	 * @param policy the policy of the {@link AsyncHandler} wrapping the file
+	 * handler or null to write to file synchronously
+	 * @return a general logger
+	 * @throws IOException if the file could not be opened
+	 */
+	public static <E> Logger getLogger(Class<E> client,
+	                                   boolean verbose,
+	                                   String logFileName,
+	                                   boolean xmlFormat,
+	                                   Logger parentLogger,
+	                                   Level level,
+	                                   AsyncHandler.Policy policy)
+	    throws IOException
 	{
 		Logger logger = null;
 
@@ -157,6 +211,14 @@ public class LoggerFactory
 							 */
 							handler.setFormatter(new SimpleFormatter());
 						}
+						if (policy != null)
+						{
+							/*
+							 * Records are written to file by a background
+							 * thread
+							 */
+							handler = new AsyncHandler(handler, policy);
+						}
 
 						// Adds filehandler to logger
 						logger.addHandler(handler);
@@ -1,7 +1,6 @@
 package measures.units;
 
 import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.text.ParseException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -15,10 +14,10 @@ import measures.MeasureType;
 public abstract class BaseNumericUnit extends Unit<Double>
 {
 	/**
-	 * The decimal formatter used to format values
-	 * @see #formatValue(Double)
+	 * The numeric formatter used to format values
+	 * @see #formatValue(double)
 	 */
-	protected final DecimalFormat formatter;
+	protected final NumericFormat formatter;
 
 	/**
 	 * Default numeric format
@@ -48,7 +47,7 @@ public abstract class BaseNumericUnit extends Unit<Double>
 		super(type, description, symbol, setable);
 		Objects.requireNonNull(format);
 
-		formatter = format.isEmpty() ? null : parseFormatString(format);
+		formatter = format.isEmpty() ? null : NumericFormat.parse(format);
 	}
 
 	/**
@@ -64,6 +63,40 @@ public abstract class BaseNumericUnit extends Unit<Double>
 		return this.value.get();
 	}
 
+	/**
+	 * Convert a raw value expressed in this unit to the equivalent SI value.
+	 * In this particular case SI value IS value
+	 * @param value the value expressed in this unit
+	 * @return the provided value
+	 */
+	@Override
+	public double toSI(double value)
+	{
+		return value;
+	}
+
+	/**
+	 * Convert a SI value to the equivalent value expressed in this unit.
+	 * In this particular case value IS SI value
+	 * @param siValue the SI value to convert
+	 * @return the provided SI value
+	 */
+	@Override
+	public double fromSI(double siValue)
+	{
+		return siValue;
+	}
+
+	/**
+	 * Conversion to SI values is the identity function and therefore affine
+	 * @return true
+	 */
+	@Override
+	protected boolean isAffine()
+	{
+		return true;
+	}
+
 	/**
 	 * Get the factor of this unit (for sorting purposes).
 	 * Base (SI) units will have a 1.0 factor.
@@ -84,15 +117,45 @@ public abstract class BaseNumericUnit extends Unit<Double>
 	 * {@link #formatter} is null or {@link Unit#value} is empty.
 	 * @throws NullPointerException if the {@link #formatter} is null
 	 * @throws NoSuchElementException if there is no value to format
-	 * @see DecimalFormat#format(double)
+	 * @see NumericFormat#format(double)
 	 */
 	@Override
 	public String formatValue()
 		throws NullPointerException,
 		NoSuchElementException
 	{
-		// TODO Complete BaseNumericUnit::formatValue() using formatter
-		return formatter.format(value.get());
+		return formatValue(value.get().doubleValue());
+	}
+
+	/**
+	 * Format the provided value for printing using {@link #formatter}
+	 * @param value the value to format
+	 * @return a formatted String of the provided value
+	 * @throws NullPointerException if the {@link #formatter} is null
+	 * @implNote negative zeros are formatted as zeros (e.g. ".00" rather than
+	 * "-.00"), whichever way they were obtained (typed or converted)
+	 */
+	@Override
+	public String formatValue(double value) throws NullPointerException
+	{
+		return formatter.format(value + 0.0); // -0.0 + 0.0 == +0.0
+	}
+
+	/**
+	 * Appends the provided value formatted with {@link #formatter} to the
+	 * provided builder without any intermediate String
+	 * @param value the value to format
+	 * @param builder the builder to append the formatted value to
+	 * @return the provided builder
+	 * @throws NullPointerException if the {@link #formatter} or builder are
+	 * null
+	 * @see #formatValue(double)
+	 */
+	@Override
+	public StringBuilder formatValue(double value, StringBuilder builder)
+	    throws NullPointerException
+	{
+		return formatter.format(value + 0.0, builder);
 	}
 
 	/**
@@ -111,126 +174,7 @@ public abstract class BaseNumericUnit extends Unit<Double>
 	protected static DecimalFormat parseFormatString(String format)
 	    throws ParseException
 	{
-		/*
-		 * Format elements
-		 */
-		boolean sign = false;
-		int length = 4;
-		int decimal = 0;
-		int currentIndex = 0;
-		int minLength = 2;
-
-		/*
-		 * Check for sign
-		 */
-		if (format.charAt(currentIndex) == '+')
-		{
-			sign = true;
-			// System.out.println("\tSign on");
-			currentIndex++;
-			minLength++;
-		}
-
-		/*
-		 * Check for total length
-		 */
-		try
-		{
-			length = Integer.parseInt(format.substring(currentIndex,
-			                                           format.indexOf(".")));
-		}
-		catch (NumberFormatException nfe)
-		{
-			throw new ParseException(format + ": Error parsing length value",
-			                         currentIndex);
-		}
-		catch (StringIndexOutOfBoundsException sie)
-		{
-			throw new ParseException(format + ": Error in String indexes",
-			                         currentIndex);
-		}
-
-		/*
-		 * Check for decimal length
-		 */
-		currentIndex = format.indexOf(".") + 1;
-		try
-		{
-			decimal = Integer.parseInt(format.substring(currentIndex,
-			                                            format.length()));
-		}
-		catch (NumberFormatException nfe)
-		{
-			throw new ParseException(format + ": Error parsing decimal value",
-			                         currentIndex);
-		}
-		catch (StringIndexOutOfBoundsException sie)
-		{
-			throw new ParseException(format + ": Error in String indexes",
-			                         currentIndex);
-		}
-
-		/*
-		 * Check for total length vs decimal length (with or without sign)
-		 * consistency
-		 */
-		if (decimal > (length - minLength))
-		{
-			decimal = length - minLength;
-			System.err.println("\"" + format
-			    + "\" : Error decimal too long, reducing to : " + decimal);
-		}
-
-		/*
-		 * Build DecimalFormat based on Format elements
-		 */
-		StringBuilder patternBuilder = new StringBuilder();
-		// adds "+" sign (if required)
-		int integralPart = length - decimal - 1;
-		if (sign)
-		{
-			patternBuilder.append("+");
-			integralPart--;
-		}
-		// Integral part digits
-		for (int j = 0; j < integralPart; j++)
-		{
-			patternBuilder.append("#");
-		}
-		// Decimal part digits
-		if (decimal > 0)
-		{
-			patternBuilder.append(".");
-			for (int j = 0; j < decimal; j++)
-			{
-				patternBuilder.append("0");
-			}
-		}
-
-		/*
-		 * If sign is used then the dual pattern for negative numbers must be
-		 * provided starting with a ";-"
-		 */
-		if (sign)
-		{
-			patternBuilder.append(";-");
-			for (int j = 0; j < integralPart; j++)
-			{
-				patternBuilder.append("#");
-			}
-			if (decimal > 0)
-			{
-				patternBuilder.append(".");
-				for (int j = 0; j < decimal; j++)
-				{
-					patternBuilder.append("0");
-				}
-			}
-		}
-
-		DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance();
-		dfs.setDecimalSeparator('.');
-		return new DecimalFormat(patternBuilder.toString(), dfs);
+		return NumericFormat.parse(format).toDecimalFormat();
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package measures.units;
 
 import java.text.ParseException;
+import java.util.Objects;
 
 import measures.MeasureType;
 
@@ -21,12 +22,18 @@ public class BaseSymbolicUnit extends BoundedBaseNumericUnit
 	/**
 	 * Values defining ranges for each symbol in {@link #symbols}
 	 */
-	protected double[] values;
+	protected final double[] values;
 
 	/**
 	 * Symbols associated to each values pairs.
 	 */
-	protected String[] symbols;
+	protected final String[] symbols;
+
+	/**
+	 * Number of bands (intervals between consecutive {@link #values}) which
+	 * have a symbol
+	 */
+	private final int bandsCount;
 
 	/**
 	 * Valued constructor
@@ -88,6 +95,7 @@ public class BaseSymbolicUnit extends BoundedBaseNumericUnit
 
 		this.values = values;
 		this.symbols = symbols;
+		bandsCount = Math.max(1, Math.min(symbols.length, values.length - 1));
 	}
 
 	/**
@@ -101,19 +109,171 @@ public class BaseSymbolicUnit extends BoundedBaseNumericUnit
 	@Override
 	public String formatValue()
 	{
-		double ivalue = value.get();
+		return formatValue(value.get().doubleValue());
+	}
+
+	/**
+	 * Computes the symbol corresponding to the provided value
+	 * @param ivalue the value to format
+	 * @return the symbol in {@link #symbols} corresponding to the provided
+	 * value's interval in {@link #values}
+	 * @throws IllegalStateException if the provided value is not in the range
+	 * of {@link #values}
+	 */
+	@Override
+	public String formatValue(double ivalue)
+	{
 		if ((ivalue < values[0]) ||
 			(ivalue > values[values.length - 1]))
 		{
 			throw new IllegalStateException("value out of range");
 		}
-		for (int i = 0; i < symbols.length; i++)
+		if (Double.isNaN(ivalue))
+		{
+			return symbols[symbols.length - 1];
+		}
+		return symbols[band(ivalue)];
+	}
+
+	/**
+	 * Index of the band (interval [values[i] .. values[i+1]) in
+	 * {@link #values}) containing the provided value
+	 * @param ivalue the value to classify
+	 * @return the index of the band containing the provided value, which is
+	 * also the index of its symbol in {@link #symbols}, or -1 if the
+	 * provided value is out of the range of {@link #values} or NaN.
+	 * @see #getSymbol(int)
+	 */
+	public int classify(double ivalue)
+	{
+		if (!((ivalue >= values[0]) && (ivalue <= values[values.length - 1])))
+		{
+			return -1;
+		}
+		return band(ivalue);
+	}
+
+	/**
+	 * Indices of the bands containing each of the provided values
+	 * @param samples the values to classify
+	 * @return a new array containing the band index of each sample (or -1
+	 * for samples out of the range of {@link #values})
+	 * @throws NullPointerException if samples is null
+	 * @see #classify(double)
+	 */
+	public int[] classify(double[] samples) throws NullPointerException
+	{
+		return classify(samples, 0, new int[samples.length], 0, samples.length);
+	}
+
+	/**
+	 * Stores the indices of the bands containing length values from samples
+	 * starting at samplesPos into bands starting at bandsPos
+	 * @param samples the values to classify
+	 * @param samplesPos index of the first value to classify in samples
+	 * @param bands the array to store band indices in (or -1 for samples out
+	 * of the range of {@link #values})
+	 * @param bandsPos index of the first band index to store in bands
+	 * @param length number of values to classify
+	 * @return the provided bands array
+	 * @throws NullPointerException if samples or bands are null
+	 * @throws IndexOutOfBoundsException if any of the ranges is out of its
+	 * array bounds
+	 * @implNote each value is classified by a binary search over
+	 * {@link #values} whose steps only depend on the number of bands (and
+	 * not on the value), so that its cost is logarithmic in the number of
+	 * bands and its conditional moves don't cause branch mispredictions.
+	 */
+	public int[] classify(double[] samples,
+	                      int samplesPos,
+	                      int[] bands,
+	                      int bandsPos,
+	                      int length)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(samplesPos, length, samples.length);
+		Objects.checkFromIndexSize(bandsPos, length, bands.length);
+		double min = values[0];
+		double max = values[values.length - 1];
+		for (int i = 0; i < length; i++)
 		{
-			if ((ivalue >= values[i]) && (ivalue < values[i+1]))
-			{
-				return symbols[i];
-			}
+			double sample = samples[samplesPos + i];
+			bands[bandsPos + i] = ((sample >= min) && (sample <= max)) ? band(sample) : -1;
 		}
-		return symbols[symbols.length - 1];
+		return bands;
+	}
+
+	/**
+	 * Symbols corresponding to each of the provided values
+	 * @param samples the values to classify
+	 * @return a new array containing the symbol of each sample (or null for
+	 * samples out of the range of {@link #values})
+	 * @throws NullPointerException if samples is null
+	 * @see #classify(double[])
+	 */
+	public String[] classifySymbols(double[] samples) throws NullPointerException
+	{
+		int[] bands = classify(samples);
+		String[] result = new String[bands.length];
+		for (int i = 0; i < bands.length; i++)
+		{
+			result[i] = getSymbol(bands[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Symbol of a band
+	 * @param band the index of the band as returned by {@link #classify(double)}
+	 * @return the symbol of this band or null if band is not a valid band index
+	 */
+	public String getSymbol(int band)
+	{
+		if ((band < 0) || (band >= symbols.length))
+		{
+			return null;
+		}
+		return symbols[band];
+	}
+
+	/**
+	 * Binary search of the last band whose lower bound is lower or equal to
+	 * the provided value (which is therefore the first band i such as
+	 * values[i] <= value < values[i+1], or the last band when value is the
+	 * max value)
+	 * @param ivalue the value to classify, assumed to be in the range of
+	 * {@link #values}
+	 * @return the index of the band containing ivalue
+	 */
+	private int band(double ivalue)
+	{
+		int base = 0;
+		int length = bandsCount;
+		while (length > 1)
+		{
+			int half = length >>> 1;
+			base = (values[base + half] <= ivalue) ? base + half : base;
+			length -= half;
+		}
+		return base;
+	}
+
+	/**
+	 * Appends the symbol corresponding to the provided value to the provided
+	 * builder
+	 * @param value the value to format
+	 * @param builder the builder to append the symbol to
+	 * @return the provided builder
+	 * @throws IllegalStateException if the provided value is not in the range
+	 * of {@link #values}
+	 * @throws NullPointerException if builder is null
+	 */
+	@Override
+	public StringBuilder formatValue(double value, StringBuilder builder)
+	    throws IllegalStateException,
+	    NullPointerException
+	{
+		return builder.append(formatValue(value));
 	}
 }
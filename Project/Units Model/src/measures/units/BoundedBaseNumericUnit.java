@@ -234,28 +234,234 @@ public class BoundedBaseNumericUnit extends BaseNumericUnit
 	 * @param value the value to normalize
 	 * @return the normalized value
 	 * @see #setValue(Double)
+	 * @see #normalize(double, double, double)
 	 */
 	@Override
 	public Double normalize(Double value)
 	{
-		Double result = value;
+		return normalize(value, min, max);
+	}
 
-		/*
-		 * TODO Ensure result is in [min..max]
-		 * If result < min then add max to (result - min) until >= min
-		 * If result > max the add min to (result - max) until <= max
-		 */
-		if(result < min){
-			while(result < min){
-				result = (result - min) + max;
+	/**
+	 * Normalize provided value inside [min..max]
+	 * If value &lt; min then add (max - min) to value until &gt;= min
+	 * If value &gt; max the subtract (max - min) from value until &lt;= max
+	 * @param value the value to normalize
+	 * @param min the lower bound
+	 * @param max the upper bound
+	 * @return the normalized value, or min if the range is empty (min == max),
+	 * or NaN if value is NaN or infinite
+	 * @implNote Instead of adding or subtracting one period at a time (which
+	 * would take millions of iterations for values such as 1e9 degrees) the
+	 * number of periods to add or subtract is computed in constant time with
+	 * a remainder, which is exact for doubles. Values within [min..max] are
+	 * returned unchanged.
+	 */
+	protected static double normalize(double value, double min, double max)
+	{
+		double period = max - min;
+		if (value < min)
+		{
+			if (!(period > 0.0))
+			{
+				return min;
+			}
+			double remainder = (min - value) % period;
+			return remainder == 0.0 ? min : max - remainder;
+		}
+		if (value > max)
+		{
+			if (!(period > 0.0))
+			{
+				return min;
+			}
+			double remainder = (value - max) % period;
+			return remainder == 0.0 ? max : min + remainder;
+		}
+		return value;
+	}
+
+	/**
+	 * Bounds provided value just as {@link #setValue_Impl(Double)} would:
+	 * cyclic values are normalized between [min..max] and other values are
+	 * clamped to [min..max].
+	 * @param value the value to bound
+	 * @param min the lower bound
+	 * @param max the upper bound
+	 * @param cyclic the cyclic flag
+	 * @return the bounded value
+	 * @see #normalize(double, double, double)
+	 */
+	protected static double bound(double value,
+	                              double min,
+	                              double max,
+	                              boolean cyclic)
+	{
+		if (cyclic)
+		{
+			return normalize(value, min, max);
+		}
+		if (value < min)
+		{
+			return min;
+		}
+		if (value > max)
+		{
+			return max;
+		}
+		return value;
+	}
+
+	/**
+	 * Bounds provided value with {@link #min}, {@link #max} and {@link #cyclic}
+	 * @param value the value to bound
+	 * @return the bounded value
+	 * @see #bound(double, double, double, boolean)
+	 */
+	@Override
+	protected double bound(double value)
+	{
+		return bound(value, min, max, cyclic);
+	}
+
+	/**
+	 * Bounds an array of values just as {@link #bound(double, double, double, boolean)}
+	 * would bound each of them.
+	 * @param values the values to bound
+	 * @param valuesPos the index of the first value to bound in values
+	 * @param results the array to store bounded values in (can be values
+	 * itself)
+	 * @param resultsPos the index of the first bounded value in results
+	 * @param length the number of values to bound
+	 * @param min the lower bound
+	 * @param max the upper bound
+	 * @param cyclic the cyclic flag
+	 * @implNote The cyclic flag is tested once for the whole array so that
+	 * each loop only contains branch free comparisons (clamping) or a rarely
+	 * taken branch (normalizing values which are out of range), which the JIT
+	 * compiler can unroll and vectorize. The incubating Vector API is not
+	 * used since it requires an additional module at compile and run time.
+	 */
+	protected static void bound(double[] values,
+	                            int valuesPos,
+	                            double[] results,
+	                            int resultsPos,
+	                            int length,
+	                            double min,
+	                            double max,
+	                            boolean cyclic)
+	{
+		if (cyclic)
+		{
+			for (int i = 0; i < length; i++)
+			{
+				double value = values[valuesPos + i];
+				results[resultsPos + i] = ((value >= min) && (value <= max)) ? value
+				    : normalize(value, min, max);
 			}
 		}
-		else if(result > max){
-			while(result > max){
-				result = (result - max) + min; 
+		else
+		{
+			for (int i = 0; i < length; i++)
+			{
+				double value = values[valuesPos + i];
+				value = value < min ? min : value;
+				results[resultsPos + i] = value > max ? max : value;
 			}
 		}
-		return result;
+	}
+
+	/**
+	 * Bounds an array of values with {@link #min}, {@link #max} and
+	 * {@link #cyclic}
+	 * @param values the values to bound
+	 * @param valuesPos the index of the first value to bound in values
+	 * @param results the array to store bounded values in (can be values
+	 * itself)
+	 * @param resultsPos the index of the first bounded value in results
+	 * @param length the number of values to bound
+	 * @see #bound(double[], int, double[], int, int, double, double, boolean)
+	 */
+	@Override
+	protected void bound(double[] values,
+	                     int valuesPos,
+	                     double[] results,
+	                     int resultsPos,
+	                     int length)
+	{
+		bound(values, valuesPos, results, resultsPos, length, min, max, cyclic);
+	}
+
+	/**
+	 * Convert a raw value expressed in this unit to the equivalent SI value.
+	 * The value is bounded first just as {@link #setValue_Impl(Double)} would.
+	 * @param value the value expressed in this unit
+	 * @return the bounded value
+	 */
+	@Override
+	public double toSI(double value)
+	{
+		return bound(value);
+	}
+
+	/**
+	 * Convert a SI value to the equivalent value expressed in this unit.
+	 * The result is bounded just as {@link #setValue_Impl(Double)} would.
+	 * @param siValue the SI value to convert
+	 * @return the bounded SI value
+	 */
+	@Override
+	public double fromSI(double siValue)
+	{
+		return bound(siValue);
+	}
+
+	/**
+	 * Convert an array of raw values expressed in this unit to SI values.
+	 * @param values the values expressed in this unit
+	 * @param valuesPos the index of the first value to convert in values
+	 * @param siValues the array to store SI values in (can be values itself)
+	 * @param siPos the index of the first SI value to store in siValues
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or siValues bounds
+	 */
+	@Override
+	public void toSI(double[] values,
+	                 int valuesPos,
+	                 double[] siValues,
+	                 int siPos,
+	                 int length)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		Objects.checkFromIndexSize(siPos, length, siValues.length);
+		bound(values, valuesPos, siValues, siPos, length);
+	}
+
+	/**
+	 * Convert an array of SI values to values expressed in this unit.
+	 * @param siValues the SI values to convert
+	 * @param siPos the index of the first SI value to convert in siValues
+	 * @param values the array to store converted values in (can be siValues
+	 * itself)
+	 * @param valuesPos the index of the first converted value to store in
+	 * values
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * siValues or values bounds
+	 */
+	@Override
+	public void fromSI(double[] siValues,
+	                   int siPos,
+	                   double[] values,
+	                   int valuesPos,
+	                   int length)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(siPos, length, siValues.length);
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		bound(siValues, siPos, values, valuesPos, length);
 	}
 
 	/**
@@ -267,30 +473,11 @@ public class BoundedBaseNumericUnit extends BaseNumericUnit
 	 * value #min and setting values above {@link #max} will result in setting
 	 * value {@link #max}.
 	 * @param value the value set
+	 * @see #bound(double)
 	 */
 	@Override
 	protected void setValue_Impl(Double value)
 	{
-		Double valueToSet;
-		if (cyclic)
-		{
-			valueToSet = normalize(value);
-		}
-		else
-		{
-			if (value < min)
-			{
-				valueToSet = min;
-			}
-			else if (value > max)
-			{
-				valueToSet = max;
-			}
-			else
-			{
-				valueToSet = value;
-			}
-		}
-		super.setValue_Impl(valueToSet);
+		super.setValue_Impl(bound(value));
 	}
 }
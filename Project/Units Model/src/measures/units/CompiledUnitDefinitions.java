@@ -0,0 +1,544 @@
+package measures.units;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import measures.MeasureType;
+
+/**
+ * {@link UnitDefinitions} read from a precompiled binary file mapped in
+ * memory.
+ * Binary files are produced by {@link #write(Collection, Path)} (e.g. from
+ * text files read by {@link UnitDefinitionsReader}) and contain:
+ * <ul>
+ * <li>a header : {@link #Magic}, {@link #Version} and the number of
+ * {@link MeasureType}s</li>
+ * <li>a table of (offset, length, count) of each {@link MeasureType}'s
+ * section indexed by {@link MeasureType#ordinal()}</li>
+ * <li>the sections of definitions of each {@link MeasureType}</li>
+ * </ul>
+ * Opening a file only maps it and checks its header and table: the section
+ * of a {@link MeasureType} is decoded when its definitions are first
+ * requested (typically when its {@link UnitsCatalogue} is built), so
+ * definitions of types which are never used are never decoded.
+ * @author davidroussel
+ * @see UnitsFactory#loadDefinitions(Path)
+ */
+public final class CompiledUnitDefinitions implements UnitDefinitions
+{
+	/**
+	 * Magic number starting compiled files ("UNIT")
+	 */
+	public static final int Magic = 0x554E4954;
+
+	/**
+	 * Version of the binary format
+	 */
+	public static final int Version = 1;
+
+	/**
+	 * Size of the header (magic, version and types count)
+	 */
+	private static final int HeaderSize = 3 * Integer.BYTES;
+
+	/**
+	 * Size of each entry of the table of sections
+	 */
+	private static final int EntrySize = 3 * Integer.BYTES;
+
+	/**
+	 * The mapped file
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Definitions already decoded per {@link MeasureType}
+	 */
+	private final Map<MeasureType, List<UnitDefinition>> decoded;
+
+	/**
+	 * Constructor from a buffer containing a compiled file
+	 * @param buffer the buffer containing a compiled file
+	 * @throws IOException if buffer doesn't contain a valid compiled file
+	 */
+	public CompiledUnitDefinitions(ByteBuffer buffer) throws IOException
+	{
+		this.buffer = buffer.asReadOnlyBuffer();
+		decoded = new ConcurrentHashMap<MeasureType, List<UnitDefinition>>();
+		int types = MeasureType.values().length;
+		if ((this.buffer.capacity() < (HeaderSize + (types * EntrySize)))
+		    || (this.buffer.getInt(0) != Magic))
+		{
+			throw new IOException("not a compiled unit definitions file");
+		}
+		if (this.buffer.getInt(Integer.BYTES) != Version)
+		{
+			throw new IOException("unsupported compiled unit definitions version "
+			    + this.buffer.getInt(Integer.BYTES));
+		}
+		if (this.buffer.getInt(2 * Integer.BYTES) != types)
+		{
+			throw new IOException("compiled unit definitions file has "
+			    + this.buffer.getInt(2 * Integer.BYTES)
+			    + " measure types instead of " + types);
+		}
+		for (MeasureType type : MeasureType.values())
+		{
+			int offset = sectionOffset(type);
+			int length = sectionLength(type);
+			if ((offset < 0) || (length < 0) || (count(type) < 0)
+			    || (offset > (this.buffer.capacity() - length)))
+			{
+				throw new IOException("invalid section of " + type.name()
+				    + " in compiled unit definitions file");
+			}
+		}
+	}
+
+	/**
+	 * Maps a compiled file in memory
+	 * @param path the path of the compiled file
+	 * @return the definitions of the compiled file
+	 * @throws IOException if the file can't be mapped or is not a valid
+	 * compiled file
+	 */
+	public static CompiledUnitDefinitions open(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+			                                      0,
+			                                      channel.size());
+			return new CompiledUnitDefinitions(mapped);
+		}
+	}
+
+	/**
+	 * Checks if a file starts with {@link #Magic}
+	 * @param path the path of the file to check
+	 * @return true if the file starts as compiled files do
+	 * @throws IOException if the file can't be read
+	 */
+	public static boolean isCompiled(Path path) throws IOException
+	{
+		try (InputStream input = Files.newInputStream(path))
+		{
+			byte[] start = input.readNBytes(Integer.BYTES);
+			return (start.length == Integer.BYTES)
+			    && (ByteBuffer.wrap(start).getInt() == Magic);
+		}
+	}
+
+	/**
+	 * Writes definitions to a compiled file
+	 * @param definitions the definitions to write
+	 * @param path the path of the file to write
+	 * @throws IOException if the file can't be written
+	 * @throws NullPointerException if definitions or path is null
+	 */
+	public static void write(Collection<UnitDefinition> definitions, Path path)
+	    throws IOException,
+	    NullPointerException
+	{
+		try (OutputStream output = Files.newOutputStream(path))
+		{
+			write(definitions, output);
+		}
+	}
+
+	/**
+	 * Writes definitions in compiled form to an output stream
+	 * @param definitions the definitions to write
+	 * @param output the stream to write to (which is not closed)
+	 * @throws IOException if the stream can't be written
+	 * @throws NullPointerException if definitions or output is null
+	 */
+	public static void write(Collection<UnitDefinition> definitions,
+	                         OutputStream output)
+	    throws IOException,
+	    NullPointerException
+	{
+		MeasureType[] types = MeasureType.values();
+		ByteArrayOutputStream[] sections = new ByteArrayOutputStream[types.length];
+		DataOutputStream[] sectionsData = new DataOutputStream[types.length];
+		int[] counts = new int[types.length];
+		for (int i = 0; i < types.length; i++)
+		{
+			sections[i] = new ByteArrayOutputStream();
+			sectionsData[i] = new DataOutputStream(sections[i]);
+		}
+		for (UnitDefinition definition : definitions)
+		{
+			int index = definition.getType().ordinal();
+			writeDefinition(definition, sectionsData[index]);
+			counts[index]++;
+		}
+
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeInt(Magic);
+		data.writeInt(Version);
+		data.writeInt(types.length);
+		int offset = HeaderSize + (types.length * EntrySize);
+		for (int i = 0; i < types.length; i++)
+		{
+			sectionsData[i].flush();
+			data.writeInt(offset);
+			data.writeInt(sections[i].size());
+			data.writeInt(counts[i]);
+			offset += sections[i].size();
+		}
+		for (ByteArrayOutputStream section : sections)
+		{
+			section.writeTo(data);
+		}
+		data.flush();
+	}
+
+	/**
+	 * Number of definitions of a {@link MeasureType} (without decoding them)
+	 * @param type the type of measure
+	 * @return the number of definitions of units measuring this type
+	 * @throws NullPointerException if type is null
+	 */
+	public int count(MeasureType type) throws NullPointerException
+	{
+		return buffer.getInt(entry(type) + (2 * Integer.BYTES));
+	}
+
+	/**
+	 * Checks if the definitions of a {@link MeasureType} have already been
+	 * decoded
+	 * @param type the type of measure
+	 * @return true if the definitions of this type have already been decoded
+	 */
+	public boolean isDecoded(MeasureType type)
+	{
+		return decoded.containsKey(type);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @throws UncheckedIOException if the section of this type is corrupted
+	 */
+	@Override
+	public List<UnitDefinition> getDefinitions(MeasureType type)
+	    throws UncheckedIOException
+	{
+		Objects.requireNonNull(type);
+		List<UnitDefinition> definitions = decoded.get(type);
+		if (definitions == null)
+		{
+			definitions = decoded.computeIfAbsent(type, this::decode);
+		}
+		return definitions;
+	}
+
+	/**
+	 * Decodes the section of a {@link MeasureType}
+	 * @param type the type of measure
+	 * @return the unmodifiable list of decoded definitions
+	 * @throws UncheckedIOException if the section is corrupted
+	 */
+	private List<UnitDefinition> decode(MeasureType type)
+	    throws UncheckedIOException
+	{
+		int count = count(type);
+		if (count == 0)
+		{
+			return List.of();
+		}
+		ByteBuffer section = buffer.duplicate();
+		section.limit(sectionOffset(type) + sectionLength(type));
+		section.position(sectionOffset(type));
+		DataInputStream data = new DataInputStream(new BufferInputStream(section));
+		List<UnitDefinition> definitions = new ArrayList<UnitDefinition>(count);
+		try
+		{
+			for (int i = 0; i < count; i++)
+			{
+				definitions.add(readDefinition(type, data));
+			}
+		}
+		catch (IOException | IllegalArgumentException | NullPointerException e)
+		{
+			throw new UncheckedIOException(new IOException("corrupted section of "
+			    + type.name() + " in compiled unit definitions file", e));
+		}
+		return Collections.unmodifiableList(definitions);
+	}
+
+	/**
+	 * Index of the table entry of a {@link MeasureType}
+	 * @param type the type of measure
+	 * @return the index of the table entry of this type
+	 */
+	private static int entry(MeasureType type)
+	{
+		return HeaderSize + (type.ordinal() * EntrySize);
+	}
+
+	/**
+	 * Offset of the section of a {@link MeasureType}
+	 * @param type the type of measure
+	 * @return the offset of the section of this type
+	 */
+	private int sectionOffset(MeasureType type)
+	{
+		return buffer.getInt(entry(type));
+	}
+
+	/**
+	 * Length of the section of a {@link MeasureType}
+	 * @param type the type of measure
+	 * @return the length (in bytes) of the section of this type
+	 */
+	private int sectionLength(MeasureType type)
+	{
+		return buffer.getInt(entry(type) + Integer.BYTES);
+	}
+
+	/**
+	 * Writes a single definition
+	 * @param definition the definition to write
+	 * @param data the stream to write to
+	 * @throws IOException if the stream can't be written
+	 */
+	private static void writeDefinition(UnitDefinition definition,
+	                                    DataOutputStream data)
+	    throws IOException
+	{
+		data.writeByte(definition.kind.ordinal());
+		data.writeUTF(definition.description);
+		writeNullable(definition.symbol, data);
+		writeNullable(definition.format, data);
+		data.writeDouble(definition.min);
+		data.writeDouble(definition.max);
+		data.writeBoolean(definition.cyclic);
+		data.writeDouble(definition.power);
+		data.writeDouble(definition.factor);
+		data.writeDouble(definition.offset);
+		data.writeByte(definition.order == null ? -1 : definition.order.ordinal());
+		writeDoubles(definition.values(), data);
+		data.writeInt(definition.symbols().length);
+		for (String symbol : definition.symbols())
+		{
+			data.writeUTF(symbol);
+		}
+		writeNullable(definition.separator, data);
+		writeDoubles(definition.coefs(), data);
+		writeNullable(definition.unitDescription, data);
+		writeNullable(definition.unitSymbol, data);
+	}
+
+	/**
+	 * Reads a single definition
+	 * @param type the type of measure of the definition
+	 * @param data the stream to read from
+	 * @return the definition read
+	 * @throws IOException if the stream can't be read
+	 * @throws IllegalArgumentException if an enum ordinal is invalid
+	 */
+	private static UnitDefinition readDefinition(MeasureType type,
+	                                             DataInputStream data)
+	    throws IOException,
+	    IllegalArgumentException
+	{
+		UnitDefinition.Kind kind = enumValue(UnitDefinition.Kind.values(),
+		                                     data.readByte());
+		String description = data.readUTF();
+		String symbol = readNullable(data);
+		String format = readNullable(data);
+		double min = data.readDouble();
+		double max = data.readDouble();
+		boolean cyclic = data.readBoolean();
+		double power = data.readDouble();
+		double factor = data.readDouble();
+		double offset = data.readDouble();
+		byte orderIndex = data.readByte();
+		OperationOrder order = orderIndex < 0 ? null
+		    : enumValue(OperationOrder.values(), orderIndex);
+		double[] values = readDoubles(data);
+		int symbolsCount = data.readInt();
+		if ((symbolsCount < 0) || (symbolsCount > (data.available() / 2)))
+		{
+			throw new IOException("invalid symbols count " + symbolsCount);
+		}
+		String[] symbols = new String[symbolsCount];
+		for (int i = 0; i < symbols.length; i++)
+		{
+			symbols[i] = data.readUTF();
+		}
+		String separator = readNullable(data);
+		double[] coefs = readDoubles(data);
+		String unitDescription = readNullable(data);
+		String unitSymbol = readNullable(data);
+		return new UnitDefinition(kind,
+		                          type,
+		                          description,
+		                          symbol,
+		                          format,
+		                          min,
+		                          max,
+		                          cyclic,
+		                          power,
+		                          factor,
+		                          offset,
+		                          order,
+		                          values,
+		                          symbols,
+		                          separator,
+		                          coefs,
+		                          unitDescription,
+		                          unitSymbol);
+	}
+
+	/**
+	 * Enum constant from its ordinal
+	 * @param <E> the type of enum
+	 * @param values all enum constants
+	 * @param ordinal the ordinal of the requested constant
+	 * @return the requested constant
+	 * @throws IllegalArgumentException if ordinal is out of range
+	 */
+	private static <E extends Enum<E>> E enumValue(E[] values, int ordinal)
+	    throws IllegalArgumentException
+	{
+		if ((ordinal < 0) || (ordinal >= values.length))
+		{
+			throw new IllegalArgumentException("invalid ordinal " + ordinal);
+		}
+		return values[ordinal];
+	}
+
+	/**
+	 * Writes a string which might be null
+	 * @param text the string to write
+	 * @param data the stream to write to
+	 * @throws IOException if the stream can't be written
+	 */
+	private static void writeNullable(String text, DataOutputStream data)
+	    throws IOException
+	{
+		data.writeBoolean(text != null);
+		if (text != null)
+		{
+			data.writeUTF(text);
+		}
+	}
+
+	/**
+	 * Reads a string which might be null
+	 * @param data the stream to read from
+	 * @return the string read (evt null)
+	 * @throws IOException if the stream can't be read
+	 */
+	private static String readNullable(DataInputStream data) throws IOException
+	{
+		return data.readBoolean() ? data.readUTF() : null;
+	}
+
+	/**
+	 * Writes an array of doubles preceded by its length
+	 * @param values the values to write
+	 * @param data the stream to write to
+	 * @throws IOException if the stream can't be written
+	 */
+	private static void writeDoubles(double[] values, DataOutputStream data)
+	    throws IOException
+	{
+		data.writeInt(values.length);
+		for (double value : values)
+		{
+			data.writeDouble(value);
+		}
+	}
+
+	/**
+	 * Reads an array of doubles preceded by its length
+	 * @param data the stream to read from
+	 * @return the values read
+	 * @throws IOException if the stream can't be read or if the length is
+	 * negative
+	 */
+	private static double[] readDoubles(DataInputStream data) throws IOException
+	{
+		int length = data.readInt();
+		if ((length < 0) || (length > (data.available() / Double.BYTES)))
+		{
+			throw new IOException("invalid array length " + length);
+		}
+		double[] values = new double[length];
+		for (int i = 0; i < length; i++)
+		{
+			values[i] = data.readDouble();
+		}
+		return values;
+	}
+
+	/**
+	 * Input stream reading a section of the mapped file without copying it
+	 */
+	private static final class BufferInputStream extends InputStream
+	{
+		/**
+		 * The section to read
+		 */
+		private final ByteBuffer section;
+
+		/**
+		 * Constructor
+		 * @param section the section to read (from its position to its limit)
+		 */
+		private BufferInputStream(ByteBuffer section)
+		{
+			this.section = section;
+		}
+
+		@Override
+		public int read()
+		{
+			return section.hasRemaining() ? section.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length)
+		{
+			Objects.checkFromIndexSize(offset, length, bytes.length);
+			if (length == 0)
+			{
+				return 0;
+			}
+			if (!section.hasRemaining())
+			{
+				return -1;
+			}
+			int read = Math.min(length, section.remaining());
+			section.get(bytes, offset, read);
+			return read;
+		}
+
+		@Override
+		public int available()
+		{
+			return section.remaining();
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package measures.units;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import measures.MeasureType;
+
+/**
+ * Precomputed conversions between all pairs of {@link Unit}s of a
+ * {@link UnitsCatalogue}.
+ * Fused coefficients of every (source, destination) pair (as computed by
+ * {@link ConversionPlan}s) are stored in N&times;N primitive tables so that a
+ * value can be converted into every unit of a {@link MeasureType} at once
+ * without any lookup, boxing or formatting.
+ * Units are indexed in {@link SortOrder#NAME_ASCENDING} order (just as
+ * {@link UnitsCatalogue#getUnits()}) and other orders can be mapped to these
+ * indices with {@link #indicesOf(List)}.
+ * Matrices are immutable and can therefore be shared among threads. They
+ * should be obtained through
+ * {@link UnitsFactory#getConversionMatrix(MeasureType)} which builds them
+ * once per {@link MeasureType}.
+ * @author davidroussel
+ * @see UnitsFactory#getConversionMatrix(MeasureType)
+ */
+public class ConversionMatrix
+{
+	/**
+	 * The type of measures measured by units of this matrix
+	 */
+	private final MeasureType type;
+
+	/**
+	 * Units of this matrix indexed in {@link SortOrder#NAME_ASCENDING} order
+	 */
+	private final List<Unit<Double>> units;
+
+	/**
+	 * Index of each unit in {@link #units}
+	 */
+	private final Map<Unit<Double>, Integer> indices;
+
+	/**
+	 * Number of units
+	 */
+	private final int size;
+
+	/**
+	 * Flags indicating (source, destination) pairs which are converted with
+	 * their fused coefficients in {@link #scales} and {@link #shifts}
+	 * (row-major: source * size + destination). Other pairs are converted
+	 * through SI values.
+	 */
+	private final boolean[] fused;
+
+	/**
+	 * Factors to apply on bounded source values for each (source,
+	 * destination) pair (row-major)
+	 */
+	private final double[] scales;
+
+	/**
+	 * Offsets to add to scaled source values for each (source, destination)
+	 * pair (row-major)
+	 */
+	private final double[] shifts;
+
+	/**
+	 * Constructor.
+	 * Builds the coefficients tables from the plans compiled for each pair of
+	 * units of the provided catalogue
+	 * @param catalogue the catalogue providing units
+	 * @throws NullPointerException if catalogue is null
+	 */
+	ConversionMatrix(UnitsCatalogue catalogue) throws NullPointerException
+	{
+		type = catalogue.getType();
+		units = catalogue.getUnits(SortOrder.NAME_ASCENDING);
+		size = units.size();
+		indices = new IdentityHashMap<Unit<Double>, Integer>(size);
+		for (int i = 0; i < size; i++)
+		{
+			indices.put(units.get(i), Integer.valueOf(i));
+		}
+		fused = new boolean[size * size];
+		scales = new double[size * size];
+		shifts = new double[size * size];
+		for (int s = 0; s < size; s++)
+		{
+			for (int d = 0; d < size; d++)
+			{
+				ConversionPlan plan = UnitsFactory.getConversionPlan(units.get(s),
+				                                                     units.get(d));
+				int index = (s * size) + d;
+				scales[index] = plan.getScale();
+				shifts[index] = plan.getShift();
+				fused[index] = !Double.isNaN(scales[index]);
+			}
+		}
+	}
+
+	/**
+	 * Accessor to the type of measures measured by units of this matrix
+	 * @return the type of measures measured by units of this matrix
+	 */
+	public MeasureType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Number of units in this matrix
+	 * @return the number of units in this matrix
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Accessor to the units of this matrix
+	 * @return an unmodifiable list of the units of this matrix in index order
+	 */
+	public List<Unit<Double>> getUnits()
+	{
+		return units;
+	}
+
+	/**
+	 * Index of the provided unit in this matrix
+	 * @param unit the unit to search
+	 * @return the index of the provided unit or -1 if this unit is not part
+	 * of this matrix
+	 */
+	public int indexOf(Unit<Double> unit)
+	{
+		Integer index = indices.get(unit);
+		return index != null ? index.intValue() : -1;
+	}
+
+	/**
+	 * Indices of the provided units in this matrix
+	 * @param list the units to search
+	 * @return a new array containing the index of each unit of list (or -1
+	 * for units which are not part of this matrix)
+	 * @throws NullPointerException if list is null
+	 */
+	public int[] indicesOf(List<Unit<Double>> list) throws NullPointerException
+	{
+		int[] result = new int[list.size()];
+		int i = 0;
+		for (Unit<Double> unit : list)
+		{
+			result[i++] = indexOf(unit);
+		}
+		return result;
+	}
+
+	/**
+	 * Factor applied on bounded source values to obtain destination values
+	 * @param source index of the source unit
+	 * @param destination index of the destination unit
+	 * @return the factor of the (source, destination) pair or NaN if this
+	 * pair is converted through SI values
+	 * @throws IndexOutOfBoundsException if source or destination are not
+	 * valid indices
+	 */
+	public double getScale(int source, int destination)
+	    throws IndexOutOfBoundsException
+	{
+		return scales[index(source, destination)];
+	}
+
+	/**
+	 * Offset added to scaled source values to obtain destination values
+	 * @param source index of the source unit
+	 * @param destination index of the destination unit
+	 * @return the offset of the (source, destination) pair or NaN if this
+	 * pair is converted through SI values
+	 * @throws IndexOutOfBoundsException if source or destination are not
+	 * valid indices
+	 */
+	public double getShift(int source, int destination)
+	    throws IndexOutOfBoundsException
+	{
+		return shifts[index(source, destination)];
+	}
+
+	/**
+	 * Convert a single value
+	 * @param source index of the unit to convert value from
+	 * @param destination index of the unit to convert value to
+	 * @param value the value to convert
+	 * @return the converted value which is the same as the one provided by
+	 * {@link ConversionPlan#convert(double)}
+	 * @throws IndexOutOfBoundsException if source or destination are not
+	 * valid indices
+	 */
+	public double convert(int source, int destination, double value)
+	    throws IndexOutOfBoundsException
+	{
+		int index = index(source, destination);
+		Unit<Double> to = units.get(destination);
+		if (fused[index])
+		{
+			return to.bound(scale(units.get(source).bound(value),
+			                      scales[index],
+			                      shifts[index]));
+		}
+		return to.fromSI(units.get(source).toSI(value));
+	}
+
+	/**
+	 * Convert a value into every unit of this matrix
+	 * @param source index of the unit to convert value from
+	 * @param value the value to convert
+	 * @param results the array to store the converted values in (in index
+	 * order)
+	 * @return the provided results array
+	 * @throws IndexOutOfBoundsException if source is not a valid index or if
+	 * results is shorter than {@link #size()}
+	 * @see #convert(int, double, int[], double[])
+	 */
+	public double[] convertToAll(int source, double value, double[] results)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkIndex(source, size);
+		Objects.checkFromIndexSize(0, size, results.length);
+		Unit<Double> from = units.get(source);
+		int row = source * size;
+		double bounded = from.bound(value);
+		double si = Double.NaN;
+		boolean siComputed = false;
+		for (int d = 0; d < size; d++)
+		{
+			Unit<Double> to = units.get(d);
+			if (fused[row + d])
+			{
+				results[d] = to.bound(scale(bounded, scales[row + d], shifts[row + d]));
+			}
+			else
+			{
+				if (!siComputed)
+				{
+					si = from.toSI(value);
+					siComputed = true;
+				}
+				results[d] = to.fromSI(si);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Convert a value into several units of this matrix.
+	 * The source value is bounded (and evt converted to SI) only once for
+	 * all destinations.
+	 * @param source index of the unit to convert value from
+	 * @param value the value to convert
+	 * @param destinations indices of the units to convert value to (as
+	 * obtained from {@link #indicesOf(List)}), negative indices produce NaN
+	 * results
+	 * @param results the array to store the converted values in (in
+	 * destinations order)
+	 * @return the provided results array
+	 * @throws IndexOutOfBoundsException if source or one of the destinations
+	 * are not valid indices or if results is shorter than destinations
+	 */
+	public double[] convert(int source,
+	                        double value,
+	                        int[] destinations,
+	                        double[] results)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkIndex(source, size);
+		Objects.checkFromIndexSize(0, destinations.length, results.length);
+		Unit<Double> from = units.get(source);
+		int row = source * size;
+		double bounded = from.bound(value);
+		double si = Double.NaN;
+		boolean siComputed = false;
+		for (int i = 0; i < destinations.length; i++)
+		{
+			int d = destinations[i];
+			if (d < 0)
+			{
+				results[i] = Double.NaN;
+				continue;
+			}
+			Unit<Double> to = units.get(d);
+			if (fused[row + d])
+			{
+				results[i] = to.bound(scale(bounded, scales[row + d], shifts[row + d]));
+			}
+			else
+			{
+				if (!siComputed)
+				{
+					si = from.toSI(value);
+					siComputed = true;
+				}
+				results[i] = to.fromSI(si);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * String representation of this matrix
+	 * @return a new String representing this matrix
+	 */
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + type + ", " + size + " units]";
+	}
+
+	/**
+	 * Row-major index of a (source, destination) pair
+	 * @param source index of the source unit
+	 * @param destination index of the destination unit
+	 * @return the index of the (source, destination) pair in coefficients
+	 * tables
+	 * @throws IndexOutOfBoundsException if source or destination are not
+	 * valid indices
+	 */
+	private int index(int source, int destination)
+	    throws IndexOutOfBoundsException
+	{
+		return (Objects.checkIndex(source, size) * size)
+		    + Objects.checkIndex(destination, size);
+	}
+
+	/**
+	 * Applies fused coefficients on a bounded source value just as
+	 * {@link ConversionPlan}s do
+	 * @param value the bounded source value
+	 * @param scale the factor to apply
+	 * @param shift the offset to add
+	 * @return the scaled value (not bounded yet)
+	 */
+	private static double scale(double value, double scale, double shift)
+	{
+		return shift == 0.0 ? value * scale : Math.fma(value, scale, shift);
+	}
+}
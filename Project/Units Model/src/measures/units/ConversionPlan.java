@@ -0,0 +1,343 @@
+package measures.units;
+
+import java.util.Objects;
+
+/**
+ * Precompiled conversion from a source {@link Unit} to a destination
+ * {@link Unit}.
+ * Conversions to and from SI values of both units are fused into a single
+ * function computed once when the plan is built:
+ * <ul>
+ * 	<li>a single multiplication when both units only differ by factors</li>
+ * 	<li>a single fused multiply-add when both units are affine</li>
+ * 	<li>the regular source &rarr; SI &rarr; destination conversion when
+ * 	powers are involved</li>
+ * </ul>
+ * Plans are immutable and can therefore be shared among threads. They should
+ * be obtained through {@link UnitsFactory#getConversionPlan(Unit, Unit)} which
+ * caches them per (source, destination) pair.
+ * @author davidroussel
+ * @see UnitsFactory#getConversionPlan(Unit, Unit)
+ * @implNote Fused plans may differ from the two steps conversion by one ulp
+ * since intermediate SI values are not rounded anymore
+ */
+public abstract class ConversionPlan
+{
+	/**
+	 * The unit to convert values from
+	 */
+	protected final Unit<Double> source;
+
+	/**
+	 * The unit to convert values to
+	 */
+	protected final Unit<Double> destination;
+
+	/**
+	 * Constructor
+	 * @param source the unit to convert values from
+	 * @param destination the unit to convert values to
+	 */
+	protected ConversionPlan(Unit<Double> source, Unit<Double> destination)
+	{
+		this.source = source;
+		this.destination = destination;
+	}
+
+	/**
+	 * Factory method building the most efficient plan to convert values from
+	 * source unit to destination unit
+	 * @param source the unit to convert values from
+	 * @param destination the unit to convert values to
+	 * @return a new conversion plan from source to destination
+	 * @throws NullPointerException if source or destination is null
+	 */
+	static ConversionPlan compile(Unit<Double> source,
+	                              Unit<Double> destination)
+	    throws NullPointerException
+	{
+		Objects.requireNonNull(source, "null source unit");
+		Objects.requireNonNull(destination, "null destination unit");
+
+		if (!source.isAffine() || !destination.isAffine())
+		{
+			return new Composite(source, destination);
+		}
+
+		/*
+		 * si = x * sourceScale + sourceShift
+		 * y = (si - destinationShift) / destinationScale
+		 * y = x * (sourceScale / destinationScale)
+		 * 	+ (sourceShift - destinationShift) / destinationScale
+		 */
+		double destinationScale = destination.getSIScale();
+		double scale = source.getSIScale() / destinationScale;
+		double shift = (source.getSIShift() - destination.getSIShift())
+		    / destinationScale;
+
+		if (shift == 0.0)
+		{
+			return new Scale(source, destination, scale);
+		}
+		return new Affine(source, destination, scale, shift);
+	}
+
+	/**
+	 * Accessor to the unit to convert values from
+	 * @return the unit to convert values from
+	 */
+	public Unit<Double> getSource()
+	{
+		return source;
+	}
+
+	/**
+	 * Accessor to the unit to convert values to
+	 * @return the unit to convert values to
+	 */
+	public Unit<Double> getDestination()
+	{
+		return destination;
+	}
+
+	/**
+	 * Factor applied on bounded source values by fused plans
+	 * @return the factor applied on bounded source values or NaN if this plan
+	 * goes through SI values
+	 * @see ConversionMatrix
+	 */
+	double getScale()
+	{
+		return Double.NaN;
+	}
+
+	/**
+	 * Offset added to scaled source values by fused plans
+	 * @return the offset added to scaled source values or NaN if this plan
+	 * goes through SI values
+	 * @see ConversionMatrix
+	 */
+	double getShift()
+	{
+		return Double.NaN;
+	}
+
+	/**
+	 * Convert a value expressed in {@link #source} into a value expressed in
+	 * {@link #destination}.
+	 * Both provided and converted values are bounded just as
+	 * {@link Unit#setValue_Impl(Comparable)} would.
+	 * @param value the value to convert
+	 * @return the converted value
+	 */
+	public abstract double convert(double value);
+
+	/**
+	 * Convert a range of values expressed in {@link #source} into values
+	 * expressed in {@link #destination}.
+	 * @param values the values to convert
+	 * @param valuesPos the index of the first value to convert in values
+	 * @param results the array to store converted values in (can be values
+	 * itself)
+	 * @param resultsPos the index of the first converted value in results
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or results bounds
+	 */
+	public void convert(double[] values,
+	                    int valuesPos,
+	                    double[] results,
+	                    int resultsPos,
+	                    int length)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		Objects.checkFromIndexSize(resultsPos, length, results.length);
+		source.bound(values, valuesPos, results, resultsPos, length);
+		convertBounded(results, resultsPos, length);
+		destination.bound(results, resultsPos, results, resultsPos, length);
+	}
+
+	/**
+	 * Convert in place a range of already bounded source values without
+	 * bounding the results
+	 * @param values the values to convert in place
+	 * @param pos the index of the first value to convert
+	 * @param length the number of values to convert
+	 */
+	protected abstract void convertBounded(double[] values,
+	                                       int pos,
+	                                       int length);
+
+	/**
+	 * String representation of this plan
+	 * @return a new String representing this plan
+	 */
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + source.getSymbol() + " -> "
+		    + destination.getSymbol() + "]";
+	}
+
+	/**
+	 * Plan for units only differing by their factors: a single multiplication
+	 */
+	private static final class Scale extends ConversionPlan
+	{
+		/**
+		 * The factor to apply on source values
+		 */
+		private final double scale;
+
+		/**
+		 * Constructor
+		 * @param source the unit to convert values from
+		 * @param destination the unit to convert values to
+		 * @param scale the factor to apply on source values
+		 */
+		private Scale(Unit<Double> source,
+		              Unit<Double> destination,
+		              double scale)
+		{
+			super(source, destination);
+			this.scale = scale;
+		}
+
+		@Override
+		double getScale()
+		{
+			return scale;
+		}
+
+		@Override
+		double getShift()
+		{
+			return 0.0;
+		}
+
+		@Override
+		public double convert(double value)
+		{
+			return destination.bound(source.bound(value) * scale);
+		}
+
+		@Override
+		protected void convertBounded(double[] values, int pos, int length)
+		{
+			final double s = scale;
+			final int end = pos + length;
+			for (int i = pos; i < end; i++)
+			{
+				values[i] *= s;
+			}
+		}
+	}
+
+	/**
+	 * Plan for affine units: a single fused multiply-add
+	 */
+	private static final class Affine extends ConversionPlan
+	{
+		/**
+		 * The factor to apply on source values
+		 */
+		private final double scale;
+
+		/**
+		 * The offset to add to scaled source values
+		 */
+		private final double shift;
+
+		/**
+		 * Constructor
+		 * @param source the unit to convert values from
+		 * @param destination the unit to convert values to
+		 * @param scale the factor to apply on source values
+		 * @param shift the offset to add to scaled source values
+		 */
+		private Affine(Unit<Double> source,
+		               Unit<Double> destination,
+		               double scale,
+		               double shift)
+		{
+			super(source, destination);
+			this.scale = scale;
+			this.shift = shift;
+		}
+
+		@Override
+		double getScale()
+		{
+			return scale;
+		}
+
+		@Override
+		double getShift()
+		{
+			return shift;
+		}
+
+		@Override
+		public double convert(double value)
+		{
+			return destination.bound(Math.fma(source.bound(value),
+			                                  scale,
+			                                  shift));
+		}
+
+		@Override
+		protected void convertBounded(double[] values, int pos, int length)
+		{
+			final double s = scale;
+			final double o = shift;
+			final int end = pos + length;
+			for (int i = pos; i < end; i++)
+			{
+				values[i] = Math.fma(values[i], s, o);
+			}
+		}
+	}
+
+	/**
+	 * Plan for units involving powers: regular source &rarr; SI &rarr;
+	 * destination conversion
+	 */
+	private static final class Composite extends ConversionPlan
+	{
+		/**
+		 * Constructor
+		 * @param source the unit to convert values from
+		 * @param destination the unit to convert values to
+		 */
+		private Composite(Unit<Double> source, Unit<Double> destination)
+		{
+			super(source, destination);
+		}
+
+		@Override
+		public double convert(double value)
+		{
+			return destination.fromSI(source.toSI(value));
+		}
+
+		@Override
+		public void convert(double[] values,
+		                    int valuesPos,
+		                    double[] results,
+		                    int resultsPos,
+		                    int length)
+		    throws IndexOutOfBoundsException
+		{
+			source.toSI(values, valuesPos, results, resultsPos, length);
+			destination.fromSI(results, resultsPos, results, resultsPos, length);
+		}
+
+		@Override
+		protected void convertBounded(double[] values, int pos, int length)
+		{
+			source.toSI(values, pos, values, pos, length);
+			destination.fromSI(values, pos, values, pos, length);
+		}
+	}
+}
@@ -14,6 +14,13 @@ import java.util.NoSuchElementException;
  */
 public class DecomposedUnit extends Unit<Double>
 {
+	/**
+	 * Greatest number of units of the last part of the decomposition which
+	 * can be decomposed with integer arithmetic (all such integers are
+	 * exactly representable as doubles)
+	 */
+	private static final long MaxTotal = 1L << 53;
+
 	/**
 	 * The Unit this decomposed unit shall decompose
 	 * e.g. degrees for (degrees, minutes, seconds) or hours for (hours :
@@ -21,7 +28,7 @@ public class DecomposedUnit extends Unit<Double>
 	 * @implNote Each time this internal unit changes value, {@link #values}
 	 * shall be recomputed.
 	 */
-	private Unit<Double> rawUnit;
+	private final Unit<Double> rawUnit;
 
 	/**
 	 * Coefficients to apply at each step of the decomposition
@@ -43,6 +50,59 @@ public class DecomposedUnit extends Unit<Double>
 	 */
 	private final DecimalFormat formatter;
 
+	/**
+	 * Divisors to apply to each part of the decomposition to get back to
+	 * {@link #rawUnit} value (i.e. products of {@link #coefs})
+	 * @see #parseValue(CharSequence, int, int, ValueParser)
+	 */
+	private final double[] divisors;
+
+	/**
+	 * Chars which may appear between parts of the decomposition (chars of
+	 * {@link #symbols} and {@link #separator})
+	 * @see #parseValue(CharSequence, int, int, ValueParser)
+	 */
+	private final String delimiters;
+
+	/**
+	 * Integer coefficients of each part of the decomposition but the first
+	 * one (e.g. {60, 60} for (hours : minutes : seconds)) or null if some of
+	 * these coefficients are not integers
+	 * @see #formatValue(double, StringBuilder)
+	 */
+	private final long[] moduli;
+
+	/**
+	 * Number of units of the last part of the decomposition in each part
+	 * (e.g. {3600, 60, 1} for (hours : minutes : seconds))
+	 */
+	private final long[] weights;
+
+	/**
+	 * Multiplier to apply to {@link #rawUnit} values to get the number of
+	 * units of the last part of the decomposition
+	 */
+	private final double totalMultiplier;
+
+	/**
+	 * Divisor to apply to {@link #rawUnit} values to get the number of units
+	 * of the last part of the decomposition.
+	 * Used when the first coefficient is the inverse of an integer (e.g.
+	 * 1/3600) so that values are divided by an exact integer rather than
+	 * multiplied by an inexact inverse.
+	 */
+	private final double totalDivisor;
+
+	/**
+	 * Localized zero digit used by {@link #formatter}
+	 */
+	private final char zeroDigit;
+
+	/**
+	 * Localized prefix of negative values used by {@link #formatter}
+	 */
+	private final String negativePrefix;
+
 	/**
 	 * Decomposed Unit
 	 * @param unit the unit to decompose
@@ -73,6 +133,58 @@ public class DecomposedUnit extends Unit<Double>
 		rawUnit = unit;
 		this.coefs = coefs;
 		formatter = new DecimalFormat("00");
+		divisors = new double[coefs.length];
+		double product = 1.0;
+		StringBuilder delimitersBuilder = new StringBuilder(separator);
+		for (int i = 0; i < coefs.length; i++)
+		{
+			product *= coefs[i];
+			divisors[i] = product;
+			delimitersBuilder.append(this.symbols[i]);
+		}
+		delimiters = delimitersBuilder.toString();
+
+		long[] integerCoefs = new long[coefs.length];
+		long modulus = 1L;
+		for (int i = coefs.length - 1; (i > 0) && (integerCoefs != null); i--)
+		{
+			double coef = coefs[i];
+			if ((coef < 1.0) || (coef != Math.rint(coef))
+			    || (modulus > (MaxTotal / (long) coef)))
+			{
+				integerCoefs = null;
+			}
+			else
+			{
+				integerCoefs[i] = (long) coef;
+				modulus *= integerCoefs[i];
+			}
+		}
+		moduli = integerCoefs;
+		weights = new long[coefs.length];
+		if (moduli != null)
+		{
+			long weight = 1L;
+			for (int i = coefs.length - 1; i >= 0; i--)
+			{
+				weights[i] = weight;
+				weight *= i > 0 ? moduli[i] : 1L;
+			}
+		}
+		double first = coefs[0];
+		double inverse = 1.0 / first;
+		if ((first < 1.0) && (Math.abs(inverse - Math.rint(inverse)) <= (1e-9 * inverse)))
+		{
+			totalMultiplier = modulus;
+			totalDivisor = Math.rint(inverse);
+		}
+		else
+		{
+			totalMultiplier = first * modulus;
+			totalDivisor = 1.0;
+		}
+		zeroDigit = formatter.getDecimalFormatSymbols().getZeroDigit();
+		negativePrefix = formatter.getNegativePrefix();
 	}
 
 	/**
@@ -160,6 +272,142 @@ public class DecomposedUnit extends Unit<Double>
 		return rawUnit.getSIValue();
 	}
 
+	/**
+	 * Convert a raw value expressed in {@link #rawUnit} to the equivalent SI
+	 * value
+	 * @param value the value expressed in {@link #rawUnit}
+	 * @return the equivalent SI value
+	 */
+	@Override
+	public double toSI(double value)
+	{
+		return rawUnit.toSI(value);
+	}
+
+	/**
+	 * Convert a SI value to the equivalent value expressed in {@link #rawUnit}
+	 * @param siValue the SI value to convert
+	 * @return the equivalent value expressed in {@link #rawUnit}
+	 */
+	@Override
+	public double fromSI(double siValue)
+	{
+		return rawUnit.fromSI(siValue);
+	}
+
+	/**
+	 * Convert an array of raw values expressed in {@link #rawUnit} to SI values
+	 * @param values the values expressed in {@link #rawUnit}
+	 * @param valuesPos the index of the first value to convert in values
+	 * @param siValues the array to store SI values in (can be values itself)
+	 * @param siPos the index of the first SI value to store in siValues
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or siValues bounds
+	 */
+	@Override
+	public void toSI(double[] values,
+	                 int valuesPos,
+	                 double[] siValues,
+	                 int siPos,
+	                 int length)
+	    throws IndexOutOfBoundsException
+	{
+		rawUnit.toSI(values, valuesPos, siValues, siPos, length);
+	}
+
+	/**
+	 * Convert an array of SI values to values expressed in {@link #rawUnit}
+	 * @param siValues the SI values to convert
+	 * @param siPos the index of the first SI value to convert in siValues
+	 * @param values the array to store converted values in (can be siValues
+	 * itself)
+	 * @param valuesPos the index of the first converted value to store in
+	 * values
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * siValues or values bounds
+	 */
+	@Override
+	public void fromSI(double[] siValues,
+	                   int siPos,
+	                   double[] values,
+	                   int valuesPos,
+	                   int length)
+	    throws IndexOutOfBoundsException
+	{
+		rawUnit.fromSI(siValues, siPos, values, valuesPos, length);
+	}
+
+	/**
+	 * Internal value setter storing the provided value in {@link #rawUnit}
+	 * @param value the value to store in {@link #rawUnit}
+	 */
+	@Override
+	protected void setValue_Impl(Double value)
+	{
+		rawUnit.setValue_Impl(value);
+	}
+
+	/**
+	 * Bounds a raw value just as {@link #rawUnit} would
+	 * @param value the value to bound
+	 * @return the bounded value
+	 */
+	@Override
+	protected double bound(double value)
+	{
+		return rawUnit.bound(value);
+	}
+
+	/**
+	 * Bounds an array of raw values just as {@link #rawUnit} would
+	 * @param values the values to bound
+	 * @param valuesPos the index of the first value to bound in values
+	 * @param results the array to store bounded values in
+	 * @param resultsPos the index of the first bounded value in results
+	 * @param length the number of values to bound
+	 */
+	@Override
+	protected void bound(double[] values,
+	                     int valuesPos,
+	                     double[] results,
+	                     int resultsPos,
+	                     int length)
+	{
+		rawUnit.bound(values, valuesPos, results, resultsPos, length);
+	}
+
+	/**
+	 * Indicates if {@link #rawUnit} conversion to SI values is affine
+	 * @return true if {@link #rawUnit} conversion to SI values is affine
+	 */
+	@Override
+	protected boolean isAffine()
+	{
+		return rawUnit.isAffine();
+	}
+
+	/**
+	 * Scale of {@link #rawUnit} affine conversion to SI values
+	 * @return the scale of {@link #rawUnit} affine conversion to SI values
+	 */
+	@Override
+	protected double getSIScale()
+	{
+		return rawUnit.getSIScale();
+	}
+
+	/**
+	 * Shift of {@link #rawUnit} affine conversion to SI values
+	 * @return the shift of {@link #rawUnit} affine conversion to SI values
+	 */
+	@Override
+	protected double getSIShift()
+	{
+		return rawUnit.getSIShift();
+	}
+
 	/**
 	 * Symbol accessor (reimplemented to return empty string).
 	 * The {@link #formatValue()} already formats symbols
@@ -194,14 +442,123 @@ public class DecomposedUnit extends Unit<Double>
 	@Override
 	public String formatValue() throws NoSuchElementException
 	{
-		StringBuilder builder = new StringBuilder();
-		double dValue = rawUnit.getValue();
+		return formatValue(rawUnit.getValue().doubleValue());
+	}
+
+	/**
+	 * Format the provided value for printing.
+	 * e.g. "45 : 54 : 56"
+	 * @param value the value to format
+	 * @return a formatted String of the provided value
+	 * @see #formatValue(double, StringBuilder)
+	 */
+	@Override
+	public String formatValue(double value)
+	{
+		return formatValue(value, new StringBuilder()).toString();
+	}
+
+	/**
+	 * Appends the provided value formatted for printing to the provided
+	 * builder.
+	 * The value is first converted into an integer number of units of the
+	 * last part of the decomposition (e.g. seconds in (hours : minutes :
+	 * seconds)) which is then split into parts with integer divisions, rather
+	 * than repeatedly multiplying, flooring and subtracting floating point
+	 * values which may accumulate rounding errors (e.g. 12 seconds formatted
+	 * as "11s").
+	 * @param value the value to format
+	 * @param builder the builder to append the formatted value to
+	 * @return the provided builder
+	 * @throws NullPointerException if builder is null
+	 * @implNote values which can't be converted to an integer number of units
+	 * (NaN, infinities or huge values) as well as decompositions with non
+	 * integer coefficients are formatted with {@link #formatter} under its
+	 * own lock.
+	 */
+	@Override
+	public StringBuilder formatValue(double value, StringBuilder builder)
+	    throws NullPointerException
+	{
+		double total = Math.floor((value * totalMultiplier) / totalDivisor);
+		if ((moduli == null) || !(Math.abs(total) < MaxTotal))
+		{
+			return formatFloating(value, builder);
+		}
+		long units = (long) total;
+		for (int i = 0; i < coefs.length; i++)
+		{
+			long part = Math.floorDiv(units, weights[i]);
+			if (i > 0)
+			{
+				part = Math.floorMod(part, moduli[i]);
+			}
+			appendPart(part, builder);
+			builder.append(symbols[i]);
+			if (i < (coefs.length - 1))
+			{
+				builder.append(" ");
+				builder.append(separator);
+				builder.append(" ");
+			}
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends a part of a decomposed value with at least 2 digits just as
+	 * {@link #formatter} would
+	 * @param part the part to append
+	 * @param builder the builder to append part to
+	 */
+	private void appendPart(long part, StringBuilder builder)
+	{
+		if (part < 0)
+		{
+			builder.append(negativePrefix);
+			part = -part;
+		}
+		if (part < 10)
+		{
+			builder.append(zeroDigit);
+		}
+		int start = builder.length();
+		do
+		{
+			builder.append((char) (zeroDigit + (part % 10)));
+			part /= 10;
+		}
+		while (part > 0);
+		// digits have been appended in reverse order
+		for (int i = start, j = builder.length() - 1; i < j; i++, j--)
+		{
+			char c = builder.charAt(i);
+			builder.setCharAt(i, builder.charAt(j));
+			builder.setCharAt(j, c);
+		}
+	}
+
+	/**
+	 * Appends the provided value formatted with floating point steps
+	 * (multiply, floor, subtract) and {@link #formatter}
+	 * @param value the value to format
+	 * @param builder the builder to append the formatted value to
+	 * @return the provided builder
+	 * @implNote {@link DecimalFormat}s are not thread safe, so
+	 * {@link #formatter} is used under its own lock.
+	 */
+	private StringBuilder formatFloating(double value, StringBuilder builder)
+	{
+		double dValue = value;
 		double iValue;
 		for (int i = 0; i < coefs.length; i++)
 		{
 			dValue *= coefs[i];
 			iValue = Math.floor(dValue);
-			builder.append(formatter.format(iValue));
+			synchronized (formatter)
+			{
+				builder.append(formatter.format(iValue));
+			}
 			dValue -= iValue;
 			builder.append(symbols[i]);
 			if (i < (coefs.length - 1))
@@ -211,7 +568,33 @@ public class DecomposedUnit extends Unit<Double>
 				builder.append(" ");
 			}
 		}
-		return builder.toString();
+		return builder;
+	}
+
+	/**
+	 * Parse text within [from, to) of the provided text representing a
+	 * decomposed value as formatted by {@link #formatValue(double)} (e.g.
+	 * "01h : 02m : 07s") or typed with fewer components or delimiters (e.g.
+	 * "1:30"), without copying it
+	 * @param text the text to parse
+	 * @param from index of the first char to parse
+	 * @param to index following the last char to parse
+	 * @param parser the (reused) parser
+	 * @return {@link ValueParser.Status#VALID} if text has been parsed, in
+	 * which case {@link ValueParser#getValue()} is expressed in
+	 * {@link #rawUnit}, or the reason why text can't be parsed
+	 * @throws NullPointerException if text or parser are null
+	 * @throws IndexOutOfBoundsException if [from, to) is out of text bounds
+	 */
+	@Override
+	public ValueParser.Status parseValue(CharSequence text,
+	                                     int from,
+	                                     int to,
+	                                     ValueParser parser)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		return parser.parse(text, from, to, divisors, delimiters);
 	}
 
 	/**
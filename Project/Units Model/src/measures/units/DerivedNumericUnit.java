@@ -15,24 +15,24 @@ public class DerivedNumericUnit extends BoundedBaseNumericUnit
 	/**
 	 * The power to apply to values in SI unit to convert to this unit
 	 */
-	protected double power;
+	protected final double power;
 
 	/**
 	 * The Factor to apply to values in SI unit to convert ot this unit
 	 */
-	protected double factor;
+	protected final double factor;
 
 	/**
 	 * The offset to apply to values in SI unit to convert to this unit
 	 */
-	protected double offset;
+	protected final double offset;
 
 	/**
 	 * The order in which factor and offset operations should be carried out
 	 * when converting from or to SI unit
 	 * @implNote Knowing that power is ALWAYS apply first
 	 */
-	protected OperationOrder order;
+	protected final OperationOrder order;
 
 	/**
 	 * Protected Valued constructor with all arguments (dedicated to be used
@@ -251,6 +251,128 @@ public class DerivedNumericUnit extends BoundedBaseNumericUnit
 		return this.order.toSI(value.get(), factor, offset, power);
 	}
 
+	/**
+	 * Convert a raw value expressed in this unit to the equivalent SI value.
+	 * The value is bounded first just as {@link #setValue_Impl(Double)} would.
+	 * @param value the value expressed in this unit
+	 * @return the equivalent SI value
+	 * @see OperationOrder#toSI(double, double, double, double)
+	 */
+	@Override
+	public double toSI(double value)
+	{
+		return order.toSI(bound(value), factor, offset, power);
+	}
+
+	/**
+	 * Convert a SI value to the equivalent value expressed in this unit.
+	 * The result is bounded just as {@link #setValue_Impl(Double)} would.
+	 * @param siValue the SI value to convert
+	 * @return the equivalent value expressed in this unit
+	 * @see OperationOrder#fromSI(double, double, double, double)
+	 */
+	@Override
+	public double fromSI(double siValue)
+	{
+		return bound(order.fromSI(siValue, factor, offset, power));
+	}
+
+	/**
+	 * Convert an array of raw values expressed in this unit to SI values.
+	 * @param values the values expressed in this unit
+	 * @param valuesPos the index of the first value to convert in values
+	 * @param siValues the array to store SI values in (can be values itself)
+	 * @param siPos the index of the first SI value to store in siValues
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or siValues bounds
+	 * @see OperationOrder#toSI(double[], int, double[], int, int, double, double, double)
+	 */
+	@Override
+	public void toSI(double[] values,
+	                 int valuesPos,
+	                 double[] siValues,
+	                 int siPos,
+	                 int length)
+	    throws IndexOutOfBoundsException
+	{
+		super.toSI(values, valuesPos, siValues, siPos, length);
+		order.toSI(siValues, siPos, siValues, siPos, length, factor, offset, power);
+	}
+
+	/**
+	 * Convert an array of SI values to values expressed in this unit.
+	 * @param siValues the SI values to convert
+	 * @param siPos the index of the first SI value to convert in siValues
+	 * @param values the array to store converted values in (can be siValues
+	 * itself)
+	 * @param valuesPos the index of the first converted value to store in
+	 * values
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * siValues or values bounds
+	 * @see OperationOrder#fromSI(double[], int, double[], int, int, double, double, double)
+	 */
+	@Override
+	public void fromSI(double[] siValues,
+	                   int siPos,
+	                   double[] values,
+	                   int valuesPos,
+	                   int length)
+	    throws IndexOutOfBoundsException
+	{
+		order.fromSI(siValues, siPos, values, valuesPos, length, factor, offset, power);
+		super.fromSI(values, valuesPos, values, valuesPos, length);
+	}
+
+	/**
+	 * Conversion to SI values is affine as long as no power is involved
+	 * @return true if {@link #power} is 1
+	 */
+	@Override
+	protected boolean isAffine()
+	{
+		return power == 1.0;
+	}
+
+	/**
+	 * Scale of the affine conversion to SI values according to {@link #order}
+	 * @return the scale to apply on values of this unit to obtain SI values
+	 */
+	@Override
+	protected double getSIScale()
+	{
+		switch (order)
+		{
+			case FACTOR_ONLY:
+			case FACTOR_AND_OFFSET:
+			case OFFSET_AND_FACTOR:
+				return factor;
+			default:
+				return 1.0;
+		}
+	}
+
+	/**
+	 * Shift of the affine conversion to SI values according to {@link #order}
+	 * @return the shift to add to scaled values of this unit to obtain SI
+	 * values
+	 */
+	@Override
+	protected double getSIShift()
+	{
+		switch (order)
+		{
+			case OFFSET_ONLY:
+			case FACTOR_AND_OFFSET:
+				return offset;
+			case OFFSET_AND_FACTOR:
+				return offset * factor;
+			default:
+				return 0.0;
+		}
+	}
+
 	/**
 	 * Get the factor of this unit (for sorting purposes).
 	 * @implSpec the factor to apply to convert from SI Unit to this unit.
@@ -18,7 +18,7 @@ public class DerivedSymbolicUnit extends DerivedNumericUnit
 	/**
 	 * Symbols associated to each values pairs.
 	 */
-	protected String[] symbols;
+	protected final String[] symbols;
 
 	/**
 	 * Valued constructor
@@ -87,12 +87,26 @@ public class DerivedSymbolicUnit extends DerivedNumericUnit
 	 */
 	@Override
 	public String formatValue() throws IllegalStateException
+	{
+		return formatValue(value.get().doubleValue());
+	}
+
+	/**
+	 * Computes the symbol corresponding to the provided value
+	 * @param value the value to format
+	 * @return the symbol in {@link #symbols} corresponding to the provided
+	 * value rounded as an index
+	 * @throws IllegalStateException if the provided value is out of bounds of
+	 * the internal {@link #symbols} array.
+	 */
+	@Override
+	public String formatValue(double value) throws IllegalStateException
 	{
 		/*
 		 * The other way of processing here is to convert the internal
 		 * value in an index among #symbols
 		 */
-		int iValue = (int)Math.round(value.get());
+		int iValue = (int)Math.round(value);
 		if ((iValue < 0) || (iValue >= symbols.length))
 		{
 			throw new IllegalStateException("out of symbols bounds internal value "
@@ -101,4 +115,22 @@ public class DerivedSymbolicUnit extends DerivedNumericUnit
 
 		return symbols[iValue];
 	}
+
+	/**
+	 * Appends the symbol corresponding to the provided value to the provided
+	 * builder
+	 * @param value the value to format
+	 * @param builder the builder to append the symbol to
+	 * @return the provided builder
+	 * @throws IllegalStateException if the provided value is out of bounds of
+	 * the internal {@link #symbols} array.
+	 * @throws NullPointerException if builder is null
+	 */
+	@Override
+	public StringBuilder formatValue(double value, StringBuilder builder)
+	    throws IllegalStateException,
+	    NullPointerException
+	{
+		return builder.append(formatValue(value));
+	}
 }
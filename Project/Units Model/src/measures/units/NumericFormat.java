@@ -0,0 +1,480 @@
+package measures.units;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import logger.LoggerFactory;
+
+/**
+ * Immutable numeric format built from "+a.b" format strings (see
+ * {@link #parse(String)}) which produces exactly the same text as the
+ * {@link DecimalFormat} built by {@link #toDecimalFormat()}, but appends
+ * digits directly into a provided {@link StringBuilder} or char array.
+ * Since numeric formats are immutable they can be shared among threads
+ * without any synchronization.
+ * <p>
+ * Values are scaled by 10<sup>decimals</sup> and rounded to the nearest
+ * integer. {@link DecimalFormat} applies
+ * {@link java.math.RoundingMode#HALF_EVEN} on the shortest decimal
+ * representation of doubles (the digits of {@link Double#toString(double)})
+ * which may differ from the binary value by up to one ulp, so values whose
+ * scaled fractional part lies within two ulps of one half, as well as values
+ * which can't be scaled exactly (NaN, infinities or values greater than
+ * 2<sup>52</sup> once scaled), are formatted with a per-thread
+ * {@link DecimalFormat}.
+ * </p>
+ * @author davidroussel
+ * @see BaseNumericUnit#formatValue(double, StringBuilder)
+ */
+public final class NumericFormat
+{
+	/**
+	 * Exact powers of ten as longs
+	 */
+	private static final long[] PowersOfTen = {
+		1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+		100000000L, 1000000000L, 10000000000L, 100000000000L,
+		1000000000000L, 10000000000000L, 100000000000000L,
+		1000000000000000L, 10000000000000000L, 100000000000000000L,
+		1000000000000000000L
+	};
+
+	/**
+	 * Logger reporting format strings fixed by {@link #parse(String)}
+	 */
+	private static final Logger logger =
+	    LoggerFactory.getParentLogger(NumericFormat.class, null, Level.INFO);
+
+	/**
+	 * Greatest scaled value handled without {@link DecimalFormat}: below this
+	 * value doubles have a fractional part exactly representable
+	 */
+	private static final double MaxScaledValue = 0x1p52;
+
+	/**
+	 * Flag indicating a '+' sign shall be written before positive values
+	 */
+	private final boolean sign;
+
+	/**
+	 * Total number of chars of formatted values (including sign and decimal
+	 * separator).
+	 * Only used to build {@link DecimalFormat} patterns since integer parts
+	 * are never truncated
+	 */
+	private final int length;
+
+	/**
+	 * Number of decimal places
+	 */
+	private final int decimals;
+
+	/**
+	 * 10<sup>{@link #decimals}</sup> as a double or NaN if decimals are too
+	 * numerous to be formatted without {@link DecimalFormat}
+	 */
+	private final double scale;
+
+	/**
+	 * The localized zero digit used by {@link DecimalFormat}
+	 */
+	private final char zeroDigit;
+
+	/**
+	 * Prefix of positive values (e.g. "+" or "")
+	 */
+	private final String positivePrefix;
+
+	/**
+	 * Suffix of positive values (usually "")
+	 */
+	private final String positiveSuffix;
+
+	/**
+	 * Prefix of negative values (localized minus sign)
+	 */
+	private final String negativePrefix;
+
+	/**
+	 * Suffix of negative values (usually "")
+	 */
+	private final String negativeSuffix;
+
+	/**
+	 * Per-thread {@link DecimalFormat} used when values can't be formatted
+	 * directly
+	 */
+	private final ThreadLocal<DecimalFormat> fallback;
+
+	/**
+	 * Valued constructor
+	 * @param sign flag indicating a '+' sign shall be written before positive
+	 * values
+	 * @param length total number of chars of formatted values
+	 * @param decimals number of decimal places
+	 * @throws IllegalArgumentException if length or decimals are negative
+	 */
+	public NumericFormat(boolean sign, int length, int decimals)
+	    throws IllegalArgumentException
+	{
+		if ((length < 0) || (decimals < 0))
+		{
+			throw new IllegalArgumentException("negative length or decimals");
+		}
+		this.sign = sign;
+		this.length = length;
+		this.decimals = decimals;
+		scale = decimals < PowersOfTen.length ? PowersOfTen[decimals] : Double.NaN;
+		DecimalFormat reference = toDecimalFormat();
+		zeroDigit = reference.getDecimalFormatSymbols().getZeroDigit();
+		positivePrefix = reference.getPositivePrefix();
+		positiveSuffix = reference.getPositiveSuffix();
+		negativePrefix = reference.getNegativePrefix();
+		negativeSuffix = reference.getNegativeSuffix();
+		fallback = ThreadLocal.withInitial(this::toDecimalFormat);
+	}
+
+	/**
+	 * Creates a new numeric format based on the provided format string.
+	 * e.g. "+a.b" where
+	 * <ul>
+	 * <li>"+" [Optional] indicates sign must be placed before values</li>
+	 * <li>"a" indicates the total number of digits to use</li>
+	 * <li>"b" [Optional] indicates the number of decimal places</li>
+	 * <li>a &gt;= b + 2</li>
+	 * </ul>
+	 * Formats whose decimal places don't fit in total length are not
+	 * rejected: decimal places are reduced to fit and a warning is logged.
+	 * @param format the format string to parse
+	 * @return a new numeric format based on provided format
+	 * @throws ParseException if the format string can not be parsed
+	 * @throws NullPointerException if format is null
+	 */
+	public static NumericFormat parse(String format)
+	    throws ParseException,
+	    NullPointerException
+	{
+		/*
+		 * Format elements
+		 */
+		boolean sign = false;
+		int length = 4;
+		int decimal = 0;
+		int currentIndex = 0;
+		int minLength = 2;
+
+		/*
+		 * Check for sign
+		 */
+		if (format.charAt(currentIndex) == '+')
+		{
+			sign = true;
+			currentIndex++;
+			minLength++;
+		}
+
+		/*
+		 * Check for total length
+		 */
+		try
+		{
+			length = Integer.parseInt(format.substring(currentIndex,
+			                                           format.indexOf(".")));
+		}
+		catch (NumberFormatException nfe)
+		{
+			throw new ParseException(format + ": Error parsing length value",
+			                         currentIndex);
+		}
+		catch (StringIndexOutOfBoundsException sie)
+		{
+			throw new ParseException(format + ": Error in String indexes",
+			                         currentIndex);
+		}
+
+		/*
+		 * Check for decimal length
+		 */
+		currentIndex = format.indexOf(".") + 1;
+		try
+		{
+			decimal = Integer.parseInt(format.substring(currentIndex,
+			                                            format.length()));
+		}
+		catch (NumberFormatException nfe)
+		{
+			throw new ParseException(format + ": Error parsing decimal value",
+			                         currentIndex);
+		}
+		catch (StringIndexOutOfBoundsException sie)
+		{
+			throw new ParseException(format + ": Error in String indexes",
+			                         currentIndex);
+		}
+
+		/*
+		 * Check for total length vs decimal length (with or without sign)
+		 * consistency
+		 */
+		if (decimal > (length - minLength))
+		{
+			decimal = Math.max(0, length - minLength);
+			logger.warning("\"" + format
+			    + "\" : decimal too long, reducing to : " + decimal);
+		}
+
+		if ((length < 0) || (decimal < 0))
+		{
+			throw new ParseException(format + ": Negative length or decimals",
+			                         0);
+		}
+
+		return new NumericFormat(sign, length, decimal);
+	}
+
+	/**
+	 * Indicates if a '+' sign is written before positive values
+	 * @return true if a '+' sign is written before positive values
+	 */
+	public boolean hasSign()
+	{
+		return sign;
+	}
+
+	/**
+	 * Accessor to the total number of chars of formatted values
+	 * @return the total number of chars of formatted values
+	 */
+	public int getLength()
+	{
+		return length;
+	}
+
+	/**
+	 * Accessor to the number of decimal places
+	 * @return the number of decimal places
+	 */
+	public int getDecimals()
+	{
+		return decimals;
+	}
+
+	/**
+	 * Creates a new {@link DecimalFormat} equivalent to this format
+	 * @return a new {@link DecimalFormat} equivalent to this format
+	 */
+	public DecimalFormat toDecimalFormat()
+	{
+		/*
+		 * Build DecimalFormat based on Format elements
+		 */
+		StringBuilder patternBuilder = new StringBuilder();
+		// adds "+" sign (if required)
+		int integralPart = length - decimals - 1;
+		if (sign)
+		{
+			patternBuilder.append("+");
+			integralPart--;
+		}
+		// Integral part digits
+		for (int j = 0; j < integralPart; j++)
+		{
+			patternBuilder.append("#");
+		}
+		// Decimal part digits
+		if (decimals > 0)
+		{
+			patternBuilder.append(".");
+			for (int j = 0; j < decimals; j++)
+			{
+				patternBuilder.append("0");
+			}
+		}
+
+		/*
+		 * If sign is used then the dual pattern for negative numbers must be
+		 * provided starting with a ";-"
+		 */
+		if (sign)
+		{
+			patternBuilder.append(";-");
+			for (int j = 0; j < integralPart; j++)
+			{
+				patternBuilder.append("#");
+			}
+			if (decimals > 0)
+			{
+				patternBuilder.append(".");
+				for (int j = 0; j < decimals; j++)
+				{
+					patternBuilder.append("0");
+				}
+			}
+		}
+
+		DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance();
+		dfs.setDecimalSeparator('.');
+		return new DecimalFormat(patternBuilder.toString(), dfs);
+	}
+
+	/**
+	 * Format the provided value into a new String
+	 * @param value the value to format
+	 * @return a new String containing the formatted value
+	 */
+	public String format(double value)
+	{
+		return format(value, new StringBuilder()).toString();
+	}
+
+	/**
+	 * Appends the formatted value to the provided builder
+	 * @param value the value to format
+	 * @param builder the builder to append formatted value to
+	 * @return the provided builder
+	 * @throws NullPointerException if builder is null
+	 */
+	public StringBuilder format(double value, StringBuilder builder)
+	    throws NullPointerException
+	{
+		Objects.requireNonNull(builder);
+		long scaled = round(value);
+		if (scaled < 0)
+		{
+			return builder.append(fallback.get().format(value));
+		}
+
+		boolean negative = Double.doubleToRawLongBits(value) < 0L;
+		builder.append(negative ? negativePrefix : positivePrefix);
+		long power = PowersOfTen[decimals];
+		long integral = scaled / power;
+		if ((integral > 0) || (decimals == 0))
+		{
+			for (long p = PowersOfTen[digits(integral) - 1]; p > 0; p /= 10)
+			{
+				builder.append((char) (zeroDigit + ((integral / p) % 10)));
+			}
+		}
+		if (decimals > 0)
+		{
+			builder.append('.');
+			long fraction = scaled - (integral * power);
+			for (long p = power / 10; p > 0; p /= 10)
+			{
+				builder.append((char) (zeroDigit + ((fraction / p) % 10)));
+			}
+		}
+		return builder.append(negative ? negativeSuffix : positiveSuffix);
+	}
+
+	/**
+	 * Writes the formatted value into the provided array
+	 * @param value the value to format
+	 * @param destination the array to write formatted value into
+	 * @param offset the index of the first char to write in destination
+	 * @return the index following the last char written in destination
+	 * @throws NullPointerException if destination is null
+	 * @throws IndexOutOfBoundsException if destination is too small to
+	 * contain the formatted value
+	 */
+	public int format(double value, char[] destination, int offset)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		Objects.requireNonNull(destination);
+		long scaled = round(value);
+		if (scaled < 0)
+		{
+			String text = fallback.get().format(value);
+			Objects.checkFromIndexSize(offset, text.length(), destination.length);
+			text.getChars(0, text.length(), destination, offset);
+			return offset + text.length();
+		}
+
+		long power = PowersOfTen[decimals];
+		long integral = scaled / power;
+		int integralDigits = (integral > 0) || (decimals == 0) ? digits(integral) : 0;
+		boolean negative = Double.doubleToRawLongBits(value) < 0L;
+		String prefix = negative ? negativePrefix : positivePrefix;
+		String suffix = negative ? negativeSuffix : positiveSuffix;
+		int size = prefix.length() + integralDigits
+		    + (decimals > 0 ? decimals + 1 : 0) + suffix.length();
+		Objects.checkFromIndexSize(offset, size, destination.length);
+
+		prefix.getChars(0, prefix.length(), destination, offset);
+		int index = offset + prefix.length();
+		for (int i = integralDigits - 1; i >= 0; i--)
+		{
+			destination[index + i] = (char) (zeroDigit + (integral % 10));
+			integral /= 10;
+		}
+		index += integralDigits;
+		if (decimals > 0)
+		{
+			destination[index++] = '.';
+			long fraction = scaled % power;
+			for (int i = decimals - 1; i >= 0; i--)
+			{
+				destination[index + i] = (char) (zeroDigit + (fraction % 10));
+				fraction /= 10;
+			}
+			index += decimals;
+		}
+		suffix.getChars(0, suffix.length(), destination, index);
+		return index + suffix.length();
+	}
+
+	/**
+	 * Rounds |value| &times; 10<sup>{@link #decimals}</sup> to the nearest
+	 * integer
+	 * @param value the value to round
+	 * @return the rounded scaled absolute value or -1 if value can not be
+	 * rounded this way (NaN, infinities, too many decimals, scaled value too
+	 * large or too close to a tie to be rounded as {@link DecimalFormat}
+	 * would)
+	 */
+	private long round(double value)
+	{
+		double scaled = Math.abs(value) * scale;
+		if (!(scaled < MaxScaledValue))
+		{
+			return -1L; // NaN, infinite or too large
+		}
+		long integral = (long) scaled;
+		double fraction = scaled - integral; // exact below 2^52
+		if (Math.abs(fraction - 0.5) <= (2.0 * Math.ulp(scaled)))
+		{
+			return -1L; // tie resolved by DecimalFormat's own digits
+		}
+		return fraction > 0.5 ? integral + 1L : integral;
+	}
+
+	/**
+	 * Number of decimal digits of a non negative integer
+	 * @param value the non negative integer
+	 * @return the number of decimal digits of value (1 for 0)
+	 */
+	private static int digits(long value)
+	{
+		int digits = 1;
+		while ((digits < PowersOfTen.length) && (value >= PowersOfTen[digits]))
+		{
+			digits++;
+		}
+		return digits;
+	}
+
+	/**
+	 * String representation of this format
+	 * @return the format string of this format (e.g. "+7.2")
+	 */
+	@Override
+	public String toString()
+	{
+		return (sign ? "+" : "") + length + "." + decimals;
+	}
+}
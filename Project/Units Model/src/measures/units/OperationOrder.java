@@ -1,5 +1,7 @@
 package measures.units;
 
+import java.util.Objects;
+
 /**
  * Operation order to apply when converting from SI unit to other unit,
  * knowning that power (iff != 1) is always applied first
@@ -123,6 +125,168 @@ public enum OperationOrder
 		return returnValue;
 	}
 
+	/**
+	 * Reverts an array of values to SI unit using factor, offset and operation
+	 * order.
+	 * Equivalent to calling {@link #toSI(double, double, double, double)} on
+	 * each value, but the operation order is resolved once for the whole
+	 * array rather than once per value.
+	 * @param values the values to revert to SI unit
+	 * @param valuesPos the index of the first value to revert in values
+	 * @param results the array to store SI values in (can be values itself)
+	 * @param resultsPos the index of the first SI value to store in results
+	 * @param length the number of values to revert
+	 * @param factor the factor to apply (when applicable)
+	 * @param offset the offset to apply (when applicable)
+	 * @param power the power to apply (when applicable)
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or results bounds
+	 * @throws AssertionError if unknown enum value is used
+	 * @see #toSI(double, double, double, double)
+	 */
+	public void toSI(double[] values,
+	                 int valuesPos,
+	                 double[] results,
+	                 int resultsPos,
+	                 int length,
+	                 double factor,
+	                 double offset,
+	                 double power)
+	    throws IndexOutOfBoundsException,
+	    AssertionError
+	{
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		Objects.checkFromIndexSize(resultsPos, length, results.length);
+
+		double[] source = values;
+		int sourcePos = valuesPos;
+		if (power != 1.0)
+		{
+			for (int i = 0; i < length; i++)
+			{
+				results[resultsPos + i] = Math.pow(values[valuesPos + i], power);
+			}
+			source = results;
+			sourcePos = resultsPos;
+		}
+
+		switch (this)
+		{
+			case NO_CHANGE:
+				if (source != results || sourcePos != resultsPos)
+				{
+					System.arraycopy(source, sourcePos, results, resultsPos, length);
+				}
+				return;
+			case FACTOR_ONLY:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = source[sourcePos + i] * factor;
+				}
+				return;
+			case OFFSET_ONLY:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = source[sourcePos + i] + offset;
+				}
+				return;
+			case FACTOR_AND_OFFSET:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = (source[sourcePos + i] * factor) + offset;
+				}
+				return;
+			case OFFSET_AND_FACTOR:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = (source[sourcePos + i] + offset) * factor;
+				}
+				return;
+		}
+		throw new AssertionError("unknown op : " + this);
+	}
+
+	/**
+	 * Convert an array of values from SI unit using factor, offset and
+	 * operation order.
+	 * Equivalent to calling {@link #fromSI(double, double, double, double)} on
+	 * each value, but the operation order is resolved once for the whole
+	 * array rather than once per value.
+	 * @param values the SI values to convert
+	 * @param valuesPos the index of the first SI value to convert in values
+	 * @param results the array to store converted values in (can be values
+	 * itself)
+	 * @param resultsPos the index of the first converted value to store in
+	 * results
+	 * @param length the number of values to convert
+	 * @param factor the factor to apply (when applicable)
+	 * @param offset the offset to apply (when applicable)
+	 * @param power the power to apply (when applicable)
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or results bounds
+	 * @throws AssertionError if unknown enum value is used
+	 * @see #fromSI(double, double, double, double)
+	 */
+	public void fromSI(double[] values,
+	                   int valuesPos,
+	                   double[] results,
+	                   int resultsPos,
+	                   int length,
+	                   double factor,
+	                   double offset,
+	                   double power)
+	    throws IndexOutOfBoundsException,
+	    AssertionError
+	{
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		Objects.checkFromIndexSize(resultsPos, length, results.length);
+
+		switch (this)
+		{
+			case NO_CHANGE:
+				if (values != results || valuesPos != resultsPos)
+				{
+					System.arraycopy(values, valuesPos, results, resultsPos, length);
+				}
+				break;
+			case FACTOR_ONLY:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = values[valuesPos + i] / factor;
+				}
+				break;
+			case OFFSET_ONLY:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = values[valuesPos + i] - offset;
+				}
+				break;
+			case FACTOR_AND_OFFSET:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = (values[valuesPos + i] - offset) / factor;
+				}
+				break;
+			case OFFSET_AND_FACTOR:
+				for (int i = 0; i < length; i++)
+				{
+					results[resultsPos + i] = (values[valuesPos + i] / factor) - offset;
+				}
+				break;
+			default:
+				throw new AssertionError("unknown op : " + this);
+		}
+
+		if (power != 1.0)
+		{
+			double inversePower = 1.0 / power;
+			for (int i = 0; i < length; i++)
+			{
+				results[resultsPos + i] = Math.pow(results[resultsPos + i], inversePower);
+			}
+		}
+	}
+
 	/**
 	 * String representation of this enum
 	 * @return a new String representing this enum
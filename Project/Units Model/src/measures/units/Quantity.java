@@ -0,0 +1,158 @@
+package measures.units;
+
+import java.util.Objects;
+
+/**
+ * Immutable value expressed in a particular {@link Unit}.
+ * Units hold their own current value which makes them unsuitable to be shared
+ * among concurrent conversion sessions. Quantities carry values separately so
+ * that the flyweight units provided by {@link UnitsFactory} can be shared by
+ * any number of threads without being copied.
+ * @author davidroussel
+ * @see UnitsFactory#getConversionPlan(Unit, Unit)
+ */
+public final class Quantity implements Comparable<Quantity>
+{
+	/**
+	 * The unit of {@link #value}
+	 */
+	private final Unit<Double> unit;
+
+	/**
+	 * The value expressed in {@link #unit}
+	 */
+	private final double value;
+
+	/**
+	 * Valued constructor.
+	 * The provided value is bounded just as {@link Unit#setValue(Comparable)}
+	 * would.
+	 * @param value the value expressed in unit
+	 * @param unit the unit of value
+	 * @throws NullPointerException if unit is null
+	 */
+	public Quantity(double value, Unit<Double> unit) throws NullPointerException
+	{
+		this.unit = Objects.requireNonNull(unit);
+		this.value = unit.bound(value);
+	}
+
+	/**
+	 * Accessor to the unit of this quantity
+	 * @return the unit of this quantity
+	 */
+	public Unit<Double> getUnit()
+	{
+		return unit;
+	}
+
+	/**
+	 * Accessor to the value of this quantity
+	 * @return the value of this quantity expressed in {@link #getUnit()}
+	 */
+	public double getValue()
+	{
+		return value;
+	}
+
+	/**
+	 * Value of this quantity converted to SI value
+	 * @return the equivalent SI value
+	 * @see Unit#toSI(double)
+	 */
+	public double getSIValue()
+	{
+		return unit.toSI(value);
+	}
+
+	/**
+	 * Converts this quantity into another unit
+	 * @param destination the unit to convert this quantity to
+	 * @return a new quantity expressed in destination unit (or this quantity
+	 * if destination is already the unit of this quantity)
+	 * @throws NullPointerException if destination is null
+	 * @see UnitsFactory#getConversionPlan(Unit, Unit)
+	 */
+	public Quantity convertTo(Unit<Double> destination)
+	    throws NullPointerException
+	{
+		if (destination == unit)
+		{
+			return this;
+		}
+		return new Quantity(UnitsFactory.getConversionPlan(unit, destination)
+		    .convert(value), destination);
+	}
+
+	/**
+	 * Format the value of this quantity just as {@link Unit#formatValue()}
+	 * would
+	 * @return a formatted String of the value of this quantity
+	 * @see Unit#formatValue(double)
+	 */
+	public String format()
+	{
+		return unit.formatValue(value);
+	}
+
+	/**
+	 * Compare this quantity to another quantity using SI values
+	 * @param other the other quantity to compare to
+	 * @return a negative integer, zero, or a positive integer as this
+	 * quantity's SI value is less than, equal to, or greater than the other
+	 * quantity's SI value
+	 * @throws NullPointerException if other is null
+	 */
+	@Override
+	public int compareTo(Quantity other) throws NullPointerException
+	{
+		return Double.compare(getSIValue(), other.getSIValue());
+	}
+
+	/**
+	 * Hash code based on {@link #unit} and {@link #value}
+	 * @return the hash code of this quantity
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + unit.hashCode();
+		result = (prime * result) + Double.hashCode(value);
+		return result;
+	}
+
+	/**
+	 * Compare this quantity to another object
+	 * @param obj the object to compare to
+	 * @return true if obj is a quantity with the same unit and the same value
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (!(obj instanceof Quantity))
+		{
+			return false;
+		}
+		Quantity other = (Quantity) obj;
+		return unit.equals(other.unit)
+		    && (Double.doubleToLongBits(value) == Double.doubleToLongBits(other.value));
+	}
+
+	/**
+	 * String representation of this quantity
+	 * @return a new String representing this quantity (e.g. "96.50 km/h")
+	 */
+	@Override
+	public String toString()
+	{
+		String symbol = unit.getSymbol();
+		String formatted = format();
+		return symbol.isEmpty() ? formatted : formatted + " " + symbol;
+	}
+}
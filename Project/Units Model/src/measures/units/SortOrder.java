@@ -2,6 +2,7 @@ package measures.units;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 
 /**
  * Sorting order to use during comparison between Units
@@ -27,6 +28,33 @@ public enum SortOrder
 	 */
 	FACTOR_DESCENDING;
 
+	/**
+	 * Comparator of units according to this order
+	 * @see #comparator()
+	 */
+	private final Comparator<Unit<?>> comparator;
+
+	/**
+	 * Constructor initializing {@link #comparator}
+	 */
+	private SortOrder()
+	{
+		comparator = (Unit<?> unit1, Unit<?> unit2) -> Unit.compare(unit1, unit2, this);
+	}
+
+	/**
+	 * Comparator of units according to this order.
+	 * Unlike {@link Unit#compareTo(Unit)} it does not depend on any global
+	 * state and can therefore be used concurrently to sort units in different
+	 * orders.
+	 * @return a stateless comparator of units according to this order
+	 * @see Unit#compare(Unit, Unit, SortOrder)
+	 */
+	public Comparator<Unit<?>> comparator()
+	{
+		return comparator;
+	}
+
 	/**
 	 * String representation
 	 * @return a String representation of this enum
@@ -61,6 +61,9 @@ public abstract class Unit<E extends Comparable<E>>
 	 * A value currently stored in this unit.
 	 * In order to be converted to some other units or simply accessed for
 	 * display purposes
+	 * @implNote This is the only mutable state of a unit. Units shared among
+	 * several threads or sessions should not use it and rather carry values in
+	 * {@link Quantity}s
 	 */
 	protected Optional<E> value;
 
@@ -72,8 +75,11 @@ public abstract class Unit<E extends Comparable<E>>
 	/**
 	 * Current Sorting order to apply when comparing units
 	 * @see #compareTo(Unit)
+	 * @deprecated This order is global to all units: use
+	 * {@link SortOrder#comparator()} to sort units in a particular order
 	 */
-	protected static SortOrder order = SortOrder.NAME_ASCENDING;
+	@Deprecated
+	protected static volatile SortOrder order = SortOrder.NAME_ASCENDING;
 
 	/**
 	 * Valued constructor
@@ -215,6 +221,116 @@ public abstract class Unit<E extends Comparable<E>>
 	 */
 	public abstract String formatValue() throws NoSuchElementException;
 
+	/**
+	 * Format the provided value for printing regardless of the internal
+	 * {@link #value}.
+	 * This method does not change this unit's state and can therefore be
+	 * used concurrently.
+	 * @param value the value to format (expected to be already bounded)
+	 * @return a formatted String of the provided value
+	 * @see Quantity#format()
+	 */
+	public abstract String formatValue(double value);
+
+	/**
+	 * Appends the provided value formatted just as
+	 * {@link #formatValue(double)} would to the provided builder.
+	 * Numeric units append digits directly so that bulk formatting (e.g. in
+	 * streaming converters) can reuse the same builder for all values.
+	 * @param value the value to format (expected to be already bounded)
+	 * @param builder the builder to append the formatted value to
+	 * @return the provided builder
+	 * @throws NullPointerException if builder is null
+	 * @implSpec the default implementation appends
+	 * {@link #formatValue(double)}
+	 */
+	public StringBuilder formatValue(double value, StringBuilder builder)
+	    throws NullPointerException
+	{
+		return builder.append(formatValue(value));
+	}
+
+	/**
+	 * Appends the provided values formatted just as
+	 * {@link #formatValue(double)} would to the provided builder, separated
+	 * by delimiter.
+	 * @param values the values to format (expected to be already bounded)
+	 * @param valuesPos the index of the first value to format in values
+	 * @param length the number of values to format
+	 * @param builder the builder to append formatted values to
+	 * @param delimiter the text to append between formatted values
+	 * @return the provided builder
+	 * @throws NullPointerException if values, builder or delimiter are null
+	 * @throws IndexOutOfBoundsException if the provided range is out of
+	 * values bounds
+	 * @see #formatValue(double, StringBuilder)
+	 */
+	public StringBuilder formatValues(double[] values,
+	                                  int valuesPos,
+	                                  int length,
+	                                  StringBuilder builder,
+	                                  CharSequence delimiter)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		Objects.requireNonNull(delimiter);
+		for (int i = 0; i < length; i++)
+		{
+			if (i > 0)
+			{
+				builder.append(delimiter);
+			}
+			formatValue(values[valuesPos + i], builder);
+		}
+		return builder;
+	}
+
+	/**
+	 * Parse text representing a value expressed in this unit without
+	 * throwing exceptions on invalid content.
+	 * The parsed value (if any) is available through
+	 * {@link ValueParser#getValue()} and is not stored in this unit.
+	 * @param text the text to parse
+	 * @param parser the (reused) parser
+	 * @return {@link ValueParser.Status#VALID} if text has been parsed or the
+	 * reason why text can't be parsed
+	 * @throws NullPointerException if text or parser are null
+	 * @see #parseValue(CharSequence, int, int, ValueParser)
+	 */
+	public ValueParser.Status parseValue(CharSequence text, ValueParser parser)
+	    throws NullPointerException
+	{
+		return parseValue(text, 0, text.length(), parser);
+	}
+
+	/**
+	 * Parse text within [from, to) of the provided text representing a value
+	 * expressed in this unit without copying it nor throwing exceptions on
+	 * invalid content (e.g. within a {@link java.nio.CharBuffer} wrapping a
+	 * whole file).
+	 * The parsed value (if any) is available through
+	 * {@link ValueParser#getValue()} and is not stored in this unit.
+	 * @param text the text to parse
+	 * @param from index of the first char to parse
+	 * @param to index following the last char to parse
+	 * @param parser the (reused) parser
+	 * @return {@link ValueParser.Status#VALID} if text has been parsed or the
+	 * reason why text can't be parsed
+	 * @throws NullPointerException if text or parser are null
+	 * @throws IndexOutOfBoundsException if [from, to) is out of text bounds
+	 * @implSpec the default implementation parses decimal numbers
+	 */
+	public ValueParser.Status parseValue(CharSequence text,
+	                                     int from,
+	                                     int to,
+	                                     ValueParser parser)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		return parser.parse(text, from, to);
+	}
+
 	/**
 	 * Convert value from the provided unit to this unit
 	 * @param unit the unit to convert value from
@@ -241,6 +357,158 @@ public abstract class Unit<E extends Comparable<E>>
 	    unit.convertValueFrom(this);
 	}
 
+	/**
+	 * Convert a raw value expressed in this unit to the equivalent SI value
+	 * without storing it in {@link #value}.
+	 * The provided value is first processed just as {@link #setValue_Impl(Comparable)}
+	 * would (e.g. bounded or normalized), so that
+	 * {@code toSI(v)} gives the same result as {@code setValue(v)} followed by
+	 * {@link #getSIValue()}.
+	 * @param value the value expressed in this unit
+	 * @return the equivalent SI value
+	 * @implNote This method does not read nor modify {@link #value} and can
+	 * therefore be used on shared units.
+	 */
+	public abstract double toSI(double value);
+
+	/**
+	 * Convert a SI value to the equivalent value expressed in this unit
+	 * without storing it in {@link #value}.
+	 * {@code fromSI(si)} gives the same result as the value stored by
+	 * {@link #convertValueFrom(Unit)} from a unit whose SI value is si.
+	 * @param siValue the SI value to convert
+	 * @return the equivalent value expressed in this unit
+	 * @implNote This method does not read nor modify {@link #value} and can
+	 * therefore be used on shared units.
+	 */
+	public abstract double fromSI(double siValue);
+
+	/**
+	 * Convert an array of raw values expressed in this unit to SI values.
+	 * @param values the values expressed in this unit
+	 * @param valuesPos the index of the first value to convert in values
+	 * @param siValues the array to store SI values in (can be values itself)
+	 * @param siPos the index of the first SI value to store in siValues
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * values or siValues bounds
+	 * @implSpec Default implementation calls {@link #toSI(double)} on each
+	 * value. Subclasses should override it with array based implementations.
+	 * @see #toSI(double)
+	 */
+	public void toSI(double[] values,
+	                 int valuesPos,
+	                 double[] siValues,
+	                 int siPos,
+	                 int length)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		Objects.checkFromIndexSize(siPos, length, siValues.length);
+		for (int i = 0; i < length; i++)
+		{
+			siValues[siPos + i] = toSI(values[valuesPos + i]);
+		}
+	}
+
+	/**
+	 * Convert an array of SI values to values expressed in this unit.
+	 * @param siValues the SI values to convert
+	 * @param siPos the index of the first SI value to convert in siValues
+	 * @param values the array to store converted values in (can be siValues
+	 * itself)
+	 * @param valuesPos the index of the first converted value to store in
+	 * values
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if the provided ranges are out of
+	 * siValues or values bounds
+	 * @implSpec Default implementation calls {@link #fromSI(double)} on each
+	 * value. Subclasses should override it with array based implementations.
+	 * @see #fromSI(double)
+	 */
+	public void fromSI(double[] siValues,
+	                   int siPos,
+	                   double[] values,
+	                   int valuesPos,
+	                   int length)
+	    throws IndexOutOfBoundsException
+	{
+		Objects.checkFromIndexSize(siPos, length, siValues.length);
+		Objects.checkFromIndexSize(valuesPos, length, values.length);
+		for (int i = 0; i < length; i++)
+		{
+			values[valuesPos + i] = fromSI(siValues[siPos + i]);
+		}
+	}
+
+	/**
+	 * Bounds a raw value expressed in this unit just as
+	 * {@link #setValue_Impl(Comparable)} would before storing it.
+	 * @param value the value to bound
+	 * @return the bounded value
+	 * @implSpec Default implementation returns the provided value. Units with
+	 * bounds shall override this method.
+	 */
+	protected double bound(double value)
+	{
+		return value;
+	}
+
+	/**
+	 * Bounds an array of raw values expressed in this unit
+	 * @param values the values to bound
+	 * @param valuesPos the index of the first value to bound in values
+	 * @param results the array to store bounded values in (can be values
+	 * itself)
+	 * @param resultsPos the index of the first bounded value in results
+	 * @param length the number of values to bound
+	 * @see #bound(double)
+	 */
+	protected void bound(double[] values,
+	                     int valuesPos,
+	                     double[] results,
+	                     int resultsPos,
+	                     int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			results[resultsPos + i] = bound(values[valuesPos + i]);
+		}
+	}
+
+	/**
+	 * Indicates if the conversion from (bounded) values of this unit to SI
+	 * values is an affine function : SI = value * {@link #getSIScale()} +
+	 * {@link #getSIShift()}
+	 * @return true if the conversion to SI values is affine, false otherwise
+	 * (e.g. when a power is involved)
+	 * @see ConversionPlan
+	 */
+	protected boolean isAffine()
+	{
+		return false;
+	}
+
+	/**
+	 * Scale of the affine conversion to SI values
+	 * @return the scale to apply on values of this unit to obtain SI values
+	 * (only relevant if {@link #isAffine()})
+	 */
+	protected double getSIScale()
+	{
+		return 1.0;
+	}
+
+	/**
+	 * Shift of the affine conversion to SI values
+	 * @return the shift to add to scaled values of this unit to obtain SI
+	 * values (only relevant if {@link #isAffine()})
+	 */
+	protected double getSIShift()
+	{
+		return 0.0;
+	}
+
 	/**
 	 * Get the factor of this unit (for sorting purposes).
 	 * Base (SI) units will have a 1.0 factor.
@@ -262,37 +530,59 @@ public abstract class Unit<E extends Comparable<E>>
 	 * @return -1 if this unit is considered smaller than the provided unit. 0
 	 * if both units are considered equals. And 1 otherwise
 	 * @throws NullPointerException if the provided unit is null
+	 * @see #compare(Unit, Unit, SortOrder)
+	 * @see SortOrder#comparator()
 	 */
 	@Override
 	public int compareTo(Unit<?> unit)
 	    throws NullPointerException
 	{
-		Objects.requireNonNull(unit);
+		return compare(this, unit, order);
+	}
+
+	/**
+	 * Compare two units according to the provided order regardless of the
+	 * current {@link #order}.
+	 * Using names {@link Unit#description} and
+	 * {@link Unit#symbol} if order is {@link SortOrder#NAME_ASCENDING}
+	 * or {@link SortOrder#NAME_DESCENDING}. Using {@link #getFactor()} if
+	 * order is {@link SortOrder#FACTOR_ASCENDING} or
+	 * {@link SortOrder#FACTOR_DESCENDING}
+	 * @param unit1 the first unit to compare
+	 * @param unit2 the second unit to compare
+	 * @param order the order to use when comparing units
+	 * @return -1 if unit1 is considered smaller than unit2. 0
+	 * if both units are considered equals. And 1 otherwise
+	 * @throws NullPointerException if any of the provided units is null
+	 * @throws IllegalStateException if order is unknown
+	 */
+	public static int compare(Unit<?> unit1, Unit<?> unit2, SortOrder order)
+	    throws NullPointerException,
+	    IllegalStateException
+	{
+		Objects.requireNonNull(unit1);
+		Objects.requireNonNull(unit2);
 
-		int descriptionCompare = description.compareTo(unit.description);
-		int symbolCompare = symbol.compareTo(unit.symbol);
+		int descriptionCompare = unit1.description.compareTo(unit2.description);
+		int symbolCompare = unit1.symbol.compareTo(unit2.symbol);
 		int nameCompare = (descriptionCompare == 0 ? symbolCompare : descriptionCompare);
-		double factor = getFactor();
-		double otherFactor = unit.getFactor();
+		double factor = unit1.getFactor();
+		double otherFactor = unit2.getFactor();
 		int factorCompare = factor < otherFactor ? -1 : factor == otherFactor ? 0 : 1;
 		int result = 0;
 		switch (order)
 		{
 			case NAME_ASCENDING:
-				// TODO Complete using nameCompare or factorCompare if nameCompare is inconclusive
 				result = (nameCompare != 0 ? nameCompare : factorCompare);
 				break;
 			case NAME_DESCENDING:
-				// TODO Complete using -nameCompare or -factorCompare if nameCompare is inconclusive
 				result = -(nameCompare != 0 ? nameCompare : factorCompare);
 				break;
 			case FACTOR_ASCENDING:
-				// TODO Complete using factorComparee or nameCompare if factorCompare is inconclusive
 				result = (factorCompare != 0 ? factorCompare : nameCompare);
 				break;
 			case FACTOR_DESCENDING:
-				// // TODO Complete using -factorComparee or -nameCompare if factorCompare is inconclusive
-				 result = -(factorCompare != 0 ? factorCompare : nameCompare);
+				result = -(factorCompare != 0 ? factorCompare : nameCompare);
 				break;
 			default:
 				throw new IllegalStateException("Unexpected value: " + order);
@@ -399,7 +689,9 @@ public abstract class Unit<E extends Comparable<E>>
 	/**
 	 * Get the current order used to compare Units
 	 * @return the current order
+	 * @deprecated use {@link SortOrder#comparator()} instead
 	 */
+	@Deprecated
 	public static SortOrder getOrder()
 	{
 		return order;
@@ -408,7 +700,10 @@ public abstract class Unit<E extends Comparable<E>>
 	/**
 	 * Sets a new order to compare units
 	 * @param order the order to set
+	 * @deprecated Setting this order affects all units comparisons: use
+	 * {@link SortOrder#comparator()} instead
 	 */
+	@Deprecated
 	public static void setOrder(SortOrder order)
 	{
 		Unit.order = order;
@@ -0,0 +1,576 @@
+package measures.units;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import measures.MeasureType;
+
+/**
+ * Immutable declarative definition of a {@link Unit}.
+ * Definitions can be read from text files by {@link UnitDefinitionsReader}
+ * or from precompiled binary files by {@link CompiledUnitDefinitions}, and
+ * are turned into actual units (through {@link UnitsFactory}'s flyweights) by
+ * {@link #build(Collection)} when the catalogue of their
+ * {@link MeasureType} is built.
+ * Definitions are created by the static factory methods of each
+ * {@link Kind} of unit.
+ * @author davidroussel
+ * @see UnitsFactory#addDefinitions(UnitDefinitions)
+ */
+public final class UnitDefinition
+{
+	/**
+	 * Kinds of defined units
+	 */
+	public enum Kind
+	{
+		/**
+		 * {@link BoundedBaseNumericUnit}
+		 */
+		BASE,
+		/**
+		 * {@link DerivedNumericUnit}
+		 */
+		DERIVED,
+		/**
+		 * {@link BaseSymbolicUnit}
+		 */
+		SYMBOLIC,
+		/**
+		 * {@link DerivedSymbolicUnit}
+		 */
+		DERIVED_SYMBOLIC,
+		/**
+		 * {@link DecomposedUnit} decomposing another unit of the same
+		 * {@link MeasureType}
+		 */
+		DECOMPOSED
+	}
+
+	/**
+	 * The kind of defined unit
+	 */
+	final Kind kind;
+
+	/**
+	 * The type of measure of the defined unit
+	 */
+	final MeasureType type;
+
+	/**
+	 * The description of the defined unit
+	 */
+	final String description;
+
+	/**
+	 * The symbol of the defined unit (or symbols separated by
+	 * {@link #separator} for decomposed units)
+	 */
+	final String symbol;
+
+	/**
+	 * The numeric format of the defined unit (base and derived units only)
+	 */
+	final String format;
+
+	/**
+	 * The min value (base and derived units only)
+	 */
+	final double min;
+
+	/**
+	 * The max value (base and derived units only)
+	 */
+	final double max;
+
+	/**
+	 * The cyclic flag (all but decomposed units)
+	 */
+	final boolean cyclic;
+
+	/**
+	 * The power to apply to convert from SI values (derived units only)
+	 */
+	final double power;
+
+	/**
+	 * The factor to apply to convert from SI values (derived units only)
+	 */
+	final double factor;
+
+	/**
+	 * The offset to apply to convert from SI values (derived units only)
+	 */
+	final double offset;
+
+	/**
+	 * The order of operations to convert from SI values (derived units only)
+	 */
+	final OperationOrder order;
+
+	/**
+	 * Values defining the range of each symbol (base symbolic units only)
+	 */
+	private final double[] values;
+
+	/**
+	 * Symbols printed instead of values (symbolic units only)
+	 */
+	private final String[] symbols;
+
+	/**
+	 * The separator printed between parts of decomposed values (decomposed
+	 * units only)
+	 */
+	final String separator;
+
+	/**
+	 * The coefficients of each step of the decomposition (decomposed units
+	 * only)
+	 */
+	private final double[] coefs;
+
+	/**
+	 * The description of the unit to decompose (decomposed units only)
+	 */
+	final String unitDescription;
+
+	/**
+	 * The symbol of the unit to decompose (decomposed units only)
+	 */
+	final String unitSymbol;
+
+	/**
+	 * Constructor of all kinds of definitions.
+	 * Fields which are irrelevant to the provided kind of unit shall be set
+	 * to default values (empty arrays, null strings, 0.0 or NaN values).
+	 * @param kind the kind of defined unit
+	 * @param type the type of measure of the defined unit
+	 * @param description the description of the defined unit
+	 * @param symbol the symbol(s) of the defined unit
+	 * @param format the numeric format of the defined unit
+	 * @param min the min value
+	 * @param max the max value
+	 * @param cyclic the cyclic flag
+	 * @param power the power to apply to convert from SI values
+	 * @param factor the factor to apply to convert from SI values
+	 * @param offset the offset to apply to convert from SI values
+	 * @param order the order of operations to convert from SI values
+	 * @param values values defining the range of each symbol
+	 * @param symbols symbols printed instead of values
+	 * @param separator the separator printed between parts of decomposed
+	 * values
+	 * @param coefs the coefficients of each step of the decomposition
+	 * @param unitDescription the description of the unit to decompose
+	 * @param unitSymbol the symbol of the unit to decompose
+	 * @throws NullPointerException if kind, type, description or any array is
+	 * null
+	 */
+	UnitDefinition(Kind kind,
+	               MeasureType type,
+	               String description,
+	               String symbol,
+	               String format,
+	               double min,
+	               double max,
+	               boolean cyclic,
+	               double power,
+	               double factor,
+	               double offset,
+	               OperationOrder order,
+	               double[] values,
+	               String[] symbols,
+	               String separator,
+	               double[] coefs,
+	               String unitDescription,
+	               String unitSymbol)
+	    throws NullPointerException
+	{
+		this.kind = Objects.requireNonNull(kind);
+		this.type = Objects.requireNonNull(type);
+		this.description = Objects.requireNonNull(description);
+		this.symbol = symbol;
+		this.format = format;
+		this.min = min;
+		this.max = max;
+		this.cyclic = cyclic;
+		this.power = power;
+		this.factor = factor;
+		this.offset = offset;
+		this.order = order;
+		this.values = values.clone();
+		this.symbols = symbols.clone();
+		this.separator = separator;
+		this.coefs = coefs.clone();
+		this.unitDescription = unitDescription;
+		this.unitSymbol = unitSymbol;
+	}
+
+	/**
+	 * Definition of a {@link BoundedBaseNumericUnit}
+	 * @param type the type of measure of the defined unit
+	 * @param description the description of the defined unit
+	 * @param symbol the symbol of the defined unit
+	 * @param format the numeric format of the defined unit
+	 * @param min the min value
+	 * @param max the max value
+	 * @param cyclic the cyclic flag
+	 * @return a new definition
+	 * @throws NullPointerException if type, description or format is null
+	 */
+	public static UnitDefinition base(MeasureType type,
+	                                  String description,
+	                                  String symbol,
+	                                  String format,
+	                                  double min,
+	                                  double max,
+	                                  boolean cyclic)
+	    throws NullPointerException
+	{
+		return new UnitDefinition(Kind.BASE, type, description, symbol,
+		                          Objects.requireNonNull(format), min, max,
+		                          cyclic, 1.0, 1.0, 0.0, null, new double[0],
+		                          new String[0], null, new double[0], null,
+		                          null);
+	}
+
+	/**
+	 * Definition of a {@link DerivedNumericUnit}
+	 * @param type the type of measure of the defined unit
+	 * @param description the description of the defined unit
+	 * @param symbol the symbol of the defined unit
+	 * @param format the numeric format of the defined unit
+	 * @param min the min value
+	 * @param max the max value
+	 * @param cyclic the cyclic flag
+	 * @param power the power to apply to convert from SI values
+	 * @param factor the factor to apply to convert from SI values
+	 * @param offset the offset to apply to convert from SI values
+	 * @param order the order of operations to convert from SI values
+	 * @return a new definition
+	 * @throws NullPointerException if type, description, format or order is
+	 * null
+	 */
+	public static UnitDefinition derived(MeasureType type,
+	                                     String description,
+	                                     String symbol,
+	                                     String format,
+	                                     double min,
+	                                     double max,
+	                                     boolean cyclic,
+	                                     double power,
+	                                     double factor,
+	                                     double offset,
+	                                     OperationOrder order)
+	    throws NullPointerException
+	{
+		return new UnitDefinition(Kind.DERIVED, type, description, symbol,
+		                          Objects.requireNonNull(format), min, max,
+		                          cyclic, power, factor, offset,
+		                          Objects.requireNonNull(order), new double[0],
+		                          new String[0], null, new double[0], null,
+		                          null);
+	}
+
+	/**
+	 * Definition of a {@link BaseSymbolicUnit}
+	 * @param type the type of measure of the defined unit
+	 * @param description the description of the defined unit
+	 * @param symbol the symbol of the defined unit
+	 * @param values values defining the range of each symbol (N+1 values for
+	 * N symbols)
+	 * @param symbols symbols printed instead of values
+	 * @param cyclic the cyclic flag
+	 * @return a new definition
+	 * @throws NullPointerException if type, description, values or symbols is
+	 * null
+	 */
+	public static UnitDefinition symbolic(MeasureType type,
+	                                      String description,
+	                                      String symbol,
+	                                      double[] values,
+	                                      String[] symbols,
+	                                      boolean cyclic)
+	    throws NullPointerException
+	{
+		return new UnitDefinition(Kind.SYMBOLIC, type, description, symbol,
+		                          null, Double.NaN, Double.NaN, cyclic, 1.0,
+		                          1.0, 0.0, null, values, symbols, null,
+		                          new double[0], null, null);
+	}
+
+	/**
+	 * Definition of a {@link DerivedSymbolicUnit}
+	 * @param type the type of measure of the defined unit
+	 * @param description the description of the defined unit
+	 * @param symbol the symbol of the defined unit
+	 * @param symbols symbols printed instead of values
+	 * @param cyclic the cyclic flag
+	 * @param power the power to apply to convert from SI values
+	 * @param factor the factor to apply to convert from SI values
+	 * @param offset the offset to apply to convert from SI values
+	 * @param order the order of operations to convert from SI values
+	 * @return a new definition
+	 * @throws NullPointerException if type, description, symbols or order is
+	 * null
+	 */
+	public static UnitDefinition derivedSymbolic(MeasureType type,
+	                                             String description,
+	                                             String symbol,
+	                                             String[] symbols,
+	                                             boolean cyclic,
+	                                             double power,
+	                                             double factor,
+	                                             double offset,
+	                                             OperationOrder order)
+	    throws NullPointerException
+	{
+		return new UnitDefinition(Kind.DERIVED_SYMBOLIC, type, description,
+		                          symbol, null, Double.NaN, Double.NaN, cyclic,
+		                          power, factor, offset,
+		                          Objects.requireNonNull(order), new double[0],
+		                          symbols, null, new double[0], null, null);
+	}
+
+	/**
+	 * Definition of a {@link DecomposedUnit}
+	 * @param type the type of measure of the defined unit
+	 * @param description the description of the defined unit
+	 * @param symbols the symbols of each part of the decomposition separated
+	 * by separator
+	 * @param separator the separator printed between parts of decomposed
+	 * values
+	 * @param coefs the coefficients of each step of the decomposition
+	 * @param unitDescription the description of the unit to decompose
+	 * @param unitSymbol the symbol of the unit to decompose
+	 * @return a new definition
+	 * @throws NullPointerException if any argument is null
+	 */
+	public static UnitDefinition decomposed(MeasureType type,
+	                                        String description,
+	                                        String symbols,
+	                                        String separator,
+	                                        double[] coefs,
+	                                        String unitDescription,
+	                                        String unitSymbol)
+	    throws NullPointerException
+	{
+		return new UnitDefinition(Kind.DECOMPOSED, type, description,
+		                          Objects.requireNonNull(symbols), null,
+		                          Double.NaN, Double.NaN, false, 1.0, 1.0, 0.0,
+		                          null, new double[0], new String[0],
+		                          Objects.requireNonNull(separator), coefs,
+		                          Objects.requireNonNull(unitDescription),
+		                          Objects.requireNonNull(unitSymbol));
+	}
+
+	/**
+	 * Accessor to the kind of defined unit
+	 * @return the kind of defined unit
+	 */
+	public Kind getKind()
+	{
+		return kind;
+	}
+
+	/**
+	 * Accessor to the type of measure of the defined unit
+	 * @return the type of measure of the defined unit
+	 */
+	public MeasureType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Accessor to the description of the defined unit
+	 * @return the description of the defined unit
+	 */
+	public String getDescription()
+	{
+		return description;
+	}
+
+	/**
+	 * Accessor to the symbol of the defined unit
+	 * @return the symbol of the defined unit
+	 */
+	public String getSymbol()
+	{
+		return symbol;
+	}
+
+	/**
+	 * Values defining the range of each symbol
+	 * @return the internal array of values (which shall not be modified)
+	 */
+	double[] values()
+	{
+		return values;
+	}
+
+	/**
+	 * Symbols printed instead of values
+	 * @return the internal array of symbols (which shall not be modified)
+	 */
+	String[] symbols()
+	{
+		return symbols;
+	}
+
+	/**
+	 * Coefficients of each step of the decomposition
+	 * @return the internal array of coefs (which shall not be modified)
+	 */
+	double[] coefs()
+	{
+		return coefs;
+	}
+
+	/**
+	 * Builds (or retrieves) the defined unit through {@link UnitsFactory}
+	 * @param units the units already built for the same {@link MeasureType},
+	 * among which decomposed units find the unit they decompose
+	 * @return the defined unit
+	 * @throws ParseException if the unit's format can't be parsed or if the
+	 * unit to decompose can't be found
+	 * @throws IllegalArgumentException if the definition is inconsistent
+	 * (e.g. values and symbols sizes)
+	 */
+	Unit<Double> build(Collection<Unit<Double>> units)
+	    throws ParseException,
+	    IllegalArgumentException
+	{
+		switch (kind)
+		{
+			case BASE:
+				return UnitsFactory.getBoundedBaseNumericUnit(type,
+				                                              description,
+				                                              symbol,
+				                                              format,
+				                                              min,
+				                                              max,
+				                                              cyclic);
+			case DERIVED:
+				return UnitsFactory.getDerivedNumericUnit(type,
+				                                          description,
+				                                          symbol,
+				                                          format,
+				                                          min,
+				                                          max,
+				                                          cyclic,
+				                                          power,
+				                                          factor,
+				                                          offset,
+				                                          order);
+			case SYMBOLIC:
+				return UnitsFactory.getBaseSymbolicUnit(type,
+				                                        description,
+				                                        symbol,
+				                                        values.clone(),
+				                                        symbols.clone(),
+				                                        cyclic);
+			case DERIVED_SYMBOLIC:
+				return UnitsFactory.getDerivedSymbolicUnit(type,
+				                                           description,
+				                                           symbol,
+				                                           symbols.clone(),
+				                                           cyclic,
+				                                           power,
+				                                           factor,
+				                                           offset,
+				                                           order);
+			case DECOMPOSED:
+			{
+				for (Unit<Double> unit : units)
+				{
+					if (unit.getDescription().equals(unitDescription)
+					    && Objects.equals(unit.getSymbol(), unitSymbol))
+					{
+						Double[] boxedCoefs = new Double[coefs.length];
+						for (int i = 0; i < coefs.length; i++)
+						{
+							boxedCoefs[i] = Double.valueOf(coefs[i]);
+						}
+						return UnitsFactory.getDecomposedUnit(unit,
+						                                      description,
+						                                      symbol,
+						                                      separator,
+						                                      boxedCoefs);
+					}
+				}
+				throw new ParseException(description + ": unit to decompose "
+				    + unitDescription + " (" + unitSymbol + ") not found", 0);
+			}
+		}
+		throw new AssertionError(getClass().getSimpleName()
+		    + ".build() unknown kind: " + kind);
+	}
+
+	/**
+	 * Hash code of this definition
+	 * @return the hash code of all fields of this definition
+	 */
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(kind, type, description, symbol, format,
+		                    Double.valueOf(min), Double.valueOf(max),
+		                    Boolean.valueOf(cyclic), Double.valueOf(power),
+		                    Double.valueOf(factor), Double.valueOf(offset),
+		                    order, Integer.valueOf(Arrays.hashCode(values)),
+		                    Integer.valueOf(Arrays.hashCode(symbols)),
+		                    separator, Integer.valueOf(Arrays.hashCode(coefs)),
+		                    unitDescription, unitSymbol);
+	}
+
+	/**
+	 * Comparison with another object
+	 * @param obj the object to compare
+	 * @return true if obj is a definition with the same fields
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (!(obj instanceof UnitDefinition))
+		{
+			return false;
+		}
+		UnitDefinition other = (UnitDefinition) obj;
+		return (kind == other.kind)
+		    && (type == other.type)
+		    && description.equals(other.description)
+		    && Objects.equals(symbol, other.symbol)
+		    && Objects.equals(format, other.format)
+		    && (Double.compare(min, other.min) == 0)
+		    && (Double.compare(max, other.max) == 0)
+		    && (cyclic == other.cyclic)
+		    && (Double.compare(power, other.power) == 0)
+		    && (Double.compare(factor, other.factor) == 0)
+		    && (Double.compare(offset, other.offset) == 0)
+		    && (order == other.order)
+		    && Arrays.equals(values, other.values)
+		    && Arrays.equals(symbols, other.symbols)
+		    && Objects.equals(separator, other.separator)
+		    && Arrays.equals(coefs, other.coefs)
+		    && Objects.equals(unitDescription, other.unitDescription)
+		    && Objects.equals(unitSymbol, other.unitSymbol);
+	}
+
+	/**
+	 * String representation of this definition
+	 * @return a new String representing this definition
+	 */
+	@Override
+	public String toString()
+	{
+		return kind + "[" + type.name() + ", " + description + " ("
+		    + symbol + ")]";
+	}
+}
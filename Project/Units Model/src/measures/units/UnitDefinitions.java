@@ -0,0 +1,54 @@
+package measures.units;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import measures.MeasureType;
+
+/**
+ * Source of {@link UnitDefinition}s per {@link MeasureType} which can be
+ * registered into {@link UnitsFactory} to extend its catalogues without
+ * recompiling.
+ * @author davidroussel
+ * @see UnitsFactory#addDefinitions(UnitDefinitions)
+ * @see UnitDefinitionsReader
+ * @see CompiledUnitDefinitions
+ */
+@FunctionalInterface
+public interface UnitDefinitions
+{
+	/**
+	 * Definitions of units measuring the provided type of measures
+	 * @param type the type of measures
+	 * @return the definitions of units measuring this type (in definition
+	 * order, so that decomposed units follow the unit they decompose), or an
+	 * empty list
+	 */
+	public abstract List<UnitDefinition> getDefinitions(MeasureType type);
+
+	/**
+	 * In memory source of definitions
+	 * @param definitions the definitions to provide
+	 * @return a new source providing the provided definitions grouped by
+	 * {@link MeasureType}
+	 * @throws NullPointerException if definitions is null
+	 */
+	public static UnitDefinitions of(Collection<UnitDefinition> definitions)
+	    throws NullPointerException
+	{
+		Map<MeasureType, List<UnitDefinition>> map =
+		    new EnumMap<MeasureType, List<UnitDefinition>>(MeasureType.class);
+		for (UnitDefinition definition : definitions)
+		{
+			map.computeIfAbsent(definition.getType(),
+			                    (MeasureType t) -> new ArrayList<UnitDefinition>())
+			    .add(definition);
+		}
+		return (MeasureType type) -> Collections
+		    .unmodifiableList(map.getOrDefault(type, List.of()));
+	}
+}
@@ -0,0 +1,459 @@
+package measures.units;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import measures.MeasureType;
+
+/**
+ * Reader of {@link UnitDefinition}s from text files.
+ * Each non empty line defines a unit as ';' separated "key = value" fields
+ * and '#' starts a comment line, for instance:
+ * <pre>
+ * # Additional lengths
+ * kind = derived; type = LENGTH; description = Pied; symbol = ft; format = 8.2; factor = 0.3048
+ * kind = decomposed; type = TIME; description = jour:heure; symbol = j:h; separator = :; coefs = 1/86400, 24; unit = Secondes; unitSymbol = s
+ * </pre>
+ * <ul>
+ * <li>kind : base, derived, symbolic, derived-symbolic or decomposed
+ * (see {@link UnitDefinition.Kind})</li>
+ * <li>type : the name of a {@link MeasureType}</li>
+ * <li>description and symbol of the unit (symbols of each part for decomposed
+ * units)</li>
+ * <li>format (default "7.2"), min (default 0), max (default Infinity) and
+ * cyclic (default false)</li>
+ * <li>power (default 1), factor (default 1), offset (default 0) and order
+ * (name of an {@link OperationOrder}, default FACTOR_ONLY)</li>
+ * <li>values and symbols : ',' separated lists of symbolic units</li>
+ * <li>separator, coefs (',' separated), unit and unitSymbol (the description
+ * and symbol of the unit to decompose) of decomposed units</li>
+ * </ul>
+ * Numbers are either decimal numbers, "Infinity", "pi" or products and
+ * quotients of those such as "pi/180" or "1/3600". Chars ';', ',' and '\'
+ * can be escaped with a '\' within values.
+ * @author davidroussel
+ * @see CompiledUnitDefinitions
+ */
+public class UnitDefinitionsReader
+{
+	/**
+	 * Char starting comment lines
+	 */
+	public static final char Comment = '#';
+
+	/**
+	 * Separator between fields
+	 */
+	public static final char FieldSeparator = ';';
+
+	/**
+	 * Separator between elements of list values
+	 */
+	public static final char ListSeparator = ',';
+
+	/**
+	 * Escape char
+	 */
+	public static final char Escape = '\\';
+
+	/**
+	 * Reads all definitions from a text file encoded in UTF-8
+	 * @param path the path of the file to read
+	 * @return the list of definitions read (in file order)
+	 * @throws IOException if the file can't be read
+	 * @throws ParseException if a line can't be parsed, the error offset
+	 * being the line number
+	 */
+	public static List<UnitDefinition> read(Path path)
+	    throws IOException,
+	    ParseException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(path,
+		                                                     StandardCharsets.UTF_8))
+		{
+			return read(reader);
+		}
+	}
+
+	/**
+	 * Reads all definitions from a reader
+	 * @param reader the reader to read lines from
+	 * @return the list of definitions read (in reading order)
+	 * @throws IOException if the reader can't be read
+	 * @throws ParseException if a line can't be parsed, the error offset
+	 * being the line number
+	 */
+	public static List<UnitDefinition> read(Reader reader)
+	    throws IOException,
+	    ParseException
+	{
+		BufferedReader lines = reader instanceof BufferedReader
+		    ? (BufferedReader) reader : new BufferedReader(reader);
+		List<UnitDefinition> definitions = new ArrayList<UnitDefinition>();
+		int lineNumber = 0;
+		String line;
+		while ((line = lines.readLine()) != null)
+		{
+			lineNumber++;
+			UnitDefinition definition = parse(line, lineNumber);
+			if (definition != null)
+			{
+				definitions.add(definition);
+			}
+		}
+		return definitions;
+	}
+
+	/**
+	 * Parses a single line
+	 * @param line the line to parse
+	 * @param lineNumber the number of this line (used as error offset)
+	 * @return the definition on this line or null if this line is empty or a
+	 * comment
+	 * @throws ParseException if the line can't be parsed
+	 */
+	public static UnitDefinition parse(String line, int lineNumber)
+	    throws ParseException
+	{
+		String trimmed = line.strip();
+		if (trimmed.isEmpty() || (trimmed.charAt(0) == Comment))
+		{
+			return null;
+		}
+
+		Map<String, String> fields = new HashMap<String, String>();
+		for (String field : split(trimmed, FieldSeparator))
+		{
+			if (field.isBlank())
+			{
+				continue;
+			}
+			int equal = field.indexOf('=');
+			if (equal < 0)
+			{
+				throw new ParseException("line " + lineNumber
+				    + ": missing '=' in \"" + field.strip() + "\"", lineNumber);
+			}
+			String key = field.substring(0, equal).strip();
+			if (fields.put(key, field.substring(equal + 1).strip()) != null)
+			{
+				throw new ParseException("line " + lineNumber
+				    + ": duplicate field " + key, lineNumber);
+			}
+		}
+
+		try
+		{
+			return toDefinition(new Fields(fields, lineNumber));
+		}
+		catch (IllegalArgumentException | NullPointerException e)
+		{
+			throw new ParseException("line " + lineNumber + ": "
+			    + e.getLocalizedMessage(), lineNumber);
+		}
+	}
+
+	/**
+	 * Creates a definition from parsed fields
+	 * @param fields the parsed fields
+	 * @return a new definition
+	 * @throws ParseException if a field is missing or can't be parsed
+	 */
+	private static UnitDefinition toDefinition(Fields fields)
+	    throws ParseException
+	{
+		UnitDefinition.Kind kind = UnitDefinition.Kind
+		    .valueOf(fields.required("kind").toUpperCase(Locale.ROOT).replace('-', '_'));
+		MeasureType type = MeasureType.valueOf(fields.required("type"));
+		String description = fields.required("description");
+		String symbol = fields.text("symbol");
+		boolean cyclic = Boolean.parseBoolean(fields.raw("cyclic", "false"));
+		double power = fields.number("power", 1.0);
+		double factor = fields.number("factor", 1.0);
+		double offset = fields.number("offset", 0.0);
+		OperationOrder order = OperationOrder.valueOf(fields.raw("order",
+		                                                         OperationOrder.FACTOR_ONLY.name()));
+		switch (kind)
+		{
+			case BASE:
+				return UnitDefinition.base(type,
+				                           description,
+				                           symbol,
+				                           fields.raw("format", BaseNumericUnit.DefaultFormat),
+				                           fields.number("min", 0.0),
+				                           fields.number("max", Double.POSITIVE_INFINITY),
+				                           cyclic);
+			case DERIVED:
+				return UnitDefinition.derived(type,
+				                              description,
+				                              symbol,
+				                              fields.raw("format", BaseNumericUnit.DefaultFormat),
+				                              fields.number("min", 0.0),
+				                              fields.number("max", Double.POSITIVE_INFINITY),
+				                              cyclic,
+				                              power,
+				                              factor,
+				                              offset,
+				                              order);
+			case SYMBOLIC:
+				return UnitDefinition.symbolic(type,
+				                               description,
+				                               symbol,
+				                               fields.numbers("values"),
+				                               fields.texts("symbols"),
+				                               cyclic);
+			case DERIVED_SYMBOLIC:
+				return UnitDefinition.derivedSymbolic(type,
+				                                      description,
+				                                      symbol,
+				                                      fields.texts("symbols"),
+				                                      cyclic,
+				                                      power,
+				                                      factor,
+				                                      offset,
+				                                      order);
+			case DECOMPOSED:
+				return UnitDefinition.decomposed(type,
+				                                 description,
+				                                 fields.required("symbol"),
+				                                 fields.required("separator"),
+				                                 fields.numbers("coefs"),
+				                                 fields.required("unit"),
+				                                 fields.text("unitSymbol"));
+		}
+		throw new AssertionError("UnitDefinitionsReader.toDefinition() unknown kind: "
+		    + kind);
+	}
+
+	/**
+	 * Splits text on non escaped delimiters.
+	 * Escapes are kept in the resulting parts so they can be split again.
+	 * @param text the text to split
+	 * @param delimiter the delimiter to split on
+	 * @return the parts of text
+	 */
+	static List<String> split(String text, char delimiter)
+	{
+		List<String> parts = new ArrayList<String>();
+		int start = 0;
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (c == Escape)
+			{
+				i++;
+			}
+			else if (c == delimiter)
+			{
+				parts.add(text.substring(start, i));
+				start = i + 1;
+			}
+		}
+		parts.add(text.substring(start));
+		return parts;
+	}
+
+	/**
+	 * Removes escapes from text
+	 * @param text the text to unescape
+	 * @return the unescaped text
+	 */
+	static String unescape(String text)
+	{
+		if (text.indexOf(Escape) < 0)
+		{
+			return text;
+		}
+		StringBuilder builder = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if ((c == Escape) && ((i + 1) < text.length()))
+			{
+				c = text.charAt(++i);
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Parses a number which can be a decimal number, "Infinity", "pi" or
+	 * products and quotients of those (e.g. "pi/180")
+	 * @param text the text to parse
+	 * @return the parsed number
+	 * @throws NumberFormatException if text can't be parsed
+	 */
+	static double parseNumber(String text) throws NumberFormatException
+	{
+		double result = 1.0;
+		char operator = '*';
+		int start = 0;
+		for (int i = 0; i <= text.length(); i++)
+		{
+			if ((i == text.length())
+			    || ((i > start) && ((text.charAt(i) == '*') || (text.charAt(i) == '/'))
+			        && (Character.toLowerCase(text.charAt(i - 1)) != 'e')))
+			{
+				String term = text.substring(start, i).strip();
+				double value = term.equalsIgnoreCase("pi") ? Math.PI
+				    : term.equalsIgnoreCase("-pi") ? -Math.PI
+				    : Double.parseDouble(term);
+				result = operator == '*' ? result * value : result / value;
+				if (i < text.length())
+				{
+					operator = text.charAt(i);
+				}
+				start = i + 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Parsed fields of a line
+	 */
+	private static final class Fields
+	{
+		/**
+		 * Raw (still escaped) values by keys
+		 */
+		private final Map<String, String> values;
+
+		/**
+		 * Number of the parsed line
+		 */
+		private final int lineNumber;
+
+		/**
+		 * Constructor
+		 * @param values raw values by keys
+		 * @param lineNumber number of the parsed line
+		 */
+		private Fields(Map<String, String> values, int lineNumber)
+		{
+			this.values = values;
+			this.lineNumber = lineNumber;
+		}
+
+		/**
+		 * Raw value of a field
+		 * @param key the key of the field
+		 * @param defaultValue the value returned when field is missing
+		 * @return the raw value of the field or defaultValue
+		 */
+		private String raw(String key, String defaultValue)
+		{
+			return values.getOrDefault(key, defaultValue);
+		}
+
+		/**
+		 * Unescaped text of an optional field
+		 * @param key the key of the field
+		 * @return the unescaped text of the field or null if missing
+		 */
+		private String text(String key)
+		{
+			String value = values.get(key);
+			return value == null ? null : unescape(value);
+		}
+
+		/**
+		 * Unescaped text of a required field
+		 * @param key the key of the field
+		 * @return the unescaped text of the field
+		 * @throws ParseException if the field is missing
+		 */
+		private String required(String key) throws ParseException
+		{
+			String value = text(key);
+			if (value == null)
+			{
+				throw new ParseException("line " + lineNumber
+				    + ": missing field " + key, lineNumber);
+			}
+			return value;
+		}
+
+		/**
+		 * Number value of an optional field
+		 * @param key the key of the field
+		 * @param defaultValue the value returned when field is missing
+		 * @return the number value of the field or defaultValue
+		 * @throws ParseException if the field is not a number
+		 */
+		private double number(String key, double defaultValue)
+		    throws ParseException
+		{
+			String value = values.get(key);
+			if (value == null)
+			{
+				return defaultValue;
+			}
+			try
+			{
+				return parseNumber(value);
+			}
+			catch (NumberFormatException e)
+			{
+				throw new ParseException("line " + lineNumber
+				    + ": invalid number for " + key + ": " + value, lineNumber);
+			}
+		}
+
+		/**
+		 * Unescaped texts of a required list field
+		 * @param key the key of the field
+		 * @return the unescaped elements of the list
+		 * @throws ParseException if the field is missing
+		 */
+		private String[] texts(String key) throws ParseException
+		{
+			required(key);
+			List<String> parts = split(values.get(key), ListSeparator);
+			String[] texts = new String[parts.size()];
+			for (int i = 0; i < texts.length; i++)
+			{
+				texts[i] = unescape(parts.get(i).strip());
+			}
+			return texts;
+		}
+
+		/**
+		 * Numbers of a required list field
+		 * @param key the key of the field
+		 * @return the numbers of the list
+		 * @throws ParseException if the field is missing or if an element is
+		 * not a number
+		 */
+		private double[] numbers(String key) throws ParseException
+		{
+			String[] texts = texts(key);
+			double[] numbers = new double[texts.length];
+			for (int i = 0; i < numbers.length; i++)
+			{
+				try
+				{
+					numbers[i] = parseNumber(texts[i]);
+				}
+				catch (NumberFormatException e)
+				{
+					throw new ParseException("line " + lineNumber
+					    + ": invalid number in " + key + ": " + texts[i],
+					    lineNumber);
+				}
+			}
+			return numbers;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package measures.units;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import measures.MeasureType;
+
+/**
+ * Immutable catalogue of all {@link Unit}s measuring a particular
+ * {@link MeasureType}.
+ * A catalogue is built once per {@link MeasureType} by {@link UnitsFactory}
+ * and provides precomputed unmodifiable views of its units sorted according
+ * to every {@link SortOrder}, so that no sorting is required afterwards.
+ * @author davidroussel
+ * @see UnitsFactory#getCatalogue(MeasureType)
+ */
+public class UnitsCatalogue
+{
+	/**
+	 * The type of measures measured by units of this catalogue
+	 */
+	private final MeasureType type;
+
+	/**
+	 * Unmodifiable set of all units in {@link SortOrder#NAME_ASCENDING} order
+	 */
+	private final Set<Unit<Double>> units;
+
+	/**
+	 * Unmodifiable lists of all units sorted according to each
+	 * {@link SortOrder}
+	 */
+	private final Map<SortOrder, List<Unit<Double>>> sortedUnits;
+
+	/**
+	 * Unmodifiable lists of setable units sorted according to each
+	 * {@link SortOrder}
+	 * @see Unit#isSetable()
+	 */
+	private final Map<SortOrder, List<Unit<Double>>> sortedSetableUnits;
+
+	/**
+	 * Constructor
+	 * @param type the type of measures measured by the provided units
+	 * @param units the units of this catalogue
+	 * @throws NullPointerException if type or units are null
+	 */
+	public UnitsCatalogue(MeasureType type, Collection<Unit<Double>> units)
+	    throws NullPointerException
+	{
+		this.type = Objects.requireNonNull(type);
+		Objects.requireNonNull(units);
+
+		sortedUnits = new EnumMap<SortOrder, List<Unit<Double>>>(SortOrder.class);
+		sortedSetableUnits = new EnumMap<SortOrder, List<Unit<Double>>>(SortOrder.class);
+		for (SortOrder order : SortOrder.values())
+		{
+			List<Unit<Double>> sorted = new ArrayList<Unit<Double>>(units);
+			sorted.sort(order.comparator());
+			List<Unit<Double>> setable = new ArrayList<Unit<Double>>(sorted.size());
+			for (Unit<Double> unit : sorted)
+			{
+				if (unit.isSetable())
+				{
+					setable.add(unit);
+				}
+			}
+			sortedUnits.put(order, Collections.unmodifiableList(sorted));
+			sortedSetableUnits.put(order, Collections.unmodifiableList(setable));
+		}
+
+		this.units = Collections.unmodifiableSet(
+		    new LinkedHashSet<Unit<Double>>(sortedUnits.get(SortOrder.NAME_ASCENDING)));
+	}
+
+	/**
+	 * Accessor to the type of measures measured by units of this catalogue
+	 * @return the type of measures measured by units of this catalogue
+	 */
+	public MeasureType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Accessor to all units of this catalogue
+	 * @return an unmodifiable set of all units of this catalogue
+	 */
+	public Set<Unit<Double>> getUnits()
+	{
+		return units;
+	}
+
+	/**
+	 * Accessor to all units of this catalogue sorted according to the
+	 * provided order
+	 * @param order the order of the requested units
+	 * @return an unmodifiable list of all units sorted according to order
+	 * @throws NullPointerException if order is null
+	 */
+	public List<Unit<Double>> getUnits(SortOrder order)
+	    throws NullPointerException
+	{
+		return sortedUnits.get(Objects.requireNonNull(order));
+	}
+
+	/**
+	 * Accessor to setable units of this catalogue sorted according to the
+	 * provided order
+	 * @param order the order of the requested units
+	 * @return an unmodifiable list of setable units sorted according to order
+	 * @throws NullPointerException if order is null
+	 * @see Unit#isSetable()
+	 */
+	public List<Unit<Double>> getSetableUnits(SortOrder order)
+	    throws NullPointerException
+	{
+		return sortedSetableUnits.get(Objects.requireNonNull(order));
+	}
+
+	/**
+	 * Number of units in this catalogue
+	 * @return the number of units in this catalogue
+	 */
+	public int size()
+	{
+		return units.size();
+	}
+
+	/**
+	 * String representation of this catalogue
+	 * @return a new String representing this catalogue
+	 */
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + type + ", " + units.size()
+		    + " units]";
+	}
+}
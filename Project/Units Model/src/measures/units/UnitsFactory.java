@@ -1,14 +1,24 @@
 package measures.units;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import logger.LazyLog;
 import logger.LoggerFactory;
 import measures.MeasureType;
+import metrics.ConversionMetrics;
 import utils.FlyweightFactory;
 
 /**
@@ -33,26 +43,71 @@ public class UnitsFactory
 	                      Level.INFO : null)); // null level to inherit parent logger's level
 
 	/**
-	 * Hash type, description and symbol just as {@link Unit#hashCode()} would
-	 * in order to provide a hashing value used as a key in {@link #unitFactory}
-	 * @param type the class of the unit
-	 * @param measures the type of Measures measured by values in a particular unit
-	 * @param description The description of a unit
-	 * @param symbol the symbol associated with this unit
-	 * @return a hash value equivalent to the desired {@link Unit#hashCode()}
+	 * The factory providing {@link UnitsCatalogue}s per {@link MeasureType}
+	 * @see #getCatalogue(MeasureType)
 	 */
-	private static int hash(Class<? extends Unit<?>> type,
-	                        MeasureType measures,
-	                        String description,
-	                        String symbol)
+	static private FlyweightFactory<UnitsCatalogue> catalogueFactory =
+		new FlyweightFactory<UnitsCatalogue>();
+
+	/**
+	 * The factory providing {@link ConversionMatrix}es per {@link MeasureType}
+	 * @see #getConversionMatrix(MeasureType)
+	 */
+	static private FlyweightFactory<ConversionMatrix> matrixFactory =
+		new FlyweightFactory<ConversionMatrix>();
+
+	/**
+	 * Cache of {@link ConversionPlan}s per (source, destination) pair of
+	 * {@link Unit}s
+	 * @see #getConversionPlan(Unit, Unit)
+	 */
+	static private Map<PlanKey, ConversionPlan> conversionPlans =
+		new ConcurrentHashMap<PlanKey, ConversionPlan>();
+
+	/**
+	 * System property containing paths of definitions files (separated by
+	 * {@link File#pathSeparator}) loaded when this class is initialized
+	 * @see #loadDefinitions(Path)
+	 */
+	public static final String DefinitionsProperty = "measures.units.definitions";
+
+	/**
+	 * Additional {@link UnitDefinition}s sources whose units are added to
+	 * built-in units when catalogues are built
+	 * @see #addDefinitions(UnitDefinitions)
+	 */
+	static private List<UnitDefinitions> definitions =
+		new CopyOnWriteArrayList<UnitDefinitions>();
+
+	/**
+	 * Recorder of conversion metrics ({@link ConversionMetrics#None} by
+	 * default)
+	 * @see #setMetrics(ConversionMetrics)
+	 */
+	static private volatile ConversionMetrics metrics = ConversionMetrics.None;
+
+	static
 	{
-		final int prime = 31;
-		int result = 1;
-		result = (prime * result) + type.hashCode();
-		result = (prime * result) + measures.hashCode();
-		result = (prime * result) + description.hashCode();
-		result = (prime * result) + symbol.hashCode();
-		return result;
+		String paths = System.getProperty(DefinitionsProperty);
+		if ((paths != null) && !paths.isBlank())
+		{
+			for (String path : paths.split(File.pathSeparator))
+			{
+				try
+				{
+					loadDefinitions(Paths.get(path.strip()));
+				}
+				catch (IOException | ParseException e)
+				{
+					LazyLog.log(logger,
+					            Level.SEVERE,
+					            (String p, Exception x) -> "Can't load unit definitions from "
+					                + p + ": " + x.getLocalizedMessage(),
+					            path,
+					            e);
+				}
+			}
+		}
 	}
 
 	/**
@@ -125,10 +180,6 @@ public class UnitsFactory
 	 * @throws NullPointerException if type or description are null. Although
 	 * symbol argument is allowed to be null to represent an empty symbol
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getBoundedBaseNumericUnit(MeasureType type,
 	                                                     String description,
@@ -144,30 +195,17 @@ public class UnitsFactory
 		Objects.requireNonNull(description);
 		Objects.requireNonNull(format);
 
-		int hash = hash(BoundedBaseNumericUnit.class, type, description, symbol);
-		Unit<Double> unit = unitFactory.get(hash);
-
-		if (unit == null)
-		{
-			Unit<Double> tempUnit = new BoundedBaseNumericUnit(type,
-			                                                   description,
-			                                                   symbol,
-			                                                   format,
-			                                                   min,
-			                                                   max,
-			                                                   cyclic);
-			int tempHash = tempUnit.hashCode();
-			if (hash != tempHash)
-			{
-				throw new IllegalStateException("Unexpected hash code "
-				    + tempHash + ", expected " + hash);
-			}
-			unitFactory.put(hash, tempUnit);
-			unit = unitFactory.get(hash);;
-		}
-
-		logger.info("Built unit: " + unit);
-		return unit;
+		return unitFactory.get(new UnitKey(BoundedBaseNumericUnit.class,
+		                                   type,
+		                                   description,
+		                                   symbol),
+		                       () -> new BoundedBaseNumericUnit(type,
+		                                                        description,
+		                                                        symbol,
+		                                                        format,
+		                                                        min,
+		                                                        max,
+		                                                        cyclic));
 	}
 
 	/**
@@ -194,10 +232,6 @@ public class UnitsFactory
 	 * @throws NullPointerException if type or description are null. Although
 	 * symbol argument is allowed to be null to represent an empty symbol
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getDerivedNumericUnit(MeasureType type,
 	                                                 String description,
@@ -217,34 +251,21 @@ public class UnitsFactory
 		Objects.requireNonNull(description);
 		Objects.requireNonNull(format);
 
-		int hash = hash(DerivedNumericUnit.class, type, description, symbol);
-		Unit<Double> unit = unitFactory.get(hash);
-
-		if (unit == null)
-		{
-			Unit<Double> tempUnit = new DerivedNumericUnit(type,
-			                                               description,
-			                                               symbol,
-			                                               format,
-			                                               min,
-			                                               max,
-			                                               cyclic,
-			                                               power,
-			                                               factor,
-			                                               offset,
-			                                               order);
-			int tempHash = tempUnit.hashCode();
-			if (hash != tempHash)
-			{
-				throw new IllegalStateException("Unexpected hash code "
-				    + tempHash + ", expected " + hash);
-			}
-			unitFactory.put(hash, tempUnit);
-			unit = unitFactory.get(hash);
-		}
-
-		logger.info("Built unit: " + unit);
-		return unit;
+		return unitFactory.get(new UnitKey(DerivedNumericUnit.class,
+		                                   type,
+		                                   description,
+		                                   symbol),
+		                       () -> new DerivedNumericUnit(type,
+		                                                    description,
+		                                                    symbol,
+		                                                    format,
+		                                                    min,
+		                                                    max,
+		                                                    cyclic,
+		                                                    power,
+		                                                    factor,
+		                                                    offset,
+		                                                    order));
 	}
 
 	/**
@@ -269,10 +290,6 @@ public class UnitsFactory
 	 * @throws NullPointerException if type or description are null. Although
 	 * symbol argument is allowed to be null to represent an empty symbol
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getDerivedNumericUnit(MeasureType type,
 	                                                 String description,
@@ -321,10 +338,6 @@ public class UnitsFactory
 	 * @throws NullPointerException if type or description are null. Although
 	 * symbol argument is allowed to be null to represent an empty symbol
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getDerivedNumericUnit(MeasureType type,
 	                                                 String description,
@@ -366,10 +379,6 @@ public class UnitsFactory
 	 * @throws NullPointerException if type or description are null. Although
 	 * symbol argument is allowed to be null to represent an empty symbol
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getBaseSymbolicUnit(MeasureType type,
 	                                               String description,
@@ -385,29 +394,16 @@ public class UnitsFactory
 		Objects.requireNonNull(values);
 		Objects.requireNonNull(symbols);
 
-		int hash = hash(BaseSymbolicUnit.class, type, description, symbol);
-		Unit<Double> unit = unitFactory.get(hash);
-
-		if (unit == null)
-		{
-			Unit<Double> tempUnit = new BaseSymbolicUnit(type,
-			                                             description,
-			                                             symbol,
-			                                             values,
-			                                             symbols,
-			                                             cyclic);
-			int tempHash = tempUnit.hashCode();
-			if (hash != tempHash)
-			{
-				throw new IllegalStateException("Unexpected hash code "
-				    + tempHash + ", expected " + hash);
-			}
-			unitFactory.put(hash, tempUnit);
-			unit = unitFactory.get(hash);
-		}
-
-		logger.info("Built unit: " + unit);
-		return unit;
+		return unitFactory.get(new UnitKey(BaseSymbolicUnit.class,
+		                                   type,
+		                                   description,
+		                                   symbol),
+		                       () -> new BaseSymbolicUnit(type,
+		                                                  description,
+		                                                  symbol,
+		                                                  values,
+		                                                  symbols,
+		                                                  cyclic));
 	}
 
 	/**
@@ -430,10 +426,6 @@ public class UnitsFactory
 	 * @throws NullPointerException if type or description are null. Although
 	 * symbol argument is allowed to be null to represent an empty symbol
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getDerivedSymbolicUnit(MeasureType type,
 	                                                  String description,
@@ -452,32 +444,19 @@ public class UnitsFactory
 		Objects.requireNonNull(symbols);
 		Objects.requireNonNull(order);
 
-		int hash = hash(DerivedSymbolicUnit.class, type, description, symbol);
-		Unit<Double> unit = unitFactory.get(hash);
-
-		if (unit == null)
-		{
-			Unit<Double> tempUnit = new DerivedSymbolicUnit(type,
-			                                                description,
-			                                                symbol,
-			                                                symbols,
-			                                                cyclic,
-			                                                power,
-			                                                factor,
-			                                                offset,
-			                                                order);
-			int tempHash = tempUnit.hashCode();
-			if (hash != tempHash)
-			{
-				throw new IllegalStateException("Unexpected hash code "
-				    + tempHash + ", expected " + hash);
-			}
-			unitFactory.put(hash, tempUnit);
-			unit = unitFactory.get(hash);
-		}
-
-		logger.info("Built unit: " + unit);
-		return unit;
+		return unitFactory.get(new UnitKey(DerivedSymbolicUnit.class,
+		                                   type,
+		                                   description,
+		                                   symbol),
+		                       () -> new DerivedSymbolicUnit(type,
+		                                                     description,
+		                                                     symbol,
+		                                                     symbols,
+		                                                     cyclic,
+		                                                     power,
+		                                                     factor,
+		                                                     offset,
+		                                                     order));
 	}
 
 	/**
@@ -493,10 +472,6 @@ public class UnitsFactory
 	 * the requested {@link Unit} can't be retrieved
 	 * @throws NullPointerException if any of the provided arguments is null
 	 * @throws ParseException if the provided format can't be parsed
-	 * @throws IllegalStateException if a newly created Unit's hashCode
-	 * does not match the hash value provided by
-	 * {@link #hash(MeasureType, String, String)}
-	 * @see #hash(MeasureType, String, String)
 	 */
 	public static Unit<Double> getDecomposedUnit(Unit<Double> unit,
 	                                             String description,
@@ -512,45 +487,226 @@ public class UnitsFactory
 		Objects.requireNonNull(separator);
 		Objects.requireNonNull(coefs);
 
-		int hash = hash(DecomposedUnit.class, unit.getType(), description, symbols);
-		Unit<Double> factoryUnit = unitFactory.get(hash);
+		return unitFactory.get(new UnitKey(DecomposedUnit.class,
+		                                   unit.getType(),
+		                                   description,
+		                                   symbols),
+		                       () -> new DecomposedUnit(unit,
+		                                                description,
+		                                                symbols,
+		                                                separator,
+		                                                coefs));
+	}
+
+	/**
+	 * Number of requested {@link Unit}s already provided by {@link #unitFactory}
+	 * @return the number of requested {@link Unit}s which were already built
+	 */
+	public static long getUnitsHits()
+	{
+		return unitFactory.getHits();
+	}
+
+	/**
+	 * Number of requested {@link Unit}s which had to be built by
+	 * {@link #unitFactory}
+	 * @return the number of {@link Unit}s built so far
+	 */
+	public static long getUnitsMisses()
+	{
+		return unitFactory.getMisses();
+	}
+
+	/**
+	 * Accessor to the recorder of conversion metrics
+	 * @return the recorder of conversion metrics ({@link ConversionMetrics#None}
+	 * if metrics are disabled)
+	 */
+	public static ConversionMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Sets the recorder of conversion metrics used by units model clients
+	 * such as {@link application.Converter}
+	 * @param recorder the new recorder of conversion metrics or null to
+	 * disable metrics
+	 */
+	public static void setMetrics(ConversionMetrics recorder)
+	{
+		metrics = recorder != null ? recorder : ConversionMetrics.None;
+	}
 
-		if (factoryUnit == null)
+	/**
+	 * Factory method retrieving the {@link ConversionPlan} converting values
+	 * from source {@link Unit} to destination {@link Unit}.
+	 * Plans are built once per (source, destination) pair and then shared.
+	 * @param source the unit to convert values from
+	 * @param destination the unit to convert values to
+	 * @return the conversion plan from source to destination
+	 * @throws NullPointerException if source or destination is null
+	 */
+	public static ConversionPlan getConversionPlan(Unit<Double> source,
+	                                               Unit<Double> destination)
+	    throws NullPointerException
+	{
+		Objects.requireNonNull(source, "null source unit");
+		Objects.requireNonNull(destination, "null destination unit");
+		PlanKey key = new PlanKey(source, destination);
+		ConversionPlan plan = conversionPlans.get(key);
+		if (plan == null)
 		{
-			Unit<Double> tempUnit = new DecomposedUnit(unit,
-			                                           description,
-			                                           symbols,
-			                                           separator,
-			                                           coefs);
-			int tempHash = tempUnit.hashCode();
-			if (hash != tempHash)
-			{
-				throw new IllegalStateException("Unexpected hash code "
-				    + tempHash + ", expected " + hash);
-			}
-			unitFactory.put(hash, tempUnit);
-			factoryUnit = unitFactory.get(hash);
+			plan = conversionPlans.computeIfAbsent(key,
+			    (PlanKey k) -> ConversionPlan.compile(k.source, k.destination));
+			LazyLog.fine(logger, "Built conversion plan: ", plan);
 		}
+		return plan;
+	}
 
-		logger.info("Built unit: " + unit);
-		return factoryUnit;
+	/**
+	 * Factory method retrieving the {@link ConversionMatrix} converting values
+	 * between all pairs of {@link Unit}s measuring the provided
+	 * {@link MeasureType}.
+	 * Matrices are built once per {@link MeasureType} and then shared.
+	 * @param type the type of measures the matrix's {@link Unit}s measure
+	 * @return the conversion matrix of {@link Unit}s measuring the provided
+	 * {@link MeasureType}
+	 * @throws ParseException if some units format can't be parsed
+	 * @throws NullPointerException if type is null
+	 * @see #getCatalogue(MeasureType)
+	 */
+	public static ConversionMatrix getConversionMatrix(MeasureType type)
+		throws NullPointerException,
+		ParseException
+	{
+		Objects.requireNonNull(type);
+		return matrixFactory.get(type,
+		                         () -> new ConversionMatrix(getCatalogue(type)));
+	}
+
+	/**
+	 * Registers an additional source of {@link UnitDefinition}s.
+	 * Units defined by this source are added to built-in units of each
+	 * {@link MeasureType} when its {@link UnitsCatalogue} is built (units
+	 * with the same name as built-in units are ignored). Catalogues and
+	 * conversion matrices are therefore rebuilt when next requested: those
+	 * already obtained are not updated.
+	 * @param source the source of definitions to register
+	 * @throws NullPointerException if source is null
+	 * @see #removeDefinitions(UnitDefinitions)
+	 */
+	public static void addDefinitions(UnitDefinitions source)
+	    throws NullPointerException
+	{
+		definitions.add(Objects.requireNonNull(source));
+		catalogueFactory.clear();
+		matrixFactory.clear();
+	}
+
+	/**
+	 * Unregisters a source of {@link UnitDefinition}s previously registered
+	 * by {@link #addDefinitions(UnitDefinitions)}
+	 * @param source the source of definitions to unregister
+	 * @return true if source was registered
+	 */
+	public static boolean removeDefinitions(UnitDefinitions source)
+	{
+		boolean removed = definitions.remove(source);
+		if (removed)
+		{
+			catalogueFactory.clear();
+			matrixFactory.clear();
+		}
+		return removed;
+	}
+
+	/**
+	 * Loads and registers {@link UnitDefinition}s from a file which can
+	 * either be a compiled file (see {@link CompiledUnitDefinitions}), which
+	 * is mapped in memory and whose sections are decoded only when needed, or
+	 * a text file (see {@link UnitDefinitionsReader}) which is parsed at once
+	 * @param path the path of the file to load
+	 * @return the registered source of definitions
+	 * @throws IOException if the file can't be read
+	 * @throws ParseException if the text file can't be parsed
+	 * @see #addDefinitions(UnitDefinitions)
+	 */
+	public static UnitDefinitions loadDefinitions(Path path)
+	    throws IOException,
+	    ParseException
+	{
+		UnitDefinitions source;
+		if (CompiledUnitDefinitions.isCompiled(path))
+		{
+			source = CompiledUnitDefinitions.open(path);
+		}
+		else
+		{
+			source = UnitDefinitions.of(UnitDefinitionsReader.read(path));
+		}
+		LazyLog.info(logger, "Loaded unit definitions from ", path);
+		addDefinitions(source);
+		return source;
 	}
 
 	/**
 	 * Factory method to provide a {@link Unit} {@link Set} according to the
 	 * provided {@link MeasureType}
 	 * @param type the type of measures the returned {@link Unit}s will measure
-	 * @return A Set of {@link Unit}s measuring the provided {@link MeasureType}
+	 * @return A new modifiable Set of {@link Unit}s measuring the provided
+	 * {@link MeasureType}
 	 * @throws ParseException if some units format can't be parsed
 	 * @throws NullPointerException if some units arguments are null
+	 * @see #getCatalogue(MeasureType)
+	 * @implNote Units are obtained from the {@link UnitsCatalogue} of the
+	 * provided {@link MeasureType} which is built only once. Callers which do
+	 * not need to modify the returned set should rather use
+	 * {@link #getCatalogue(MeasureType)}
 	 */
 	public static Set<Unit<Double>> getUnits(MeasureType type)
 		throws NullPointerException,
 		ParseException
 	{
-		logger.info("Building Unit set for " + type);
+		return new TreeSet<>(getCatalogue(type).getUnits());
+	}
+
+	/**
+	 * Factory method to provide the {@link UnitsCatalogue} of all {@link Unit}s
+	 * measuring the provided {@link MeasureType}.
+	 * Catalogues are built once per {@link MeasureType} and then shared.
+	 * @param type the type of measures the catalogue's {@link Unit}s measure
+	 * @return the catalogue of {@link Unit}s measuring the provided
+	 * {@link MeasureType}
+	 * @throws ParseException if some units format can't be parsed
+	 * @throws NullPointerException if type is null
+	 */
+	public static UnitsCatalogue getCatalogue(MeasureType type)
+		throws NullPointerException,
+		ParseException
+	{
+		Objects.requireNonNull(type);
+		return catalogueFactory.get(type,
+		                            () -> new UnitsCatalogue(type, buildUnits(type)));
+	}
 
-		Set<Unit<Double>> set = new TreeSet<>();
+	/**
+	 * Builds the {@link Unit} {@link Set} according to the provided
+	 * {@link MeasureType}
+	 * @param type the type of measures the returned {@link Unit}s will measure
+	 * @return A Set of {@link Unit}s measuring the provided {@link MeasureType}
+	 * @throws ParseException if some units format can't be parsed
+	 * @throws NullPointerException if some units arguments are null
+	 * @implNote Units of registered {@link UnitDefinitions} are built after
+	 * built-in units so that decomposed units may decompose built-in units
+	 */
+	private static Set<Unit<Double>> buildUnits(MeasureType type)
+		throws NullPointerException,
+		ParseException
+	{
+		LazyLog.info(logger, "Building Unit set for ", type);
+
+		Set<Unit<Double>> set = new TreeSet<>(SortOrder.NAME_ASCENDING.comparator());
 
 		switch (type)
 		{
@@ -1056,6 +1212,149 @@ public class UnitsFactory
 			default:
 				break;
 		}
+
+		for (UnitDefinitions source : definitions)
+		{
+			for (UnitDefinition definition : source.getDefinitions(type))
+			{
+				set.add(definition.build(set));
+			}
+		}
 		return set;
 	}
+
+	/**
+	 * Key of {@link #unitFactory} : fully identifies a {@link Unit} by its
+	 * class, measure type, description and symbol (rather than by a hash value
+	 * which might collide)
+	 */
+	private static final class UnitKey
+	{
+		/**
+		 * The class of the unit
+		 */
+		private final Class<?> type;
+
+		/**
+		 * The type of measures measured by values in the unit
+		 */
+		private final MeasureType measures;
+
+		/**
+		 * The description of the unit
+		 */
+		private final String description;
+
+		/**
+		 * The symbol associated with the unit (might be null)
+		 */
+		private final String symbol;
+
+		/**
+		 * Precomputed hash code
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor
+		 * @param type the class of the unit
+		 * @param measures the type of Measures measured by values in the unit
+		 * @param description The description of the unit
+		 * @param symbol the symbol associated with the unit
+		 */
+		private UnitKey(Class<?> type,
+		                MeasureType measures,
+		                String description,
+		                String symbol)
+		{
+			this.type = type;
+			this.measures = measures;
+			this.description = description;
+			this.symbol = symbol;
+			/*
+			 * Same value as Objects.hash(type, measures, description, symbol)
+			 * without allocating a varargs array for each lookup
+			 */
+			int h = 31 + Objects.hashCode(type);
+			h = (31 * h) + Objects.hashCode(measures);
+			h = (31 * h) + Objects.hashCode(description);
+			hash = (31 * h) + Objects.hashCode(symbol);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+			if (!(obj instanceof UnitKey))
+			{
+				return false;
+			}
+			UnitKey other = (UnitKey) obj;
+			return (hash == other.hash)
+			    && (type == other.type)
+			    && (measures == other.measures)
+			    && description.equals(other.description)
+			    && Objects.equals(symbol, other.symbol);
+		}
+	}
+
+	/**
+	 * Key of {@link #conversionPlans} : (source, destination) pair of units
+	 * compared by identity since units are provided by {@link #unitFactory}
+	 */
+	private static final class PlanKey
+	{
+		/**
+		 * The unit to convert values from
+		 */
+		private final Unit<Double> source;
+
+		/**
+		 * The unit to convert values to
+		 */
+		private final Unit<Double> destination;
+
+		/**
+		 * Constructor
+		 * @param source the unit to convert values from
+		 * @param destination the unit to convert values to
+		 */
+		private PlanKey(Unit<Double> source, Unit<Double> destination)
+		{
+			this.source = source;
+			this.destination = destination;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return (31 * System.identityHashCode(source))
+			    + System.identityHashCode(destination);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+			if (!(obj instanceof PlanKey))
+			{
+				return false;
+			}
+			PlanKey other = (PlanKey) obj;
+			return (source == other.source)
+			    && (destination == other.destination);
+		}
+	}
 }
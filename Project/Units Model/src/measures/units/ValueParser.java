@@ -0,0 +1,523 @@
+package measures.units;
+
+import java.util.Objects;
+
+/**
+ * Reusable parser of values typed or pasted as text which reports invalid
+ * content through a {@link Status} instead of throwing exceptions.
+ * Parsed values are available through {@link #getValue()} when
+ * {@link Status#VALID} is returned.
+ * Two syntaxes are supported:
+ * <ul>
+ * <li>numbers (e.g. "-12.5", "1e3", "NaN", "2.5d" or "0x1.8p1") parsed
+ * exactly as {@link Double#parseDouble(String)} would parse them</li>
+ * <li>decomposed values made of several components separated by delimiters
+ * (e.g. "01h : 02m : 07s" or "45° , 54' , 56''") as formatted by
+ * {@link DecomposedUnit}s</li>
+ * </ul>
+ * Decimal numbers whose significand fits in 53 bits and whose decimal
+ * exponent lies in [-22 .. 22] are computed directly (a single exact
+ * multiplication or division), others fall back to
+ * {@link Double#parseDouble(String)} which is then guaranteed to succeed.
+ * Hexadecimal numbers (e.g. "0x1.8p1") are rare enough to be directly
+ * parsed by {@link Double#parseDouble(String)}.
+ * Instances are reusable but not thread safe: each thread should use its own
+ * parser.
+ * @author davidroussel
+ * @see Unit#parseValue(CharSequence, ValueParser)
+ */
+public class ValueParser
+{
+	/**
+	 * Parsing result
+	 */
+	public enum Status
+	{
+		/**
+		 * Text has been parsed and its value is available through
+		 * {@link ValueParser#getValue()}
+		 */
+		VALID,
+		/**
+		 * Text is empty or only contains spaces
+		 */
+		EMPTY,
+		/**
+		 * Text is the beginning of a valid value (e.g. "-", "." or "1e") which
+		 * may become valid when typing continues
+		 */
+		INCOMPLETE,
+		/**
+		 * Text can't be parsed
+		 */
+		INVALID
+	}
+
+	/**
+	 * Exact powers of ten as doubles
+	 */
+	private static final double[] PowersOfTen = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * Greatest significand exactly representable as a double
+	 */
+	private static final long MaxExactSignificand = 1L << 53;
+
+	/**
+	 * Maximum number of significant digits kept in a long significand (without
+	 * overflow)
+	 */
+	private static final int MaxSignificantDigits = 18;
+
+	/**
+	 * The last parsed value
+	 */
+	private double value;
+
+	/**
+	 * Index following the last char consumed by {@link #scanNumber}
+	 */
+	private int end;
+
+	/**
+	 * Default constructor
+	 */
+	public ValueParser()
+	{
+		value = Double.NaN;
+		end = 0;
+	}
+
+	/**
+	 * Accessor to the last successfully parsed value
+	 * @return the last successfully parsed value
+	 */
+	public double getValue()
+	{
+		return value;
+	}
+
+	/**
+	 * Parse a decimal number.
+	 * Leading and trailing spaces are ignored.
+	 * @param text the text to parse
+	 * @return {@link Status#VALID} if text has been parsed and its value is
+	 * available through {@link #getValue()}, or the reason why text can't be
+	 * parsed
+	 * @throws NullPointerException if text is null
+	 */
+	public Status parse(CharSequence text) throws NullPointerException
+	{
+		return parse(text, 0, text.length());
+	}
+
+	/**
+	 * Parse a decimal number within [from, to) of the provided text.
+	 * Leading and trailing spaces are ignored.
+	 * @param text the text to parse
+	 * @param from index of the first char to parse
+	 * @param to index following the last char to parse
+	 * @return {@link Status#VALID} if text has been parsed and its value is
+	 * available through {@link #getValue()}, or the reason why text can't be
+	 * parsed
+	 * @throws NullPointerException if text is null
+	 * @throws IndexOutOfBoundsException if [from, to) is out of text bounds
+	 */
+	public Status parse(CharSequence text, int from, int to)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		Objects.checkFromToIndex(from, to, text.length());
+		while ((from < to) && Character.isWhitespace(text.charAt(from)))
+		{
+			from++;
+		}
+		while ((to > from) && Character.isWhitespace(text.charAt(to - 1)))
+		{
+			to--;
+		}
+		if (from == to)
+		{
+			return Status.EMPTY;
+		}
+
+		Status status = scanNumber(text, from, to, true);
+		if (status == Status.VALID)
+		{
+			if ((end == (to - 1)) && ("dDfF".indexOf(text.charAt(end)) >= 0))
+			{
+				end = to; // type suffix ignored as in Double.parseDouble
+			}
+			if (end != to)
+			{
+				return isHexadecimal(text, from, to) ? parseHexadecimal(text, from, to)
+				    : Status.INVALID;
+			}
+		}
+		return status;
+	}
+
+	/**
+	 * Checks if [from, to) of the provided text begins as an (evt signed)
+	 * hexadecimal number (e.g. "0x1.8p1")
+	 * @param text the text to check
+	 * @param from index of the first char to check
+	 * @param to index following the last char to check
+	 * @return true if text begins with "0x" or "0X" after an optional sign
+	 */
+	private static boolean isHexadecimal(CharSequence text, int from, int to)
+	{
+		char c = text.charAt(from);
+		if ((c == '-') || (c == '+'))
+		{
+			from++;
+		}
+		return ((from + 1) < to)
+		    && (text.charAt(from) == '0')
+		    && ((text.charAt(from + 1) | 0x20) == 'x');
+	}
+
+	/**
+	 * Parse a hexadecimal number within [from, to) of the provided text with
+	 * {@link Double#parseDouble(String)}
+	 * @param text the text to parse
+	 * @param from index of the first char to parse
+	 * @param to index following the last char to parse
+	 * @return {@link Status#VALID} if text has been parsed or
+	 * {@link Status#INVALID} otherwise (including incomplete hexadecimal
+	 * numbers)
+	 */
+	private Status parseHexadecimal(CharSequence text, int from, int to)
+	{
+		try
+		{
+			value = Double.parseDouble(text.subSequence(from, to).toString());
+			end = to;
+			return Status.VALID;
+		}
+		catch (NumberFormatException e)
+		{
+			return Status.INVALID;
+		}
+	}
+
+	/**
+	 * Parse a decomposed value within [from, to) of the provided text.
+	 * Decomposed values are made of unsigned decimal components (without
+	 * exponents) separated by any number of spaces or delimiters, the first
+	 * component being the most significant one. An optional sign may precede
+	 * the first component. Missing trailing components are considered as
+	 * zero. The value is the sum of each component divided by the
+	 * corresponding divisor: "01h : 30m" with divisors {1, 60, 3600} is 1.5.
+	 * @param text the text to parse
+	 * @param from index of the first char to parse
+	 * @param to index following the last char to parse
+	 * @param divisors the divisors of each component
+	 * @param delimiters chars allowed between components (besides spaces)
+	 * @return {@link Status#VALID} if text has been parsed and its value is
+	 * available through {@link #getValue()}, or the reason why text can't be
+	 * parsed
+	 * @throws NullPointerException if text, divisors or delimiters are null
+	 * @throws IndexOutOfBoundsException if [from, to) is out of text bounds
+	 */
+	public Status parse(CharSequence text,
+	                    int from,
+	                    int to,
+	                    double[] divisors,
+	                    String delimiters)
+	    throws NullPointerException,
+	    IndexOutOfBoundsException
+	{
+		Objects.checkFromToIndex(from, to, text.length());
+		Objects.requireNonNull(delimiters);
+		int index = skipDelimiters(text, from, to, "");
+		if (index == to)
+		{
+			return Status.EMPTY;
+		}
+
+		boolean negative = false;
+		char c = text.charAt(index);
+		if ((c == '-') || (c == '+'))
+		{
+			negative = c == '-';
+			index++;
+		}
+
+		double result = 0.0;
+		int component = 0;
+		while (index < to)
+		{
+			if (component >= divisors.length)
+			{
+				return Status.INVALID;
+			}
+			Status status = scanNumber(text, index, to, false);
+			if (status != Status.VALID)
+			{
+				return status;
+			}
+			result += value / divisors[component++];
+			index = skipDelimiters(text, end, to, delimiters);
+			if ((index == end) && (index < to))
+			{
+				return Status.INVALID; // components shall be delimited
+			}
+		}
+		if (component == 0)
+		{
+			return Status.INCOMPLETE;
+		}
+		value = negative ? -result : result;
+		return Status.VALID;
+	}
+
+	/**
+	 * Skips spaces and delimiters
+	 * @param text the text to scan
+	 * @param from index of the first char to scan
+	 * @param to index following the last char to scan
+	 * @param delimiters chars to skip besides spaces
+	 * @return the index of the first char which is neither a space nor a
+	 * delimiter (or to)
+	 */
+	private static int skipDelimiters(CharSequence text,
+	                                  int from,
+	                                  int to,
+	                                  String delimiters)
+	{
+		while (from < to)
+		{
+			char c = text.charAt(from);
+			if (!Character.isWhitespace(c) && (delimiters.indexOf(c) < 0))
+			{
+				break;
+			}
+			from++;
+		}
+		return from;
+	}
+
+	/**
+	 * Scans a decimal number starting at from and stores it in
+	 * {@link #value}, the index following the number is stored in
+	 * {@link #end}
+	 * @param text the text to scan
+	 * @param from index of the first char of the number
+	 * @param to index following the last char which may belong to the number
+	 * @param signed true if a sign, an exponent and special values ("NaN",
+	 * "Infinity") are allowed
+	 * @return {@link Status#VALID} if a number has been scanned,
+	 * {@link Status#INCOMPLETE} if the scanned chars may begin a number or
+	 * {@link Status#INVALID} otherwise
+	 */
+	private Status scanNumber(CharSequence text, int from, int to, boolean signed)
+	{
+		int index = from;
+		boolean negative = false;
+		char c = text.charAt(index);
+		if (signed && ((c == '-') || (c == '+')))
+		{
+			negative = c == '-';
+			index++;
+			if (index == to)
+			{
+				return Status.INCOMPLETE;
+			}
+		}
+
+		int start = index;
+		long significand = 0L;
+		int digits = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		boolean exact = true;
+
+		// Integer part
+		for (; index < to; index++)
+		{
+			int d = text.charAt(index) - '0';
+			if ((d < 0) || (d > 9))
+			{
+				break;
+			}
+			digits++;
+			if (significantDigits < MaxSignificantDigits)
+			{
+				if ((significand != 0) || (d != 0))
+				{
+					significantDigits++;
+				}
+				significand = (significand * 10) + d;
+			}
+			else
+			{
+				exponent++;
+				exact &= d == 0;
+			}
+		}
+
+		// Fractional part
+		if ((index < to) && (text.charAt(index) == '.'))
+		{
+			for (index++; index < to; index++)
+			{
+				int d = text.charAt(index) - '0';
+				if ((d < 0) || (d > 9))
+				{
+					break;
+				}
+				digits++;
+				if (significantDigits < MaxSignificantDigits)
+				{
+					if ((significand != 0) || (d != 0))
+					{
+						significantDigits++;
+					}
+					significand = (significand * 10) + d;
+					exponent--;
+				}
+				else
+				{
+					exact &= d == 0;
+				}
+			}
+		}
+
+		if (digits == 0)
+		{
+			if (!signed)
+			{
+				return (index == to) ? Status.INCOMPLETE : Status.INVALID;
+			}
+			return scanSpecial(text, from, start, to);
+		}
+
+		// Exponent part
+		if (signed && (index < to) && ((text.charAt(index) | 0x20) == 'e'))
+		{
+			index++;
+			boolean negativeExponent = false;
+			if (index < to)
+			{
+				c = text.charAt(index);
+				if ((c == '-') || (c == '+'))
+				{
+					negativeExponent = c == '-';
+					index++;
+				}
+			}
+			int exponentDigits = 0;
+			int explicitExponent = 0;
+			for (; index < to; index++)
+			{
+				int d = text.charAt(index) - '0';
+				if ((d < 0) || (d > 9))
+				{
+					break;
+				}
+				exponentDigits++;
+				if (explicitExponent < 100000)
+				{
+					explicitExponent = (explicitExponent * 10) + d;
+				}
+			}
+			if (exponentDigits == 0)
+			{
+				return (index == to) ? Status.INCOMPLETE : Status.INVALID;
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		end = index;
+
+		if (significand == 0)
+		{
+			value = negative ? -0.0 : 0.0;
+			return Status.VALID;
+		}
+
+		if (exact
+		    && (significand <= MaxExactSignificand)
+		    && (exponent >= -22)
+		    && (exponent <= 22))
+		{
+			double result = significand;
+			if (exponent < 0)
+			{
+				result /= PowersOfTen[-exponent];
+			}
+			else
+			{
+				result *= PowersOfTen[exponent];
+			}
+			value = negative ? -result : result;
+			return Status.VALID;
+		}
+
+		// Syntax has been checked so parseDouble can't fail
+		value = Double.parseDouble(text.subSequence(from, index).toString());
+		return Status.VALID;
+	}
+
+	/**
+	 * Scans special values "NaN" and "Infinity" (evt signed) which shall
+	 * end at to
+	 * @param text the text to scan
+	 * @param from index of the first char of the value (evt its sign)
+	 * @param index index of the first char following the sign
+	 * @param to index following the last char of the value
+	 * @return {@link Status#VALID} if a special value has been scanned,
+	 * {@link Status#INCOMPLETE} if the scanned chars may begin a special value
+	 * or a number, or {@link Status#INVALID} otherwise
+	 */
+	private Status scanSpecial(CharSequence text, int from, int index, int to)
+	{
+		if ((index < to) && (text.charAt(index) == '.'))
+		{
+			return (index + 1) == to ? Status.INCOMPLETE : Status.INVALID;
+		}
+		boolean negative = text.charAt(from) == '-';
+		String special = null;
+		if (text.charAt(index) == 'N')
+		{
+			special = "NaN";
+		}
+		else if (text.charAt(index) == 'I')
+		{
+			special = "Infinity";
+		}
+		if (special == null)
+		{
+			return Status.INVALID;
+		}
+		int length = to - index;
+		for (int i = 0; i < Math.min(length, special.length()); i++)
+		{
+			if (text.charAt(index + i) != special.charAt(i))
+			{
+				return Status.INVALID;
+			}
+		}
+		if (length < special.length())
+		{
+			return Status.INCOMPLETE;
+		}
+		if (length > special.length())
+		{
+			return Status.INVALID;
+		}
+		end = to;
+		if (special.length() == 3)
+		{
+			value = Double.NaN;
+		}
+		else
+		{
+			value = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		}
+		return Status.VALID;
+	}
+}
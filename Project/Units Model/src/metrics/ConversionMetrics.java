@@ -0,0 +1,69 @@
+package metrics;
+
+import measures.MeasureType;
+
+/**
+ * Pluggable recorder of conversion metrics.
+ * Recorders are called on conversion paths and should therefore only
+ * update contention-free counters (such as
+ * {@link java.util.concurrent.atomic.LongAdder}s). All methods do nothing by
+ * default and {@link #None} is the recorder used when metrics are disabled,
+ * in which case callers should not even measure latencies.
+ * @author davidroussel
+ * @see measures.units.UnitsFactory#setMetrics(ConversionMetrics)
+ * @see UnitsMetrics
+ */
+public interface ConversionMetrics
+{
+	/**
+	 * Recorder ignoring all metrics
+	 */
+	public static final ConversionMetrics None = new ConversionMetrics()
+	{
+		@Override
+		public boolean isEnabled()
+		{
+			return false;
+		}
+	};
+
+	/**
+	 * Indicates if metrics are recorded so callers can avoid measuring
+	 * latencies when they are not
+	 * @return true if metrics are recorded
+	 */
+	public default boolean isEnabled()
+	{
+		return true;
+	}
+
+	/**
+	 * Records a single conversion
+	 * @param type the type of measure converted
+	 * @param nanos the duration of the conversion in nanoseconds
+	 */
+	public default void recordConversion(MeasureType type, long nanos)
+	{
+		// Nothing by default
+	}
+
+	/**
+	 * Records a bulk conversion of several values
+	 * @param type the type of measure converted
+	 * @param count the number of converted values
+	 * @param nanos the duration of the whole bulk conversion in nanoseconds
+	 */
+	public default void recordConversions(MeasureType type, long count, long nanos)
+	{
+		// Nothing by default
+	}
+
+	/**
+	 * Records a text which couldn't be parsed as a value
+	 * @param type the type of measure of the value to parse (might be null)
+	 */
+	public default void recordParseFailure(MeasureType type)
+	{
+		// Nothing by default
+	}
+}
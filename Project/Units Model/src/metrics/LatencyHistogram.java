@@ -0,0 +1,198 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free histogram of latencies (or any positive long values) with
+ * log-linear buckets similar to HDR histograms: values below
+ * {@link #SubBuckets} are counted exactly and greater values are counted in
+ * {@link #SubBuckets} buckets per power of 2, hence with a relative
+ * precision of about 3%. Values greater than 2^{@link #MaxMagnitude} are
+ * counted in the last bucket.
+ * Each bucket is a {@link LongAdder} so that concurrent recordings never
+ * contend. Percentiles are computed from a (non atomic) snapshot of buckets.
+ * @author davidroussel
+ */
+public class LatencyHistogram
+{
+	/**
+	 * Number of bits of the sub-buckets index
+	 */
+	private static final int SubBits = 5;
+
+	/**
+	 * Number of buckets per power of 2
+	 */
+	public static final int SubBuckets = 1 << SubBits;
+
+	/**
+	 * Max power of 2 of distinguished values (2^40 ns is about 18 minutes)
+	 */
+	public static final int MaxMagnitude = 40;
+
+	/**
+	 * Buckets counts
+	 */
+	private final LongAdder[] buckets;
+
+	/**
+	 * Number of recorded values
+	 */
+	private final LongAdder count;
+
+	/**
+	 * Sum of recorded values
+	 */
+	private final LongAdder sum;
+
+	/**
+	 * Max recorded value
+	 */
+	private final LongAccumulator max;
+
+	/**
+	 * Constructor of an empty histogram
+	 */
+	public LatencyHistogram()
+	{
+		buckets = new LongAdder[(MaxMagnitude - SubBits + 2) * SubBuckets];
+		for (int i = 0; i < buckets.length; i++)
+		{
+			buckets[i] = new LongAdder();
+		}
+		count = new LongAdder();
+		sum = new LongAdder();
+		max = new LongAccumulator(Math::max, 0L);
+	}
+
+	/**
+	 * Records a value
+	 * @param value the value to record (negative values are recorded as 0)
+	 */
+	public void record(long value)
+	{
+		long v = Math.max(0L, value);
+		buckets[index(v)].increment();
+		count.increment();
+		sum.add(v);
+		max.accumulate(v);
+	}
+
+	/**
+	 * Number of recorded values
+	 * @return the number of recorded values
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * Max recorded value
+	 * @return the max recorded value (or 0 if no value has been recorded)
+	 */
+	public long getMax()
+	{
+		return max.get();
+	}
+
+	/**
+	 * Mean of recorded values
+	 * @return the mean of recorded values (or 0 if no value has been
+	 * recorded)
+	 */
+	public double getMean()
+	{
+		long n = count.sum();
+		return n == 0L ? 0.0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Value below which the provided percentage of recorded values lie
+	 * @param percentile the percentage of values in [0..100]
+	 * @return the upper bound of the bucket containing this percentile (which
+	 * is at most {@link #getMax()}), or 0 if no value has been recorded
+	 * @throws IllegalArgumentException if percentile is not in [0..100]
+	 */
+	public long getPercentile(double percentile) throws IllegalArgumentException
+	{
+		if (!((percentile >= 0.0) && (percentile <= 100.0)))
+		{
+			throw new IllegalArgumentException("invalid percentile " + percentile);
+		}
+		long[] counts = new long[buckets.length];
+		long total = 0L;
+		for (int i = 0; i < counts.length; i++)
+		{
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		if (total == 0L)
+		{
+			return 0L;
+		}
+		long target = Math.max(1L, (long) Math.ceil((percentile / 100.0) * total));
+		long cumulated = 0L;
+		for (int i = 0; i < counts.length; i++)
+		{
+			cumulated += counts[i];
+			if (cumulated >= target)
+			{
+				return Math.min(upperBound(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Clears all recorded values
+	 */
+	public void reset()
+	{
+		for (LongAdder bucket : buckets)
+		{
+			bucket.reset();
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	/**
+	 * Index of the bucket of a value
+	 * @param value the positive value
+	 * @return the index of the bucket counting this value
+	 */
+	static int index(long value)
+	{
+		if (value < SubBuckets)
+		{
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if (magnitude > MaxMagnitude)
+		{
+			return ((MaxMagnitude - SubBits + 2) * SubBuckets) - 1;
+		}
+		int shift = magnitude - SubBits;
+		return ((shift + 1) * SubBuckets)
+		    + ((int) (value >>> shift) & (SubBuckets - 1));
+	}
+
+	/**
+	 * Greatest value counted in a bucket
+	 * @param index the index of the bucket
+	 * @return the greatest value counted in this bucket
+	 */
+	static long upperBound(int index)
+	{
+		if (index < SubBuckets)
+		{
+			return index;
+		}
+		int shift = (index / SubBuckets) - 1;
+		int sub = index % SubBuckets;
+		return ((SubBuckets + sub + 1L) << shift) - 1L;
+	}
+}
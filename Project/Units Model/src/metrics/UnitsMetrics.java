@@ -0,0 +1,286 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import measures.MeasureType;
+import measures.units.UnitsFactory;
+
+/**
+ * {@link ConversionMetrics} recorder publishing its figures through JMX.
+ * All figures are recorded with {@link LongAdder}s (and conversions latencies
+ * in a {@link LatencyHistogram}) so that concurrent recordings don't contend.
+ * Typical use:
+ * <pre>
+ * UnitsMetrics metrics = new UnitsMetrics();
+ * metrics.register(); // optional: publish to the platform MBean server
+ * UnitsFactory.setMetrics(metrics);
+ * </pre>
+ * @author davidroussel
+ */
+public class UnitsMetrics implements ConversionMetrics, UnitsMetricsMXBean
+{
+	/**
+	 * Default JMX name of metrics
+	 */
+	public static final String DefaultName = "measures.units:type=UnitsMetrics";
+
+	/**
+	 * Min duration (in ns) of throughput sampling periods
+	 */
+	private static final long SamplingPeriod = 1000000000L;
+
+	/**
+	 * Number of converted values
+	 */
+	private final LongAdder conversions;
+
+	/**
+	 * Number of parse failures
+	 */
+	private final LongAdder parseFailures;
+
+	/**
+	 * Number of converted values per {@link MeasureType} (indexed by ordinal)
+	 */
+	private final LongAdder[] usage;
+
+	/**
+	 * Latencies of single conversions
+	 */
+	private final LatencyHistogram latencies;
+
+	/**
+	 * Time of the beginning of the current sampling period
+	 */
+	private long sampleTime;
+
+	/**
+	 * Number of conversions at the beginning of the current sampling period
+	 */
+	private long sampleConversions;
+
+	/**
+	 * Throughput measured over the last sampling period
+	 */
+	private double throughput;
+
+	/**
+	 * Constructor
+	 */
+	public UnitsMetrics()
+	{
+		conversions = new LongAdder();
+		parseFailures = new LongAdder();
+		usage = new LongAdder[MeasureType.values().length];
+		for (int i = 0; i < usage.length; i++)
+		{
+			usage[i] = new LongAdder();
+		}
+		latencies = new LatencyHistogram();
+		sampleTime = System.nanoTime();
+		sampleConversions = 0L;
+		throughput = 0.0;
+	}
+
+	/**
+	 * Registers these metrics to the platform MBean server under
+	 * {@link #DefaultName}, replacing previously registered metrics
+	 * @return the name these metrics have been registered with
+	 * @throws JMException if these metrics can't be registered
+	 */
+	public ObjectName register() throws JMException
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(DefaultName);
+		try
+		{
+			server.registerMBean(this, name);
+		}
+		catch (InstanceAlreadyExistsException e)
+		{
+			server.unregisterMBean(name);
+			server.registerMBean(this, name);
+		}
+		return name;
+	}
+
+	/**
+	 * Accessor to the histogram of single conversions latencies
+	 * @return the histogram of single conversions latencies
+	 */
+	public LatencyHistogram getLatencies()
+	{
+		return latencies;
+	}
+
+	@Override
+	public void recordConversion(MeasureType type, long nanos)
+	{
+		conversions.increment();
+		if (type != null)
+		{
+			usage[type.ordinal()].increment();
+		}
+		latencies.record(nanos);
+	}
+
+	@Override
+	public void recordConversions(MeasureType type, long count, long nanos)
+	{
+		conversions.add(count);
+		if (type != null)
+		{
+			usage[type.ordinal()].add(count);
+		}
+	}
+
+	@Override
+	public void recordParseFailure(MeasureType type)
+	{
+		parseFailures.increment();
+	}
+
+	@Override
+	public long getConversions()
+	{
+		return conversions.sum();
+	}
+
+	@Override
+	public synchronized double getConversionsPerSecond()
+	{
+		long now = System.nanoTime();
+		long elapsed = now - sampleTime;
+		if (elapsed >= SamplingPeriod)
+		{
+			long count = conversions.sum();
+			throughput = ((count - sampleConversions) * 1e9) / elapsed;
+			sampleTime = now;
+			sampleConversions = count;
+		}
+		return throughput;
+	}
+
+	@Override
+	public long getParseFailures()
+	{
+		return parseFailures.sum();
+	}
+
+	@Override
+	public long getUnitsHits()
+	{
+		return UnitsFactory.getUnitsHits();
+	}
+
+	@Override
+	public long getUnitsMisses()
+	{
+		return UnitsFactory.getUnitsMisses();
+	}
+
+	@Override
+	public Map<String, Long> getUsage()
+	{
+		Map<String, Long> map = new LinkedHashMap<String, Long>();
+		for (MeasureType type : MeasureType.values())
+		{
+			map.put(type.name(), Long.valueOf(usage[type.ordinal()].sum()));
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	@Override
+	public long getLatencyCount()
+	{
+		return latencies.getCount();
+	}
+
+	@Override
+	public double getLatencyMean()
+	{
+		return latencies.getMean();
+	}
+
+	@Override
+	public long getLatency50th()
+	{
+		return latencies.getPercentile(50.0);
+	}
+
+	@Override
+	public long getLatency90th()
+	{
+		return latencies.getPercentile(90.0);
+	}
+
+	@Override
+	public long getLatency99th()
+	{
+		return latencies.getPercentile(99.0);
+	}
+
+	@Override
+	public long getLatency999th()
+	{
+		return latencies.getPercentile(99.9);
+	}
+
+	@Override
+	public long getLatencyMax()
+	{
+		return latencies.getMax();
+	}
+
+	@Override
+	public synchronized void reset()
+	{
+		conversions.reset();
+		parseFailures.reset();
+		for (LongAdder adder : usage)
+		{
+			adder.reset();
+		}
+		latencies.reset();
+		sampleTime = System.nanoTime();
+		sampleConversions = 0L;
+		throughput = 0.0;
+	}
+
+	/**
+	 * String representation of these metrics
+	 * @return a multi-line report of these metrics
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("conversions ").append(getConversions()).append('\n');
+		builder.append("conversions/s ").append(getConversionsPerSecond()).append('\n');
+		builder.append("parse failures ").append(getParseFailures()).append('\n');
+		builder.append("units hits ").append(getUnitsHits()).append('\n');
+		builder.append("units misses ").append(getUnitsMisses()).append('\n');
+		for (Map.Entry<String, Long> entry : getUsage().entrySet())
+		{
+			builder.append("usage ").append(entry.getKey()).append(' ')
+			    .append(entry.getValue()).append('\n');
+		}
+		builder.append("latency count ").append(getLatencyCount()).append('\n');
+		builder.append("latency mean ").append(getLatencyMean()).append('\n');
+		builder.append("latency p50 ").append(getLatency50th()).append('\n');
+		builder.append("latency p90 ").append(getLatency90th()).append('\n');
+		builder.append("latency p99 ").append(getLatency99th()).append('\n');
+		builder.append("latency p999 ").append(getLatency999th()).append('\n');
+		builder.append("latency max ").append(getLatencyMax()).append('\n');
+		return builder.toString();
+	}
+}
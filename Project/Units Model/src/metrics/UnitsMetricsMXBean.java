@@ -0,0 +1,95 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * JMX management interface of {@link UnitsMetrics}.
+ * Latencies are expressed in nanoseconds.
+ * @author davidroussel
+ */
+public interface UnitsMetricsMXBean
+{
+	/**
+	 * Total number of converted values
+	 * @return the number of converted values since last reset
+	 */
+	public abstract long getConversions();
+
+	/**
+	 * Conversions throughput
+	 * @return the number of converted values per second measured over the
+	 * last sampling period (of at least one second)
+	 */
+	public abstract double getConversionsPerSecond();
+
+	/**
+	 * Number of texts which couldn't be parsed as values
+	 * @return the number of parse failures since last reset
+	 */
+	public abstract long getParseFailures();
+
+	/**
+	 * Number of units requests satisfied by the units flyweight factory
+	 * @return the number of units flyweight cache hits
+	 */
+	public abstract long getUnitsHits();
+
+	/**
+	 * Number of units built by the units flyweight factory
+	 * @return the number of units flyweight cache misses
+	 */
+	public abstract long getUnitsMisses();
+
+	/**
+	 * Number of converted values per type of measure
+	 * @return a map of converted values counts by measure type names
+	 */
+	public abstract Map<String, Long> getUsage();
+
+	/**
+	 * Number of conversions whose latency has been recorded
+	 * @return the number of recorded latencies
+	 */
+	public abstract long getLatencyCount();
+
+	/**
+	 * Mean conversion latency
+	 * @return the mean conversion latency
+	 */
+	public abstract double getLatencyMean();
+
+	/**
+	 * Median conversion latency
+	 * @return the 50th percentile of conversion latencies
+	 */
+	public abstract long getLatency50th();
+
+	/**
+	 * 90th percentile conversion latency
+	 * @return the 90th percentile of conversion latencies
+	 */
+	public abstract long getLatency90th();
+
+	/**
+	 * 99th percentile conversion latency
+	 * @return the 99th percentile of conversion latencies
+	 */
+	public abstract long getLatency99th();
+
+	/**
+	 * 99.9th percentile conversion latency
+	 * @return the 99.9th percentile of conversion latencies
+	 */
+	public abstract long getLatency999th();
+
+	/**
+	 * Max conversion latency
+	 * @return the max conversion latency
+	 */
+	public abstract long getLatencyMax();
+
+	/**
+	 * Resets all counters and latencies (flyweight caches counts excepted)
+	 */
+	public abstract void reset();
+}
@@ -0,0 +1,7 @@
+/**
+ * Package containing metrics of the units model (conversions counts and
+ * latencies, parse failures, flyweight caches efficiency) which can be
+ * plugged into {@link measures.units.UnitsFactory} and published through JMX
+ * @author davidroussel
+ */
+package metrics;
@@ -0,0 +1,691 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import logger.LazyLog;
+import logger.LoggerFactory;
+import measures.MeasureType;
+import measures.units.ConversionMatrix;
+import measures.units.ConversionPlan;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+import measures.units.ValueParser;
+import metrics.ConversionMetrics;
+import metrics.UnitsMetrics;
+
+/**
+ * Headless HTTP conversion service over {@link UnitsFactory} catalogues,
+ * built on the JDK's {@link HttpServer}:
+ * <ul>
+ * 	<li>GET /types : names of all {@link MeasureType}s (one per line)</li>
+ * 	<li>GET /units?type=LENGTH : symbol and description (tab separated) of
+ * 	each unit of a type, in {@link ConversionMatrix} order</li>
+ * 	<li>GET /convert?type=LENGTH&amp;from=m&amp;to=cm&amp;value=1.5 : a single
+ * 	converted value</li>
+ * 	<li>POST /convert?type=LENGTH&amp;from=m&amp;to=cm : bulk conversion of
+ * 	the request body, either binary (Content-Type application/octet-stream:
+ * 	big-endian doubles, converted values are returned the same way) or text
+ * 	(one value per line, invalid values are returned as NaN). Bodies are
+ * 	streamed and converted by batches of {@link #getBatchSize()} values with
+ * 	the cached {@link ConversionPlan} of the (from, to) pair, so bodies of any
+ * 	size are converted in constant memory.</li>
+ * 	<li>GET /metrics : current {@link UnitsMetrics} (when metrics recorded
+ * 	by {@link UnitsFactory#getMetrics()} are {@link UnitsMetrics})</li>
+ * </ul>
+ * Units are designated by symbol or description. Each exchange runs on a
+ * thread of the provided {@link ExecutorService}: {@link #main(String[])}
+ * and {@link LoadTest} run each exchange on its own virtual thread with
+ * {@link #newPerExchangeExecutor()}. Virtual threads are only available since
+ * Java 21, and this project compiles for Java 17, so the executor is looked up
+ * reflectively. On older runtimes it falls back to a cached thread pool.
+ * Small responses are delayed by Nagle's algorithm combined with clients
+ * delayed ACKs (about 40 ms per request) unless the JVM runs with
+ * {@code -Dsun.net.httpserver.nodelay=true}, which {@link #main(String[])}
+ * and {@link LoadTest} set through {@link #enableNoDelay()} when not
+ * specified. Applications embedding this server should do the same.
+ * @author davidroussel
+ * @see LoadTest
+ */
+public class ConversionServer
+{
+	/**
+	 * Default number of values converted by batch
+	 */
+	public static final int DefaultBatchSize = 8192;
+
+	/**
+	 * Content type of binary bodies
+	 */
+	public static final String BinaryType = "application/octet-stream";
+
+	/**
+	 * Content type of text bodies
+	 */
+	public static final String TextType = "text/plain; charset=utf-8";
+
+	/**
+	 * JVM wide system property disabling Nagle's algorithm on connections of
+	 * the JDK's {@link HttpServer}s
+	 * @see #enableNoDelay()
+	 */
+	public static final String NoDelayProperty = "sun.net.httpserver.nodelay";
+
+	/**
+	 * The HTTP server
+	 */
+	private final HttpServer server;
+
+	/**
+	 * The executor running exchanges
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Number of values converted by batch
+	 */
+	private final int batchSize;
+
+	/**
+	 * Logger
+	 */
+	private final Logger logger;
+
+	/**
+	 * Constructor.
+	 * The server is not started.
+	 * @param address the address to bind to (port 0 for any free port)
+	 * @param executor the executor running exchanges, which is shut down when
+	 * this server is stopped
+	 * @param batchSize the number of values converted by batch
+	 * @throws IOException if the server can't be bound
+	 * @throws IllegalArgumentException if batchSize is not positive
+	 */
+	public ConversionServer(InetSocketAddress address,
+	                        ExecutorService executor,
+	                        int batchSize)
+	    throws IOException,
+	    IllegalArgumentException
+	{
+		if (batchSize <= 0)
+		{
+			throw new IllegalArgumentException("invalid batch size " + batchSize);
+		}
+		this.executor = executor;
+		this.batchSize = batchSize;
+		logger = LoggerFactory.getParentLogger(getClass(), null, Level.INFO);
+		server = HttpServer.create(address, 0);
+		server.setExecutor(executor);
+		server.createContext("/types", (HttpExchange e) -> serve(e, this::handleTypes));
+		server.createContext("/units", (HttpExchange e) -> serve(e, this::handleUnits));
+		server.createContext("/convert", (HttpExchange e) -> serve(e, this::handleConvert));
+		server.createContext("/metrics", (HttpExchange e) -> serve(e, this::handleMetrics));
+	}
+
+	/**
+	 * Starts this server
+	 */
+	public void start()
+	{
+		server.start();
+		LazyLog.log(logger, Level.INFO, "Conversion server listening on port ", getPort());
+	}
+
+	/**
+	 * Stops this server and shuts down its executor
+	 * @param delay max time (in seconds) to wait for current exchanges
+	 */
+	public void stop(int delay)
+	{
+		server.stop(delay);
+		executor.shutdown();
+		try
+		{
+			executor.awaitTermination(delay, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Accessor to the bound port
+	 * @return the port this server is bound to
+	 */
+	public int getPort()
+	{
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Accessor to the number of values converted by batch
+	 * @return the number of values converted by batch
+	 */
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Handler of an exchange
+	 */
+	@FunctionalInterface
+	private interface Action
+	{
+		/**
+		 * Handles an exchange
+		 * @param exchange the exchange to handle
+		 * @throws IOException if the request can't be read or the response
+		 * sent
+		 * @throws ParseException if units can't be built
+		 * @throws IllegalArgumentException if the request is invalid
+		 */
+		void handle(HttpExchange exchange)
+		    throws IOException,
+		    ParseException,
+		    IllegalArgumentException;
+	}
+
+	/**
+	 * Handles an exchange by answering invalid requests with a 400 error,
+	 * failed requests with a 500 error and closing the exchange
+	 * @param exchange the exchange to handle
+	 * @param action the handler of the exchange
+	 * @throws IOException if the response can't be sent
+	 */
+	private void serve(HttpExchange exchange, Action action) throws IOException
+	{
+		try
+		{
+			action.handle(exchange);
+		}
+		catch (IllegalArgumentException | ParseException e)
+		{
+			LazyLog.fine(logger, "Bad request: ", e.getLocalizedMessage());
+			if (exchange.getResponseCode() < 0) // headers not sent yet
+			{
+				sendText(exchange, 400, e.getLocalizedMessage() + '\n');
+			}
+		}
+		catch (RuntimeException e)
+		{
+			logger.log(Level.SEVERE, "Internal error", e);
+			if (exchange.getResponseCode() < 0) // headers not sent yet
+			{
+				sendText(exchange, 500, "internal error\n");
+			}
+		}
+		finally
+		{
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Handles /types
+	 * @param exchange the exchange to handle
+	 * @throws IOException if the response can't be sent
+	 */
+	private void handleTypes(HttpExchange exchange) throws IOException
+	{
+		if (!checkMethod(exchange, "GET"))
+		{
+			return;
+		}
+		StringBuilder builder = new StringBuilder();
+		for (MeasureType type : MeasureType.all())
+		{
+			builder.append(type.name()).append('\n');
+		}
+		sendText(exchange, 200, builder);
+	}
+
+	/**
+	 * Handles /units
+	 * @param exchange the exchange to handle
+	 * @throws IOException if the response can't be sent
+	 * @throws ParseException if units can't be built
+	 * @throws IllegalArgumentException if the type parameter is invalid
+	 */
+	private void handleUnits(HttpExchange exchange)
+	    throws IOException,
+	    ParseException,
+	    IllegalArgumentException
+	{
+		if (!checkMethod(exchange, "GET"))
+		{
+			return;
+		}
+		Map<String, String> query = query(exchange.getRequestURI());
+		StringBuilder builder = new StringBuilder();
+		for (Unit<Double> unit : UnitsFactory
+		    .getConversionMatrix(type(query)).getUnits())
+		{
+			builder.append(unit.getSymbol()).append('\t')
+			    .append(unit.getDescription()).append('\n');
+		}
+		sendText(exchange, 200, builder);
+	}
+
+	/**
+	 * Handles /convert
+	 * @param exchange the exchange to handle
+	 * @throws IOException if the request can't be read or the response sent
+	 * @throws ParseException if units can't be built
+	 * @throws IllegalArgumentException if a parameter or the value is invalid
+	 */
+	private void handleConvert(HttpExchange exchange)
+	    throws IOException,
+	    ParseException,
+	    IllegalArgumentException
+	{
+		String method = exchange.getRequestMethod();
+		if (!method.equals("GET") && !method.equals("POST"))
+		{
+			checkMethod(exchange, "GET, POST");
+			return;
+		}
+		Map<String, String> query = query(exchange.getRequestURI());
+		MeasureType type = type(query);
+		ConversionPlan plan = UnitsFactory.getConversionPlan(unit(type, query, "from"),
+		                                                     unit(type, query, "to"));
+		ConversionMetrics metrics = UnitsFactory.getMetrics();
+		if (method.equals("GET"))
+		{
+			String text = query.get("value");
+			ValueParser parser = new ValueParser();
+			if ((text == null)
+			    || (plan.getSource().parseValue(text, parser) != ValueParser.Status.VALID))
+			{
+				metrics.recordParseFailure(type);
+				throw new IllegalArgumentException("invalid value " + text);
+			}
+			long start = System.nanoTime();
+			double result = plan.convert(parser.getValue());
+			metrics.recordConversion(type, System.nanoTime() - start);
+			sendText(exchange, 200, Double.toString(result) + '\n');
+			return;
+		}
+		String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		if ((contentType != null) && contentType.startsWith(BinaryType))
+		{
+			convertBinary(exchange, type, plan);
+		}
+		else
+		{
+			convertText(exchange, type, plan);
+		}
+	}
+
+	/**
+	 * Handles /metrics
+	 * @param exchange the exchange to handle
+	 * @throws IOException if the response can't be sent
+	 */
+	private void handleMetrics(HttpExchange exchange) throws IOException
+	{
+		if (!checkMethod(exchange, "GET"))
+		{
+			return;
+		}
+		ConversionMetrics metrics = UnitsFactory.getMetrics();
+		sendText(exchange, 200, metrics instanceof UnitsMetrics
+		    ? metrics.toString() : "metrics disabled\n");
+	}
+
+	/**
+	 * Streams a binary bulk conversion.
+	 * Response headers are sent once the first batch has been read, so a body
+	 * whose length is not a multiple of {@link Double#BYTES} is answered with
+	 * a 400 error when its length is announced or when it fits in a single
+	 * batch. Otherwise the response is truncated before the batch containing
+	 * the partial value.
+	 * @param exchange the exchange to handle
+	 * @param type the type of measure converted
+	 * @param plan the plan converting values
+	 * @throws IOException if the request can't be read or the response sent
+	 * @throws IllegalArgumentException if the body length is not a multiple
+	 * of {@link Double#BYTES}
+	 */
+	private void convertBinary(HttpExchange exchange,
+	                           MeasureType type,
+	                           ConversionPlan plan)
+	    throws IOException,
+	    IllegalArgumentException
+	{
+		String length = exchange.getRequestHeaders().getFirst("Content-Length");
+		if ((length != null) && ((Long.parseLong(length) % Double.BYTES) != 0))
+		{
+			throw new IllegalArgumentException("binary body length "
+			    + length + " is not a multiple of " + Double.BYTES);
+		}
+		ConversionMetrics metrics = UnitsFactory.getMetrics();
+		byte[] bytes = new byte[batchSize * Double.BYTES];
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		double[] values = new double[batchSize];
+		InputStream input = exchange.getRequestBody();
+		int read = readBatch(input, bytes);
+		exchange.getResponseHeaders().set("Content-Type", BinaryType);
+		exchange.sendResponseHeaders(200, 0);
+		OutputStream output = exchange.getResponseBody();
+		while (read > 0)
+		{
+			int count = read / Double.BYTES;
+			buffer.clear();
+			buffer.asDoubleBuffer().get(values, 0, count);
+			long start = System.nanoTime();
+			plan.convert(values, 0, values, 0, count);
+			metrics.recordConversions(type, count, System.nanoTime() - start);
+			buffer.asDoubleBuffer().put(values, 0, count);
+			output.write(bytes, 0, count * Double.BYTES);
+			read = read < bytes.length ? 0 : readBatch(input, bytes);
+		}
+		output.flush();
+	}
+
+	/**
+	 * Reads a batch of binary values
+	 * @param input the stream to read
+	 * @param bytes the buffer to fill
+	 * @return the number of bytes read (0 at the end of input)
+	 * @throws IOException if the stream can't be read
+	 * @throws IllegalArgumentException if the number of bytes read is not a
+	 * multiple of {@link Double#BYTES}
+	 */
+	private static int readBatch(InputStream input, byte[] bytes)
+	    throws IOException,
+	    IllegalArgumentException
+	{
+		int read = input.readNBytes(bytes, 0, bytes.length);
+		if ((read % Double.BYTES) != 0)
+		{
+			throw new IllegalArgumentException("binary body length is not a multiple of "
+			    + Double.BYTES);
+		}
+		return read;
+	}
+
+	/**
+	 * Streams a text bulk conversion
+	 * @param exchange the exchange to handle
+	 * @param type the type of measure converted
+	 * @param plan the plan converting values
+	 * @throws IOException if the request can't be read or the response sent
+	 */
+	private void convertText(HttpExchange exchange,
+	                         MeasureType type,
+	                         ConversionPlan plan)
+	    throws IOException
+	{
+		ConversionMetrics metrics = UnitsFactory.getMetrics();
+		ValueParser parser = new ValueParser();
+		Unit<Double> source = plan.getSource();
+		double[] values = new double[batchSize];
+		exchange.getResponseHeaders().set("Content-Type", TextType);
+		exchange.sendResponseHeaders(200, 0);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(),
+		                                                                 StandardCharsets.UTF_8));
+		Writer writer = new OutputStreamWriter(exchange.getResponseBody(),
+		                                       StandardCharsets.UTF_8);
+		StringBuilder builder = new StringBuilder();
+		String line;
+		int count = 0;
+		while ((line = reader.readLine()) != null)
+		{
+			if (source.parseValue(line, parser) == ValueParser.Status.VALID)
+			{
+				values[count++] = parser.getValue();
+			}
+			else
+			{
+				metrics.recordParseFailure(type);
+				values[count++] = Double.NaN;
+			}
+			if (count == batchSize)
+			{
+				writeBatch(writer, builder, type, plan, values, count);
+				count = 0;
+			}
+		}
+		writeBatch(writer, builder, type, plan, values, count);
+		writer.flush();
+	}
+
+	/**
+	 * Converts and writes a batch of text values
+	 * @param writer the writer to write converted values to
+	 * @param builder reused builder of converted values
+	 * @param type the type of measure converted
+	 * @param plan the plan converting values
+	 * @param values the values to convert
+	 * @param count the number of values to convert
+	 * @throws IOException if converted values can't be written
+	 */
+	private static void writeBatch(Writer writer,
+	                               StringBuilder builder,
+	                               MeasureType type,
+	                               ConversionPlan plan,
+	                               double[] values,
+	                               int count)
+	    throws IOException
+	{
+		if (count == 0)
+		{
+			return;
+		}
+		long start = System.nanoTime();
+		plan.convert(values, 0, values, 0, count);
+		UnitsFactory.getMetrics().recordConversions(type, count, System.nanoTime() - start);
+		builder.setLength(0);
+		for (int i = 0; i < count; i++)
+		{
+			builder.append(values[i]).append('\n');
+		}
+		writer.append(builder);
+	}
+
+	/**
+	 * Checks the method of an exchange and sends a 405 error if it is not
+	 * the expected one
+	 * @param exchange the exchange to check
+	 * @param expected the expected method (or allowed methods)
+	 * @return true if the method is the expected one
+	 * @throws IOException if the error can't be sent
+	 */
+	private static boolean checkMethod(HttpExchange exchange, String expected)
+	    throws IOException
+	{
+		if (exchange.getRequestMethod().equals(expected))
+		{
+			return true;
+		}
+		exchange.getResponseHeaders().set("Allow", expected);
+		sendText(exchange, 405, "method not allowed\n");
+		return false;
+	}
+
+	/**
+	 * Sends a text response
+	 * @param exchange the exchange to answer
+	 * @param code the response code
+	 * @param text the response body
+	 * @throws IOException if the response can't be sent
+	 */
+	private static void sendText(HttpExchange exchange, int code, CharSequence text)
+	    throws IOException
+	{
+		byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", TextType);
+		exchange.sendResponseHeaders(code, bytes.length);
+		try (OutputStream output = exchange.getResponseBody())
+		{
+			output.write(bytes);
+		}
+	}
+
+	/**
+	 * Decodes the query parameters of a request
+	 * @param uri the request URI
+	 * @return the decoded parameters
+	 */
+	private static Map<String, String> query(URI uri)
+	{
+		Map<String, String> parameters = new HashMap<String, String>();
+		String query = uri.getRawQuery();
+		if (query == null)
+		{
+			return parameters;
+		}
+		for (String parameter : query.split("&"))
+		{
+			int equal = parameter.indexOf('=');
+			if (equal > 0)
+			{
+				parameters.put(URLDecoder.decode(parameter.substring(0, equal),
+				                                 StandardCharsets.UTF_8),
+				               URLDecoder.decode(parameter.substring(equal + 1),
+				                                 StandardCharsets.UTF_8));
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * Type of measure requested by a query
+	 * @param query the query parameters
+	 * @return the requested type of measure
+	 * @throws IllegalArgumentException if type parameter is missing or invalid
+	 */
+	private static MeasureType type(Map<String, String> query)
+	    throws IllegalArgumentException
+	{
+		String name = query.get("type");
+		if (name == null)
+		{
+			throw new IllegalArgumentException("missing type parameter");
+		}
+		return MeasureType.valueOf(name);
+	}
+
+	/**
+	 * Unit requested by a query parameter
+	 * @param type the type of measure of the unit
+	 * @param query the query parameters
+	 * @param parameter the name of the parameter designating the unit by
+	 * symbol or description
+	 * @return the requested unit
+	 * @throws IllegalArgumentException if parameter is missing or if there is
+	 * no such unit
+	 * @throws ParseException if units of this type can't be built
+	 */
+	private static Unit<Double> unit(MeasureType type,
+	                                 Map<String, String> query,
+	                                 String parameter)
+	    throws IllegalArgumentException,
+	    ParseException
+	{
+		String name = query.get(parameter);
+		if (name == null)
+		{
+			throw new IllegalArgumentException("missing " + parameter + " parameter");
+		}
+		for (Unit<Double> unit : UnitsFactory.getConversionMatrix(type).getUnits())
+		{
+			if (name.equals(unit.getSymbol()) || name.equals(unit.getDescription()))
+			{
+				return unit;
+			}
+		}
+		throw new IllegalArgumentException("No unit " + name + " in " + type.name());
+	}
+
+	/**
+	 * Executor running each task on a new thread: a virtual thread when the
+	 * runtime provides {@code Executors.newVirtualThreadPerTaskExecutor()}
+	 * (Java 21 and later) or a thread of a cached pool otherwise
+	 * @return a new executor running each task on its own thread
+	 */
+	public static ExecutorService newPerExchangeExecutor()
+	{
+		try
+		{
+			return (ExecutorService) Executors.class
+			    .getMethod("newVirtualThreadPerTaskExecutor")
+			    .invoke(null);
+		}
+		catch (ReflectiveOperationException | ClassCastException e)
+		{
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Disables Nagle's algorithm on connections of {@link HttpServer}s
+	 * created afterwards by setting the {@link #NoDelayProperty} system
+	 * property, unless it has already been specified (e.g. on the command
+	 * line).
+	 * This property is read once by the JDK when its first server is
+	 * created, so this method shall be called before.
+	 */
+	public static void enableNoDelay()
+	{
+		if (System.getProperty(NoDelayProperty) == null)
+		{
+			System.setProperty(NoDelayProperty, "true");
+		}
+	}
+
+	/**
+	 * Runs a conversion server until the process is killed
+	 * @param args [port (default 8080)] [threads (default: one virtual thread
+	 * per exchange, see {@link #newPerExchangeExecutor()})]
+	 */
+	public static void main(String[] args)
+	{
+		enableNoDelay();
+		try
+		{
+			int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+			ExecutorService executor = args.length > 1
+			    ? Executors.newFixedThreadPool(Integer.parseInt(args[1]))
+			    : newPerExchangeExecutor();
+			UnitsMetrics metrics = new UnitsMetrics();
+			metrics.register();
+			UnitsFactory.setMetrics(metrics);
+			ConversionServer server = new ConversionServer(new InetSocketAddress(port),
+			                                               executor,
+			                                               DefaultBatchSize);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+			server.start();
+		}
+		catch (IOException | JMException | IllegalArgumentException e)
+		{
+			System.err.println(e.getLocalizedMessage());
+			System.exit(2);
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+import measures.units.UnitsFactory;
+import metrics.LatencyHistogram;
+import metrics.UnitsMetrics;
+
+/**
+ * Load-test harness of a {@link ConversionServer} running on localhost.
+ * Several client threads send requests in a closed loop during a fixed
+ * duration, then throughput and latency percentiles (in microseconds) are
+ * reported. Requests are either single conversions (GET /convert) or bulk
+ * binary conversions (POST /convert of a fixed number of values).
+ * When no port is provided, a server is started in the same process on a
+ * free port and its {@link UnitsMetrics} are also reported.
+ * @author davidroussel
+ */
+public class LoadTest
+{
+	/**
+	 * Request mode
+	 */
+	public enum Mode
+	{
+		/**
+		 * GET /convert of a single value
+		 */
+		SINGLE,
+		/**
+		 * POST /convert of a binary batch of values
+		 */
+		BULK
+	}
+
+	/**
+	 * The client sending requests
+	 */
+	private final HttpClient client;
+
+	/**
+	 * The base URI of the tested server (e.g. http://localhost:8080)
+	 */
+	private final URI base;
+
+	/**
+	 * Latencies of requests (in ns)
+	 */
+	private final LatencyHistogram latencies;
+
+	/**
+	 * Number of successful requests
+	 */
+	private final LongAdder requests;
+
+	/**
+	 * Number of failed requests
+	 */
+	private final LongAdder errors;
+
+	/**
+	 * Number of converted values
+	 */
+	private final LongAdder values;
+
+	/**
+	 * Constructor
+	 * @param base the base URI of the tested server
+	 */
+	public LoadTest(URI base)
+	{
+		this.base = base;
+		client = HttpClient.newBuilder()
+		    .version(HttpClient.Version.HTTP_1_1)
+		    .build();
+		latencies = new LatencyHistogram();
+		requests = new LongAdder();
+		errors = new LongAdder();
+		values = new LongAdder();
+	}
+
+	/**
+	 * Runs the load test
+	 * @param mode the request mode
+	 * @param threads the number of client threads
+	 * @param seconds the duration of the test
+	 * @param bulkSize the number of values per bulk request
+	 * @throws InterruptedException if interrupted while waiting for clients
+	 */
+	public void run(Mode mode, int threads, int seconds, int bulkSize)
+	    throws InterruptedException
+	{
+		long end = System.nanoTime() + (seconds * 1000000000L);
+		Thread[] clients = new Thread[threads];
+		for (int t = 0; t < threads; t++)
+		{
+			final long seed = t;
+			clients[t] = new Thread(() -> load(mode, end, bulkSize, seed),
+			                        "LoadTest-" + t);
+			clients[t].start();
+		}
+		for (Thread thread : clients)
+		{
+			thread.join();
+		}
+	}
+
+	/**
+	 * Closed loop of a client thread
+	 * @param mode the request mode
+	 * @param end the time (from {@link System#nanoTime()}) at which to stop
+	 * @param bulkSize the number of values per bulk request
+	 * @param seed the seed of random values
+	 */
+	private void load(Mode mode, long end, int bulkSize, long seed)
+	{
+		Random random = new Random(seed);
+		URI single = base.resolve("/convert?type=LENGTH&from=m&to=cm&value=");
+		URI bulk = base.resolve("/convert?type=TEMPERATURE&from=%C2%B0C&to=%C2%B0F");
+		byte[] body = new byte[bulkSize * Double.BYTES];
+		ByteBuffer buffer = ByteBuffer.wrap(body);
+		for (int i = 0; i < bulkSize; i++)
+		{
+			buffer.putDouble(random.nextDouble() * 100.0);
+		}
+		while (System.nanoTime() < end)
+		{
+			HttpRequest request;
+			if (mode == Mode.SINGLE)
+			{
+				request = HttpRequest
+				    .newBuilder(URI.create(single.toString() + random.nextInt(100000)))
+				    .GET()
+				    .build();
+			}
+			else
+			{
+				request = HttpRequest.newBuilder(bulk)
+				    .header("Content-Type", ConversionServer.BinaryType)
+				    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				    .build();
+			}
+			long start = System.nanoTime();
+			try
+			{
+				HttpResponse<byte[]> response =
+				    client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+				latencies.record(System.nanoTime() - start);
+				if (response.statusCode() == 200)
+				{
+					requests.increment();
+					values.add(mode == Mode.SINGLE ? 1
+					    : response.body().length / Double.BYTES);
+				}
+				else
+				{
+					errors.increment();
+				}
+			}
+			catch (IOException e)
+			{
+				errors.increment();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Report of this load test
+	 * @param seconds the duration of the test
+	 * @return a multi-line report of throughput and latencies
+	 */
+	public String report(int seconds)
+	{
+		return String.format(Locale.ROOT,
+		                     "requests %d, errors %d, %.1f requests/s, %.1f values/s%n"
+		                         + "latency (us) mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, "
+		                         + "p99.9 %.1f, max %.1f%n",
+		                     requests.sum(),
+		                     errors.sum(),
+		                     (double) requests.sum() / seconds,
+		                     (double) values.sum() / seconds,
+		                     latencies.getMean() / 1e3,
+		                     latencies.getPercentile(50.0) / 1e3,
+		                     latencies.getPercentile(90.0) / 1e3,
+		                     latencies.getPercentile(99.0) / 1e3,
+		                     latencies.getPercentile(99.9) / 1e3,
+		                     latencies.getMax() / 1e3);
+	}
+
+	/**
+	 * Runs a load test
+	 * @param args [mode SINGLE|BULK (default SINGLE)] [threads (default 8)]
+	 * [seconds (default 10)] [bulk size (default 8192)] [port (default: in
+	 * process server)]
+	 */
+	public static void main(String[] args)
+	{
+		try
+		{
+			Mode mode = args.length > 0 ? Mode.valueOf(args[0]) : Mode.SINGLE;
+			int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+			int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+			int bulkSize = args.length > 3 ? Integer.parseInt(args[3]) : 8192;
+			ConversionServer server = null;
+			int port;
+			if (args.length > 4)
+			{
+				port = Integer.parseInt(args[4]);
+			}
+			else
+			{
+				ConversionServer.enableNoDelay();
+				UnitsFactory.setMetrics(new UnitsMetrics());
+				server = new ConversionServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+				                              ConversionServer.newPerExchangeExecutor(),
+				                              ConversionServer.DefaultBatchSize);
+				server.start();
+				port = server.getPort();
+			}
+			LoadTest test = new LoadTest(URI.create("http://localhost:" + port));
+			test.run(mode, threads, seconds, bulkSize);
+			System.out.print(test.report(seconds));
+			if (server != null)
+			{
+				server.stop(0);
+				System.out.print("server metrics:\n" + UnitsFactory.getMetrics());
+			}
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			System.err.println(e.getLocalizedMessage());
+			System.exit(2);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
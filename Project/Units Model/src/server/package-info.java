@@ -0,0 +1,6 @@
+/**
+ * Package containing a headless HTTP conversion service built on top of the
+ * units model, and its load-test harness
+ * @author davidroussel
+ */
+package server;
@@ -0,0 +1,179 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import tools.AsciiDoubleParser;
+
+/**
+ * AsciiDoubleParser Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("AsciiDoubleParser")
+public class AsciiDoubleParserTest
+{
+	/**
+	 * The parser under test
+	 */
+	private AsciiDoubleParser testParser = null;
+
+	/**
+	 * Valid numbers provider
+	 * @return a stream of valid numbers strings
+	 */
+	private static Stream<String> validProvider()
+	{
+		return Stream.of("0",
+		                 "-0",
+		                 "+3",
+		                 "5.",
+		                 "-.5",
+		                 "0.1",
+		                 " 42 ",
+		                 "1e22",
+		                 "1e23",
+		                 "1E-5",
+		                 "9007199254740993",
+		                 "0.30000000000000004",
+		                 "123456789012345678901234",
+		                 "4.9e-324",
+		                 "1e-400",
+		                 "1.7976931348623157e308",
+		                 "1e400",
+		                 "NaN",
+		                 "-Infinity");
+	}
+
+	/**
+	 * Invalid numbers provider
+	 * @return a stream of invalid numbers strings
+	 */
+	private static Stream<String> invalidProvider()
+	{
+		return Stream.of("", " ", "NA", "-", ".", "e1", "1e", "1.2.3", "12a", "0x10");
+	}
+
+	/**
+	 * Parse the provided string
+	 * @param text the text to parse
+	 * @return true if the text has been parsed
+	 */
+	private boolean parse(String text)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+		return testParser.parse(buffer, 0, buffer.limit());
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("AsciiDoubleParser tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("AsciiDoubleParser tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Setup before each test
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeEach
+	void setUp() throws Exception
+	{
+		testParser = new AsciiDoubleParser();
+	}
+
+	/**
+	 * Test method for
+	 * {@link AsciiDoubleParser#parse(ByteBuffer, int, int)} with valid numbers
+	 * @param text the text to parse
+	 */
+	@ParameterizedTest
+	@MethodSource("validProvider")
+	@DisplayName("parse(valid)")
+	@Order(1)
+	final void testParseValid(String text)
+	{
+		String testName = "parse(" + text + ")";
+		System.out.println(testName);
+		assertTrue(parse(text), testName + " unexpected parse failure");
+		assertEquals(Double.doubleToLongBits(Double.parseDouble(text)),
+		             Double.doubleToLongBits(testParser.getValue()),
+		             testName + " unexpected value");
+	}
+
+	/**
+	 * Test method for
+	 * {@link AsciiDoubleParser#parse(ByteBuffer, int, int)} with invalid numbers
+	 * @param text the text to parse
+	 */
+	@ParameterizedTest
+	@MethodSource("invalidProvider")
+	@DisplayName("parse(invalid)")
+	@Order(2)
+	final void testParseInvalid(String text)
+	{
+		String testName = "parse(\"" + text + "\")";
+		System.out.println(testName);
+		assertFalse(parse(text), testName + " unexpected parse success");
+	}
+
+	/**
+	 * Test method for
+	 * {@link AsciiDoubleParser#parse(ByteBuffer, int, int)} with random values
+	 * which shall be parsed exactly as {@link Double#parseDouble(String)} would
+	 */
+	@Test
+	@DisplayName("parse(random)")
+	@Order(3)
+	final void testParseRandom()
+	{
+		String testName = "parse(random)";
+		System.out.println(testName);
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i++)
+		{
+			double value = random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+			String text = (i % 2) == 0 ? Double.toString(value)
+			    : String.format(Locale.ROOT, "%.6f", value);
+			assertTrue(parse(text), testName + " unexpected parse failure with " + text);
+			assertEquals(Double.doubleToLongBits(Double.parseDouble(text)),
+			             Double.doubleToLongBits(testParser.getValue()),
+			             testName + " unexpected value with " + text);
+		}
+	}
+}
@@ -0,0 +1,466 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import logger.AsyncHandler;
+import logger.AsyncHandler.Policy;
+
+/**
+ * AsyncHandler Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("AsyncHandler")
+public class AsyncHandlerTest
+{
+	/**
+	 * Ring buffer capacity used to fill the ring buffer quickly
+	 */
+	private static final int Capacity = 4;
+
+	/**
+	 * Max time (in seconds) to wait for other threads
+	 */
+	private static final long Timeout = 10L;
+
+	/**
+	 * Target handler recording published records which can hold the writer
+	 * thread in {@link #publish(LogRecord)} until released
+	 */
+	private static class RecordingHandler extends Handler
+	{
+		/**
+		 * Published records messages
+		 */
+		private final List<String> messages =
+		    Collections.synchronizedList(new ArrayList<String>());
+
+		/**
+		 * Latch counted down when the first record is published
+		 */
+		private final CountDownLatch entered = new CountDownLatch(1);
+
+		/**
+		 * Latch holding publications until released (null if publications
+		 * are never held)
+		 */
+		private final CountDownLatch release;
+
+		/**
+		 * Number of flushes
+		 */
+		private volatile int flushes = 0;
+
+		/**
+		 * Flag indicating this handler has been closed
+		 */
+		private volatile boolean closed = false;
+
+		/**
+		 * Constructor
+		 * @param hold true to hold publications until {@link #release()}
+		 */
+		private RecordingHandler(boolean hold)
+		{
+			release = hold ? new CountDownLatch(1) : null;
+		}
+
+		@Override
+		public void publish(LogRecord record)
+		{
+			entered.countDown();
+			if (release != null)
+			{
+				try
+				{
+					release.await();
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+			messages.add(record.getMessage());
+		}
+
+		@Override
+		public void flush()
+		{
+			flushes++;
+		}
+
+		@Override
+		public void close()
+		{
+			closed = true;
+		}
+
+		/**
+		 * Waits until the writer thread is held in {@link #publish(LogRecord)}
+		 * @throws InterruptedException if interrupted while waiting
+		 */
+		private void awaitEntered() throws InterruptedException
+		{
+			assertTrue(entered.await(Timeout, TimeUnit.SECONDS), "writer thread not started");
+		}
+
+		/**
+		 * Releases held publications
+		 */
+		private void release()
+		{
+			release.countDown();
+		}
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("AsyncHandler tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("AsyncHandler tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Publishes numbered records
+	 * @param handler the handler to publish records to
+	 * @param from the number of the first record
+	 * @param count the number of records to publish
+	 */
+	private static void publish(Handler handler, int from, int count)
+	{
+		for (int i = from; i < (from + count); i++)
+		{
+			handler.publish(new LogRecord(Level.INFO, "record " + i));
+		}
+	}
+
+	/**
+	 * Expected messages of numbered records
+	 * @param from the number of the first record
+	 * @param count the number of records
+	 * @return the messages of the records
+	 */
+	private static List<String> messages(int from, int count)
+	{
+		List<String> messages = new ArrayList<>();
+		for (int i = from; i < (from + count); i++)
+		{
+			messages.add("record " + i);
+		}
+		return messages;
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#flush()}: all records published
+	 * so far shall be written in order and the target handler flushed
+	 */
+	@Test
+	@DisplayName("flush()")
+	@Order(1)
+	final void testFlush()
+	{
+		String testName = "flush()";
+		System.out.println(testName);
+		RecordingHandler target = new RecordingHandler(false);
+		AsyncHandler handler = new AsyncHandler(target, Policy.BLOCK, Capacity * 4, 8);
+		try
+		{
+			publish(handler, 0, 1000);
+			handler.flush();
+			assertEquals(messages(0, 1000), target.messages, testName + " unexpected records");
+			assertEquals(0, handler.getPending(), testName + " unexpected pending records");
+			assertEquals(1000L, handler.getWritten(), testName + " unexpected written records");
+			assertEquals(0L, handler.getDropped(), testName + " unexpected dropped records");
+			assertTrue(handler.getBatches() >= (1000 / 8), testName + " unexpected batches");
+			assertTrue(target.flushes > handler.getBatches(), testName + " target not flushed");
+		}
+		finally
+		{
+			handler.close();
+		}
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#publish(LogRecord)} with the
+	 * {@link Policy#DROP} policy: records published while the ring buffer is
+	 * full shall be dropped and counted
+	 * @throws InterruptedException if interrupted while waiting for the
+	 * writer thread
+	 */
+	@Test
+	@DisplayName("publish(record) DROP")
+	@Order(2)
+	final void testDrop() throws InterruptedException
+	{
+		String testName = "publish(record) DROP";
+		System.out.println(testName);
+		RecordingHandler target = new RecordingHandler(true);
+		AsyncHandler handler = new AsyncHandler(target, Policy.DROP, Capacity, 1);
+		try
+		{
+			publish(handler, 0, 1);
+			target.awaitEntered(); // first record held by the writer thread
+			publish(handler, 1, Capacity); // fills the ring buffer
+			assertEquals(Capacity + 1, // including the held record
+			             handler.getPending(),
+			             testName + " unexpected pending records");
+			publish(handler, Capacity + 1, 3);
+			assertEquals(3L, handler.getDropped(), testName + " unexpected dropped records");
+			target.release();
+			handler.flush();
+			assertEquals(messages(0, Capacity + 1), target.messages, testName + " unexpected records");
+			assertEquals(Capacity + 1L, handler.getWritten(), testName + " unexpected written records");
+			assertEquals(3L, handler.getDropped(), testName + " unexpected dropped records");
+		}
+		finally
+		{
+			target.release();
+			handler.close();
+		}
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#publish(LogRecord)} with the
+	 * {@link Policy#BLOCK} policy: logging threads shall wait while the ring
+	 * buffer is full and no record shall be dropped
+	 * @throws InterruptedException if interrupted while waiting for threads
+	 */
+	@Test
+	@DisplayName("publish(record) BLOCK")
+	@Order(3)
+	final void testBlock() throws InterruptedException
+	{
+		String testName = "publish(record) BLOCK";
+		System.out.println(testName);
+		RecordingHandler target = new RecordingHandler(true);
+		AsyncHandler handler = new AsyncHandler(target, Policy.BLOCK, Capacity, 1);
+		try
+		{
+			publish(handler, 0, 1);
+			target.awaitEntered();
+			Thread producer = new Thread(() -> publish(handler, 1, Capacity + 3));
+			producer.setDaemon(true);
+			producer.start();
+			producer.join(200L);
+			assertTrue(producer.isAlive(), testName + " unexpected producer not waiting");
+			assertEquals(Capacity + 1, // including the held record
+			             handler.getPending(),
+			             testName + " unexpected pending records");
+			target.release();
+			producer.join(TimeUnit.SECONDS.toMillis(Timeout));
+			assertFalse(producer.isAlive(), testName + " producer still waiting");
+			handler.flush();
+			assertEquals(messages(0, Capacity + 4), target.messages, testName + " unexpected records");
+			assertEquals(Capacity + 4L, handler.getWritten(), testName + " unexpected written records");
+			assertEquals(0L, handler.getDropped(), testName + " unexpected dropped records");
+		}
+		finally
+		{
+			target.release();
+			handler.close();
+		}
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#publish(LogRecord)} with the
+	 * {@link Policy#BLOCK} policy when the writer thread has died: logging
+	 * threads shall drop records rather than waiting forever
+	 * @throws InterruptedException if interrupted while waiting for threads
+	 */
+	@Test
+	@DisplayName("publish(record) BLOCK with dead writer")
+	@Order(4)
+	final void testBlockDeadWriter() throws InterruptedException
+	{
+		String testName = "publish(record) BLOCK with dead writer";
+		System.out.println(testName);
+		CountDownLatch died = new CountDownLatch(1);
+		Handler target = new RecordingHandler(false)
+		{
+			@Override
+			public void publish(LogRecord record)
+			{
+				died.countDown();
+				throw new Error("writer failure");
+			}
+		};
+		Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler((Thread thread, Throwable e) -> {});
+		AsyncHandler handler = new AsyncHandler(target, Policy.BLOCK, Capacity, 1);
+		try
+		{
+			publish(handler, 0, 1);
+			assertTrue(died.await(Timeout, TimeUnit.SECONDS), testName + " writer not started");
+			Thread producer = new Thread(() -> publish(handler, 1, Capacity + 3));
+			producer.setDaemon(true);
+			producer.start();
+			producer.join(TimeUnit.SECONDS.toMillis(Timeout));
+			assertFalse(producer.isAlive(), testName + " producer waiting forever");
+			assertEquals(3L, handler.getDropped(), testName + " unexpected dropped records");
+		}
+		finally
+		{
+			handler.close();
+			Thread.setDefaultUncaughtExceptionHandler(previous);
+		}
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#close()}: queued records shall be
+	 * written before the target handler is closed, records published
+	 * afterwards shall be dropped
+	 */
+	@Test
+	@DisplayName("close()")
+	@Order(5)
+	final void testClose()
+	{
+		String testName = "close()";
+		System.out.println(testName);
+		RecordingHandler target = new RecordingHandler(false);
+		AsyncHandler handler = new AsyncHandler(target, Policy.BLOCK, Capacity, 2);
+		publish(handler, 0, 100);
+		handler.close();
+		assertTrue(target.closed, testName + " target not closed");
+		assertEquals(messages(0, 100), target.messages, testName + " unexpected records");
+		assertEquals(100L, handler.getWritten(), testName + " unexpected written records");
+		publish(handler, 100, 2);
+		assertEquals(2L, handler.getDropped(), testName + " unexpected dropped records");
+		assertEquals(100, target.messages.size(), testName + " unexpected record after close");
+		handler.close(); // no-op
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#close()} concurrent with
+	 * publications: every published record shall either be written or
+	 * dropped
+	 * @throws InterruptedException if interrupted while waiting for threads
+	 */
+	@Test
+	@DisplayName("close() concurrent with publish(record)")
+	@Order(6)
+	final void testConcurrentClose() throws InterruptedException
+	{
+		String testName = "close() concurrent with publish(record)";
+		System.out.println(testName);
+		final int threads = 4;
+		final int records = 2000;
+		for (int round = 0; round < 50; round++)
+		{
+			RecordingHandler target = new RecordingHandler(false);
+			AsyncHandler handler = new AsyncHandler(target, Policy.DROP, Capacity * 16, 8);
+			CountDownLatch start = new CountDownLatch(1);
+			List<Thread> producers = new ArrayList<>();
+			for (int t = 0; t < threads; t++)
+			{
+				Thread producer = new Thread(() -> {
+					try
+					{
+						start.await();
+					}
+					catch (InterruptedException e)
+					{
+						return;
+					}
+					publish(handler, 0, records);
+				});
+				producer.setDaemon(true);
+				producer.start();
+				producers.add(producer);
+			}
+			start.countDown();
+			Thread.sleep(round % 3);
+			handler.close();
+			for (Thread producer : producers)
+			{
+				producer.join(TimeUnit.SECONDS.toMillis(Timeout));
+				assertFalse(producer.isAlive(), testName + " producer still running");
+			}
+			assertEquals((long) threads * records,
+			             handler.getWritten() + handler.getDropped(),
+			             testName + " round " + round + " unexpected lost records");
+			assertEquals(handler.getWritten(),
+			             target.messages.size(),
+			             testName + " round " + round + " unexpected written records");
+		}
+	}
+
+	/**
+	 * Test method for {@link AsyncHandler#getFailed()}: records the target
+	 * handler fails to publish shall be counted as failed rather than written
+	 */
+	@Test
+	@DisplayName("publish(record) with failing target")
+	@Order(7)
+	final void testFailedPublish()
+	{
+		String testName = "publish(record) with failing target";
+		System.out.println(testName);
+		RecordingHandler target = new RecordingHandler(false)
+		{
+			@Override
+			public void publish(LogRecord record)
+			{
+				if (record.getMessage().endsWith("0"))
+				{
+					throw new IllegalStateException("target failure");
+				}
+				super.publish(record);
+			}
+		};
+		AsyncHandler handler = new AsyncHandler(target, Policy.BLOCK, Capacity, 2);
+		List<Exception> errors = Collections.synchronizedList(new ArrayList<Exception>());
+		handler.setErrorManager(new ErrorManager()
+		{
+			@Override
+			public void error(String msg, Exception ex, int code)
+			{
+				errors.add(ex);
+			}
+		});
+		publish(handler, 0, 100);
+		handler.close();
+		assertEquals(90L, handler.getWritten(), testName + " unexpected written records");
+		assertEquals(10L, handler.getFailed(), testName + " unexpected failed records");
+		assertEquals(0L, handler.getDropped(), testName + " unexpected dropped records");
+		assertEquals(90, target.messages.size(), testName + " unexpected target records");
+		assertEquals(10, errors.size(), testName + " unexpected reported errors");
+	}
+}
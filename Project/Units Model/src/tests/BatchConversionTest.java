@@ -0,0 +1,360 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import application.Converter;
+import measures.MeasureType;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * Batch conversions Test class for {@link Unit#toSI(double[], int, double[], int, int)},
+ * {@link Unit#fromSI(double[], int, double[], int, int)} and {@link Converter}'s
+ * array and buffer conversions
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("Batch conversions")
+public class BatchConversionTest
+{
+	/**
+	 * Values to convert
+	 */
+	private static final double[] values = new double[] {
+		-273.15, -1.0, -0.5, 0.0, 0.5, 1.0, 3.0, 42.0, 359.9, 1234.5678
+	};
+
+	/**
+	 * Tolerance used to compare batch conversions to single value conversions
+	 * relatively to the converted values
+	 */
+	private static final double tolerance = 1e-9;
+
+	/**
+	 * Measure types stream provider
+	 * @return a stream of all {@link MeasureType}s
+	 */
+	private static Stream<MeasureType> measureTypesProvider()
+	{
+		return MeasureType.all().stream();
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("Batch conversions tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("Batch conversions tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Compare a batch conversion with a single value conversion
+	 * @param message message to display on failure
+	 * @param expected the value converted alone
+	 * @param actual the value converted in a batch
+	 */
+	private static void assertConverted(String message,
+	                                    double expected,
+	                                    double actual)
+	{
+		if (Double.isNaN(expected))
+		{
+			assertEquals(expected, actual, message);
+		}
+		else
+		{
+			assertEquals(expected,
+			             actual,
+			             Math.max(Math.abs(expected), 1.0) * tolerance,
+			             message);
+		}
+	}
+
+	/**
+	 * Creates a converter whose destination unit is the last destination unit
+	 * @param type the type of measures of the converter
+	 * @return a new converter
+	 * @throws ParseException if units can't be built
+	 */
+	private static Converter createConverter(MeasureType type) throws ParseException
+	{
+		Converter converter = new Converter(type);
+		List<Unit<Double>> destinations = converter.getdestinationUnits();
+		converter.setDestinationUnit(destinations.get(destinations.size() - 1));
+		return converter;
+	}
+
+	/**
+	 * Test method for {@link Unit#toSI(double[], int, double[], int, int)}
+	 * and {@link Unit#fromSI(double[], int, double[], int, int)} with offsets
+	 * and lengths
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Unit.toSI / fromSI ranges")
+	@Order(1)
+	final void testUnitRanges(MeasureType type)
+	{
+		String testName = "Unit.toSI / fromSI ranges(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Set<Unit<Double>> units = UnitsFactory.getUnits(type);
+			int length = values.length - 3;
+			for (Unit<Double> unit : units)
+			{
+				String message = testName + " " + unit;
+				double[] siValues = new double[values.length];
+				Arrays.fill(siValues, -42.0);
+				unit.toSI(values, 2, siValues, 1, length);
+				assertEquals(-42.0, siValues[0], message + " unexpected write before range");
+				for (int i = 0; i < length; i++)
+				{
+					assertConverted(message, unit.toSI(values[2 + i]), siValues[1 + i]);
+				}
+				for (int i = length + 1; i < siValues.length; i++)
+				{
+					assertEquals(-42.0, siValues[i], message + " unexpected write after range");
+				}
+
+				double[] inPlace = siValues.clone();
+				unit.fromSI(inPlace, 1, inPlace, 1, length);
+				for (int i = 0; i < length; i++)
+				{
+					assertConverted(message, unit.fromSI(siValues[1 + i]), inPlace[1 + i]);
+				}
+
+				assertThrows(IndexOutOfBoundsException.class,
+				             () -> unit.toSI(values, values.length - 1, siValues, 0, 2),
+				             message + " values range out of bounds didn't throw");
+				assertThrows(IndexOutOfBoundsException.class,
+				             () -> unit.fromSI(values, 0, siValues, siValues.length - 1, 2),
+				             message + " results range out of bounds didn't throw");
+				assertThrows(IndexOutOfBoundsException.class,
+				             () -> unit.toSI(values, 0, siValues, 0, -1),
+				             message + " negative length didn't throw");
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for {@link Converter#convert(double[], double[])} and
+	 * {@link Converter#convert(double[], int, double[], int, int)} with
+	 * offsets, lengths, bounds and in place conversions
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Converter array conversions")
+	@Order(2)
+	final void testConvertArrays(MeasureType type)
+	{
+		String testName = "Converter array conversions(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Converter converter = createConverter(type);
+			Unit<Double> source = converter.getSourceUnit();
+			Unit<Double> destination = converter.getDestinationUnit();
+			double[] expected = new double[values.length];
+			converter.convert(values, expected);
+			for (int i = 0; i < values.length; i++)
+			{
+				assertConverted(testName + " with " + values[i],
+				                destination.fromSI(source.toSI(values[i])),
+				                expected[i]);
+			}
+
+			/*
+			 * Ranges
+			 */
+			double[] results = new double[values.length + 2];
+			converter.convert(values, 3, results, 1, values.length - 3);
+			assertEquals(0.0, results[0], testName + " unexpected write before range");
+			assertArrayEquals(Arrays.copyOfRange(expected, 3, values.length),
+			                  Arrays.copyOfRange(results, 1, values.length - 2),
+			                  testName + " unexpected range conversion");
+			assertArrayEquals(new double[] {0.0, 0.0, 0.0, 0.0},
+			                  Arrays.copyOfRange(results, values.length - 2, results.length),
+			                  testName + " unexpected write after range");
+
+			/*
+			 * In place
+			 */
+			double[] inPlace = values.clone();
+			converter.convert(inPlace, inPlace);
+			assertArrayEquals(expected, inPlace, testName + " unexpected in place conversion");
+
+			/*
+			 * Bounds
+			 */
+			assertThrows(IndexOutOfBoundsException.class,
+			             () -> converter.convert(values, new double[values.length - 1]),
+			             testName + " short results didn't throw");
+			assertThrows(IndexOutOfBoundsException.class,
+			             () -> converter.convert(values, 1, results, 0, values.length),
+			             testName + " values range out of bounds didn't throw");
+			assertThrows(IndexOutOfBoundsException.class,
+			             () -> converter.convert(values, 0, results, -1, 1),
+			             testName + " negative position didn't throw");
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for {@link Converter#convert(DoubleBuffer, DoubleBuffer)}
+	 * with heap and direct buffers, in place conversions and positions
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Converter buffer conversions")
+	@Order(3)
+	final void testConvertBuffers(MeasureType type)
+	{
+		String testName = "Converter buffer conversions(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Converter converter = createConverter(type);
+			/*
+			 * More values than a chunk to cover chunked conversions of
+			 * direct buffers
+			 */
+			double[] manyValues = new double[Converter.BufferChunkSize + values.length];
+			for (int i = 0; i < manyValues.length; i++)
+			{
+				manyValues[i] = values[i % values.length] + i;
+			}
+			double[] expected = new double[manyValues.length];
+			converter.convert(manyValues, expected);
+			int start = 2;
+			int length = manyValues.length - start;
+			double[] expectedRange = Arrays.copyOfRange(expected, start, manyValues.length);
+
+			for (boolean direct : new boolean[] {false, true})
+			{
+				String message = testName + (direct ? " direct" : " heap");
+
+				/*
+				 * Distinct buffers: both positions advanced
+				 */
+				DoubleBuffer input = allocate(manyValues.length, direct);
+				input.put(manyValues).position(start);
+				DoubleBuffer output = allocate(length + 1, direct);
+				output.position(1);
+				converter.convert(input, output);
+				assertEquals(manyValues.length, input.position(), message + " unexpected values position");
+				assertEquals(length + 1, output.position(), message + " unexpected results position");
+				assertArrayEquals(expectedRange,
+				                  content(output, 1, length),
+				                  message + " unexpected conversion");
+
+				/*
+				 * Same buffer: converted in place and position advanced once
+				 */
+				DoubleBuffer buffer = allocate(manyValues.length, direct);
+				buffer.put(manyValues).position(start);
+				converter.convert(buffer, buffer);
+				assertEquals(manyValues.length, buffer.position(), message + " unexpected in place position");
+				assertArrayEquals(expectedRange,
+				                  content(buffer, start, length),
+				                  message + " unexpected in place conversion");
+
+				/*
+				 * Errors
+				 */
+				DoubleBuffer values = allocate(manyValues.length, direct);
+				assertThrows(BufferOverflowException.class,
+				             () -> converter.convert(values, allocate(manyValues.length - 1, direct)),
+				             message + " short results didn't throw");
+				assertEquals(0, values.position(), message + " unexpected position after overflow");
+				assertThrows(ReadOnlyBufferException.class,
+				             () -> converter.convert(values,
+				                                     allocate(manyValues.length, direct).asReadOnlyBuffer()),
+				             message + " read only results didn't throw");
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Allocates a double buffer
+	 * @param capacity the capacity of the buffer
+	 * @param direct true to allocate a direct buffer (without backing array),
+	 * false to allocate a heap buffer
+	 * @return a new buffer
+	 */
+	private static DoubleBuffer allocate(int capacity, boolean direct)
+	{
+		return direct ?
+		    ByteBuffer.allocateDirect(capacity * Double.BYTES).asDoubleBuffer() :
+		    DoubleBuffer.allocate(capacity);
+	}
+
+	/**
+	 * Copies a buffer's content without changing its position
+	 * @param buffer the buffer to read
+	 * @param index the index of the first value to read
+	 * @param length the number of values to read
+	 * @return the read values
+	 */
+	private static double[] content(DoubleBuffer buffer, int index, int length)
+	{
+		double[] result = new double[length];
+		buffer.get(index, result);
+		return result;
+	}
+}
@@ -0,0 +1,331 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import measures.MeasureType;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+import tools.ColumnConverter;
+
+/**
+ * ColumnConverter Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("ColumnConverter")
+public class ColumnConverterTest
+{
+	/**
+	 * Values to convert (including negative values and negative zeros).
+	 * Values are chosen so that converted values are not exactly halfway
+	 * between two formatted values, where fused and SI conversions may round
+	 * differently.
+	 */
+	private static final String[] values = new String[] {
+		"-273.15", "-1234.5678", "-1.5", "-0.001", "-1e-9", "-0.0", "-0", "0.0",
+		"0.5", "3", "42.0", "359.93", "1234.5678"
+	};
+
+	/**
+	 * Directory containing converted files
+	 */
+	@TempDir
+	static Path directory;
+
+	/**
+	 * Measure types stream provider
+	 * @return a stream of all {@link MeasureType}s
+	 */
+	private static Stream<MeasureType> measureTypesProvider()
+	{
+		return MeasureType.all().stream();
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ColumnConverter tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ColumnConverter tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Search a unit by symbol
+	 * @param type the type of measures of the unit
+	 * @param symbol the symbol of the unit
+	 * @return the unit with the provided symbol
+	 * @throws ParseException if units can't be built
+	 */
+	private static Unit<Double> unit(MeasureType type, String symbol) throws ParseException
+	{
+		Optional<Unit<Double>> unit = UnitsFactory.getUnits(type)
+		    .stream()
+		    .filter((Unit<Double> u) -> u.getSymbol().equals(symbol))
+		    .findFirst();
+		if (unit.isEmpty())
+		{
+			fail("no unit with symbol " + symbol);
+		}
+		return unit.get();
+	}
+
+	/**
+	 * Converts content with the provided converter
+	 * @param converter the converter to use
+	 * @param name the name of the files to create
+	 * @param content the content to convert
+	 * @return the converted content
+	 * @throws IOException if files can't be read or written
+	 */
+	private static String convert(ColumnConverter converter, String name, String content)
+	    throws IOException
+	{
+		Path input = directory.resolve(name + ".csv");
+		Path output = directory.resolve(name + ".out.csv");
+		Files.writeString(input, content);
+		converter.convert(input, output);
+		return Files.readString(output);
+	}
+
+	/**
+	 * Test method for {@link ColumnConverter#convert(Path, Path)}: converted
+	 * cells shall be formatted just as {@link Unit#formatValue()} after
+	 * {@link Unit#setValue(Comparable)} and {@link Unit#convertValueTo(Unit)},
+	 * including bounded negative values and negative zeros.
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("convert(input, output) values")
+	@Order(1)
+	final void testValues(MeasureType type)
+	{
+		String testName = "convert(input, output) values(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Set<Unit<Double>> units = UnitsFactory.getUnits(type);
+			String content = String.join("\n", values) + "\n";
+			int index = 0;
+			for (Unit<Double> source : units)
+			{
+				if (!source.isSetable())
+				{
+					continue;
+				}
+				for (Unit<Double> destination : units)
+				{
+					ColumnConverter converter = new ColumnConverter(source,
+					                                                destination,
+					                                                ',',
+					                                                new int[] {0},
+					                                                false,
+					                                                1);
+					String[] lines = convert(converter, type.name() + index++, content)
+					    .split("\n");
+					assertEquals(values.length,
+					             lines.length,
+					             testName + " unexpected number of lines");
+					for (int i = 0; i < values.length; i++)
+					{
+						source.setValue(Double.valueOf(values[i]));
+						source.convertValueTo(destination);
+						assertEquals(destination.formatValue(),
+						             lines[i],
+						             testName + " " + source + " -> " + destination
+						                 + " with " + values[i]
+						                 + " unexpected converted value");
+						if (destination.getValue().doubleValue() == 0.0)
+						{
+							assertFalse(lines[i].startsWith("-"),
+							            testName + " " + source + " -> " + destination
+							                + " unexpected signed zero "
+							                + lines[i]);
+						}
+					}
+					assertEquals(values.length,
+					             converter.getConvertedCells(),
+					             testName + " unexpected converted cells");
+				}
+			}
+		}
+		catch (ParseException | IOException e)
+		{
+			fail(testName + " unexpected exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for {@link ColumnConverter#convert(Path, Path)}: header,
+	 * non selected columns, unparsable cells and line terminators shall be
+	 * copied verbatim
+	 */
+	@Test
+	@DisplayName("convert(input, output) columns")
+	@Order(2)
+	final void testColumns()
+	{
+		String testName = "convert(input, output) columns";
+		System.out.println(testName);
+
+		try
+		{
+			Unit<Double> meter = unit(MeasureType.LENGTH, "m");
+			Unit<Double> kilometer = unit(MeasureType.LENGTH, "km");
+			ColumnConverter converter = new ColumnConverter(meter,
+			                                                kilometer,
+			                                                ';',
+			                                                new int[] {1, 3},
+			                                                true,
+			                                                1);
+			String content = "name;distance;note;other\r\n"
+			    + "a;1500;1500;2000\r\n"
+			    + "b;NA;x;\r\n"
+			    + "c;250";
+			String expected = "name;distance;note;other\r\n"
+			    + "a;" + kilometer.formatValue(1.5) + ";1500;" + kilometer.formatValue(2.0) + "\r\n"
+			    + "b;NA;x;\r\n"
+			    + "c;" + kilometer.formatValue(0.25);
+			assertEquals(expected,
+			             convert(converter, "columns", content),
+			             testName + " unexpected converted content");
+			assertEquals(4L, converter.getLines(), testName + " unexpected lines");
+			assertEquals(3L, converter.getConvertedCells(), testName + " unexpected converted cells");
+			assertEquals(1L, converter.getSkippedCells(), testName + " unexpected skipped cells");
+		}
+		catch (ParseException | IOException e)
+		{
+			fail(testName + " unexpected exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for {@link ColumnConverter#convert(Path, Path)} with files
+	 * large enough to be converted concurrently: the result shall be the same
+	 * as a single threaded conversion.
+	 */
+	@Test
+	@DisplayName("convert(input, output) concurrently")
+	@Order(3)
+	final void testConcurrent()
+	{
+		String testName = "convert(input, output) concurrently";
+		System.out.println(testName);
+
+		try
+		{
+			Unit<Double> meter = unit(MeasureType.LENGTH, "m");
+			Unit<Double> kilometer = unit(MeasureType.LENGTH, "km");
+			Path input = directory.resolve("large.csv");
+			long lines = 0L;
+			try (Writer writer = Files.newBufferedWriter(input))
+			{
+				for (long size = 0L; size < (3 * ColumnConverter.MinRangeSize); lines++)
+				{
+					String line = lines + "," + values[(int) (lines % values.length)] + "\n";
+					writer.write(line);
+					size += line.length();
+				}
+			}
+			Path single = directory.resolve("large.single.csv");
+			Path concurrent = directory.resolve("large.concurrent.csv");
+			new ColumnConverter(meter, kilometer, ',', new int[] {1}, false, 1)
+			    .convert(input, single);
+			ColumnConverter converter =
+			    new ColumnConverter(meter, kilometer, ',', new int[] {1}, false, 4);
+			converter.convert(input, concurrent);
+			assertEquals(lines, converter.getLines(), testName + " unexpected lines");
+			assertEquals(lines, converter.getConvertedCells(), testName + " unexpected converted cells");
+			List<String> expected = Files.readAllLines(single);
+			List<String> actual = Files.readAllLines(concurrent);
+			assertEquals(expected.size(), actual.size(), testName + " unexpected number of lines");
+			for (int i = 0; i < expected.size(); i++)
+			{
+				assertEquals(expected.get(i), actual.get(i), testName + " unexpected line " + i);
+			}
+		}
+		catch (ParseException | IOException e)
+		{
+			fail(testName + " unexpected exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link ColumnConverter#ColumnConverter(Unit, Unit, char, int[], boolean, int)}
+	 * invalid arguments
+	 */
+	@Test
+	@DisplayName("ColumnConverter(...) invalid arguments")
+	@Order(4)
+	final void testInvalidArguments()
+	{
+		String testName = "ColumnConverter(...) invalid arguments";
+		System.out.println(testName);
+
+		try
+		{
+			Unit<Double> meter = unit(MeasureType.LENGTH, "m");
+			assertThrows(NullPointerException.class,
+			             () -> new ColumnConverter(meter, meter, ',', null, false, 1),
+			             testName + " null columns didn't throw");
+			assertThrows(IllegalArgumentException.class,
+			             () -> new ColumnConverter(meter, meter, '\n', new int[] {0}, false, 1),
+			             testName + " invalid separator didn't throw");
+			assertThrows(IllegalArgumentException.class,
+			             () -> new ColumnConverter(meter, meter, ',', new int[0], false, 1),
+			             testName + " no columns didn't throw");
+			assertThrows(IllegalArgumentException.class,
+			             () -> new ColumnConverter(meter, meter, ',', new int[] {-1}, false, 1),
+			             testName + " negative column didn't throw");
+			assertThrows(IllegalArgumentException.class,
+			             () -> new ColumnConverter(meter, meter, ',', new int[] {0}, false, 0),
+			             testName + " invalid threads didn't throw");
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import application.ConversionHistory;
+import application.Converter;
+import javafx.collections.ListChangeListener;
+import measures.MeasureType;
+import measures.units.Unit;
+
+/**
+ * ConversionHistory Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("ConversionHistory")
+public class ConversionHistoryTest
+{
+	/**
+	 * Maximum number of entries of the history under test
+	 */
+	private static final int MaxEntries = 10;
+
+	/**
+	 * The converter recording conversions
+	 */
+	private Converter converter = null;
+
+	/**
+	 * The history under test
+	 */
+	private ConversionHistory testHistory = null;
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ConversionHistory tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ConversionHistory tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Setup before each test
+	 * @throws ParseException if units can't be built
+	 */
+	@BeforeEach
+	void setUp() throws ParseException
+	{
+		converter = new Converter(MeasureType.LENGTH);
+		List<Unit<Double>> destinations = converter.getdestinationUnits();
+		converter.setDestinationUnit(destinations.get(destinations.size() - 1));
+		testHistory = new ConversionHistory(MaxEntries * ConversionHistory.EntryBytes);
+		converter.setHistory(testHistory);
+	}
+
+	/**
+	 * Test method for {@link ConversionHistory#ConversionHistory(long)}
+	 */
+	@Test
+	@DisplayName("ConversionHistory(maxBytes)")
+	@Order(1)
+	final void testConstructor()
+	{
+		String testName = "ConversionHistory(maxBytes)";
+		System.out.println(testName);
+		assertEquals(MaxEntries, testHistory.getMaxEntries(), testName + " unexpected max entries");
+		assertEquals(0, testHistory.size(), testName + " unexpected size");
+		assertThrows(IllegalArgumentException.class,
+		             () -> new ConversionHistory(ConversionHistory.EntryBytes - 1),
+		             testName + " unexpected success");
+	}
+
+	/**
+	 * Test method for conversions recorded by {@link Converter#convert()} and
+	 * {@link Converter#convert(double[], int, double[], int, int)} with
+	 * eviction of the oldest entries
+	 */
+	@Test
+	@DisplayName("record(...) & eviction")
+	@Order(2)
+	final void testRecordEviction()
+	{
+		String testName = "record(...) & eviction";
+		System.out.println(testName);
+		long[] changes = new long[2];
+		testHistory.getEntries()
+		    .addListener((ListChangeListener<ConversionHistory.Entry>) change -> {
+			    while (change.next())
+			    {
+				    changes[0] += change.getRemovedSize();
+				    changes[1] += change.getAddedSize();
+			    }
+		    });
+		for (int i = 1; i <= 7; i++)
+		{
+			converter.setInputText(Integer.toString(i));
+			converter.convert();
+		}
+		assertEquals(7, testHistory.size(), testName + " unexpected size");
+		assertEquals(1.0, testHistory.getInput(0), testName + " unexpected oldest input");
+		assertEquals(converter.getSourceUnit(),
+		             testHistory.getEntries().get(6).getSource(),
+		             testName + " unexpected source unit");
+		assertEquals(converter.getDestinationValue().getValue(),
+		             testHistory.getEntries().get(6).getOutput(),
+		             testName + " unexpected output");
+
+		double[] values = new double[8];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = 100.0 + i;
+		}
+		converter.convert(values, 0, values, 0, values.length); // in place
+		assertEquals(MaxEntries, testHistory.size(), testName + " unexpected size");
+		assertEquals(5L, testHistory.getEvicted(), testName + " unexpected evicted");
+		assertEquals(15L, testHistory.getRecorded(), testName + " unexpected recorded");
+		assertEquals(6.0, testHistory.getInput(0), testName + " unexpected oldest input");
+		assertEquals(107.0, testHistory.getInput(MaxEntries - 1), testName + " unexpected newest input");
+		assertEquals(values[7], testHistory.getOutput(MaxEntries - 1), testName + " unexpected newest output");
+		assertEquals(5L, changes[0], testName + " unexpected removed entries");
+		assertEquals(15L, changes[1], testName + " unexpected added entries");
+
+		double[] inputs = new double[25];
+		for (int i = 0; i < inputs.length; i++)
+		{
+			inputs[i] = i;
+		}
+		converter.convert(inputs, 0, new double[inputs.length], 0, inputs.length);
+		assertEquals(MaxEntries, testHistory.getEntries().size(), testName + " unexpected size");
+		for (int i = 0; i < MaxEntries; i++)
+		{
+			assertEquals(15.0 + i, testHistory.getEntries().get(i).getInput(),
+			             testName + " unexpected input at " + i);
+		}
+		testHistory.clear();
+		assertEquals(0, testHistory.getEntries().size(), testName + " unexpected size after clear");
+		assertEquals(25L, changes[0], testName + " unexpected removed entries");
+	}
+
+	/**
+	 * Test method for {@link ConversionHistory#export(Path)}
+	 * @param directory temporary directory to export in
+	 * @throws IOException if export fails
+	 */
+	@Test
+	@DisplayName("export(file)")
+	@Order(3)
+	final void testExport(@TempDir Path directory) throws IOException
+	{
+		String testName = "export(file)";
+		System.out.println(testName);
+		double[] values = {1.5, 2.5, 3.5};
+		double[] results = new double[values.length];
+		converter.convert(values, results);
+		Path file = directory.resolve("history.txt");
+		assertEquals(values.length, testHistory.export(file), testName + " unexpected count");
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(values.length + 1, lines.size(), testName + " unexpected lines");
+		for (int i = 0; i < values.length; i++)
+		{
+			String[] fields = lines.get(i + 1).split("\t");
+			assertEquals(5, fields.length, testName + " unexpected fields");
+			assertEquals(converter.getSourceUnit().getDescription(), fields[1],
+			             testName + " unexpected source");
+			assertEquals(values[i], Double.parseDouble(fields[3]), testName + " unexpected input");
+			assertEquals(results[i], Double.parseDouble(fields[4]), testName + " unexpected output");
+		}
+	}
+}
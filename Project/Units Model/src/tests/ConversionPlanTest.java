@@ -0,0 +1,272 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.text.ParseException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import measures.MeasureType;
+import measures.units.ConversionMatrix;
+import measures.units.ConversionPlan;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * ConversionPlan Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("ConversionPlan")
+public class ConversionPlanTest
+{
+	/**
+	 * Values to convert
+	 */
+	private static final double[] values = new double[] {
+		-273.15, -1.0, -0.5, 0.0, 0.5, 1.0, 3.0, 42.0, 359.9, 1234.5678
+	};
+
+	/**
+	 * Tolerance used to compare planned conversions to SI conversions
+	 * relatively to the converted values
+	 */
+	private static final double tolerance = 1e-9;
+
+	/**
+	 * Measure types stream provider
+	 * @return a stream of all {@link MeasureType}s
+	 */
+	private static Stream<MeasureType> measureTypesProvider()
+	{
+		return MeasureType.all().stream();
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ConversionPlan tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ConversionPlan tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Compare planned conversion with conversion through SI values
+	 * @param message message to display on failure
+	 * @param expected the value converted through SI values
+	 * @param actual the value converted by the plan
+	 */
+	private static void assertConverted(String message,
+	                                    double expected,
+	                                    double actual)
+	{
+		assertEquals(expected,
+		             actual,
+		             Math.max(Math.abs(expected), 1.0) * tolerance,
+		             message);
+	}
+
+	/**
+	 * Test method for
+	 * {@link UnitsFactory#getConversionPlan(Unit, Unit)}.
+	 * Plans should be cached per (source, destination) pair
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Plans cache")
+	@Order(1)
+	final void testGetConversionPlan(MeasureType type)
+	{
+		String testName = "Plans cache(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Set<Unit<Double>> units = UnitsFactory.getUnits(type);
+			for (Unit<Double> source : units)
+			{
+				for (Unit<Double> destination : units)
+				{
+					ConversionPlan plan =
+					    UnitsFactory.getConversionPlan(source, destination);
+					assertNotNull(plan, testName + " unexpected null plan");
+					assertSame(source,
+					           plan.getSource(),
+					           testName + " unexpected source");
+					assertSame(destination,
+					           plan.getDestination(),
+					           testName + " unexpected destination");
+					assertSame(plan,
+					           UnitsFactory.getConversionPlan(source, destination),
+					           testName + " plan not cached");
+				}
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for {@link ConversionPlan#convert(double)} and
+	 * {@link ConversionPlan#convert(double[], int, double[], int, int)}.
+	 * Planned conversions should match conversions through SI values
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Planned conversions")
+	@Order(2)
+	final void testConvert(MeasureType type)
+	{
+		String testName = "Planned conversions(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Set<Unit<Double>> units = UnitsFactory.getUnits(type);
+			double[] results = new double[values.length];
+			for (Unit<Double> source : units)
+			{
+				for (Unit<Double> destination : units)
+				{
+					ConversionPlan plan =
+					    UnitsFactory.getConversionPlan(source, destination);
+					plan.convert(values, 0, results, 0, values.length);
+					for (int i = 0; i < values.length; i++)
+					{
+						String message = testName + " " + plan + " with "
+						    + values[i];
+						double expected =
+						    destination.fromSI(source.toSI(values[i]));
+						if (Double.isNaN(expected))
+						{
+							assertEquals(expected, plan.convert(values[i]), message);
+							assertEquals(expected, results[i], message);
+						}
+						else
+						{
+							assertConverted(message, expected, plan.convert(values[i]));
+							assertConverted(message, expected, results[i]);
+						}
+					}
+				}
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link UnitsFactory#getConversionPlan(Unit, Unit)} with null units
+	 */
+	@Test
+	@DisplayName("Null units")
+	@Order(3)
+	final void testNullUnits()
+	{
+		String testName = "Null units";
+		System.out.println(testName);
+
+		assertThrows(NullPointerException.class,
+		             () -> UnitsFactory.getConversionPlan(null, null),
+		             testName + " unexpected exception type");
+	}
+
+	/**
+	 * Test method for {@link UnitsFactory#getConversionMatrix(MeasureType)},
+	 * {@link ConversionMatrix#convertToAll(int, double, double[])} and
+	 * {@link ConversionMatrix#convert(int, double, int[], double[])}.
+	 * Matrices should be cached per type and their conversions should be
+	 * exactly the same as planned conversions
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Conversion matrices")
+	@Order(4)
+	final void testConversionMatrix(MeasureType type)
+	{
+		String testName = "Conversion matrices(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			ConversionMatrix matrix = UnitsFactory.getConversionMatrix(type);
+			assertSame(matrix,
+			           UnitsFactory.getConversionMatrix(type),
+			           testName + " matrix not cached");
+			assertEquals(UnitsFactory.getUnits(type).size(),
+			             matrix.size(),
+			             testName + " unexpected size");
+			int size = matrix.size();
+			int[] reversed = new int[size];
+			for (int i = 0; i < size; i++)
+			{
+				reversed[i] = size - 1 - i;
+			}
+			double[] all = new double[size];
+			double[] some = new double[size];
+			for (int s = 0; s < size; s++)
+			{
+				Unit<Double> source = matrix.getUnits().get(s);
+				assertEquals(s, matrix.indexOf(source), testName + " unexpected index");
+				for (double value : values)
+				{
+					matrix.convertToAll(s, value, all);
+					matrix.convert(s, value, reversed, some);
+					for (int d = 0; d < size; d++)
+					{
+						Unit<Double> destination = matrix.getUnits().get(d);
+						double expected = UnitsFactory
+						    .getConversionPlan(source, destination).convert(value);
+						String message = testName + " " + source.getSymbol()
+						    + " -> " + destination.getSymbol() + " with " + value;
+						assertEquals(expected, all[d], 0.0, message);
+						assertEquals(expected, matrix.convert(s, d, value), 0.0, message);
+						assertEquals(expected, some[size - 1 - d], 0.0, message);
+					}
+				}
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import application.ConvertedRowsList;
+import javafx.collections.ListChangeListener;
+import measures.MeasureType;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * ConvertedRowsList Test class.
+ * Publications are run by a manual {@link Executor} standing for the JavaFX
+ * Application Thread so that no JavaFX toolkit is required.
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("ConvertedRowsList")
+public class ConvertedRowsListTest
+{
+	/**
+	 * Number of rows to convert
+	 */
+	private static final int Rows = 100;
+
+	/**
+	 * The unit formatting rows
+	 */
+	private static Unit<Double> unit = null;
+
+	/**
+	 * The list under test
+	 */
+	private ConvertedRowsList testList = null;
+
+	/**
+	 * Changes fired by {@link #testList}: {from, to, added size, removed size}
+	 */
+	private List<int[]> changes = null;
+
+	/**
+	 * Publications waiting to be run
+	 */
+	private Deque<Runnable> pending = null;
+
+	/**
+	 * Executor queuing publications into {@link #pending}
+	 */
+	private Executor executor = null;
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ConvertedRowsList tests");
+		System.out.println("-------------------------------------------------");
+		unit = UnitsFactory.getUnits(MeasureType.LENGTH).iterator().next();
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ConvertedRowsList tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Setup before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		testList = new ConvertedRowsList();
+		changes = new ArrayList<>();
+		testList.addListener((ListChangeListener.Change<? extends String> change) -> {
+			while (change.next())
+			{
+				changes.add(new int[] {change.getFrom(),
+				                       change.getTo(),
+				                       change.getAddedSize(),
+				                       change.getRemovedSize()});
+			}
+		});
+		pending = new ArrayDeque<>();
+		executor = pending::add;
+	}
+
+	/**
+	 * Creates converted values
+	 * @param shift the value of the first row
+	 * @return an array of {@link #Rows} values
+	 */
+	private static double[] values(double shift)
+	{
+		double[] values = new double[Rows];
+		for (int i = 0; i < Rows; i++)
+		{
+			values[i] = shift + (i * 0.5);
+		}
+		return values;
+	}
+
+	/**
+	 * Runs all pending publications
+	 */
+	private void runPending()
+	{
+		while (!pending.isEmpty())
+		{
+			pending.poll().run();
+		}
+	}
+
+	/**
+	 * Test method for {@link ConvertedRowsList#publish(double[], int)}
+	 * changes and lazily formatted rows
+	 */
+	@Test
+	@DisplayName("publish(converted, newSize)")
+	@Order(1)
+	final void testPublish()
+	{
+		String testName = "publish(converted, newSize)";
+		System.out.println(testName);
+		double[] values = values(1.0);
+		testList.reset(unit, values);
+		assertEquals(0, changes.size(), testName + " unexpected change on empty reset");
+		testList.publish(values, 10);
+		testList.publish(values, 10);
+		testList.publish(values, 25);
+		assertEquals(2, changes.size(), testName + " unexpected number of changes");
+		assertEquals(List.of(0, 10, 10, 0),
+		             List.of(changes.get(0)[0], changes.get(0)[1], changes.get(0)[2], changes.get(0)[3]),
+		             testName + " unexpected first change");
+		assertEquals(List.of(10, 25, 15, 0),
+		             List.of(changes.get(1)[0], changes.get(1)[1], changes.get(1)[2], changes.get(1)[3]),
+		             testName + " unexpected second change");
+		assertEquals(25, testList.size(), testName + " unexpected size");
+		for (int i = 0; i < testList.size(); i++)
+		{
+			assertEquals(values[i], testList.getValue(i), testName + " unexpected value at " + i);
+			assertEquals(unit.formatValue(values[i]),
+			             testList.get(i),
+			             testName + " unexpected row at " + i);
+		}
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> testList.get(25),
+		             testName + " unpublished row didn't throw");
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> testList.publish(values, 5),
+		             testName + " shrinking publication didn't throw");
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> testList.publish(values, Rows + 1),
+		             testName + " publication beyond values didn't throw");
+		assertThrows(UnsupportedOperationException.class,
+		             () -> testList.add("1.0"),
+		             testName + " unexpected modifiable list");
+	}
+
+	/**
+	 * Test method for {@link ConvertedRowsList#reset(Unit, double[])} which
+	 * shall remove all published rows in a single change
+	 */
+	@Test
+	@DisplayName("reset(unit, values)")
+	@Order(2)
+	final void testReset()
+	{
+		String testName = "reset(unit, values)";
+		System.out.println(testName);
+		double[] values = values(1.0);
+		testList.reset(unit, values);
+		testList.publish(values, Rows);
+		List<String> published = new ArrayList<>(testList);
+		List<List<? extends String>> removed = new ArrayList<>();
+		testList.addListener((ListChangeListener.Change<? extends String> change) -> {
+			while (change.next())
+			{
+				removed.add(new ArrayList<>(change.getRemoved()));
+			}
+		});
+		changes.clear();
+		testList.reset(unit, values(2.0));
+		assertEquals(1, changes.size(), testName + " unexpected number of changes");
+		assertEquals(Rows, changes.get(0)[3], testName + " unexpected removed size");
+		assertEquals(published, removed.get(0), testName + " unexpected removed rows");
+		assertTrue(testList.isEmpty(), testName + " unexpected rows after reset");
+		assertThrows(NullPointerException.class,
+		             () -> testList.reset(null, values),
+		             testName + " null unit didn't throw");
+		assertThrows(NullPointerException.class,
+		             () -> testList.reset(unit, null),
+		             testName + " null values didn't throw");
+	}
+
+	/**
+	 * Test method for {@link ConvertedRowsList.Publisher}: publications shall
+	 * be coalesced so that at most one publication is pending and publishes
+	 * all rows converted so far in a single change
+	 */
+	@Test
+	@DisplayName("Publisher coalescing")
+	@Order(3)
+	final void testCoalescing()
+	{
+		String testName = "Publisher coalescing";
+		System.out.println(testName);
+		double[] values = values(1.0);
+		testList.reset(unit, values);
+		ConvertedRowsList.Publisher publisher = testList.publisher(values, executor);
+		for (int count = 10; count <= 50; count += 10)
+		{
+			publisher.converted(count);
+		}
+		assertEquals(1, pending.size(), testName + " unexpected pending publications");
+		assertEquals(0, testList.size(), testName + " unexpected rows before publication");
+		runPending();
+		assertEquals(1, changes.size(), testName + " unexpected number of changes");
+		assertEquals(50, testList.size(), testName + " unexpected size");
+
+		publisher.converted(70);
+		publisher.converted(Rows);
+		assertEquals(1, pending.size(), testName + " unexpected pending publications");
+		publisher.flush();
+		assertEquals(Rows, testList.size(), testName + " unexpected size after flush");
+		assertEquals(2, changes.size(), testName + " unexpected number of changes");
+		runPending();
+		assertEquals(2, changes.size(), testName + " unexpected change of late publication");
+		assertEquals(Rows, publisher.getCount(), testName + " unexpected converted count");
+	}
+
+	/**
+	 * Test method for {@link ConvertedRowsList.Publisher} of a previous
+	 * conversion (e.g. cancelled): its late publications shall be ignored
+	 * once the list has been reset with another array
+	 */
+	@Test
+	@DisplayName("Publisher stale publications")
+	@Order(4)
+	final void testStalePublications()
+	{
+		String testName = "Publisher stale publications";
+		System.out.println(testName);
+		double[] cancelled = values(1.0);
+		testList.reset(unit, cancelled);
+		ConvertedRowsList.Publisher stale = testList.publisher(cancelled, executor);
+		stale.converted(30);
+
+		double[] current = values(2.0);
+		testList.reset(unit, current);
+		ConvertedRowsList.Publisher publisher = testList.publisher(current, executor);
+		runPending();
+		stale.converted(60);
+		runPending();
+		stale.flush();
+		assertEquals(0, testList.size(), testName + " unexpected stale rows");
+		assertEquals(0, changes.size(), testName + " unexpected changes");
+
+		publisher.converted(20);
+		runPending();
+		assertEquals(20, testList.size(), testName + " unexpected size");
+		assertEquals(current[19], testList.getValue(19), testName + " unexpected value");
+		stale.flush();
+		assertEquals(20, testList.size(), testName + " unexpected size after stale flush");
+		assertEquals(1, changes.size(), testName + " unexpected number of changes");
+	}
+
+	/**
+	 * Test method for {@link ConvertedRowsList.Publisher} used by a converting
+	 * thread while publications run on the calling thread
+	 * @throws InterruptedException if interrupted while waiting for the
+	 * converting thread
+	 */
+	@Test
+	@DisplayName("Publisher concurrent conversion")
+	@Order(5)
+	final void testConcurrentConversion() throws InterruptedException
+	{
+		String testName = "Publisher concurrent conversion";
+		System.out.println(testName);
+		double[] values = new double[Rows];
+		testList.reset(unit, values);
+		BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+		ConvertedRowsList.Publisher publisher = testList.publisher(values, queue::add);
+		Thread converter = new Thread(() -> {
+			for (int i = 0; i < Rows; i++)
+			{
+				values[i] = i;
+				publisher.converted(i + 1);
+			}
+		});
+		converter.start();
+		while (converter.isAlive() || !queue.isEmpty())
+		{
+			Runnable publication = queue.poll(10, TimeUnit.MILLISECONDS);
+			if (publication != null)
+			{
+				publication.run();
+			}
+		}
+		converter.join();
+		publisher.flush();
+		assertEquals(Rows, testList.size(), testName + " unexpected size");
+		int published = 0;
+		for (int[] change : changes)
+		{
+			assertEquals(published, change[0], testName + " unexpected change start");
+			published = change[1];
+		}
+		assertEquals(Rows, published, testName + " unexpected published rows");
+		for (int i = 0; i < Rows; i++)
+		{
+			assertEquals(i, testList.getValue(i), testName + " unexpected value at " + i);
+		}
+	}
+}
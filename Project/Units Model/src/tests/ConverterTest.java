@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -52,6 +53,7 @@ import measures.units.BaseSymbolicUnit;
 import measures.units.DecomposedUnit;
 import measures.units.DerivedSymbolicUnit;
 import measures.units.OperationOrder;
+import measures.units.Quantity;
 import measures.units.SortOrder;
 import measures.units.Unit;
 import measures.units.UnitsFactory;
@@ -832,11 +834,11 @@ public class ConverterTest
 				           testName + " unexected not setable unit");
 			}
 
-			Unit.setOrder(testConverter.getSourceSortOrder());
-			assertTrue(isSorted(newSourceUnits),
+			assertTrue(isSorted(newSourceUnits,
+			                    testConverter.getSourceSortOrder()),
 			           testName + " unexpected not sorted source units");
-			Unit.setOrder(testConverter.getDestinationSortOrder());
-			assertTrue(isSorted(newDestinationUnits),
+			assertTrue(isSorted(newDestinationUnits,
+			                    testConverter.getDestinationSortOrder()),
 			           testName + " unexpected not sorted destination units");
 		}
 	}
@@ -878,8 +880,8 @@ public class ConverterTest
 			waitOnCondition(executed, testName);
 
 			List<Unit<Double>> sourceUnits = testConverter.getSourceUnits();
-			Unit.setOrder(testConverter.getSourceSortOrder());
-			SortedSet<Unit<Double>> expectedUnits = new TreeSet<>();
+			SortedSet<Unit<Double>> expectedUnits =
+			    new TreeSet<>(testConverter.getSourceSortOrder().comparator());
 			try
 			{
 				for (Unit<Double> unit : UnitsFactory.getUnits(type))
@@ -1182,7 +1184,7 @@ public class ConverterTest
 		Unit<Double> sourceUnit = testConverter.getSourceUnit();
 		assertNotNull(sourceUnit,
 		              testName + " unexpected null source unit");
-		assertEquals(sourceUnit.formatValue(),
+		assertEquals(testConverter.getSourceValue().format(),
 		             inputTextProperty.get(),
 		             testName + " unexpected input text content");
 	}
@@ -1397,6 +1399,8 @@ public class ConverterTest
 			             testConverter.getSourceSortOrder(),
 			             testName +  " unexpected sources sort order");
 
+			List<Unit<Double>> previousDestinations =
+			    new ArrayList<>(testConverter.getdestinationUnits());
 			executed.setValue(false);
 			Platform.runLater(() -> {
 				testConverter.applySourceSortOrder();
@@ -1404,11 +1408,11 @@ public class ConverterTest
 			});
 			waitOnCondition(executed, testName);
 
-			assertEquals(order,
-			             Unit.getOrder(),
-			             testName + " unexpected Units orderding");
-			assertTrue(isSorted(testConverter.getSourceUnits()),
+			assertTrue(isSorted(testConverter.getSourceUnits(), order),
 			           testName + " sources are not sorted according to " + order);
+			assertIterableEquals(previousDestinations,
+			                     testConverter.getdestinationUnits(),
+			                     testName + " destinations changed by source order");
 		}
 
 		bindConverterProperties(testName);
@@ -1416,6 +1420,8 @@ public class ConverterTest
 		for (SortOrder order : sourceUnitSortingComboBox.getItems())
 		{
 			ObjectProperty<SortOrder> orderProperty = sourceUnitSortingComboBox.valueProperty();
+			List<Unit<Double>> previousDestinations =
+			    new ArrayList<>(testConverter.getdestinationUnits());
 			executed.setValue(false);
 			Platform.runLater(() -> {
 				orderProperty.set(order);
@@ -1427,11 +1433,11 @@ public class ConverterTest
 			assertEquals(order,
 			             testConverter.getSourceSortOrder(),
 			             testName +  " unexpected sources sort order");
-			assertEquals(order,
-			             Unit.getOrder(),
-			             testName + " unexpected Units orderding");
-			assertTrue(isSorted(testConverter.getSourceUnits()),
+			assertTrue(isSorted(testConverter.getSourceUnits(), order),
 			           testName + " sources are not sorted according to " + order);
+			assertIterableEquals(previousDestinations,
+			                     testConverter.getdestinationUnits(),
+			                     testName + " destinations changed by source order");
 		}
 
 //		executed.setValue(false);
@@ -1477,11 +1483,11 @@ public class ConverterTest
 			waitOnCondition(executed, testName);
 
 			List<Unit<Double>> destinationUnits = testConverter.getdestinationUnits();
-			Unit.setOrder(testConverter.getSourceSortOrder());
-			SortedSet<Unit<Double>> expectedUnits = null;
+			SortedSet<Unit<Double>> expectedUnits =
+			    new TreeSet<>(testConverter.getDestinationSortOrder().comparator());
 			try
 			{
-				expectedUnits = new TreeSet<>(UnitsFactory.getUnits(type));
+				expectedUnits.addAll(UnitsFactory.getUnits(type));
 			}
 			catch (NullPointerException | ParseException e)
 			{
@@ -1773,8 +1779,8 @@ public class ConverterTest
 			Unit<Double> sourceUnit = testConverter.getSourceUnit();
 			assertNotNull(sourceUnit,
 			              testName + " unexpected null source unit");
-			assertTrue(sourceUnit.hasValue(),
-			           testName + " source unit has no value");
+			assertNotNull(testConverter.getSourceValue(),
+			              testName + " no source value");
 			ObjectProperty<Unit<Double>> destinationUnitProperty = testConverter.destinationUnitProperty();
 			for (Unit<Double> unit : testConverter.getdestinationUnits())
 			{
@@ -1801,8 +1807,8 @@ public class ConverterTest
 				              testName + " unexpected null output text");
 				assertFalse(outputText.isEmpty(),
 				            testName + " unexpected empty output text");
-				assertEquals(testConverter.getSourceUnit().getSIValue(),
-				             testConverter.getDestinationUnit().getSIValue(),
+				assertEquals(testConverter.getSourceValue().getSIValue(),
+				             testConverter.getDestinationValue().getSIValue(),
 				             1e-6,
 				             testName + " unexpected destination unit SI value");
 			}
@@ -1827,8 +1833,8 @@ public class ConverterTest
 				notifyCondition(executed);
 			});
 			waitOnCondition(executed, testName);
-			assertTrue(testConverter.getSourceUnit().hasValue(),
-			           testName + " source unit has no value");
+			assertNotNull(testConverter.getSourceValue(),
+			              testName + " no source value");
 			ObjectProperty<Unit<Double>> destinationUnitProperty = destinationUnitComboBox.valueProperty();
 			for (Unit<Double> unit : testConverter.getdestinationUnits())
 			{
@@ -1866,8 +1872,8 @@ public class ConverterTest
 				              testName + " unexpected null output text");
 				assertFalse(outputText.isEmpty(),
 				            testName + " unexpected empty output text");
-				assertEquals(testConverter.getSourceUnit().getSIValue(),
-				             testConverter.getDestinationUnit().getSIValue(),
+				assertEquals(testConverter.getSourceValue().getSIValue(),
+				             testConverter.getDestinationValue().getSIValue(),
 				             1e-6,
 				             testName + " unexpected destination unit SI value");
 			}
@@ -2173,6 +2179,8 @@ public class ConverterTest
 			             testConverter.getDestinationSortOrder(),
 			             testName +  " unexpected destinations sort order");
 
+			List<Unit<Double>> previousSources =
+			    new ArrayList<>(testConverter.getSourceUnits());
 			executed.setValue(false);
 			Platform.runLater(() -> {
 				testConverter.applyDestinationSortOrder();
@@ -2180,11 +2188,11 @@ public class ConverterTest
 			});
 			waitOnCondition(executed, testName);
 
-			assertEquals(order,
-			             Unit.getOrder(),
-			             testName + " unexpected Units orderding");
-			assertTrue(isSorted(testConverter.getdestinationUnits()),
+			assertTrue(isSorted(testConverter.getdestinationUnits(), order),
 			           testName + " destinations are not sorted according to " + order);
+			assertIterableEquals(previousSources,
+			                     testConverter.getSourceUnits(),
+			                     testName + " sources changed by destination order");
 		}
 
 		bindConverterProperties(testName);
@@ -2192,6 +2200,8 @@ public class ConverterTest
 		for (SortOrder order : destinationUnitSortingComboBox.getItems())
 		{
 			ObjectProperty<SortOrder> orderProperty = destinationUnitSortingComboBox.valueProperty();
+			List<Unit<Double>> previousSources =
+			    new ArrayList<>(testConverter.getSourceUnits());
 			executed.setValue(false);
 			Platform.runLater(() -> {
 				orderProperty.set(order);
@@ -2203,11 +2213,11 @@ public class ConverterTest
 			assertEquals(order,
 			             testConverter.getDestinationSortOrder(),
 			             testName +  " unexpected destinations sort order");
-			assertEquals(order,
-			             Unit.getOrder(),
-			             testName + " unexpected Units orderding");
-			assertTrue(isSorted(testConverter.getdestinationUnits()),
+			assertTrue(isSorted(testConverter.getdestinationUnits(), order),
 			           testName + " destinations are not sorted according to " + order);
+			assertIterableEquals(previousSources,
+			                     testConverter.getSourceUnits(),
+			                     testName + " sources changed by destination order");
 		}
 
 //		executed.setValue(false);
@@ -2636,20 +2646,26 @@ public class ConverterTest
 				testConverter.setDestinationUnit(unit);
 
 				/*
-				 * destination unit shall have a value and
+				 * converter shall have a destination value and
 				 * output text shall be filled
 				 */
-				Unit<Double> sourceUnit = testConverter.getSourceUnit();
 				Unit<Double> destUnit = testConverter.getDestinationUnit();
-				assertEquals(sourceUnit.getSIValue(),
-				             destUnit.getSIValue(),
+				Quantity input = testConverter.getSourceValue();
+				Quantity converted = testConverter.getDestinationValue();
+				assertNotNull(converted,
+				              testName + " unexpected null converted value");
+				assertSame(destUnit,
+				           converted.getUnit(),
+				           testName + " unexpected converted value unit");
+				assertEquals(input.getSIValue(),
+				             converted.getSIValue(),
 				             epsilon,
 				             testName + " unexpected converted value");
 
 				String output = testConverter.getOutputText();
 				assertNotNull(output,
 				              testName + " unexpected null output text");
-				assertEquals(destUnit.formatValue(),
+				assertEquals(converted.format(),
 				             output,
 				             testName + " unexpected output");
 
@@ -2671,10 +2687,7 @@ public class ConverterTest
 						                outputNumber.doubleValue(),
 						                testName
 						                    + " unexpected 0.0 value while converting "
-						                    + sourceUnit + "="
-						                    + sourceUnit.getValue() + " to "
-						                    + destUnit + "="
-						                    + destUnit.getValue()
+						                    + input + " to " + converted
 						                    + " ==> destination unit format has not enough decimal digits");
 					}
 					catch (NumberFormatException e)
@@ -2747,13 +2760,18 @@ public class ConverterTest
 				waitOnCondition(executed, testName);
 
 				/*
-				 * destination unit shall have a value and
+				 * converter shall have a destination value and
 				 * output text shall be filled
 				 */
-				Unit<Double> sourceUnit = testConverter.getSourceUnit();
-				Unit<Double> destUnit = testConverter.getDestinationUnit();
-				assertEquals(sourceUnit.getSIValue(),
-				             destUnit.getSIValue(),
+				Quantity input = testConverter.getSourceValue();
+				Quantity converted = testConverter.getDestinationValue();
+				assertNotNull(converted,
+				              testName + " unexpected null converted value");
+				assertSame(testConverter.getDestinationUnit(),
+				           converted.getUnit(),
+				           testName + " unexpected converted value unit");
+				assertEquals(input.getSIValue(),
+				             converted.getSIValue(),
 				             epsilon,
 				             testName + " unexpected converted value");
 
@@ -2762,7 +2780,7 @@ public class ConverterTest
 				              testName + " unexpected null output text");
 				assertFalse(output.isEmpty(),
 				            testName + " unexpected empty output text");
-				assertEquals(destUnit.formatValue(),
+				assertEquals(converted.format(),
 				             output,
 				             testName + " unexpected output");
 			}
@@ -2813,7 +2831,7 @@ public class ConverterTest
 			              testName + " unexpected null output value");
 			assertFalse(output.isEmpty(),
 			            testName + " unexpected empty output value");
-			assertEquals(testConverter.getDestinationUnit().formatValue(),
+			assertEquals(testConverter.getDestinationValue().format(),
 			             output,
 			             testName + " unexpected output text value");
 		}
@@ -2837,7 +2855,7 @@ public class ConverterTest
 			              testName + " unexpected null output value");
 			assertFalse(output.isEmpty(),
 			            testName + " unexpected empty output value");
-			assertEquals(testConverter.getDestinationUnit().formatValue(),
+			assertEquals(testConverter.getDestinationValue().format(),
 			             output,
 			             testName + " unexpected output text value");
 		}
@@ -2890,7 +2908,7 @@ public class ConverterTest
 				              testName + " unexpected null output text");
 				assertFalse(output.isEmpty(),
 				            testName + " unexpected empty output text");
-				assertEquals(testConverter.getDestinationUnit().formatValue(),
+				assertEquals(testConverter.getDestinationValue().format(),
 				             output,
 				             testName + " unexpected output");
 			}
@@ -2934,7 +2952,7 @@ public class ConverterTest
 				              testName + " unexpected null output text");
 				assertFalse(output.isEmpty(),
 				            testName + " unexpected empty output text");
-				assertEquals(testConverter.getDestinationUnit().formatValue(),
+				assertEquals(testConverter.getDestinationValue().format(),
 				             output,
 				             testName + " unexpected output");
 			}
@@ -3156,10 +3174,10 @@ public class ConverterTest
 
 		assertFalse(testConverter.getInputText().isEmpty(),
 		            testName + " unexpected empty input text");
-		assertTrue(testConverter.getSourceUnit().hasValue(),
-		           testName + " unexpected empty source unit");
-		assertTrue(testConverter.getDestinationUnit().hasValue(),
-		           testName + " unexpected empty destination unit");
+		assertNotNull(testConverter.getSourceValue(),
+		              testName + " unexpected empty source value");
+		assertNotNull(testConverter.getDestinationValue(),
+		              testName + " unexpected empty destination value");
 		assertFalse(testConverter.getOutputText().isEmpty(),
 		            testName + " unexpected empty output text");
 
@@ -3173,10 +3191,10 @@ public class ConverterTest
 
 		assertNull(testConverter.getInputText(),
 		           testName + " unexpected not null input text");
-		assertFalse(testConverter.getSourceUnit().hasValue(),
-		            testName + " unexpected not empty source unit");
-		assertFalse(testConverter.getDestinationUnit().hasValue(),
-		            testName + " unexpected not empty destination unit");
+		assertNull(testConverter.getSourceValue(),
+		           testName + " unexpected not empty source value");
+		assertNull(testConverter.getDestinationValue(),
+		           testName + " unexpected not empty destination value");
 		assertNull(testConverter.getOutputText(),
 		           testName + " unexpected not null output text");
 
@@ -3189,10 +3207,10 @@ public class ConverterTest
 			            testName + " unexpected empty input text");
 			testConverter.applyInputText();
 			testConverter.convert();
-			assertTrue(testConverter.getSourceUnit().hasValue(),
-			           testName + " unexpected empty source unit");
-			assertTrue(testConverter.getDestinationUnit().hasValue(),
-			           testName + " unexpected empty destination unit");
+			assertNotNull(testConverter.getSourceValue(),
+			              testName + " unexpected empty source value");
+			assertNotNull(testConverter.getDestinationValue(),
+			              testName + " unexpected empty destination value");
 			assertFalse(testConverter.getOutputText().isEmpty(),
 			            testName + " unexpected empty output text");
 
@@ -3202,10 +3220,10 @@ public class ConverterTest
 			           testName + " unexpected not null text field");
 			assertNull(testConverter.getInputText(),
 			           testName + " unexpected not null input text");
-			assertFalse(testConverter.getSourceUnit().hasValue(),
-			            testName + " unexpected not empty source unit");
-			assertFalse(testConverter.getDestinationUnit().hasValue(),
-			            testName + " unexpected not empty destination unit");
+			assertNull(testConverter.getSourceValue(),
+			           testName + " unexpected not empty source value");
+			assertNull(testConverter.getDestinationValue(),
+			           testName + " unexpected not empty destination value");
 			assertNull(testConverter.getOutputText(),
 			           testName + " unexpected not null output text");
 			assertNull(destinationLabel.getText(),
@@ -3283,6 +3301,70 @@ public class ConverterTest
 		}
 	}
 
+	/**
+	 * Test method for {@link application.Converter#getConversions()},
+	 * {@link application.Converter#getSkippedConversions()}
+	 * and {@link application.Converter#getSkippedOutputFormats()}.
+	 * Units or source value changes which are not read shall neither be
+	 * converted nor formatted and conversions without changes shall be skipped
+	 */
+	@Test
+	@DisplayName("lazy output text")
+	@Order(35)
+	final void testLazyOutputText()
+	{
+		testName = "lazy output text";
+		System.out.println(testName);
+		assertNotNull(testConverter,
+		              testName + " unexpected null converter instance");
+
+		List<Unit<Double>> units = testConverter.getdestinationUnits();
+		assertTrue(units.size() > 1,
+		           testName + " not enough destination units");
+		testConverter.setInputText("1.0");
+		testConverter.setDestinationUnit(units.get(units.size() - 1));
+		testConverter.getOutputText();
+		long conversions = testConverter.getConversions();
+		long formats = testConverter.getOutputFormats();
+		long skippedFormats = testConverter.getSkippedOutputFormats();
+		for (Unit<Double> unit : units)
+		{
+			testConverter.setDestinationUnit(unit);
+		}
+		assertEquals(conversions,
+		             testConverter.getConversions(),
+		             testName + " unexpected conversions before reading output");
+		assertEquals(formats,
+		             testConverter.getOutputFormats(),
+		             testName + " unexpected formats before reading output");
+		assertEquals(skippedFormats + units.size() - 1,
+		             testConverter.getSkippedOutputFormats(),
+		             testName + " unexpected skipped formats");
+		assertEquals(testConverter.getDestinationValue().format(),
+		             testConverter.getOutputText(),
+		             testName + " unexpected output");
+		assertEquals(conversions + 1,
+		             testConverter.getConversions(),
+		             testName + " unexpected conversions after reading output");
+		assertEquals(formats + 1,
+		             testConverter.getOutputFormats(),
+		             testName + " unexpected formats after reading output");
+
+		conversions = testConverter.getConversions();
+		long skippedConversions = testConverter.getSkippedConversions();
+		testConverter.convert();
+		testConverter.convert();
+		assertEquals(conversions,
+		             testConverter.getConversions(),
+		             testName + " unexpected conversions");
+		assertEquals(skippedConversions + 2,
+		             testConverter.getSkippedConversions(),
+		             testName + " unexpected skipped conversions");
+		assertEquals(formats + 1,
+		             testConverter.getOutputFormats(),
+		             testName + " unexpected formats after skipped conversions");
+	}
+
 	/**
 	 * Sets condition's value to true and notifies any waiting thread on
 	 * condition
@@ -3335,11 +3417,12 @@ public class ConverterTest
 	}
 
 	/**
-	 * Checks if a list of comparable elements is sorted
+	 * Checks if a list of units is sorted according to a sort order
 	 * @param list the list to check
+	 * @param order the order list should be sorted in
 	 * @return true if the provided list is sorted, false otherwise
 	 */
-	private static boolean isSorted(List<Unit<Double>> list)
+	private static boolean isSorted(List<Unit<Double>> list, SortOrder order)
 	{
 		if (list.isEmpty() || (list.size() == 1))
 		{
@@ -3351,7 +3434,7 @@ public class ConverterTest
 		while (it.hasNext())
 		{
 			current = it.next();
-			if (previous.compareTo(current) > 0)
+			if (order.comparator().compare(previous, current) > 0)
 			{
 				return false;
 			}
@@ -0,0 +1,222 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import utils.FlyweightFactory;
+
+/**
+ * FlyweightFactory Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("FlyweightFactory")
+public class FlyweightFactoryTest
+{
+	/**
+	 * Number of threads concurrently requesting elements
+	 */
+	private static final int Threads = 8;
+
+	/**
+	 * The factory under test
+	 */
+	private FlyweightFactory<String> testFactory = null;
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("FlyweightFactory tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("FlyweightFactory tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Setup before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		testFactory = new FlyweightFactory<String>();
+	}
+
+	/**
+	 * Test method for {@link FlyweightFactory#get(Object, FlyweightFactory.Builder)}
+	 * hits and misses counters
+	 */
+	@Test
+	@DisplayName("get(key, builder) counters")
+	@Order(1)
+	final void testCounters()
+	{
+		String testName = "get(key, builder) counters";
+		System.out.println(testName);
+		AtomicInteger builds = new AtomicInteger();
+		String first = testFactory.get("a", () -> {
+			builds.incrementAndGet();
+			return new String("A");
+		});
+		assertEquals("A", first, testName + " unexpected element");
+		assertEquals(0L, testFactory.getHits(), testName + " unexpected hits");
+		assertEquals(1L, testFactory.getMisses(), testName + " unexpected misses");
+		for (int i = 0; i < 3; i++)
+		{
+			assertSame(first,
+			           testFactory.get("a", () -> {
+				           builds.incrementAndGet();
+				           return new String("A");
+			           }),
+			           testName + " unexpected new element");
+		}
+		assertEquals(1, builds.get(), testName + " unexpected builds");
+		assertEquals(3L, testFactory.getHits(), testName + " unexpected hits");
+		assertEquals(1L, testFactory.getMisses(), testName + " unexpected misses");
+		assertEquals(1, testFactory.size(), testName + " unexpected size");
+		assertTrue(testFactory.has(first), testName + " unexpected missing element");
+
+		assertNull(testFactory.get("b", () -> null), testName + " unexpected non null element");
+		assertEquals(1, testFactory.size(), testName + " unexpected null element stored");
+		assertEquals(1L, testFactory.getMisses(), testName + " unexpected misses after null");
+
+		assertThrows(IOException.class,
+		             () -> testFactory.get("c", () -> {
+			             throw new IOException("build failure");
+		             }),
+		             testName + " builder exception not propagated");
+		assertFalse(testFactory.has("C"), testName + " unexpected failed element");
+
+		testFactory.clear();
+		assertEquals(0, testFactory.size(), testName + " unexpected size after clear");
+		assertEquals(0L, testFactory.getHits(), testName + " unexpected hits after clear");
+		assertEquals(0L, testFactory.getMisses(), testName + " unexpected misses after clear");
+	}
+
+	/**
+	 * Test method for {@link FlyweightFactory#get(Object)} with element
+	 * prototypes
+	 */
+	@Test
+	@DisplayName("get(element)")
+	@Order(2)
+	final void testGetPrototype()
+	{
+		String testName = "get(element)";
+		System.out.println(testName);
+		String prototype = new String("element");
+		String other = new String("element");
+		assertNotSame(prototype, other, testName + " unexpected same prototypes");
+		assertSame(prototype, testFactory.get(prototype), testName + " unexpected stored element");
+		assertSame(prototype, testFactory.get(other), testName + " unexpected new element");
+		assertSame(prototype,
+		           testFactory.get(prototype.hashCode()),
+		           testName + " unexpected element from hash");
+		assertNull(testFactory.get((String) null), testName + " unexpected non null element");
+	}
+
+	/**
+	 * Test method for {@link FlyweightFactory#get(Object, FlyweightFactory.Builder)}
+	 * with concurrent requests of the same missing elements: all threads shall
+	 * get the same instance and each request shall be counted once.
+	 * @throws Exception if threads fail
+	 */
+	@Test
+	@DisplayName("concurrent get(key, builder)")
+	@Order(3)
+	final void testConcurrentGet() throws Exception
+	{
+		String testName = "concurrent get(key, builder)";
+		System.out.println(testName);
+		final int keys = 100;
+		final int rounds = 50;
+		ExecutorService executor = Executors.newFixedThreadPool(Threads);
+		try
+		{
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<String[]>> futures = new ArrayList<>();
+			for (int t = 0; t < Threads; t++)
+			{
+				futures.add(executor.submit(() -> {
+					start.await();
+					String[] elements = new String[keys];
+					for (int round = 0; round < rounds; round++)
+					{
+						for (int k = 0; k < keys; k++)
+						{
+							final int key = k;
+							String element = testFactory.get(Integer.valueOf(key),
+							                                 () -> new String("element " + key));
+							if (elements[k] == null)
+							{
+								elements[k] = element;
+							}
+							else if (elements[k] != element)
+							{
+								throw new AssertionError("different instances for key " + key);
+							}
+						}
+					}
+					return elements;
+				}));
+			}
+			start.countDown();
+			String[] expected = futures.get(0).get(30, TimeUnit.SECONDS);
+			for (Future<String[]> future : futures)
+			{
+				String[] elements = future.get(30, TimeUnit.SECONDS);
+				for (int k = 0; k < keys; k++)
+				{
+					assertSame(expected[k], elements[k], testName + " unexpected instance for key " + k);
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		assertEquals(keys, testFactory.size(), testName + " unexpected size");
+		assertEquals(keys, testFactory.getMisses(), testName + " unexpected misses");
+		assertEquals((long) Threads * rounds * keys,
+		             testFactory.getHits() + testFactory.getMisses(),
+		             testName + " unexpected number of counted requests");
+	}
+}
@@ -0,0 +1,211 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import measures.units.NumericFormat;
+
+/**
+ * NumericFormat Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("NumericFormat")
+public class NumericFormatTest
+{
+	/**
+	 * Special values to format
+	 */
+	private static final double[] SpecialValues = {
+		0.0, -0.0, 0.5, 1.5, 2.5, -2.5, 0.125, 0.135, -0.001, 0.0005, 2.675,
+		1e15, 1e16, 1e300, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN,
+		Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+	};
+
+	/**
+	 * Format strings provider
+	 * @return a stream of format strings used by units
+	 */
+	private static Stream<String> formatsProvider()
+	{
+		return Stream.of("4.1", "+4.1", "5.1", "7.0", "7.1", "7.3", "8.2",
+		                 "+9.2", "9.4", "9.5", "10.3", "11.3", "12.6", "25.20");
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("NumericFormat tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("NumericFormat tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Checks all formatting methods of format produce the same text as
+	 * reference for the provided value
+	 * @param testName the name of the test
+	 * @param format the format under test
+	 * @param reference the reference format
+	 * @param value the value to format
+	 * @param buffer buffer used to format value into
+	 */
+	private static void checkFormat(String testName,
+	                                NumericFormat format,
+	                                DecimalFormat reference,
+	                                double value,
+	                                char[] buffer)
+	{
+		String expected = reference.format(value);
+		assertEquals(expected,
+		             format.format(value),
+		             testName + " unexpected text for " + value);
+		assertEquals("[" + expected,
+		             format.format(value, new StringBuilder("[")).toString(),
+		             testName + " unexpected appended text for " + value);
+		int end = format.format(value, buffer, 1);
+		assertEquals(expected,
+		             new String(buffer, 1, end - 1),
+		             testName + " unexpected written text for " + value);
+	}
+
+	/**
+	 * Test method for {@link NumericFormat#format(double)},
+	 * {@link NumericFormat#format(double, StringBuilder)} and
+	 * {@link NumericFormat#format(double, char[], int)} with special values
+	 * @param formatString the format string to parse
+	 * @throws ParseException if format string can't be parsed
+	 */
+	@ParameterizedTest
+	@MethodSource("formatsProvider")
+	@DisplayName("format(special values)")
+	@Order(1)
+	final void testFormatSpecial(String formatString) throws ParseException
+	{
+		String testName = "format(" + formatString + ", special values)";
+		System.out.println(testName);
+		NumericFormat format = NumericFormat.parse(formatString);
+		DecimalFormat reference = format.toDecimalFormat();
+		char[] buffer = new char[512];
+		for (double value : SpecialValues)
+		{
+			checkFormat(testName, format, reference, value, buffer);
+			checkFormat(testName, format, reference, -value, buffer);
+		}
+	}
+
+	/**
+	 * Test method for {@link NumericFormat#format(double)},
+	 * {@link NumericFormat#format(double, StringBuilder)} and
+	 * {@link NumericFormat#format(double, char[], int)} with random values
+	 * which shall be formatted exactly as {@link DecimalFormat} would
+	 * @param formatString the format string to parse
+	 * @throws ParseException if format string can't be parsed
+	 */
+	@ParameterizedTest
+	@MethodSource("formatsProvider")
+	@DisplayName("format(random values)")
+	@Order(2)
+	final void testFormatRandom(String formatString) throws ParseException
+	{
+		String testName = "format(" + formatString + ", random values)";
+		System.out.println(testName);
+		NumericFormat format = NumericFormat.parse(formatString);
+		DecimalFormat reference = format.toDecimalFormat();
+		char[] buffer = new char[512];
+		Random random = new Random(42);
+		for (int i = 0; i < 20000; i++)
+		{
+			double value;
+			switch (i % 3)
+			{
+				case 0:
+					value = (random.nextDouble() - 0.5)
+					    * Math.pow(10, random.nextInt(24) - 8);
+					break;
+				case 1: // ties at various decimal places
+					value = ((random.nextInt(2000000) - 1000000) + 0.5)
+					    / Math.pow(10, random.nextInt(7));
+					break;
+				default:
+					value = Double.longBitsToDouble(random.nextLong());
+					break;
+			}
+			checkFormat(testName, format, reference, value, buffer);
+		}
+	}
+
+	/**
+	 * Test method for {@link NumericFormat#parse(String)} with invalid
+	 * format strings
+	 */
+	@Test
+	@DisplayName("parse(invalid)")
+	@Order(3)
+	final void testParseInvalid()
+	{
+		String testName = "parse(invalid)";
+		System.out.println(testName);
+		for (String formatString : new String[] {"7", "+a.2", "7.b", "", "-3.1"})
+		{
+			assertThrows(Exception.class,
+			             () -> NumericFormat.parse(formatString),
+			             testName + " unexpected success with \""
+			                 + formatString + "\"");
+		}
+	}
+
+	/**
+	 * Test method for {@link NumericFormat#parse(String)} with decimal places
+	 * too long for total length, which shall be reduced to fit
+	 * @throws ParseException if format strings can't be parsed
+	 */
+	@Test
+	@DisplayName("parse(decimal too long)")
+	@Order(4)
+	final void testParseDecimalTooLong() throws ParseException
+	{
+		String testName = "parse(decimal too long)";
+		System.out.println(testName);
+		String[] formatStrings = new String[] {"4.3", "+4.3", "2.2", "3.1"};
+		int[] expectedDecimals = new int[] {2, 1, 0, 1};
+		for (int i = 0; i < formatStrings.length; i++)
+		{
+			NumericFormat format = NumericFormat.parse(formatStrings[i]);
+			assertEquals(expectedDecimals[i],
+			             format.getDecimals(),
+			             testName + " unexpected decimals with \""
+			                 + formatStrings[i] + "\"");
+		}
+	}
+}
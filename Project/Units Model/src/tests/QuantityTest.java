@@ -0,0 +1,275 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.text.ParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import measures.MeasureType;
+import measures.units.Quantity;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * Quantity Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("Quantity")
+public class QuantityTest
+{
+	/**
+	 * Values to carry in quantities
+	 */
+	private static final double[] values = new double[] {
+		-273.15, -1.0, 0.0, 0.5, 3.0, 42.0, 359.9, 1234.5678
+	};
+
+	/**
+	 * Tolerance used to compare quantities to unit values relatively to the
+	 * compared values
+	 */
+	private static final double tolerance = 1e-9;
+
+	/**
+	 * Measure types stream provider
+	 * @return a stream of all {@link MeasureType}s
+	 */
+	private static Stream<MeasureType> measureTypesProvider()
+	{
+		return MeasureType.all().stream();
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("Quantity tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("Quantity tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Compare a quantity value with a unit value
+	 * @param message message to display on failure
+	 * @param expected the value obtained through the unit's value
+	 * @param actual the value carried by the quantity
+	 */
+	private static void assertValue(String message, double expected, double actual)
+	{
+		if (Double.isNaN(expected))
+		{
+			assertEquals(expected, actual, message);
+		}
+		else
+		{
+			assertEquals(expected,
+			             actual,
+			             Math.max(Math.abs(expected), 1.0) * tolerance,
+			             message);
+		}
+	}
+
+	/**
+	 * Search a unit by symbol
+	 * @param type the type of measures of the unit
+	 * @param symbol the symbol of the unit
+	 * @return the unit with the provided symbol
+	 * @throws ParseException if units can't be built
+	 */
+	private static Unit<Double> unit(MeasureType type, String symbol) throws ParseException
+	{
+		Optional<Unit<Double>> unit = UnitsFactory.getUnits(type)
+		    .stream()
+		    .filter((Unit<Double> u) -> u.getSymbol().equals(symbol))
+		    .findFirst();
+		if (unit.isEmpty())
+		{
+			fail("no unit with symbol " + symbol);
+		}
+		return unit.get();
+	}
+
+	/**
+	 * Test method for {@link Quantity#Quantity(double, Unit)},
+	 * {@link Quantity#getSIValue()} and {@link Quantity#format()}: quantities
+	 * shall hold the same values as setable units without modifying them
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("Quantity(value, unit)")
+	@Order(1)
+	final void testConstructor(MeasureType type)
+	{
+		String testName = "Quantity(value, unit)(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Set<Unit<Double>> units = UnitsFactory.getUnits(type);
+			for (Unit<Double> unit : units)
+			{
+				if (!unit.isSetable())
+				{
+					continue;
+				}
+				for (double value : values)
+				{
+					String message = testName + " " + unit + " with " + value;
+					unit.setValue(value);
+					double unitValue = unit.getValue().doubleValue();
+					Quantity quantity = new Quantity(value, unit);
+					assertEquals(unitValue,
+					             unit.getValue().doubleValue(),
+					             message + " unexpected unit value change");
+					assertSame(unit, quantity.getUnit(), message + " unexpected unit");
+					assertValue(message + " unexpected bounded value",
+					            unit.getValue().doubleValue(),
+					            quantity.getValue());
+					assertValue(message + " unexpected SI value",
+					            unit.getSIValue(),
+					            quantity.getSIValue());
+					assertEquals(unit.formatValue(),
+					             quantity.format(),
+					             message + " unexpected formatted value");
+				}
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+		assertThrows(NullPointerException.class,
+		             () -> new Quantity(1.0, null),
+		             testName + " null unit didn't throw");
+	}
+
+	/**
+	 * Test method for {@link Quantity#convertTo(Unit)}: converted quantities
+	 * shall hold the same values as units converted with
+	 * {@link Unit#convertValueTo(Unit)}
+	 * @param type the type of units tested
+	 */
+	@ParameterizedTest
+	@MethodSource("measureTypesProvider")
+	@DisplayName("convertTo(unit)")
+	@Order(2)
+	final void testConvertTo(MeasureType type)
+	{
+		String testName = "convertTo(unit)(" + type + ")";
+		System.out.println(testName);
+
+		try
+		{
+			Set<Unit<Double>> units = UnitsFactory.getUnits(type);
+			for (Unit<Double> source : units)
+			{
+				if (!source.isSetable())
+				{
+					continue;
+				}
+				for (Unit<Double> destination : units)
+				{
+					for (double value : values)
+					{
+						String message = testName + " " + source + " -> "
+						    + destination + " with " + value;
+						Quantity quantity = new Quantity(value, source);
+						Quantity converted = quantity.convertTo(destination);
+						assertSame(destination, converted.getUnit(), message + " unexpected unit");
+						source.setValue(value);
+						source.convertValueTo(destination);
+						assertValue(message + " unexpected converted value",
+						            destination.getValue().doubleValue(),
+						            converted.getValue());
+					}
+				}
+				Quantity quantity = new Quantity(values[0], source);
+				assertSame(quantity,
+				           quantity.convertTo(source),
+				           testName + " unexpected new quantity in same unit");
+				assertThrows(NullPointerException.class,
+				             () -> quantity.convertTo(null),
+				             testName + " null destination didn't throw");
+			}
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test method for {@link Quantity#compareTo(Quantity)},
+	 * {@link Quantity#equals(Object)}, {@link Quantity#hashCode()} and
+	 * {@link Quantity#toString()}
+	 */
+	@Test
+	@DisplayName("compareTo / equals / toString")
+	@Order(3)
+	final void testComparisons()
+	{
+		String testName = "compareTo / equals / toString";
+		System.out.println(testName);
+
+		try
+		{
+			Unit<Double> meter = unit(MeasureType.LENGTH, "m");
+			Unit<Double> kilometer = unit(MeasureType.LENGTH, "km");
+			Quantity oneKilometer = new Quantity(1.0, kilometer);
+			Quantity thousandMeters = new Quantity(1000.0, meter);
+			Quantity meters = new Quantity(999.0, meter);
+			assertTrue(oneKilometer.compareTo(meters) > 0, testName + " unexpected lower quantity");
+			assertTrue(meters.compareTo(oneKilometer) < 0, testName + " unexpected greater quantity");
+			assertEquals(0,
+			             oneKilometer.compareTo(thousandMeters),
+			             testName + " unexpected different SI values");
+			assertNotEquals(oneKilometer,
+			                thousandMeters,
+			                testName + " unexpected equality with another unit");
+			Quantity same = new Quantity(1.0, kilometer);
+			assertEquals(oneKilometer, same, testName + " unexpected inequality");
+			assertEquals(oneKilometer.hashCode(), same.hashCode(), testName + " unexpected hash code");
+			assertEquals(oneKilometer.format() + " km",
+			             oneKilometer.toString(),
+			             testName + " unexpected string");
+		}
+		catch (ParseException e)
+		{
+			fail(testName + " unexpected parse exception " + e.getMessage());
+		}
+	}
+}
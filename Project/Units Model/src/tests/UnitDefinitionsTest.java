@@ -0,0 +1,253 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import measures.MeasureType;
+import measures.units.CompiledUnitDefinitions;
+import measures.units.DecomposedUnit;
+import measures.units.DerivedSymbolicUnit;
+import measures.units.OperationOrder;
+import measures.units.Unit;
+import measures.units.UnitDefinition;
+import measures.units.UnitDefinitions;
+import measures.units.UnitDefinitionsReader;
+import measures.units.UnitsCatalogue;
+import measures.units.UnitsFactory;
+
+/**
+ * Unit definitions (text and compiled) Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("UnitDefinitions")
+public class UnitDefinitionsTest
+{
+	/**
+	 * Text definitions
+	 */
+	private static final String Definitions = String.join("\n",
+	    "# Test definitions",
+	    "",
+	    "kind = derived; type = LENGTH; description = Pied de test; symbol = ftt; format = 8.2; factor = 0.3048",
+	    "kind = base; type = SPEED; description = Vitesse de test; symbol = vt; min = -Infinity; max = Infinity",
+	    "kind = derived-symbolic; type = DIRECTION; description = Quadrants de test; symbol = ; symbols = N, E, S, W; cyclic = true; factor = 2/pi; offset = 0.5; order = FACTOR_AND_OFFSET",
+	    "kind = symbolic; type = TEMPERATURE; description = Ressenti de test; symbol = r; values = 0, 273.15, 293.15, 1000; symbols = froid, doux\\, tiède, chaud",
+	    "kind = decomposed; type = TIME; description = jour:heure de test; symbol = j:h; separator = :; coefs = 1/86400, 24; unit = Secondes; unitSymbol = s");
+
+	/**
+	 * Search for a unit in a catalogue
+	 * @param catalogue the catalogue to search
+	 * @param text the description or symbol of the unit to search
+	 * @return the first unit of the catalogue whose description or symbol is
+	 * text or null if there is no such unit
+	 */
+	private static Unit<Double> find(UnitsCatalogue catalogue, String text)
+	{
+		for (Unit<Double> unit : catalogue.getUnits())
+		{
+			if (text.equals(unit.getDescription()) || text.equals(unit.getSymbol()))
+			{
+				return unit;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("UnitDefinitions tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("UnitDefinitions tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Test method for {@link UnitDefinitionsReader#read(java.io.Reader)}
+	 * @throws IOException if definitions can't be read
+	 * @throws ParseException if definitions can't be parsed
+	 */
+	@Test
+	@DisplayName("read(text)")
+	@Order(1)
+	final void testRead() throws IOException, ParseException
+	{
+		String testName = "read(text)";
+		System.out.println(testName);
+		List<UnitDefinition> definitions =
+		    UnitDefinitionsReader.read(new StringReader(Definitions));
+		assertEquals(5, definitions.size(), testName + " unexpected size");
+		assertEquals(UnitDefinition.derived(MeasureType.LENGTH,
+		                                    "Pied de test",
+		                                    "ftt",
+		                                    "8.2",
+		                                    0.0,
+		                                    Double.POSITIVE_INFINITY,
+		                                    false,
+		                                    1.0,
+		                                    0.3048,
+		                                    0.0,
+		                                    OperationOrder.FACTOR_ONLY),
+		             definitions.get(0),
+		             testName + " unexpected derived definition");
+		assertEquals(UnitDefinition.symbolic(MeasureType.TEMPERATURE,
+		                                     "Ressenti de test",
+		                                     "r",
+		                                     new double[] {0.0, 273.15, 293.15, 1000.0},
+		                                     new String[] {"froid", "doux, tiède", "chaud"},
+		                                     false),
+		             definitions.get(3),
+		             testName + " unexpected symbolic definition");
+
+		for (String invalid : new String[] {
+		    "kind = derived; type = LENGTH",
+		    "kind = unknown; type = LENGTH; description = x",
+		    "kind = base; type = LENGTH; description = x; max = 1/x",
+		    "kind = base type = LENGTH description = x"})
+		{
+			ParseException e = assertThrows(ParseException.class,
+			                                () -> UnitDefinitionsReader
+			                                    .read(new StringReader("\n" + invalid)),
+			                                testName + " unexpected success with "
+			                                    + invalid);
+			assertEquals(2, e.getErrorOffset(), testName + " unexpected line number");
+		}
+	}
+
+	/**
+	 * Test method for {@link CompiledUnitDefinitions#write(java.util.Collection, Path)}
+	 * and {@link CompiledUnitDefinitions#open(Path)}
+	 * @param directory temporary directory
+	 * @throws IOException if compiled file can't be written or read
+	 * @throws ParseException if definitions can't be parsed
+	 */
+	@Test
+	@DisplayName("compiled definitions")
+	@Order(2)
+	final void testCompiled(@TempDir Path directory)
+	    throws IOException,
+	    ParseException
+	{
+		String testName = "compiled definitions";
+		System.out.println(testName);
+		List<UnitDefinition> definitions =
+		    UnitDefinitionsReader.read(new StringReader(Definitions));
+		UnitDefinitions source = UnitDefinitions.of(definitions);
+		Path file = directory.resolve("units.bin");
+		CompiledUnitDefinitions.write(definitions, file);
+		assertTrue(CompiledUnitDefinitions.isCompiled(file),
+		           testName + " unexpected file type");
+		CompiledUnitDefinitions compiled = CompiledUnitDefinitions.open(file);
+		for (MeasureType type : MeasureType.all())
+		{
+			assertFalse(compiled.isDecoded(type),
+			            testName + " unexpected decoded " + type);
+			assertEquals(source.getDefinitions(type).size(),
+			             compiled.count(type),
+			             testName + " unexpected count of " + type);
+		}
+		for (MeasureType type : MeasureType.all())
+		{
+			assertEquals(source.getDefinitions(type),
+			             compiled.getDefinitions(type),
+			             testName + " unexpected definitions of " + type);
+			assertTrue(compiled.isDecoded(type),
+			           testName + " undecoded " + type);
+		}
+
+		Path text = directory.resolve("units.txt");
+		Files.writeString(text, Definitions);
+		assertFalse(CompiledUnitDefinitions.isCompiled(text),
+		            testName + " unexpected file type");
+		assertThrows(IOException.class,
+		             () -> CompiledUnitDefinitions.open(text),
+		             testName + " unexpected success with text file");
+	}
+
+	/**
+	 * Test method for {@link UnitsFactory#addDefinitions(UnitDefinitions)}
+	 * @throws IOException if definitions can't be read
+	 * @throws ParseException if definitions can't be parsed
+	 */
+	@Test
+	@DisplayName("UnitsFactory.addDefinitions(...)")
+	@Order(3)
+	final void testAddDefinitions() throws IOException, ParseException
+	{
+		String testName = "UnitsFactory.addDefinitions(...)";
+		System.out.println(testName);
+		UnitDefinitions source = UnitDefinitions
+		    .of(UnitDefinitionsReader.read(new StringReader(Definitions)));
+		UnitsCatalogue before = UnitsFactory.getCatalogue(MeasureType.LENGTH);
+		assertNull(find(before, "ftt"), testName + " unexpected unit before");
+		UnitsFactory.addDefinitions(source);
+		try
+		{
+			UnitsCatalogue lengths = UnitsFactory.getCatalogue(MeasureType.LENGTH);
+			assertNotSame(before, lengths, testName + " catalogue not rebuilt");
+			Unit<Double> feet = find(lengths, "ftt");
+			assertNotNull(feet, testName + " defined unit not found");
+			assertEquals(1.0, feet.toSI(1.0 / 0.3048), 1e-12,
+			             testName + " unexpected conversion");
+			assertEquals(before.size() + 1, lengths.size(),
+			             testName + " unexpected catalogue size");
+
+			Unit<Double> quadrants = find(UnitsFactory.getCatalogue(MeasureType.DIRECTION),
+			                              "Quadrants de test");
+			assertTrue(quadrants instanceof DerivedSymbolicUnit,
+			           testName + " unexpected symbolic unit " + quadrants);
+
+			Unit<Double> days = find(UnitsFactory.getCatalogue(MeasureType.TIME),
+			                         "jour:heure de test");
+			assertTrue(days instanceof DecomposedUnit,
+			           testName + " unexpected decomposed unit " + days);
+			assertEquals("01j : 12h", days.formatValue(days.fromSI(129600.0)).strip(),
+			             testName + " unexpected decomposed value");
+		}
+		finally
+		{
+			assertTrue(UnitsFactory.removeDefinitions(source),
+			           testName + " definitions not removed");
+		}
+		assertEquals(before.size(),
+		             UnitsFactory.getCatalogue(MeasureType.LENGTH).size(),
+		             testName + " unexpected catalogue size after removal");
+	}
+}
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -1325,7 +1326,9 @@ public class UnitTest
 	}
 
 	/**
-	 * Test method for {@link measures.units.Unit#compareTo(measures.units.Unit)}.
+	 * Test method for {@link measures.units.SortOrder#comparator()} and
+	 * {@link measures.units.Unit#compare(Unit, Unit, SortOrder)} which
+	 * {@link measures.units.Unit#compareTo(measures.units.Unit)} relies on.
 	 * @param type the type of unit to test
 	 */
 	@ParameterizedTest
@@ -1339,11 +1342,13 @@ public class UnitTest
 
 		for (SortOrder order : SortOrder.all())
 		{
-			Unit.setOrder(order);
 			for (int i = 0; i < unitTypes.length; i++)
 			{
 				Unit<Double> unit = buildUnit(unitTypes[i], baseTestName);
-				int comparison = testUnit.compareTo(unit);
+				int comparison = order.comparator().compare(testUnit, unit);
+				assertEquals(Unit.compare(testUnit, unit, order),
+				             comparison,
+				             testName + " unexpected comparator value");
 				int descriptionComparison = testUnit.getDescription().compareTo(unit.getDescription());
 				int symbolComparison = testUnit.getSymbol().compareTo(unit.getSymbol());
 				int nameComparison = (descriptionComparison == 0 ? symbolComparison : descriptionComparison);
@@ -1524,6 +1529,7 @@ public class UnitTest
 	@MethodSource("unitClassesProvider")
 	@DisplayName("getOrder() / setOrder(measures.units.SortOrder)")
 	@Order(24)
+	@SuppressWarnings("deprecation")
 	final void testGetAndSetOrder(Class<? extends Unit<Double>> type)
 	{
 		String baseTestName = "getOrder()";
@@ -1593,4 +1599,92 @@ public class UnitTest
 			            testName + " unexpected cyclic status");
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test method for {@link BaseSymbolicUnit#classify(double[])} which shall
+	 * classify values in the same bands as {@link Unit#formatValue(double)}
+	 */
+	@Test
+	@DisplayName("BaseSymbolicUnit.classify(double[])")
+	@Order(28)
+	final void testClassify()
+	{
+		String baseTestName = "classify(double[])";
+		setUpTest(buildUnit(BaseSymbolicUnit.class, baseTestName), baseTestName);
+		BaseSymbolicUnit symbolicUnit = (BaseSymbolicUnit) testUnit;
+		double min = beaufortValues[0];
+		double max = beaufortValues[beaufortValues.length - 1];
+		double[] samples = new double[(beaufortValues.length * 2) + 3];
+		for (int i = 0; i < beaufortValues.length; i++)
+		{
+			samples[2 * i] = beaufortValues[i];
+			samples[(2 * i) + 1] = Math.min(beaufortValues[i] + 0.5, max);
+		}
+		samples[samples.length - 3] = min - 1.0;
+		samples[samples.length - 2] = max + 1.0;
+		samples[samples.length - 1] = Double.NaN;
+
+		int[] bands = symbolicUnit.classify(samples);
+		String[] symbols = symbolicUnit.classifySymbols(samples);
+		for (int i = 0; i < samples.length; i++)
+		{
+			double sample = samples[i];
+			assertEquals(symbolicUnit.classify(sample),
+			             bands[i],
+			             testName + " unexpected band for " + sample);
+			if ((sample >= min) && (sample <= max))
+			{
+				assertEquals(testUnit.formatValue(sample),
+				             symbols[i],
+				             testName + " unexpected symbol for " + sample);
+			}
+			else
+			{
+				assertEquals(-1,
+				             bands[i],
+				             testName + " unexpected band for " + sample);
+				assertEquals(null,
+				             symbols[i],
+				             testName + " unexpected symbol for " + sample);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link BoundedBaseNumericUnit#normalize(Double)} with
+	 * cyclic values far out of range which shall be normalized in constant
+	 * time
+	 * @throws ParseException if unit can't be created
+	 */
+	@Test
+	@DisplayName("BoundedBaseNumericUnit.normalize(Double)")
+	@Order(29)
+	final void testNormalize() throws ParseException
+	{
+		String baseTestName = "normalize(Double)";
+		setUpTest(new BoundedBaseNumericUnit(ExpectedMeasureType,
+		                                     "degrees",
+		                                     "°",
+		                                     "7.2",
+		                                     0.0,
+		                                     360.0,
+		                                     true),
+		          baseTestName);
+		BoundedBaseNumericUnit boundedUnit = (BoundedBaseNumericUnit) testUnit;
+		double[] values = {0.0, 45.0, 360.0, 370.0, 720.0, -10.0, -360.0, 1e9, -1e18};
+		double[] expected = {0.0, 45.0, 360.0, 10.0, 360.0, 350.0, 0.0, 280.0, 80.0};
+		double[] results = new double[values.length];
+		boundedUnit.toSI(values, 0, results, 0, values.length);
+		for (int i = 0; i < values.length; i++)
+		{
+			assertEquals(expected[i],
+			             boundedUnit.normalize(values[i]),
+			             testName + " unexpected value for " + values[i]);
+			assertEquals(expected[i],
+			             results[i],
+			             testName + " unexpected bulk value for " + values[i]);
+		}
+		assertTrue(Double.isNaN(boundedUnit.normalize(Double.NaN)),
+		           testName + " unexpected value for NaN");
+	}
+}
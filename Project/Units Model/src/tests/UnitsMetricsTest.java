@@ -0,0 +1,140 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import application.Converter;
+import measures.MeasureType;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+import metrics.ConversionMetrics;
+import metrics.LatencyHistogram;
+import metrics.UnitsMetrics;
+
+/**
+ * Metrics Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("UnitsMetrics")
+public class UnitsMetricsTest
+{
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("UnitsMetrics tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("UnitsMetrics tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Test method for {@link LatencyHistogram#getPercentile(double)}: recorded
+	 * percentiles shall be within 1/32 of exact percentiles
+	 */
+	@Test
+	@DisplayName("LatencyHistogram.getPercentile(...)")
+	@Order(1)
+	final void testPercentiles()
+	{
+		String testName = "LatencyHistogram.getPercentile(...)";
+		System.out.println(testName);
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0L, histogram.getPercentile(50.0), testName + " unexpected empty percentile");
+		Random random = new Random(42);
+		long[] values = new long[100000];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = (long) Math.exp(random.nextDouble() * 20.0);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		assertEquals(values.length, histogram.getCount(), testName + " unexpected count");
+		assertEquals(values[values.length - 1], histogram.getMax(), testName + " unexpected max");
+		for (double percentile : new double[] {0.0, 10.0, 50.0, 90.0, 99.0, 99.9, 100.0})
+		{
+			long expected = values[Math.max(0, (int) Math.ceil((percentile / 100.0) * values.length) - 1)];
+			long actual = histogram.getPercentile(percentile);
+			assertTrue((actual >= expected) && (actual <= (expected + (expected / 32) + 1)),
+			           testName + " unexpected p" + percentile + ": " + actual
+			               + " instead of " + expected);
+		}
+		histogram.reset();
+		assertEquals(0L, histogram.getCount(), testName + " unexpected count after reset");
+	}
+
+	/**
+	 * Test method for {@link UnitsMetrics} recorded by {@link Converter}
+	 * @throws ParseException if units can't be built
+	 */
+	@Test
+	@DisplayName("Converter metrics")
+	@Order(2)
+	final void testConverterMetrics() throws ParseException
+	{
+		String testName = "Converter metrics";
+		System.out.println(testName);
+		UnitsMetrics metrics = new UnitsMetrics();
+		UnitsFactory.setMetrics(metrics);
+		try
+		{
+			Converter converter = new Converter(MeasureType.LENGTH);
+			List<Unit<Double>> destinations = converter.getdestinationUnits();
+			converter.setDestinationUnit(destinations.get(destinations.size() - 1));
+			for (int i = 1; i <= 10; i++)
+			{
+				converter.setInputText(Integer.toString(i));
+				converter.convert();
+			}
+			converter.setInputText("not a number");
+			assertEquals(10L, metrics.getConversions(), testName + " unexpected conversions");
+			assertEquals(10L, metrics.getLatencyCount(), testName + " unexpected latencies");
+			assertEquals(10L, metrics.getUsage().get(MeasureType.LENGTH.name()).longValue(),
+			             testName + " unexpected usage");
+			assertEquals(1L, metrics.getParseFailures(), testName + " unexpected parse failures");
+			assertTrue(metrics.getLatency50th() <= metrics.getLatencyMax(),
+			           testName + " unexpected percentiles");
+			double[] values = new double[] {1.0, 2.0, 3.0, 4.0, 5.0};
+			converter.convert(values, values);
+			assertEquals(15L, metrics.getConversions(), testName + " unexpected bulk conversions");
+			assertEquals(10L, metrics.getLatencyCount(), testName + " unexpected bulk latencies");
+			assertEquals(15L, metrics.getUsage().get(MeasureType.LENGTH.name()).longValue(),
+			             testName + " unexpected bulk usage");
+			metrics.reset();
+			assertEquals(0L, metrics.getConversions(), testName + " unexpected reset");
+		}
+		finally
+		{
+			UnitsFactory.setMetrics(null);
+		}
+		assertEquals(ConversionMetrics.None, UnitsFactory.getMetrics(), testName + " unexpected metrics");
+	}
+}
@@ -0,0 +1,213 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import measures.MeasureType;
+import measures.units.DecomposedUnit;
+import measures.units.SortOrder;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+import measures.units.ValueParser;
+import measures.units.ValueParser.Status;
+
+/**
+ * ValueParser Test class
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("ValueParser")
+public class ValueParserTest
+{
+	/**
+	 * The parser under test
+	 */
+	private ValueParser testParser = null;
+
+	/**
+	 * Texts and expected parse status provider
+	 * @return a stream of (text, expected status) arguments
+	 */
+	private static Stream<Arguments> statusProvider()
+	{
+		return Stream.of(Arguments.of("", Status.EMPTY),
+		                 Arguments.of("  ", Status.EMPTY),
+		                 Arguments.of("-", Status.INCOMPLETE),
+		                 Arguments.of(".", Status.INCOMPLETE),
+		                 Arguments.of("1e", Status.INCOMPLETE),
+		                 Arguments.of("1e-", Status.INCOMPLETE),
+		                 Arguments.of("Na", Status.INCOMPLETE),
+		                 Arguments.of("1.2.3", Status.INVALID),
+		                 Arguments.of("12a", Status.INVALID),
+		                 Arguments.of("Not a Number", Status.INVALID),
+		                 Arguments.of("1.", Status.VALID),
+		                 Arguments.of(" 42 ", Status.VALID),
+		                 Arguments.of("-1.5e3", Status.VALID),
+		                 Arguments.of("NaN", Status.VALID),
+		                 Arguments.of("-Infinity", Status.VALID),
+		                 Arguments.of("1d", Status.VALID),
+		                 Arguments.of("-2.5F", Status.VALID),
+		                 Arguments.of("1e3f", Status.VALID),
+		                 Arguments.of("0.1D", Status.VALID),
+		                 Arguments.of("1dd", Status.INVALID),
+		                 Arguments.of("NaNd", Status.INVALID),
+		                 Arguments.of("d", Status.INVALID),
+		                 Arguments.of("0x1p3", Status.VALID),
+		                 Arguments.of("-0x1.8p1", Status.VALID),
+		                 Arguments.of("0X1.8P-1d", Status.VALID),
+		                 Arguments.of("0x1", Status.INVALID),
+		                 Arguments.of("0xg", Status.INVALID));
+	}
+
+	/**
+	 * Setup before all tests
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ValueParser tests");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Tear down after all tests
+	 * @throws java.lang.Exception if teardown fails
+	 */
+	@AfterAll
+	static void tearDownAfterClass() throws Exception
+	{
+		System.out.println("-------------------------------------------------");
+		System.out.println("ValueParser tests end");
+		System.out.println("-------------------------------------------------");
+	}
+
+	/**
+	 * Setup before each test
+	 * @throws java.lang.Exception if setup fails
+	 */
+	@BeforeEach
+	void setUp() throws Exception
+	{
+		testParser = new ValueParser();
+	}
+
+	/**
+	 * Test method for {@link ValueParser#parse(CharSequence)} status
+	 * @param text the text to parse
+	 * @param expected the expected status
+	 */
+	@ParameterizedTest
+	@MethodSource("statusProvider")
+	@DisplayName("parse(text) status")
+	@Order(1)
+	final void testParseStatus(String text, Status expected)
+	{
+		String testName = "parse(\"" + text + "\")";
+		System.out.println(testName);
+		Status status = testParser.parse(text);
+		assertEquals(expected, status, testName + " unexpected status");
+		if (status == Status.VALID)
+		{
+			assertEquals(Double.doubleToLongBits(Double.parseDouble(text)),
+			             Double.doubleToLongBits(testParser.getValue()),
+			             testName + " unexpected value");
+		}
+	}
+
+	/**
+	 * Test method for {@link ValueParser#parse(CharSequence)} with random
+	 * values which shall be parsed exactly as
+	 * {@link Double#parseDouble(String)} would
+	 */
+	@Test
+	@DisplayName("parse(random)")
+	@Order(2)
+	final void testParseRandom()
+	{
+		String testName = "parse(random)";
+		System.out.println(testName);
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i++)
+		{
+			double value = (random.nextDouble() - 0.5)
+			    * Math.pow(10, random.nextInt(40) - 20);
+			String text = (i % 2) == 0 ? Double.toString(value)
+			    : String.format(Locale.ROOT, "%.7f", value);
+			assertEquals(Status.VALID,
+			             testParser.parse(text),
+			             testName + " unexpected status with " + text);
+			assertEquals(Double.doubleToLongBits(Double.parseDouble(text)),
+			             Double.doubleToLongBits(testParser.getValue()),
+			             testName + " unexpected value with " + text);
+		}
+	}
+
+	/**
+	 * Test method for {@link Unit#parseValue(CharSequence, ValueParser)} with
+	 * {@link DecomposedUnit}s: values formatted by decomposed units shall be
+	 * parsed back to the same formatted text, even within a larger text
+	 * @throws ParseException if units can't be created
+	 */
+	@Test
+	@DisplayName("parseValue(decomposed)")
+	@Order(3)
+	final void testParseDecomposed() throws ParseException
+	{
+		String testName = "parseValue(decomposed)";
+		System.out.println(testName);
+		for (MeasureType type : MeasureType.all())
+		{
+			for (Unit<Double> unit : UnitsFactory.getCatalogue(type)
+			    .getUnits(SortOrder.NAME_ASCENDING))
+			{
+				if (!(unit instanceof DecomposedUnit))
+				{
+					continue;
+				}
+				for (double value : new double[] {0.0, 1.5, 12.25, 359.5})
+				{
+					String text = unit.formatValue(value);
+					assertEquals(Status.VALID,
+					             unit.parseValue(text, testParser),
+					             testName + " unexpected status with " + text);
+					assertEquals(text,
+					             unit.formatValue(testParser.getValue()),
+					             testName + " unexpected value with " + text);
+					String line = "[" + text + "]";
+					assertEquals(Status.VALID,
+					             unit.parseValue(line, 1, line.length() - 1, testParser),
+					             testName + " unexpected status with " + line);
+					assertEquals(text,
+					             unit.formatValue(testParser.getValue()),
+					             testName + " unexpected value with " + line);
+				}
+				StringBuilder builder = new StringBuilder();
+				unit.formatValues(new double[] {0.0, 1.5, 12.25}, 1, 2, builder, "|");
+				assertEquals(unit.formatValue(1.5) + "|" + unit.formatValue(12.25),
+				             builder.toString(),
+				             testName + " unexpected batch formatting");
+				assertEquals(Status.INVALID,
+				             unit.parseValue("1 x 2", testParser),
+				             testName + " unexpected status with 1 x 2");
+			}
+		}
+	}
+}
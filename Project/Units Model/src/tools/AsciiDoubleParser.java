@@ -0,0 +1,322 @@
+package tools;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parser of decimal numbers written in ASCII bytes (e.g. "-12.5e3") directly
+ * from a {@link ByteBuffer}, without {@link String} allocation.
+ * Most values are parsed with Clinger's fast path: when the decimal
+ * significand fits in 53 bits and the decimal exponent is within
+ * [-22 .. 22], significand and power of ten are both exact doubles so a
+ * single multiplication or division provides the correctly rounded result.
+ * Other values (long significands, large exponents, NaN or Infinity) fall
+ * back to {@link Double#parseDouble(String)} so results are always the same
+ * as {@link Double#parseDouble(String)}'s ones.
+ * Instances are reusable but not thread safe: each thread should use its own
+ * parser.
+ * @author davidroussel
+ */
+public class AsciiDoubleParser
+{
+	/**
+	 * Exact powers of ten as doubles
+	 */
+	private static final double[] PowersOfTen = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * Greatest significand exactly representable as a double
+	 */
+	private static final long MaxExactSignificand = 1L << 53;
+
+	/**
+	 * Maximum number of significant digits kept in a long significand (without
+	 * overflow)
+	 */
+	private static final int MaxSignificantDigits = 18;
+
+	/**
+	 * Initial size of {@link #fallback} buffer
+	 */
+	private static final int FallbackInitialSize = 32;
+
+	/**
+	 * The last parsed value
+	 */
+	private double value;
+
+	/**
+	 * Reusable buffer used to build strings in the rare cases where
+	 * {@link Double#parseDouble(String)} is required
+	 */
+	private char[] fallback;
+
+	/**
+	 * Number of values parsed with {@link Double#parseDouble(String)}
+	 */
+	private long fallbacks;
+
+	/**
+	 * Default constructor
+	 */
+	public AsciiDoubleParser()
+	{
+		value = Double.NaN;
+		fallback = new char[FallbackInitialSize];
+		fallbacks = 0;
+	}
+
+	/**
+	 * Parse the ASCII bytes in [from, to) of the provided buffer.
+	 * Leading and trailing spaces or tabs are ignored.
+	 * Buffer's position and limit are left untouched.
+	 * @param buffer the buffer containing the bytes to parse
+	 * @param from index of the first byte to parse
+	 * @param to index following the last byte to parse
+	 * @return true if the bytes represent a valid decimal number whose value
+	 * is then available through {@link #getValue()}, false otherwise
+	 * @throws IndexOutOfBoundsException if [from, to) is out of buffer's
+	 * limit
+	 */
+	public boolean parse(ByteBuffer buffer, int from, int to)
+	    throws IndexOutOfBoundsException
+	{
+		while ((from < to) && isBlank(buffer.get(from)))
+		{
+			from++;
+		}
+		while ((to > from) && isBlank(buffer.get(to - 1)))
+		{
+			to--;
+		}
+		if (from == to)
+		{
+			return false;
+		}
+
+		int index = from;
+		boolean negative = false;
+		byte b = buffer.get(index);
+		if ((b == '-') || (b == '+'))
+		{
+			negative = b == '-';
+			index++;
+		}
+
+		long significand = 0L;
+		int digits = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		boolean exact = true;
+
+		// Integer part
+		for (; index < to; index++)
+		{
+			int d = buffer.get(index) - '0';
+			if ((d < 0) || (d > 9))
+			{
+				break;
+			}
+			digits++;
+			if (significantDigits < MaxSignificantDigits)
+			{
+				if ((significand != 0) || (d != 0))
+				{
+					significantDigits++;
+				}
+				significand = (significand * 10) + d;
+			}
+			else
+			{
+				exponent++;
+				exact &= d == 0;
+			}
+		}
+
+		// Fractional part
+		if ((index < to) && (buffer.get(index) == '.'))
+		{
+			for (index++; index < to; index++)
+			{
+				int d = buffer.get(index) - '0';
+				if ((d < 0) || (d > 9))
+				{
+					break;
+				}
+				digits++;
+				if (significantDigits < MaxSignificantDigits)
+				{
+					if ((significand != 0) || (d != 0))
+					{
+						significantDigits++;
+					}
+					significand = (significand * 10) + d;
+					exponent--;
+				}
+				else
+				{
+					exact &= d == 0;
+				}
+			}
+		}
+
+		if (digits == 0)
+		{
+			return parseSpecial(buffer, from, to);
+		}
+
+		// Exponent part
+		if ((index < to) && ((buffer.get(index) | 0x20) == 'e'))
+		{
+			index++;
+			boolean negativeExponent = false;
+			if (index < to)
+			{
+				b = buffer.get(index);
+				if ((b == '-') || (b == '+'))
+				{
+					negativeExponent = b == '-';
+					index++;
+				}
+			}
+			int exponentDigits = 0;
+			int explicitExponent = 0;
+			for (; index < to; index++)
+			{
+				int d = buffer.get(index) - '0';
+				if ((d < 0) || (d > 9))
+				{
+					break;
+				}
+				exponentDigits++;
+				if (explicitExponent < 100000)
+				{
+					explicitExponent = (explicitExponent * 10) + d;
+				}
+			}
+			if (exponentDigits == 0)
+			{
+				return false;
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+
+		if (index != to)
+		{
+			return false;
+		}
+
+		if (significand == 0)
+		{
+			value = negative ? -0.0 : 0.0;
+			return true;
+		}
+
+		if (exact
+		    && (significand <= MaxExactSignificand)
+		    && (exponent >= -22)
+		    && (exponent <= 22))
+		{
+			double result = significand;
+			if (exponent < 0)
+			{
+				result /= PowersOfTen[-exponent];
+			}
+			else
+			{
+				result *= PowersOfTen[exponent];
+			}
+			value = negative ? -result : result;
+			return true;
+		}
+
+		return parseFallback(buffer, from, to);
+	}
+
+	/**
+	 * Accessor to the last successfully parsed value
+	 * @return the last successfully parsed value
+	 */
+	public double getValue()
+	{
+		return value;
+	}
+
+	/**
+	 * Number of values which required {@link Double#parseDouble(String)}
+	 * @return the number of values parsed with
+	 * {@link Double#parseDouble(String)} so far
+	 */
+	public long getFallbacks()
+	{
+		return fallbacks;
+	}
+
+	/**
+	 * Parse special values "NaN" and "Infinity" (evt signed)
+	 * @param buffer the buffer containing the bytes to parse
+	 * @param from index of the first byte to parse
+	 * @param to index following the last byte to parse
+	 * @return true if the bytes represent a special value, false otherwise
+	 */
+	private boolean parseSpecial(ByteBuffer buffer, int from, int to)
+	{
+		int index = from;
+		byte b = buffer.get(index);
+		if ((b == '-') || (b == '+'))
+		{
+			index++;
+		}
+		if (index < to)
+		{
+			b = buffer.get(index);
+			if ((b == 'N') || (b == 'I'))
+			{
+				return parseFallback(buffer, from, to);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parse the provided bytes with {@link Double#parseDouble(String)}
+	 * @param buffer the buffer containing the bytes to parse
+	 * @param from index of the first byte to parse
+	 * @param to index following the last byte to parse
+	 * @return true if the bytes represent a valid number, false otherwise
+	 */
+	private boolean parseFallback(ByteBuffer buffer, int from, int to)
+	{
+		int length = to - from;
+		if (fallback.length < length)
+		{
+			fallback = new char[Math.max(length, fallback.length * 2)];
+		}
+		for (int i = 0; i < length; i++)
+		{
+			fallback[i] = (char) (buffer.get(from + i) & 0xFF);
+		}
+		fallbacks++;
+		try
+		{
+			value = Double.parseDouble(new String(fallback, 0, length));
+			return true;
+		}
+		catch (NumberFormatException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Indicates if the provided byte should be ignored around numbers
+	 * @param b the byte to check
+	 * @return true if b is a space or a tab
+	 */
+	private static boolean isBlank(byte b)
+	{
+		return (b == ' ') || (b == '\t');
+	}
+}
@@ -0,0 +1,765 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import logger.LazyLog;
+import logger.LoggerFactory;
+import measures.MeasureType;
+import measures.units.ConversionPlan;
+import measures.units.SortOrder;
+import measures.units.Unit;
+import measures.units.UnitsFactory;
+
+/**
+ * Streaming converter of selected columns of CSV/TSV files from a source
+ * {@link Unit} to a destination {@link Unit}.
+ * <ul>
+ * 	<li>Input files are read through memory-mapped windows of at most
+ * 	{@link #WindowSize} bytes, so files of any size can be converted in
+ * 	constant memory.</li>
+ * 	<li>Numbers are parsed directly from mapped bytes by an
+ * 	{@link AsciiDoubleParser} and converted by the cached
+ * 	{@link ConversionPlan} of the (source, destination) pair.</li>
+ * 	<li>Output is written through a reused buffer of {@link #OutputBufferSize}
+ * 	bytes.</li>
+ * 	<li>Input files are split into ranges of whole lines converted
+ * 	concurrently, each into its own part file. Part files are then
+ * 	concatenated in order into the output file.</li>
+ * </ul>
+ * Non selected columns are copied verbatim, as well as selected cells which
+ * can't be parsed as numbers (e.g. empty cells or "NA"). Quoted fields
+ * containing separators are not supported.
+ * Converted cells are formatted just as {@link Unit#formatValue()} would
+ * after {@link Unit#setValue(Comparable)} and
+ * {@link Unit#convertValueTo(Unit)}: values out of a unit's bounds are
+ * therefore bounded (e.g. negative values of units which can't be negative
+ * are written as zeros) and negative zeros are written without sign.
+ * @author davidroussel
+ */
+public class ColumnConverter
+{
+	/**
+	 * Maximum size of input windows mapped at once
+	 */
+	public static final int WindowSize = 64 * 1024 * 1024;
+
+	/**
+	 * Size of the output buffer of each worker
+	 */
+	public static final int OutputBufferSize = 1024 * 1024;
+
+	/**
+	 * Minimum size of the input ranges converted concurrently
+	 */
+	public static final long MinRangeSize = 4L * 1024 * 1024;
+
+	/**
+	 * The plan converting values of selected columns
+	 */
+	private final ConversionPlan plan;
+
+	/**
+	 * The separator between columns (e.g. ',', ';' or '\t')
+	 */
+	private final byte separator;
+
+	/**
+	 * Flags indicating which columns should be converted (indexed by column)
+	 */
+	private final boolean[] selected;
+
+	/**
+	 * Flag indicating first line is a header line to be copied verbatim
+	 */
+	private final boolean header;
+
+	/**
+	 * Maximum number of threads used to convert a file
+	 */
+	private final int threads;
+
+	/**
+	 * Number of converted cells
+	 */
+	private final LongAdder convertedCells;
+
+	/**
+	 * Number of selected cells copied verbatim since they could not be
+	 * parsed
+	 */
+	private final LongAdder skippedCells;
+
+	/**
+	 * Number of processed lines (including header)
+	 */
+	private final LongAdder lines;
+
+	/**
+	 * Logger
+	 */
+	private final Logger logger;
+
+	/**
+	 * Valued constructor
+	 * @param source the unit of the values in selected columns
+	 * @param destination the unit to convert values to
+	 * @param separator the separator between columns
+	 * @param columns the indices (starting from 0) of columns to convert
+	 * @param header true if first line is a header to be copied verbatim
+	 * @param threads the maximum number of threads used to convert a file
+	 * @throws NullPointerException if source, destination or columns are null
+	 * @throws IllegalArgumentException if separator is not an ASCII character,
+	 * if columns is empty or contains negative indices or if threads is not
+	 * positive
+	 */
+	public ColumnConverter(Unit<Double> source,
+	                       Unit<Double> destination,
+	                       char separator,
+	                       int[] columns,
+	                       boolean header,
+	                       int threads)
+	    throws NullPointerException,
+	    IllegalArgumentException
+	{
+		Objects.requireNonNull(columns);
+		if ((separator == 0) || (separator > 127) || (separator == '\n')
+		    || (separator == '\r'))
+		{
+			throw new IllegalArgumentException("invalid separator "
+			    + (int) separator);
+		}
+		if (columns.length == 0)
+		{
+			throw new IllegalArgumentException("no columns to convert");
+		}
+		if (threads < 1)
+		{
+			throw new IllegalArgumentException("invalid threads number "
+			    + threads);
+		}
+		int maxColumn = -1;
+		for (int column : columns)
+		{
+			if (column < 0)
+			{
+				throw new IllegalArgumentException("invalid column " + column);
+			}
+			maxColumn = Math.max(maxColumn, column);
+		}
+		selected = new boolean[maxColumn + 1];
+		for (int column : columns)
+		{
+			selected[column] = true;
+		}
+		plan = UnitsFactory.getConversionPlan(source, destination);
+		this.separator = (byte) separator;
+		this.header = header;
+		this.threads = threads;
+		convertedCells = new LongAdder();
+		skippedCells = new LongAdder();
+		lines = new LongAdder();
+		logger = LoggerFactory.getParentLogger(getClass(), null, Level.INFO);
+	}
+
+	/**
+	 * Valued constructor using all available processors
+	 * @param source the unit of the values in selected columns
+	 * @param destination the unit to convert values to
+	 * @param separator the separator between columns
+	 * @param columns the indices (starting from 0) of columns to convert
+	 * @param header true if first line is a header to be copied verbatim
+	 * @throws NullPointerException if source, destination or columns are null
+	 * @throws IllegalArgumentException if separator is not an ASCII character,
+	 * if columns is empty or contains negative indices
+	 */
+	public ColumnConverter(Unit<Double> source,
+	                       Unit<Double> destination,
+	                       char separator,
+	                       int[] columns,
+	                       boolean header)
+	    throws NullPointerException,
+	    IllegalArgumentException
+	{
+		this(source,
+		     destination,
+		     separator,
+		     columns,
+		     header,
+		     Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Accessor to the number of converted cells
+	 * @return the number of converted cells so far
+	 */
+	public long getConvertedCells()
+	{
+		return convertedCells.sum();
+	}
+
+	/**
+	 * Accessor to the number of selected cells which could not be parsed
+	 * @return the number of selected cells copied verbatim so far
+	 */
+	public long getSkippedCells()
+	{
+		return skippedCells.sum();
+	}
+
+	/**
+	 * Accessor to the number of processed lines
+	 * @return the number of processed lines so far
+	 */
+	public long getLines()
+	{
+		return lines.sum();
+	}
+
+	/**
+	 * Converts selected columns of input file into output file
+	 * @param input the path of the file to convert
+	 * @param output the path of the converted file (created or replaced)
+	 * @throws IOException if input can't be read or output can't be written
+	 * @throws NullPointerException if input or output is null
+	 */
+	public void convert(Path input, Path output)
+	    throws IOException,
+	    NullPointerException
+	{
+		Objects.requireNonNull(input);
+		Objects.requireNonNull(output);
+
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ))
+		{
+			long size = in.size();
+			long[] bounds = split(in, size);
+			int ranges = bounds.length - 1;
+			LazyLog.log(logger,
+			            Level.INFO,
+			            () -> "Converting " + input + " (" + size + " bytes) in "
+			                + ranges + " range(s)");
+
+			if (ranges <= 1)
+			{
+				try (FileChannel out = FileChannel.open(output,
+				                                        StandardOpenOption.CREATE,
+				                                        StandardOpenOption.WRITE,
+				                                        StandardOpenOption.TRUNCATE_EXISTING))
+				{
+					convertRange(in, 0L, size, out);
+				}
+				return;
+			}
+
+			convertConcurrently(in, bounds, output);
+		}
+	}
+
+	/**
+	 * Converts ranges of input file concurrently into part files, then
+	 * concatenates part files into output file
+	 * @param in the input file channel
+	 * @param bounds the bounds of the ranges to convert
+	 * @param output the path of the converted file
+	 * @throws IOException if input can't be read or output can't be written
+	 */
+	private void convertConcurrently(FileChannel in, long[] bounds, Path output)
+	    throws IOException
+	{
+		int ranges = bounds.length - 1;
+		Path directory = output.toAbsolutePath().getParent();
+		List<Path> parts = new ArrayList<Path>(ranges);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, ranges));
+		try
+		{
+			List<Future<Void>> futures = new ArrayList<Future<Void>>(ranges);
+			for (int i = 0; i < ranges; i++)
+			{
+				Path part = Files.createTempFile(directory,
+				                                 output.getFileName().toString(),
+				                                 ".part" + i);
+				parts.add(part);
+				final long from = bounds[i];
+				final long to = bounds[i + 1];
+				futures.add(executor.submit(() -> {
+					try (FileChannel out = FileChannel.open(part,
+					                                        StandardOpenOption.WRITE,
+					                                        StandardOpenOption.TRUNCATE_EXISTING))
+					{
+						convertRange(in, from, to, out);
+					}
+					return null;
+				}));
+			}
+			for (Future<Void> future : futures)
+			{
+				future.get();
+			}
+
+			try (FileChannel out = FileChannel.open(output,
+			                                        StandardOpenOption.CREATE,
+			                                        StandardOpenOption.WRITE,
+			                                        StandardOpenOption.TRUNCATE_EXISTING))
+			{
+				for (Path part : parts)
+				{
+					try (FileChannel partChannel = FileChannel.open(part,
+					                                                StandardOpenOption.READ))
+					{
+						long partSize = partChannel.size();
+						long transferred = 0L;
+						while (transferred < partSize)
+						{
+							transferred += partChannel.transferTo(transferred,
+							                                      partSize - transferred,
+							                                      out);
+						}
+					}
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted conversion", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+			{
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+			for (Path part : parts)
+			{
+				Files.deleteIfExists(part);
+			}
+		}
+	}
+
+	/**
+	 * Splits input file into ranges of whole lines
+	 * @param in the input file channel
+	 * @param size the size of the input file
+	 * @return the bounds of each range: range i is [bounds[i], bounds[i + 1])
+	 * @throws IOException if input can't be read
+	 */
+	private long[] split(FileChannel in, long size) throws IOException
+	{
+		int ranges = (int) Math.max(1L, Math.min(threads, size / MinRangeSize));
+		long[] bounds = new long[ranges + 1];
+		long rangeSize = size / ranges;
+		ByteBuffer probe = ByteBuffer.allocate(4096);
+		int count = 0;
+		bounds[0] = 0L;
+		for (int i = 1; i < ranges; i++)
+		{
+			long bound = Math.max(i * rangeSize, bounds[count]);
+			bound = nextLine(in, bound, size, probe);
+			if (bound > bounds[count] && bound < size)
+			{
+				bounds[++count] = bound;
+			}
+		}
+		bounds[++count] = size;
+		if (count < ranges)
+		{
+			long[] trimmed = new long[count + 1];
+			System.arraycopy(bounds, 0, trimmed, 0, count + 1);
+			return trimmed;
+		}
+		return bounds;
+	}
+
+	/**
+	 * Search the beginning of the line following position
+	 * @param in the input file channel
+	 * @param position the position to search from
+	 * @param size the size of the input file
+	 * @param probe a buffer used to read the input file
+	 * @return the position following the first '\n' at or after position or
+	 * size if there is no such line
+	 * @throws IOException if input can't be read
+	 */
+	private static long nextLine(FileChannel in,
+	                             long position,
+	                             long size,
+	                             ByteBuffer probe)
+	    throws IOException
+	{
+		while (position < size)
+		{
+			probe.clear();
+			int read = in.read(probe, position);
+			if (read <= 0)
+			{
+				break;
+			}
+			for (int i = 0; i < read; i++)
+			{
+				if (probe.get(i) == '\n')
+				{
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Converts a range of whole lines of input file into output channel
+	 * @param in the input file channel
+	 * @param from the position of the first line to convert
+	 * @param to the position following the last line to convert
+	 * @param out the output channel
+	 * @throws IOException if input can't be read or output can't be written
+	 */
+	private void convertRange(FileChannel in, long from, long to, FileChannel out)
+	    throws IOException
+	{
+		Worker worker = new Worker(out);
+		long position = from;
+		long windowSize = WindowSize;
+		while (position < to)
+		{
+			long length = Math.min(windowSize, to - position);
+			MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY,
+			                                 position,
+			                                 length);
+			boolean last = (position + length) == to;
+			int consumed = worker.convertLines(window, (int) length, last, position == 0L);
+			if (consumed == 0)
+			{
+				// A single line larger than the window: widen the window
+				if (windowSize >= Integer.MAX_VALUE)
+				{
+					throw new IOException("line too long at " + position);
+				}
+				windowSize = Math.min(Integer.MAX_VALUE, windowSize * 2);
+				continue;
+			}
+			position += consumed;
+		}
+		worker.flush();
+	}
+
+	/**
+	 * Per thread conversion state: parser and reused output buffer
+	 */
+	private class Worker
+	{
+		/**
+		 * The output channel
+		 */
+		private final FileChannel out;
+
+		/**
+		 * Reused output buffer
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * Reused parser
+		 */
+		private final AsciiDoubleParser parser;
+
+		/**
+		 * Reused builder receiving formatted values
+		 */
+		private final StringBuilder formatted;
+
+		/**
+		 * Constructor
+		 * @param out the output channel
+		 */
+		private Worker(FileChannel out)
+		{
+			this.out = out;
+			buffer = ByteBuffer.allocate(OutputBufferSize);
+			parser = new AsciiDoubleParser();
+			formatted = new StringBuilder();
+		}
+
+		/**
+		 * Converts whole lines of a window
+		 * @param window the mapped window
+		 * @param length the number of bytes in window
+		 * @param last true if window ends at the end of the range, so the last
+		 * line doesn't need a trailing '\n'
+		 * @param first true if window starts at the beginning of the file
+		 * @return the number of bytes consumed (i.e. up to the end of the last
+		 * whole line)
+		 * @throws IOException if output can't be written
+		 */
+		private int convertLines(ByteBuffer window,
+		                         int length,
+		                         boolean last,
+		                         boolean first)
+		    throws IOException
+		{
+			int lineStart = 0;
+			long lineCount = 0;
+			long converted = 0;
+			long skipped = 0;
+			boolean copyLine = first && header;
+			while (lineStart < length)
+			{
+				int lineEnd = lineStart;
+				while ((lineEnd < length) && (window.get(lineEnd) != '\n'))
+				{
+					lineEnd++;
+				}
+				if ((lineEnd == length) && !last)
+				{
+					break; // Incomplete line
+				}
+				int next = lineEnd < length ? lineEnd + 1 : lineEnd;
+				int contentEnd = lineEnd;
+				if ((contentEnd > lineStart) && (window.get(contentEnd - 1) == '\r'))
+				{
+					contentEnd--;
+				}
+
+				if (copyLine)
+				{
+					copyLine = false;
+					write(window, lineStart, contentEnd);
+				}
+				else
+				{
+					int column = 0;
+					int fieldStart = lineStart;
+					while (fieldStart <= contentEnd)
+					{
+						int fieldEnd = fieldStart;
+						while ((fieldEnd < contentEnd) && (window.get(fieldEnd) != separator))
+						{
+							fieldEnd++;
+						}
+						if ((column < selected.length) && selected[column])
+						{
+							if (parser.parse(window, fieldStart, fieldEnd))
+							{
+								formatted.setLength(0);
+								write(plan.getDestination()
+								    .formatValue(plan.convert(parser.getValue()), formatted));
+								converted++;
+							}
+							else
+							{
+								write(window, fieldStart, fieldEnd);
+								if (fieldEnd > fieldStart)
+								{
+									skipped++;
+								}
+							}
+						}
+						else
+						{
+							write(window, fieldStart, fieldEnd);
+						}
+						if (fieldEnd < contentEnd)
+						{
+							put(separator);
+						}
+						fieldStart = fieldEnd + 1;
+						column++;
+					}
+				}
+				write(window, contentEnd, next); // line terminator
+				lineCount++;
+				lineStart = next;
+			}
+			lines.add(lineCount);
+			convertedCells.add(converted);
+			skippedCells.add(skipped);
+			return lineStart;
+		}
+
+		/**
+		 * Writes bytes [from, to) of source into output
+		 * @param source the source of bytes
+		 * @param from index of first byte to write
+		 * @param to index following the last byte to write
+		 * @throws IOException if output can't be written
+		 */
+		private void write(ByteBuffer source, int from, int to)
+		    throws IOException
+		{
+			while (from < to)
+			{
+				if (!buffer.hasRemaining())
+				{
+					flush();
+				}
+				int count = Math.min(to - from, buffer.remaining());
+				buffer.put(buffer.position(), source, from, count);
+				buffer.position(buffer.position() + count);
+				from += count;
+			}
+		}
+
+		/**
+		 * Writes formatted value into output
+		 * @param text the text to write
+		 * @throws IOException if output can't be written
+		 */
+		private void write(CharSequence text) throws IOException
+		{
+			int length = text.length();
+			for (int i = 0; i < length; i++)
+			{
+				char c = text.charAt(i);
+				if (c < 0x80)
+				{
+					put((byte) c);
+				}
+				else
+				{
+					// Non ASCII symbols (rare)
+					byte[] bytes = text.subSequence(i, length).toString()
+					    .getBytes(StandardCharsets.UTF_8);
+					for (byte b : bytes)
+					{
+						put(b);
+					}
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Writes a single byte into output
+		 * @param b the byte to write
+		 * @throws IOException if output can't be written
+		 */
+		private void put(byte b) throws IOException
+		{
+			if (!buffer.hasRemaining())
+			{
+				flush();
+			}
+			buffer.put(b);
+		}
+
+		/**
+		 * Flushes output buffer content into output channel
+		 * @throws IOException if output can't be written
+		 */
+		private void flush() throws IOException
+		{
+			buffer.flip();
+			while (buffer.hasRemaining())
+			{
+				out.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Search a unit by symbol or description among all units of a measure
+	 * type
+	 * @param type the type of measure of the searched unit
+	 * @param name the symbol or description of the searched unit
+	 * @return the corresponding unit
+	 * @throws ParseException if units can't be built
+	 * @throws IllegalArgumentException if there is no such unit
+	 */
+	private static Unit<Double> findUnit(MeasureType type, String name)
+	    throws ParseException,
+	    IllegalArgumentException
+	{
+		for (Unit<Double> unit : UnitsFactory.getCatalogue(type)
+		    .getUnits(SortOrder.NAME_ASCENDING))
+		{
+			if (unit.getSymbol().equals(name) || unit.getDescription().equals(name))
+			{
+				return unit;
+			}
+		}
+		throw new IllegalArgumentException("No unit " + name + " in " + type);
+	}
+
+	/**
+	 * Command line tool
+	 * @param args arguments: measure type (e.g. LENGTH), source unit,
+	 * destination unit, comma separated columns indices (e.g. 2,3), input file,
+	 * output file, [separator (default ',', "\t" for TSV)], [header
+	 * (true/false, default true)], [threads]
+	 */
+	public static void main(String[] args)
+	{
+		if (args.length < 6)
+		{
+			System.err.println("usage: ColumnConverter <measure type> <source unit> "
+			    + "<destination unit> <columns> <input> <output> "
+			    + "[separator] [header] [threads]");
+			System.exit(1);
+		}
+		try
+		{
+			MeasureType type = MeasureType.valueOf(args[0]);
+			Unit<Double> source = findUnit(type, args[1]);
+			Unit<Double> destination = findUnit(type, args[2]);
+			String[] columnsStrings = args[3].split(",");
+			int[] columns = new int[columnsStrings.length];
+			for (int i = 0; i < columns.length; i++)
+			{
+				columns[i] = Integer.parseInt(columnsStrings[i].trim());
+			}
+			char separator = ',';
+			if (args.length > 6)
+			{
+				separator = args[6].equals("\\t") ? '\t' : args[6].charAt(0);
+			}
+			boolean header = (args.length <= 7) || Boolean.parseBoolean(args[7]);
+			int threads = args.length > 8 ? Integer.parseInt(args[8])
+			    : Runtime.getRuntime().availableProcessors();
+
+			ColumnConverter converter = new ColumnConverter(source,
+			                                                destination,
+			                                                separator,
+			                                                columns,
+			                                                header,
+			                                                threads);
+			long start = System.nanoTime();
+			converter.convert(Paths.get(args[4]), Paths.get(args[5]));
+			long elapsed = System.nanoTime() - start;
+			System.out.println(converter.getLines() + " lines, "
+			    + converter.getConvertedCells() + " converted cells, "
+			    + converter.getSkippedCells() + " skipped cells in "
+			    + (elapsed / 1000000) + " ms");
+		}
+		catch (IOException | ParseException | IllegalArgumentException e)
+		{
+			System.err.println(e.getLocalizedMessage());
+			System.exit(2);
+		}
+	}
+}
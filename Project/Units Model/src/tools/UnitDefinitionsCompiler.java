@@ -0,0 +1,63 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.List;
+
+import measures.MeasureType;
+import measures.units.CompiledUnitDefinitions;
+import measures.units.UnitDefinition;
+import measures.units.UnitDefinitionsReader;
+import measures.units.UnitsFactory;
+
+/**
+ * Compiles text unit definitions files (see {@link UnitDefinitionsReader})
+ * into binary files (see {@link CompiledUnitDefinitions}) which can be
+ * mapped in memory and decoded lazily at startup through
+ * {@link UnitsFactory#loadDefinitions(Path)} or the
+ * {@link UnitsFactory#DefinitionsProperty} system property.
+ * @author davidroussel
+ */
+public class UnitDefinitionsCompiler
+{
+	/**
+	 * Compiles a text definitions file
+	 * @param args input text file and output binary file
+	 */
+	public static void main(String[] args)
+	{
+		if (args.length < 2)
+		{
+			System.err.println("usage: UnitDefinitionsCompiler <input> <output>");
+			System.exit(1);
+		}
+		try
+		{
+			Path input = Paths.get(args[0]);
+			Path output = Paths.get(args[1]);
+			List<UnitDefinition> definitions = UnitDefinitionsReader.read(input);
+			CompiledUnitDefinitions.write(definitions, output);
+			CompiledUnitDefinitions compiled = CompiledUnitDefinitions.open(output);
+			for (MeasureType type : MeasureType.all())
+			{
+				if (!compiled.getDefinitions(type).equals(definitions.stream()
+				    .filter((UnitDefinition d) -> d.getType() == type)
+				    .toList()))
+				{
+					System.err.println("Compiled definitions of " + type.name()
+					    + " differ from " + input);
+					System.exit(3);
+				}
+			}
+			System.out.println(definitions.size() + " definitions compiled to "
+			    + output);
+		}
+		catch (IOException | ParseException e)
+		{
+			System.err.println(e.getLocalizedMessage());
+			System.exit(2);
+		}
+	}
+}
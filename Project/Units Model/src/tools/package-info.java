@@ -0,0 +1,5 @@
+/**
+ * Package containing command line tools built on top of the units model such
+ * as bulk converters of measurement files
+ */
+package tools;
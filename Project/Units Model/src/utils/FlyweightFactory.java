@@ -1,31 +1,62 @@
 package utils;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import logger.LazyLog;
 import logger.LoggerFactory;
 import measures.units.Unit;
 
 /**
  * Flyweight factory to manage frequently used elements such as
  * {@link Unit}s or {@link javafx.scene.image.Image}s.
- * Elements are stored in a {@link HashMap}<Integer, T> where the
- * {@link Integer}
- * key is the hashCode of stored element.
+ * Elements are stored in a {@link ConcurrentHashMap}<Object, T> where the
+ * key is either the hashCode of stored element or any key provided by
+ * the caller which fully identifies the stored element.
  * When an element is requested from this factory, a search is performed within
  * {@link #map} to find such element. If not present, the element is first added
  * to {@link #map} then returned from {@link #map}.
+ * This factory can safely be used by multiple threads: when several threads
+ * request the same missing element, they all get the same instance.
  * @author davidroussel
  * @param <T> The type of elements stored in this factory
  */
 public class FlyweightFactory<T>
 {
 	/**
-	 * {@link HashMap} storing elements
+	 * Builder of missing elements
+	 * @param <T> The type of elements to build
+	 * @param <X> The type of exception the builder might throw
+	 * @see FlyweightFactory#get(Object, Builder)
 	 */
-	protected HashMap<Integer, T> map;
+	@FunctionalInterface
+	public interface Builder<T, X extends Exception>
+	{
+		/**
+		 * Builds a new element
+		 * @return a new element (should not be null)
+		 * @throws X if the element can't be built
+		 */
+		T build() throws X;
+	}
+
+	/**
+	 * {@link ConcurrentHashMap} storing elements
+	 */
+	protected Map<Object, T> map;
+
+	/**
+	 * Number of requests satisfied by already stored elements
+	 */
+	private final LongAdder hits;
+
+	/**
+	 * Number of requests which required to build a new element
+	 */
+	private final LongAdder misses;
 
 	/**
 	 * Logger to display messages (might be null)
@@ -39,7 +70,9 @@ public class FlyweightFactory<T>
 	 */
 	public FlyweightFactory(Logger parentLogger)
 	{
-		map = new HashMap<Integer, T>();
+		map = new ConcurrentHashMap<Object, T>();
+		hits = new LongAdder();
+		misses = new LongAdder();
 		logger = LoggerFactory.getParentLogger(getClass(),
 		                                       parentLogger,
 		                                       (parentLogger == null ?
@@ -55,6 +88,55 @@ public class FlyweightFactory<T>
 		this(null);
 	}
 
+	/**
+	 * Element accessor from key with atomic compute-if-absent semantics.
+	 * If no element is associated with the provided key, a new element is
+	 * built with the provided builder and stored. When several threads
+	 * concurrently request the same missing element, the first stored element
+	 * is returned to all of them (and other built elements are discarded).
+	 * @param <X> The type of exception the builder might throw
+	 * @param key the key fully identifying the requested element. Keys should
+	 * provide proper {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()} methods.
+	 * @param builder the builder used to build the element if missing
+	 * @return the element associated with the provided key or null if the
+	 * builder provided a null element
+	 * @throws X if the builder fails to build the missing element
+	 * @throws NullPointerException if key or builder is null
+	 * @implNote Elements are built outside of {@link #map} locks so builders
+	 * may request other elements from this factory.
+	 */
+	public <X extends Exception> T get(Object key, Builder<? extends T, X> builder)
+	    throws X,
+	    NullPointerException
+	{
+		T element = map.get(key);
+		if (element != null)
+		{
+			hits.increment();
+			return element;
+		}
+
+		T built = builder.build();
+		if (built == null)
+		{
+			logger.severe("null element");
+			return null;
+		}
+
+		element = map.putIfAbsent(key, built);
+		if (element != null)
+		{
+			// Another thread stored this element first
+			hits.increment();
+			return element;
+		}
+
+		misses.increment();
+		LazyLog.fine(logger, "Built element: ", built);
+		return built;
+	}
+
 	/**
 	 * Element accessor from hashcode rather than element itself
 	 * @param hash the hashcode of the requested element
@@ -65,13 +147,7 @@ public class FlyweightFactory<T>
 	 */
 	public T get(int hash)
 	{
-		Integer key = Integer.valueOf(hash);
-		if (map.containsKey(key))
-		{
-			return map.get(key);
-		}
-
-		return null;
+		return map.get(Integer.valueOf(hash));
 	}
 
 	/**
@@ -83,40 +159,25 @@ public class FlyweightFactory<T>
 	 */
 	public boolean put(int hash, T element)
 	{
-		Integer key = Integer.valueOf(hash);
-		if (!map.containsKey(key))
+		if (element == null)
 		{
-			if (element != null)
-			{
-				map.put(key, element);
-				return true;
-			}
-			else
-			{
-				logger.severe("null element");
-			}
+			logger.severe("null element");
+			return false;
 		}
-		return false;
+		return map.putIfAbsent(Integer.valueOf(hash), element) == null;
 	}
 
 	/**
 	 * Element accessor from element prototype
 	 * @param element the searched element
-	 * @return The required element from the {@link HashMap}, which might be
+	 * @return The required element from the {@link #map}, which might be
 	 * a different instance from element but with the same content.
 	 */
 	public T get(T element)
 	{
 		if (element != null)
 		{
-			int hash = element.hashCode();
-			T result = get(hash);
-			if (result == null)
-			{
-				put(hash, element);
-				result = get(hash);
-			}
-			return result;
+			return get(Integer.valueOf(element.hashCode()), () -> element);
 		}
 		return null;
 	}
@@ -127,6 +188,8 @@ public class FlyweightFactory<T>
 	public void clear()
 	{
 		map.clear();
+		hits.reset();
+		misses.reset();
 	}
 
 	/**
@@ -136,15 +199,34 @@ public class FlyweightFactory<T>
 	 */
 	public boolean has(T value)
 	{
-		Collection<T> values = map.values();
-		for (T elt : values)
-		{
-			if (elt.equals(value))
-			{
-				return true;
-			}
-		}
-		return false;
+		return (value != null) && map.containsValue(value);
+	}
+
+	/**
+	 * Number of elements stored in this factory
+	 * @return the number of elements stored in this factory
+	 */
+	public int size()
+	{
+		return map.size();
+	}
+
+	/**
+	 * Number of requests satisfied by already stored elements
+	 * @return the number of requests satisfied by already stored elements
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Number of requests which required to build a new element
+	 * @return the number of requests which required to build a new element
+	 */
+	public long getMisses()
+	{
+		return misses.sum();
 	}
 
 	/**
@@ -0,0 +1,255 @@
+package benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import collections.MyLinkedCollection;
+
+/**
+ * Benchmark of {@link MyLinkedCollection} against {@link LinkedList} and
+ * {@link ArrayDeque} on:
+ * <ul>
+ * <li>append: building a collection of n elements with
+ * {@link Deque#addLast(Object)}</li>
+ * <li>queue: n {@link Deque#offerLast(Object)} /
+ * {@link Deque#pollFirst()} pairs on a half full queue</li>
+ * <li>stack: n {@link Deque#push(Object)} / {@link Deque#pop()} pairs</li>
+ * <li>size: n calls to {@link Deque#size()}</li>
+ * <li>iterate: iterating over n elements</li>
+ * <li>index: n / 100 calls to {@link List#get(int)} at random indices (not
+ * available for {@link ArrayDeque})</li>
+ * </ul>
+ * Each operation is run several times after a warmup, the best time is
+ * reported in ns per element.
+ * Usage: {@code java benchmarks.LinkedCollectionBenchmark [n] [runs]}
+ * @author davidroussel
+ */
+public class LinkedCollectionBenchmark
+{
+	/**
+	 * Default number of elements
+	 */
+	private static final int DefaultSize = 1_000_000;
+
+	/**
+	 * Default number of measured runs
+	 */
+	private static final int DefaultRuns = 5;
+
+	/**
+	 * Result consumed by each operation so it can't be optimized away
+	 */
+	private static long sink = 0L;
+
+	/**
+	 * A benchmarked operation on a deque of n elements
+	 */
+	@FunctionalInterface
+	private static interface Operation
+	{
+		/**
+		 * Runs this operation
+		 * @param deque the deque to run this operation on
+		 * @param n the number of elements
+		 * @return the number of performed elementary operations
+		 */
+		public abstract long run(Deque<Integer> deque, int n);
+	}
+
+	/**
+	 * Builds a deque of n elements
+	 * @param deque the (empty) deque to fill
+	 * @param n the number of elements
+	 * @return the number of added elements
+	 */
+	private static long append(Deque<Integer> deque, int n)
+	{
+		for (int i = 0; i < n; i++)
+		{
+			deque.addLast(Integer.valueOf(i & 0xFF));
+		}
+		return n;
+	}
+
+	/**
+	 * Offers and polls n elements on a half full queue
+	 * @param deque the (empty) deque to use as a queue
+	 * @param n the number of elements
+	 * @return the number of offer/poll pairs
+	 */
+	private static long queue(Deque<Integer> deque, int n)
+	{
+		append(deque, n / 2);
+		long sum = 0L;
+		for (int i = 0; i < n; i++)
+		{
+			deque.offerLast(Integer.valueOf(i & 0xFF));
+			sum += deque.pollFirst().intValue();
+		}
+		sink += sum;
+		return n;
+	}
+
+	/**
+	 * Pushes and pops n elements
+	 * @param deque the (empty) deque to use as a stack
+	 * @param n the number of elements
+	 * @return the number of push/pop pairs
+	 */
+	private static long stack(Deque<Integer> deque, int n)
+	{
+		long sum = 0L;
+		for (int i = 0; i < n; i++)
+		{
+			deque.push(Integer.valueOf(i & 0xFF));
+			if ((i & 1) == 1)
+			{
+				sum += deque.pop().intValue() + deque.pop().intValue();
+			}
+		}
+		sink += sum;
+		return n;
+	}
+
+	/**
+	 * Calls size n times on a deque of n / 100 elements
+	 * @param deque the (empty) deque to use
+	 * @param n the number of elements
+	 * @return the number of size calls
+	 */
+	private static long size(Deque<Integer> deque, int n)
+	{
+		append(deque, n / 100);
+		long sum = 0L;
+		for (int i = 0; i < n; i++)
+		{
+			sum += deque.size();
+		}
+		sink += sum;
+		return n;
+	}
+
+	/**
+	 * Iterates over n elements
+	 * @param deque the (empty) deque to use
+	 * @param n the number of elements
+	 * @return the number of iterated elements
+	 */
+	private static long iterate(Deque<Integer> deque, int n)
+	{
+		append(deque, n);
+		long sum = 0L;
+		for (Integer value : deque)
+		{
+			sum += value.intValue();
+		}
+		sink += sum;
+		return n;
+	}
+
+	/**
+	 * Gets n / 100 elements at pseudo random indices of a list of n / 100
+	 * elements
+	 * @param deque the (empty) deque to use (which shall also be a
+	 * {@link List})
+	 * @param n the number of elements
+	 * @return the number of get calls
+	 */
+	private static long index(Deque<Integer> deque, int n)
+	{
+		int count = Math.max(n / 100, 1);
+		append(deque, count);
+		@SuppressWarnings("unchecked")
+		List<Integer> list = (List<Integer>) deque;
+		long sum = 0L;
+		int index = 0;
+		for (int i = 0; i < count; i++)
+		{
+			index = (index + 7919) % count;
+			sum += list.get(index).intValue();
+		}
+		sink += sum;
+		return count;
+	}
+
+	/**
+	 * Measures an operation
+	 * @param factory the factory of deques to use
+	 * @param operation the operation to measure
+	 * @param n the number of elements
+	 * @param runs the number of measured runs
+	 * @return the best time of all runs (in ns per elementary operation)
+	 */
+	private static double measure(Supplier<Deque<Integer>> factory,
+	                              Operation operation,
+	                              int n,
+	                              int runs)
+	{
+		double best = Double.POSITIVE_INFINITY;
+		for (int run = -runs; run < runs; run++) // first runs are warmup
+		{
+			Deque<Integer> deque = factory.get();
+			long start = System.nanoTime();
+			long count = operation.run(deque, n);
+			double time = (double) (System.nanoTime() - start) / count;
+			if (run >= 0)
+			{
+				best = Math.min(best, time);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Benchmark main program
+	 * @param args optional number of elements and number of measured runs
+	 */
+	public static void main(String[] args)
+	{
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : DefaultSize;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : DefaultRuns;
+		String[] names = {"MyLinkedCollection", "LinkedList", "ArrayDeque"};
+		List<Supplier<Deque<Integer>>> factories = List.of(
+			MyLinkedCollection::new,
+			LinkedList::new,
+			ArrayDeque::new
+		);
+		String[] operationsNames = {"append", "queue", "stack", "size", "iterate", "index"};
+		Operation[] operations = {
+			LinkedCollectionBenchmark::append,
+			LinkedCollectionBenchmark::queue,
+			LinkedCollectionBenchmark::stack,
+			LinkedCollectionBenchmark::size,
+			LinkedCollectionBenchmark::iterate,
+			LinkedCollectionBenchmark::index
+		};
+
+		System.out.println(n + " elements, ns/op (best of " + runs + " runs)");
+		StringBuilder header = new StringBuilder(String.format("%-20s", ""));
+		for (String operationName : operationsNames)
+		{
+			header.append(String.format("%10s", operationName));
+		}
+		System.out.println(header);
+		for (int i = 0; i < factories.size(); i++)
+		{
+			StringBuilder line = new StringBuilder(String.format("%-20s", names[i]));
+			for (int j = 0; j < operations.length; j++)
+			{
+				if (!(factories.get(i).get() instanceof List<?>) && (operations[j] == operations[5]))
+				{
+					line.append(String.format("%10s", "-"));
+					continue;
+				}
+				double time = measure(factories.get(i), operations[j], n, runs);
+				line.append(String.format(Locale.ROOT, "%10.2f", time));
+			}
+			System.out.println(line);
+		}
+		System.out.println("(" + sink + ")");
+	}
+}
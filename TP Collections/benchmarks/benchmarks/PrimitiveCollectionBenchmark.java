@@ -0,0 +1,252 @@
+package benchmarks;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+
+import collections.MyArrayCollection;
+import collections.MyDoubleArrayCollection;
+import collections.MyIntArrayCollection;
+import collections.utils.Capacity;
+
+/**
+ * Benchmark of primitive collections ({@link MyIntArrayCollection} and
+ * {@link MyDoubleArrayCollection}) against boxed collections
+ * ({@link MyArrayCollection} and {@link ArrayList}) on:
+ * <ul>
+ * <li>footprint: retained heap per element once n distinct values have been
+ * added</li>
+ * <li>fill: time per element to add n values</li>
+ * <li>sum: time per element to sum all values</li>
+ * <li>GC: number of garbage collections during fill and sum</li>
+ * </ul>
+ * Boxed collections use {@link Capacity.GrowthPolicy#GEOMETRIC} growth so
+ * that only storage differs.
+ * Usage: {@code java benchmarks.PrimitiveCollectionBenchmark [n]}
+ * @author davidroussel
+ */
+public class PrimitiveCollectionBenchmark
+{
+	/**
+	 * Default number of elements
+	 */
+	private static final int DefaultSize = 5_000_000;
+
+	/**
+	 * Number of measured runs (after as many warmup runs)
+	 */
+	private static final int Runs = 3;
+
+	/**
+	 * Result consumed by sums so they can't be optimized away
+	 */
+	private static double sink = 0.0;
+
+	/**
+	 * A benchmarked collection
+	 * @param <C> the type of collection
+	 */
+	private static class Subject<C>
+	{
+		/**
+		 * Name of the benchmarked collection
+		 */
+		private final String name;
+
+		/**
+		 * Function creating a collection filled with n values
+		 */
+		private final IntFunction<C> filler;
+
+		/**
+		 * Function summing all values of a collection
+		 */
+		private final ToDoubleFunction<C> summer;
+
+		/**
+		 * Constructor
+		 * @param name name of the benchmarked collection
+		 * @param filler function creating a collection filled with n values
+		 * @param summer function summing all values of a collection
+		 */
+		public Subject(String name, IntFunction<C> filler, ToDoubleFunction<C> summer)
+		{
+			this.name = name;
+			this.filler = filler;
+			this.summer = summer;
+		}
+	}
+
+	/**
+	 * Total number of garbage collections so far
+	 * @return the number of garbage collections performed by all collectors
+	 */
+	private static long collections()
+	{
+		long count = 0L;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			count += Math.max(gc.getCollectionCount(), 0L);
+		}
+		return count;
+	}
+
+	/**
+	 * Used heap after garbage collection
+	 * @return the used heap in bytes
+	 */
+	private static long usedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Measures a collection and prints results
+	 * @param <C> the type of collection
+	 * @param subject the collection to measure
+	 * @param n the number of elements
+	 */
+	private static <C> void measure(Subject<C> subject, int n)
+	{
+		double fill = Double.POSITIVE_INFINITY;
+		double sum = Double.POSITIVE_INFINITY;
+		long gcs = 0L;
+		for (int run = -Runs; run < Runs; run++) // first runs are warmup
+		{
+			long gcStart = collections();
+			long start = System.nanoTime();
+			C col = subject.filler.apply(n);
+			long filled = System.nanoTime();
+			sink += subject.summer.applyAsDouble(col);
+			long summed = System.nanoTime();
+			if (run >= 0)
+			{
+				fill = Math.min(fill, (double) (filled - start) / n);
+				sum = Math.min(sum, (double) (summed - filled) / n);
+				gcs += collections() - gcStart;
+			}
+		}
+
+		long before = usedHeap();
+		C col = subject.filler.apply(n);
+		long footprint = usedHeap() - before;
+		sink += subject.summer.applyAsDouble(col);
+
+		System.out.println(String.format(Locale.ROOT,
+		                                 "%-32s %12.1f %12.2f %12.2f %8.1f",
+		                                 subject.name,
+		                                 (double) footprint / n,
+		                                 fill,
+		                                 sum,
+		                                 (double) gcs / Runs));
+	}
+
+	/**
+	 * Benchmark main program
+	 * @param args optional number of elements
+	 */
+	public static void main(String[] args)
+	{
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : DefaultSize;
+
+		Subject<Collection<Integer>> boxedInts = new Subject<>("MyArrayCollection<Integer>",
+			(int size) -> {
+				Collection<Integer> col =
+				    new MyArrayCollection<>(Capacity.DEFAULT_CAPACITY,
+				                            Capacity.GrowthPolicy.GEOMETRIC);
+				for (int i = 0; i < size; i++)
+				{
+					col.add(i);
+				}
+				return col;
+			},
+			(Collection<Integer> col) -> {
+				long sum = 0L;
+				for (Integer value : col)
+				{
+					sum += value.intValue();
+				}
+				return sum;
+			});
+		Subject<Collection<Integer>> listInts = new Subject<>("ArrayList<Integer>",
+			(int size) -> {
+				Collection<Integer> col = new ArrayList<>();
+				for (int i = 0; i < size; i++)
+				{
+					col.add(i);
+				}
+				return col;
+			},
+			boxedInts.summer);
+		Subject<MyIntArrayCollection> ints = new Subject<>("MyIntArrayCollection",
+			(int size) -> {
+				MyIntArrayCollection col = new MyIntArrayCollection();
+				for (int i = 0; i < size; i++)
+				{
+					col.add(i);
+				}
+				return col;
+			},
+			(MyIntArrayCollection col) -> {
+				long sum = 0L;
+				for (int i = 0; i < col.size(); i++)
+				{
+					sum += col.get(i);
+				}
+				return sum;
+			});
+		Subject<Collection<Double>> boxedDoubles = new Subject<>("MyArrayCollection<Double>",
+			(int size) -> {
+				Collection<Double> col =
+				    new MyArrayCollection<>(Capacity.DEFAULT_CAPACITY,
+				                            Capacity.GrowthPolicy.GEOMETRIC);
+				for (int i = 0; i < size; i++)
+				{
+					col.add(i * 0.5);
+				}
+				return col;
+			},
+			(Collection<Double> col) -> {
+				double sum = 0.0;
+				for (Double value : col)
+				{
+					sum += value.doubleValue();
+				}
+				return sum;
+			});
+		Subject<MyDoubleArrayCollection> doubles = new Subject<>("MyDoubleArrayCollection",
+			(int size) -> {
+				MyDoubleArrayCollection col = new MyDoubleArrayCollection();
+				for (int i = 0; i < size; i++)
+				{
+					col.add(i * 0.5);
+				}
+				return col;
+			},
+			(MyDoubleArrayCollection col) -> col.stream().sum());
+
+		System.out.println(n + " elements (best of " + Runs + " runs)");
+		System.out.println(String.format(Locale.ROOT,
+		                                 "%-32s %12s %12s %12s %8s",
+		                                 "",
+		                                 "bytes/elt",
+		                                 "fill ns/elt",
+		                                 "sum ns/elt",
+		                                 "GCs"));
+		measure(boxedInts, n);
+		measure(listInts, n);
+		measure(ints, n);
+		measure(boxedDoubles, n);
+		measure(doubles, n);
+		System.out.println("(" + sink + ")");
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * Benchmarks of personnal implementations of {@link java.util.Collection}s
+ * against standard ones.
+ * These programs belong to the benchmarks source folder, which is compiled
+ * apart from the collections in src and isn't part of the TP itself.
+ */
+package benchmarks;
@@ -1,9 +1,12 @@
 package collections;
 
 import java.util.AbstractCollection;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 import collections.utils.Capacity;
 
@@ -13,36 +16,47 @@ public class MyArrayCollection<E> extends AbstractCollection<E> implements Capac
 	private int size;
 	private int capacity;
 	private int capacityIncrement;
+	private GrowthPolicy growthPolicy;
 	
 	@SuppressWarnings("unchecked")
-	public MyArrayCollection(int c1, int c2) throws IllegalArgumentException {
+	public MyArrayCollection(int c1, int c2, GrowthPolicy policy) throws IllegalArgumentException {
 		if (c1 < 0) {
 			throw new IllegalArgumentException("negative capacity");
 		}
 		if (c2 <= 0) {
 			throw new IllegalArgumentException("negative or null increment capcity");
 		}
+		if (policy == null) {
+			throw new IllegalArgumentException("null growth policy");
+		}
 		capacity = c1;
 		capacityIncrement = c2;
+		growthPolicy = policy;
 		size = 0;
 		E[] es = (E[])new Object[capacity];
 		array = es;
 		
 	}
 	
+	public MyArrayCollection(int c1, int c2) throws IllegalArgumentException {
+		this(c1, c2, GrowthPolicy.FIXED);
+	}
+	
 	public MyArrayCollection(int initialCapacity) {
 		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT);
 	}
 	
+	public MyArrayCollection(int initialCapacity, GrowthPolicy policy) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT, policy);
+	}
+	
 	public MyArrayCollection() {	
 		this(Capacity.DEFAULT_CAPACITY, Capacity.DEFAULT_CAPACITY_INCREMENT);
 	}
 	
 	public MyArrayCollection(Collection<E> col) {
 		this(col.size(), Capacity.DEFAULT_CAPACITY_INCREMENT);
-		for(E elt : col) {
-			add(elt);
-		}
+		addAll(col);
 	}
 
 	@Override
@@ -64,21 +78,143 @@ public class MyArrayCollection<E> extends AbstractCollection<E> implements Capac
 		array = Capacity.resizeArray(array, capacity);
 	}
 
+	@Override
+	public GrowthPolicy getGrowthPolicy() {
+		return growthPolicy;
+	}
+
+	public void setGrowthPolicy(GrowthPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("null growth policy");
+		}
+		growthPolicy = policy;
+	}
+
+	@Override
+	public void trimToSize() {
+		if (size < capacity) {
+			capacity = size;
+			array = Capacity.resizeArray(array, capacity);
+		}
+	}
+
+	//grow (according to growth policy) only if there is no room for required elements
+	private void ensureRoom(int required) {
+		if (required > capacity) {
+			grow(growthPolicy.newCapacity(capacity, capacityIncrement, required) - capacity);
+		}
+	}
+
 	@Override
 	public boolean add(E e) {
 		if (e == null) {
 			throw new NullPointerException("null element");
 		}
 		//check required growth
-		if (size == capacity) {
-			grow(capacityIncrement);
-		}
+		ensureRoom(size + 1);
 		//add element into array
 		size++;
 		array[size - 1] = e;
 		return true;
 	}
 
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		//snapshot first (c might be this collection) and reject nulls before any change
+		Object[] added = c.toArray();
+		for (Object elt : added) {
+			if (elt == null) {
+				throw new NullPointerException("null element");
+			}
+		}
+		if (added.length == 0) {
+			return false;
+		}
+		//single growth and single copy for all elements
+		ensureRoom(size + added.length);
+		System.arraycopy(added, 0, array, size, added.length);
+		size += added.length;
+		return true;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o == null) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (o.equals(array[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(array, size, Object[].class);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		if (a.length < size) {
+			return (T[]) Arrays.copyOf(array, size, a.getClass());
+		}
+		System.arraycopy(array, 0, a, 0, size);
+		if (a.length > size) {
+			a[size] = null;
+		}
+		return a;
+	}
+
+	@Override
+	public void clear() {
+		//release references so elements can be garbage collected
+		Arrays.fill(array, 0, size, null);
+		size = 0;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		Objects.requireNonNull(filter);
+		//single pass compaction of kept elements
+		int kept = 0;
+		int i = 0;
+		int removed;
+		try {
+			for (; i < size; i++) {
+				E elt = array[i];
+				if (!filter.test(elt)) {
+					array[kept++] = elt;
+				}
+			}
+		}
+		finally {
+			//if filter throws, unvisited elements are kept
+			if (i < size) {
+				System.arraycopy(array, i, array, kept, size - i);
+				kept += size - i;
+			}
+			Arrays.fill(array, kept, size, null);
+			removed = size - kept;
+			size = kept;
+		}
+		return removed > 0;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		Objects.requireNonNull(c);
+		return removeIf(c::contains);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		Objects.requireNonNull(c);
+		return removeIf(elt -> !c.contains(elt));
+	}
+
 	@Override
 	public Iterator<E> iterator() {
 		return new ArrayIterator();
@@ -154,10 +290,9 @@ public class MyArrayCollection<E> extends AbstractCollection<E> implements Capac
 			if(index <= 0) {
 				throw new IllegalStateException("invalid index");
 			}
-			for(int i = index - 1; i < (size - 1); i++) {
-				array[i] = array[i + 1];
-			}
+			System.arraycopy(array, index, array, index - 1, size - index);
 			size--;
+			array[size] = null;
 			index--;
 			nextCalled = false;
 		}
@@ -0,0 +1,326 @@
+package collections;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+
+import collections.utils.Capacity;
+
+//double values are stored unboxed in a double[]: 8 bytes per element instead of a
+//reference plus a Double instance, and no allocation when adding or reading.
+//Values are compared as Double.equals does (NaN equals NaN, 0.0 differs from -0.0).
+public class MyDoubleArrayCollection extends PrimitiveArrayCollection<Double> {
+
+	private double[] array;
+	private Collection<Double> boxed;
+
+	public MyDoubleArrayCollection(int c1, int c2, GrowthPolicy policy) throws IllegalArgumentException {
+		super(c1, c2, policy);
+		array = new double[c1];
+		boxed = null;
+	}
+
+	public MyDoubleArrayCollection(int c1, int c2) throws IllegalArgumentException {
+		this(c1, c2, GrowthPolicy.GEOMETRIC);
+	}
+
+	public MyDoubleArrayCollection(int initialCapacity) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT);
+	}
+
+	public MyDoubleArrayCollection(int initialCapacity, GrowthPolicy policy) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT, policy);
+	}
+
+	public MyDoubleArrayCollection() {
+		this(Capacity.DEFAULT_CAPACITY, Capacity.DEFAULT_CAPACITY_INCREMENT);
+	}
+
+	//copies values directly rather than through the overridable addAll
+	public MyDoubleArrayCollection(double[] values) {
+		this(values.length, Capacity.DEFAULT_CAPACITY_INCREMENT);
+		System.arraycopy(values, 0, array, 0, values.length);
+		size = values.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		array = Arrays.copyOf(array, newCapacity);
+	}
+
+	public boolean add(double value) {
+		ensureRoom(size + 1);
+		array[size++] = value;
+		return true;
+	}
+
+	public boolean addAll(double[] values) {
+		return addAll(values, 0, values.length);
+	}
+
+	public boolean addAll(double[] values, int offset, int length) throws IndexOutOfBoundsException {
+		Objects.checkFromIndexSize(offset, length, values.length);
+		if (length == 0) {
+			return false;
+		}
+		//single growth and single copy for all values
+		ensureRoom(size + length);
+		System.arraycopy(values, offset, array, size, length);
+		size += length;
+		return true;
+	}
+
+	public boolean addAll(MyDoubleArrayCollection values) {
+		return addAll(values.array, 0, values.size);
+	}
+
+	public double get(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return array[index];
+	}
+
+	public double set(int index, double value) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		double old = array[index];
+		array[index] = value;
+		return old;
+	}
+
+	public double removeAt(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		double old = array[index];
+		System.arraycopy(array, index + 1, array, index, size - index - 1);
+		size--;
+		return old;
+	}
+
+	public int indexOf(double value) {
+		for (int i = 0; i < size; i++) {
+			if (Double.doubleToLongBits(array[i]) == Double.doubleToLongBits(value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(double value) {
+		return indexOf(value) >= 0;
+	}
+
+	public boolean removeValue(double value) {
+		int index = indexOf(value);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public boolean removeIf(DoublePredicate filter) {
+		Objects.requireNonNull(filter);
+		//single pass compaction of kept values
+		int kept = 0;
+		int i = 0;
+		int removed;
+		try {
+			for (; i < size; i++) {
+				double value = array[i];
+				if (!filter.test(value)) {
+					array[kept++] = value;
+				}
+			}
+		}
+		finally {
+			//if filter throws, unvisited values are kept
+			if (i < size) {
+				System.arraycopy(array, i, array, kept, size - i);
+				kept += size - i;
+			}
+			removed = size - kept;
+			size = kept;
+		}
+		return removed > 0;
+	}
+
+	public double[] toArray() {
+		return Arrays.copyOf(array, size);
+	}
+
+	//copies values into dest if it is large enough or into a new array otherwise
+	public double[] toArray(double[] dest) {
+		if (dest.length < size) {
+			return toArray();
+		}
+		System.arraycopy(array, 0, dest, 0, size);
+		return dest;
+	}
+
+	public DoubleStream stream() {
+		return Arrays.stream(array, 0, size);
+	}
+
+	public void forEachValue(DoubleConsumer action) {
+		Objects.requireNonNull(action);
+		for (int i = 0; i < size; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	//primitive consumers are routed to forEachValue (as PrimitiveIterator.OfDouble.forEachRemaining does),
+	//other consumers get boxed values
+	@Override
+	public void forEach(Consumer<? super Double> action) {
+		if (action instanceof DoubleConsumer) {
+			forEachValue((DoubleConsumer) action);
+		}
+		else {
+			Objects.requireNonNull(action);
+			forEachValue(action::accept);
+		}
+	}
+
+	//spliterator over the values currently stored (not late-binding: values added afterwards are not seen)
+	@Override
+	public Spliterator.OfDouble spliterator() {
+		return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED);
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble iterator() {
+		return new DoubleArrayIterator();
+	}
+
+	//Collection<Double> view backed by this collection (values are boxed on access)
+	public Collection<Double> boxed() {
+		if (boxed == null) {
+			boxed = new BoxedView();
+		}
+		return boxed;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			hash = (prime * hash) + Double.hashCode(array[i]);
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) {
+			return false;
+		}
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof MyDoubleArrayCollection)) {
+			return false;
+		}
+		MyDoubleArrayCollection col = (MyDoubleArrayCollection) obj;
+		return Arrays.equals(array, 0, size, col.array, 0, col.size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(array[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+
+	public class DoubleArrayIterator implements PrimitiveIterator.OfDouble {
+
+		private int index;
+		private boolean nextCalled;
+
+		public DoubleArrayIterator() {
+			index = 0;
+			nextCalled = false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		public double nextDouble() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("no more elements");
+			}
+			nextCalled = true;
+			return array[index++];
+		}
+
+		@Override
+		public void remove() {
+			if (!nextCalled) {
+				throw new IllegalStateException("next has not been called");
+			}
+			System.arraycopy(array, index, array, index - 1, size - index);
+			size--;
+			index--;
+			nextCalled = false;
+		}
+
+	}
+
+	private class BoxedView extends AbstractCollection<Double> {
+
+		@Override
+		public boolean add(Double e) {
+			return MyDoubleArrayCollection.this.add(e.doubleValue());
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof Double) && MyDoubleArrayCollection.this.contains(((Double) o).doubleValue());
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return (o instanceof Double) && removeValue(((Double) o).doubleValue());
+		}
+
+		@Override
+		public void clear() {
+			MyDoubleArrayCollection.this.clear();
+		}
+
+		@Override
+		public Object[] toArray() {
+			Object[] result = new Object[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = array[i];
+			}
+			return result;
+		}
+
+		@Override
+		public PrimitiveIterator.OfDouble iterator() {
+			return MyDoubleArrayCollection.this.iterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,325 @@
+package collections;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import collections.utils.Capacity;
+
+//int values are stored unboxed in an int[]: 4 bytes per element instead of a
+//reference plus an Integer instance, and no allocation when adding or reading.
+public class MyIntArrayCollection extends PrimitiveArrayCollection<Integer> {
+
+	private int[] array;
+	private Collection<Integer> boxed;
+
+	public MyIntArrayCollection(int c1, int c2, GrowthPolicy policy) throws IllegalArgumentException {
+		super(c1, c2, policy);
+		array = new int[c1];
+		boxed = null;
+	}
+
+	public MyIntArrayCollection(int c1, int c2) throws IllegalArgumentException {
+		this(c1, c2, GrowthPolicy.GEOMETRIC);
+	}
+
+	public MyIntArrayCollection(int initialCapacity) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT);
+	}
+
+	public MyIntArrayCollection(int initialCapacity, GrowthPolicy policy) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT, policy);
+	}
+
+	public MyIntArrayCollection() {
+		this(Capacity.DEFAULT_CAPACITY, Capacity.DEFAULT_CAPACITY_INCREMENT);
+	}
+
+	//copies values directly rather than through the overridable addAll
+	public MyIntArrayCollection(int[] values) {
+		this(values.length, Capacity.DEFAULT_CAPACITY_INCREMENT);
+		System.arraycopy(values, 0, array, 0, values.length);
+		size = values.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		array = Arrays.copyOf(array, newCapacity);
+	}
+
+	public boolean add(int value) {
+		ensureRoom(size + 1);
+		array[size++] = value;
+		return true;
+	}
+
+	public boolean addAll(int[] values) {
+		return addAll(values, 0, values.length);
+	}
+
+	public boolean addAll(int[] values, int offset, int length) throws IndexOutOfBoundsException {
+		Objects.checkFromIndexSize(offset, length, values.length);
+		if (length == 0) {
+			return false;
+		}
+		//single growth and single copy for all values
+		ensureRoom(size + length);
+		System.arraycopy(values, offset, array, size, length);
+		size += length;
+		return true;
+	}
+
+	public boolean addAll(MyIntArrayCollection values) {
+		return addAll(values.array, 0, values.size);
+	}
+
+	public int get(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return array[index];
+	}
+
+	public int set(int index, int value) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		int old = array[index];
+		array[index] = value;
+		return old;
+	}
+
+	public int removeAt(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		int old = array[index];
+		System.arraycopy(array, index + 1, array, index, size - index - 1);
+		size--;
+		return old;
+	}
+
+	public int indexOf(int value) {
+		for (int i = 0; i < size; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(int value) {
+		return indexOf(value) >= 0;
+	}
+
+	public boolean removeValue(int value) {
+		int index = indexOf(value);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public boolean removeIf(IntPredicate filter) {
+		Objects.requireNonNull(filter);
+		//single pass compaction of kept values
+		int kept = 0;
+		int i = 0;
+		int removed;
+		try {
+			for (; i < size; i++) {
+				int value = array[i];
+				if (!filter.test(value)) {
+					array[kept++] = value;
+				}
+			}
+		}
+		finally {
+			//if filter throws, unvisited values are kept
+			if (i < size) {
+				System.arraycopy(array, i, array, kept, size - i);
+				kept += size - i;
+			}
+			removed = size - kept;
+			size = kept;
+		}
+		return removed > 0;
+	}
+
+	public int[] toArray() {
+		return Arrays.copyOf(array, size);
+	}
+
+	//copies values into dest if it is large enough or into a new array otherwise
+	public int[] toArray(int[] dest) {
+		if (dest.length < size) {
+			return toArray();
+		}
+		System.arraycopy(array, 0, dest, 0, size);
+		return dest;
+	}
+
+	public IntStream stream() {
+		return Arrays.stream(array, 0, size);
+	}
+
+	public void forEachValue(IntConsumer action) {
+		Objects.requireNonNull(action);
+		for (int i = 0; i < size; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	//primitive consumers are routed to forEachValue (as PrimitiveIterator.OfInt.forEachRemaining does),
+	//other consumers get boxed values
+	@Override
+	public void forEach(Consumer<? super Integer> action) {
+		if (action instanceof IntConsumer) {
+			forEachValue((IntConsumer) action);
+		}
+		else {
+			Objects.requireNonNull(action);
+			forEachValue(action::accept);
+		}
+	}
+
+	//spliterator over the values currently stored (not late-binding: values added afterwards are not seen)
+	@Override
+	public Spliterator.OfInt spliterator() {
+		return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED);
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new IntArrayIterator();
+	}
+
+	//Collection<Integer> view backed by this collection (values are boxed on access)
+	public Collection<Integer> boxed() {
+		if (boxed == null) {
+			boxed = new BoxedView();
+		}
+		return boxed;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			hash = (prime * hash) + Integer.hashCode(array[i]);
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) {
+			return false;
+		}
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof MyIntArrayCollection)) {
+			return false;
+		}
+		MyIntArrayCollection col = (MyIntArrayCollection) obj;
+		return Arrays.equals(array, 0, size, col.array, 0, col.size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(array[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+
+	public class IntArrayIterator implements PrimitiveIterator.OfInt {
+
+		private int index;
+		private boolean nextCalled;
+
+		public IntArrayIterator() {
+			index = 0;
+			nextCalled = false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("no more elements");
+			}
+			nextCalled = true;
+			return array[index++];
+		}
+
+		@Override
+		public void remove() {
+			if (!nextCalled) {
+				throw new IllegalStateException("next has not been called");
+			}
+			System.arraycopy(array, index, array, index - 1, size - index);
+			size--;
+			index--;
+			nextCalled = false;
+		}
+
+	}
+
+	private class BoxedView extends AbstractCollection<Integer> {
+
+		@Override
+		public boolean add(Integer e) {
+			return MyIntArrayCollection.this.add(e.intValue());
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof Integer) && MyIntArrayCollection.this.contains(((Integer) o).intValue());
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return (o instanceof Integer) && removeValue(((Integer) o).intValue());
+		}
+
+		@Override
+		public void clear() {
+			MyIntArrayCollection.this.clear();
+		}
+
+		@Override
+		public Object[] toArray() {
+			Object[] result = new Object[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = array[i];
+			}
+			return result;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			return MyIntArrayCollection.this.iterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -1,158 +1,738 @@
 package collections;
 
-import java.util.AbstractCollection;
+import java.util.AbstractSequentialList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
+import collections.utils.ListDeque;
 import collections.utils.Node;
 
-public class MyLinkedCollection<E> extends AbstractCollection<E> {
+public class MyLinkedCollection<E> extends AbstractSequentialList<E> implements ListDeque<E> {
 
 	private Node<E> head;
-	
+	private Node<E> tail;
+	private int size;
+
 	public MyLinkedCollection() {
 		head = null;
+		tail = null;
+		size = 0;
 	}
-	
+
 	public MyLinkedCollection(Collection<E> col) {
 		this();
-		for(E elt : col) {
-			add(elt);
-		}
+		addAll(col);
 	}
-	
-	@Override
-	public boolean add(E e) throws NullPointerException
-	{
+
+	private static <E> E checkNotNull(E e) throws NullPointerException {
 		if(e == null) {
 			throw new NullPointerException("null object");
 		}
-		Node<E> current = head;
-		Node<E> previous = null;
-		while(current != null) {
-			previous = current;
-			current = current.getNext();
+		return e;
+	}
+
+	private void linkFirst(E e) {
+		Node<E> added = new Node<E>(e, null, head);
+		if(head != null) {
+			head.setPrevious(added);
+		}
+		else {
+			tail = added;
+		}
+		head = added;
+		size++;
+		modCount++;
+	}
+
+	private void linkLast(E e) {
+		Node<E> added = new Node<E>(e, tail, null);
+		if(tail != null) {
+			tail.setNext(added);
+		}
+		else {
+			head = added;
+		}
+		tail = added;
+		size++;
+		modCount++;
+	}
+
+	private void linkBefore(E e, Node<E> successor) {
+		if(successor == null) {
+			linkLast(e);
+			return;
 		}
-		Node<E> added = new Node<E>(e, previous, null);
-		if(previous != null) {
-			previous.setNext(added);
+		Node<E> predecessor = successor.getPrevious();
+		Node<E> added = new Node<E>(e, predecessor, successor);
+		successor.setPrevious(added);
+		if(predecessor != null) {
+			predecessor.setNext(added);
 		}
 		else {
 			head = added;
 		}
+		size++;
+		modCount++;
+	}
+
+	private E unlink(Node<E> node) {
+		E data = node.getData();
+		Node<E> predecessor = node.getPrevious();
+		Node<E> successor = node.getNext();
+		if(predecessor != null) {
+			predecessor.setNext(successor);
+		}
+		else {
+			head = successor;
+		}
+		if(successor != null) {
+			successor.setPrevious(predecessor);
+		}
+		else {
+			tail = predecessor;
+		}
+		node.unlink();
+		size--;
+		modCount++;
+		return data;
+	}
+
+	//walks from whichever end is nearer to index
+	private Node<E> node(int index) {
+		if(index < (size >> 1)) {
+			Node<E> current = head;
+			for(int i = 0; i < index; i++) {
+				current = current.getNext();
+			}
+			return current;
+		}
+		Node<E> current = tail;
+		for(int i = size - 1; i > index; i--) {
+			current = current.getPrevious();
+		}
+		return current;
+	}
+
+	private void checkElementIndex(int index) throws IndexOutOfBoundsException {
+		if((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("index " + index + " out of [0.." + size + "[");
+		}
+	}
+
+	private void checkPositionIndex(int index) throws IndexOutOfBoundsException {
+		if((index < 0) || (index > size)) {
+			throw new IndexOutOfBoundsException("index " + index + " out of [0.." + size + "]");
+		}
+	}
+
+	@Override
+	public boolean add(E e) throws NullPointerException {
+		linkLast(checkNotNull(e));
 		return true;
 	}
 
 	@Override
-	public Iterator<E> iterator() {
-		return new NodeIterator();
+	public boolean addAll(Collection<? extends E> c) {
+		Object[] added = c.toArray();
+		for(Object elt : added) {
+			checkNotNull(elt);
+		}
+		for(Object elt : added) {
+			@SuppressWarnings("unchecked")
+			E e = (E) elt;
+			linkLast(e);
+		}
+		return added.length > 0;
 	}
 
 	@Override
-	public int size() {
+	public E get(int index) throws IndexOutOfBoundsException {
+		checkElementIndex(index);
+		return node(index).getData();
+	}
+
+	@Override
+	public E set(int index, E element) throws IndexOutOfBoundsException, NullPointerException {
+		checkNotNull(element);
+		checkElementIndex(index);
+		Node<E> node = node(index);
+		E old = node.getData();
+		node.setData(element);
+		return old;
+	}
+
+	@Override
+	public void add(int index, E element) throws IndexOutOfBoundsException, NullPointerException {
+		checkNotNull(element);
+		checkPositionIndex(index);
+		linkBefore(element, index == size ? null : node(index));
+	}
+
+	@Override
+	public E remove(int index) throws IndexOutOfBoundsException {
+		checkElementIndex(index);
+		return unlink(node(index));
+	}
+
+	@Override
+	public void clear() {
 		Node<E> current = head;
-		int count = 0;
 		while(current != null) {
-			current = current.getNext();
-			count++;
+			Node<E> next = current.getNext();
+			current.unlink();
+			current = next;
+		}
+		head = null;
+		tail = null;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public void addFirst(E e) throws NullPointerException {
+		linkFirst(checkNotNull(e));
+	}
+
+	@Override
+	public void addLast(E e) throws NullPointerException {
+		linkLast(checkNotNull(e));
+	}
+
+	@Override
+	public boolean offerFirst(E e) throws NullPointerException {
+		addFirst(e);
+		return true;
+	}
+
+	@Override
+	public boolean offerLast(E e) throws NullPointerException {
+		addLast(e);
+		return true;
+	}
+
+	@Override
+	public E removeFirst() throws NoSuchElementException {
+		if(head == null) {
+			throw new NoSuchElementException("empty collection");
 		}
-		return count;
+		return unlink(head);
 	}
 
 	@Override
-	public int hashCode() {
-		final int prime = 31;
-		int hash = 1;
-		for (E elt : this) {
-			hash = prime * hash + (elt == null ? 0 : elt.hashCode());
+	public E removeLast() throws NoSuchElementException {
+		if(tail == null) {
+			throw new NoSuchElementException("empty collection");
 		}
-		return hash;
+		return unlink(tail);
+	}
+
+	@Override
+	public E pollFirst() {
+		return head == null ? null : unlink(head);
+	}
+
+	@Override
+	public E pollLast() {
+		return tail == null ? null : unlink(tail);
+	}
+
+	@Override
+	public E getFirst() throws NoSuchElementException {
+		if(head == null) {
+			throw new NoSuchElementException("empty collection");
+		}
+		return head.getData();
+	}
+
+	@Override
+	public E getLast() throws NoSuchElementException {
+		if(tail == null) {
+			throw new NoSuchElementException("empty collection");
+		}
+		return tail.getData();
+	}
+
+	@Override
+	public E peekFirst() {
+		return head == null ? null : head.getData();
+	}
+
+	@Override
+	public E peekLast() {
+		return tail == null ? null : tail.getData();
 	}
 
 	@Override
-	public boolean equals(Object obj) {
-		if (obj == null) {
+	public boolean removeFirstOccurrence(Object o) {
+		if(o == null) {
 			return false;
 		}
-		if (obj == this) {
-			return true;
+		for(Node<E> current = head; current != null; current = current.getNext()) {
+			if(o.equals(current.getData())) {
+				unlink(current);
+				return true;
+			}
 		}
-		if (!(obj instanceof Iterable<?>)) {
+		return false;
+	}
+
+	@Override
+	public boolean removeLastOccurrence(Object o) {
+		if(o == null) {
 			return false;
 		}
-		Iterable<?> col = (Iterable<?>) obj;
-		Iterator<E> it1 = iterator();
-		Iterator<?> it2 = col.iterator();
-		while(it1.hasNext() && it2.hasNext()) {
-			if(!it1.next().equals(it2.next())) {
-				return false;
+		for(Node<E> current = tail; current != null; current = current.getPrevious()) {
+			if(o.equals(current.getData())) {
+				unlink(current);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean offer(E e) throws NullPointerException {
+		return offerLast(e);
+	}
+
+	@Override
+	public E remove() throws NoSuchElementException {
+		return removeFirst();
+	}
+
+	@Override
+	public E poll() {
+		return pollFirst();
+	}
+
+	@Override
+	public E element() throws NoSuchElementException {
+		return getFirst();
+	}
+
+	@Override
+	public E peek() {
+		return peekFirst();
+	}
+
+	@Override
+	public void push(E e) throws NullPointerException {
+		addFirst(e);
+	}
+
+	@Override
+	public E pop() throws NoSuchElementException {
+		return removeFirst();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return removeFirstOccurrence(o);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if(o == null) {
+			return -1;
+		}
+		int index = 0;
+		for(Node<E> current = head; current != null; current = current.getNext()) {
+			if(o.equals(current.getData())) {
+				return index;
 			}
+			index++;
 		}
-		return it1.hasNext() == it2.hasNext();
+		return -1;
 	}
-	private class NodeIterator implements Iterator<E> {
 
-		private Node<E> current;
-		private Node<E> previous;
-		private boolean nextCalled;
-		
-		public NodeIterator() {
-			current = head;
-			previous = null;
-			nextCalled = false;
+	@Override
+	public int lastIndexOf(Object o) {
+		if(o == null) {
+			return -1;
+		}
+		int index = size - 1;
+		for(Node<E> current = tail; current != null; current = current.getPrevious()) {
+			if(o.equals(current.getData())) {
+				return index;
+			}
+			index--;
 		}
-		
+		return -1;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new NodeIterator(0);
+	}
+
+	@Override
+	public ListIterator<E> listIterator(int index) throws IndexOutOfBoundsException {
+		checkPositionIndex(index);
+		return new NodeIterator(index);
+	}
+
+	@Override
+	public Iterator<E> descendingIterator() {
+		return new Iterator<E>() {
+			private final NodeIterator it = new NodeIterator(size);
+
+			@Override
+			public boolean hasNext() {
+				return it.hasPrevious();
+			}
+
+			@Override
+			public E next() throws NoSuchElementException {
+				return it.previous();
+			}
+
+			@Override
+			public void remove() throws IllegalStateException {
+				it.remove();
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	//view backed by this collection, as LinkedList.reversed() since Java 21
+	@Override
+	public ListDeque<E> reversed() {
+		return new ReversedView();
+	}
+
+	//every operation is delegated to the opposite end of this collection
+	private class ReversedView extends AbstractSequentialList<E> implements ListDeque<E> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean add(E e) throws NullPointerException {
+			MyLinkedCollection.this.addFirst(e);
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			MyLinkedCollection.this.clear();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return MyLinkedCollection.this.contains(o);
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return MyLinkedCollection.this.removeLastOccurrence(o);
+		}
+
+		@Override
+		public void addFirst(E e) throws NullPointerException {
+			MyLinkedCollection.this.addLast(e);
+		}
+
+		@Override
+		public void addLast(E e) throws NullPointerException {
+			MyLinkedCollection.this.addFirst(e);
+		}
+
+		@Override
+		public boolean offerFirst(E e) throws NullPointerException {
+			return MyLinkedCollection.this.offerLast(e);
+		}
+
+		@Override
+		public boolean offerLast(E e) throws NullPointerException {
+			return MyLinkedCollection.this.offerFirst(e);
+		}
+
+		@Override
+		public E removeFirst() throws NoSuchElementException {
+			return MyLinkedCollection.this.removeLast();
+		}
+
+		@Override
+		public E removeLast() throws NoSuchElementException {
+			return MyLinkedCollection.this.removeFirst();
+		}
+
+		@Override
+		public E pollFirst() {
+			return MyLinkedCollection.this.pollLast();
+		}
+
+		@Override
+		public E pollLast() {
+			return MyLinkedCollection.this.pollFirst();
+		}
+
+		@Override
+		public E getFirst() throws NoSuchElementException {
+			return MyLinkedCollection.this.getLast();
+		}
+
+		@Override
+		public E getLast() throws NoSuchElementException {
+			return MyLinkedCollection.this.getFirst();
+		}
+
+		@Override
+		public E peekFirst() {
+			return MyLinkedCollection.this.peekLast();
+		}
+
+		@Override
+		public E peekLast() {
+			return MyLinkedCollection.this.peekFirst();
+		}
+
+		@Override
+		public boolean removeFirstOccurrence(Object o) {
+			return MyLinkedCollection.this.removeLastOccurrence(o);
+		}
+
+		@Override
+		public boolean removeLastOccurrence(Object o) {
+			return MyLinkedCollection.this.removeFirstOccurrence(o);
+		}
+
+		@Override
+		public boolean offer(E e) throws NullPointerException {
+			return offerLast(e);
+		}
+
+		@Override
+		public E remove() throws NoSuchElementException {
+			return removeFirst();
+		}
+
+		@Override
+		public E poll() {
+			return pollFirst();
+		}
+
+		@Override
+		public E element() throws NoSuchElementException {
+			return getFirst();
+		}
+
+		@Override
+		public E peek() {
+			return peekFirst();
+		}
+
+		@Override
+		public void push(E e) throws NullPointerException {
+			addFirst(e);
+		}
+
+		@Override
+		public E pop() throws NoSuchElementException {
+			return removeFirst();
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return MyLinkedCollection.this.descendingIterator();
+		}
+
+		@Override
+		public Iterator<E> descendingIterator() {
+			return MyLinkedCollection.this.iterator();
+		}
+
+		//index i of this view is index size - 1 - i of the collection
+		@Override
+		public ListIterator<E> listIterator(int index) throws IndexOutOfBoundsException {
+			checkPositionIndex(index);
+			return new ListIterator<E>() {
+				private final NodeIterator it = new NodeIterator(size - index);
+				//it's last returned element is also set by add whereas remove and set are illegal after add
+				private boolean lastReturned = false;
+
+				@Override
+				public boolean hasNext() {
+					return it.hasPrevious();
+				}
+
+				@Override
+				public E next() throws NoSuchElementException {
+					E e = it.previous();
+					lastReturned = true;
+					return e;
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return it.hasNext();
+				}
+
+				@Override
+				public E previous() throws NoSuchElementException {
+					E e = it.next();
+					lastReturned = true;
+					return e;
+				}
+
+				@Override
+				public int nextIndex() {
+					return size - it.nextIndex();
+				}
+
+				@Override
+				public int previousIndex() {
+					return nextIndex() - 1;
+				}
+
+				@Override
+				public void remove() throws IllegalStateException {
+					if(!lastReturned) {
+						throw new IllegalStateException("next or previous has not been called");
+					}
+					it.remove();
+					lastReturned = false;
+				}
+
+				@Override
+				public void set(E e) throws IllegalStateException, NullPointerException {
+					if(!lastReturned) {
+						throw new IllegalStateException("next or previous has not been called");
+					}
+					it.set(e);
+				}
+
+				//added before the collection's cursor, which is then moved back before the added element
+				@Override
+				public void add(E e) throws NullPointerException {
+					it.add(e);
+					it.previous();
+					lastReturned = false;
+				}
+			};
+		}
+
+		@Override
+		public ListDeque<E> reversed() {
+			return MyLinkedCollection.this;
+		}
+	}
+
+	private class NodeIterator implements ListIterator<E> {
+
+		private Node<E> next;
+		private Node<E> lastReturned;
+		private int nextIndex;
+		private int expectedModCount;
+
+		public NodeIterator(int index) {
+			next = (index == size) ? null : node(index);
+			lastReturned = null;
+			nextIndex = index;
+			expectedModCount = modCount;
+		}
+
+		private void checkModification() throws ConcurrentModificationException {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
 		@Override
 		public boolean hasNext() {
-			return (current != null);
+			return nextIndex < size;
 		}
 
 		@Override
-		public E next() throws NoSuchElementException{
-			// TODO Auto-generated method stub
+		public E next() throws NoSuchElementException {
+			checkModification();
 			if(!hasNext()) {
 				throw new NoSuchElementException("no more elements");
 			}
-			previous = current;
-			E data = current.getData();
-			current = current.getNext();
-			nextCalled = true;
-			return data;
+			lastReturned = next;
+			next = next.getNext();
+			nextIndex++;
+			return lastReturned.getData();
 		}
 
 		@Override
-		public void remove() throws IllegalStateException{
-			if(!nextCalled) {
-				throw new IllegalStateException("next has not been called");
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public E previous() throws NoSuchElementException {
+			checkModification();
+			if(!hasPrevious()) {
+				throw new NoSuchElementException("no previous element");
 			}
-			if(previous == null) {
-				throw new IllegalStateException("can't remove null previous");
+			next = (next == null) ? tail : next.getPrevious();
+			lastReturned = next;
+			nextIndex--;
+			return lastReturned.getData();
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() throws IllegalStateException {
+			checkModification();
+			if(lastReturned == null) {
+				throw new IllegalStateException("next or previous has not been called");
 			}
-			if(previous != head) {
-				Node<E> penultimate = previous.getPrevious();
-				if (current != null) {
-					current.setPrevious(penultimate);
-				}
-				if (penultimate != null) {
-					penultimate.setNext(current);
-				}
-				else {
-					throw new IllegalStateException("null penultimate");
-				}
+			if(lastReturned == next) {
+				//after previous()
+				next = next.getNext();
 			}
 			else {
-				head = head.getNext();
-				if(head != null) {
-					head.setPrevious(null);
-				}
+				//after next()
+				nextIndex--;
 			}
-			previous.unlink();
-			previous = null;
-			nextCalled = false;
+			unlink(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
 		}
-		
-		
 
+		@Override
+		public void set(E e) throws IllegalStateException, NullPointerException {
+			checkNotNull(e);
+			checkModification();
+			if(lastReturned == null) {
+				throw new IllegalStateException("next or previous has not been called");
+			}
+			lastReturned.setData(e);
+		}
+
+		@Override
+		public void add(E e) throws NullPointerException {
+			checkNotNull(e);
+			checkModification();
+			lastReturned = null;
+			linkBefore(e, next);
+			nextIndex++;
+			expectedModCount = modCount;
+		}
 	}
 }
@@ -0,0 +1,325 @@
+package collections;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import collections.utils.Capacity;
+
+//long values are stored unboxed in a long[]: 8 bytes per element instead of a
+//reference plus a Long instance, and no allocation when adding or reading.
+public class MyLongArrayCollection extends PrimitiveArrayCollection<Long> {
+
+	private long[] array;
+	private Collection<Long> boxed;
+
+	public MyLongArrayCollection(int c1, int c2, GrowthPolicy policy) throws IllegalArgumentException {
+		super(c1, c2, policy);
+		array = new long[c1];
+		boxed = null;
+	}
+
+	public MyLongArrayCollection(int c1, int c2) throws IllegalArgumentException {
+		this(c1, c2, GrowthPolicy.GEOMETRIC);
+	}
+
+	public MyLongArrayCollection(int initialCapacity) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT);
+	}
+
+	public MyLongArrayCollection(int initialCapacity, GrowthPolicy policy) {
+		this(initialCapacity, Capacity.DEFAULT_CAPACITY_INCREMENT, policy);
+	}
+
+	public MyLongArrayCollection() {
+		this(Capacity.DEFAULT_CAPACITY, Capacity.DEFAULT_CAPACITY_INCREMENT);
+	}
+
+	//copies values directly rather than through the overridable addAll
+	public MyLongArrayCollection(long[] values) {
+		this(values.length, Capacity.DEFAULT_CAPACITY_INCREMENT);
+		System.arraycopy(values, 0, array, 0, values.length);
+		size = values.length;
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		array = Arrays.copyOf(array, newCapacity);
+	}
+
+	public boolean add(long value) {
+		ensureRoom(size + 1);
+		array[size++] = value;
+		return true;
+	}
+
+	public boolean addAll(long[] values) {
+		return addAll(values, 0, values.length);
+	}
+
+	public boolean addAll(long[] values, int offset, int length) throws IndexOutOfBoundsException {
+		Objects.checkFromIndexSize(offset, length, values.length);
+		if (length == 0) {
+			return false;
+		}
+		//single growth and single copy for all values
+		ensureRoom(size + length);
+		System.arraycopy(values, offset, array, size, length);
+		size += length;
+		return true;
+	}
+
+	public boolean addAll(MyLongArrayCollection values) {
+		return addAll(values.array, 0, values.size);
+	}
+
+	public long get(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return array[index];
+	}
+
+	public long set(int index, long value) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		long old = array[index];
+		array[index] = value;
+		return old;
+	}
+
+	public long removeAt(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		long old = array[index];
+		System.arraycopy(array, index + 1, array, index, size - index - 1);
+		size--;
+		return old;
+	}
+
+	public int indexOf(long value) {
+		for (int i = 0; i < size; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(long value) {
+		return indexOf(value) >= 0;
+	}
+
+	public boolean removeValue(long value) {
+		int index = indexOf(value);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public boolean removeIf(LongPredicate filter) {
+		Objects.requireNonNull(filter);
+		//single pass compaction of kept values
+		int kept = 0;
+		int i = 0;
+		int removed;
+		try {
+			for (; i < size; i++) {
+				long value = array[i];
+				if (!filter.test(value)) {
+					array[kept++] = value;
+				}
+			}
+		}
+		finally {
+			//if filter throws, unvisited values are kept
+			if (i < size) {
+				System.arraycopy(array, i, array, kept, size - i);
+				kept += size - i;
+			}
+			removed = size - kept;
+			size = kept;
+		}
+		return removed > 0;
+	}
+
+	public long[] toArray() {
+		return Arrays.copyOf(array, size);
+	}
+
+	//copies values into dest if it is large enough or into a new array otherwise
+	public long[] toArray(long[] dest) {
+		if (dest.length < size) {
+			return toArray();
+		}
+		System.arraycopy(array, 0, dest, 0, size);
+		return dest;
+	}
+
+	public LongStream stream() {
+		return Arrays.stream(array, 0, size);
+	}
+
+	public void forEachValue(LongConsumer action) {
+		Objects.requireNonNull(action);
+		for (int i = 0; i < size; i++) {
+			action.accept(array[i]);
+		}
+	}
+
+	//primitive consumers are routed to forEachValue (as PrimitiveIterator.OfLong.forEachRemaining does),
+	//other consumers get boxed values
+	@Override
+	public void forEach(Consumer<? super Long> action) {
+		if (action instanceof LongConsumer) {
+			forEachValue((LongConsumer) action);
+		}
+		else {
+			Objects.requireNonNull(action);
+			forEachValue(action::accept);
+		}
+	}
+
+	//spliterator over the values currently stored (not late-binding: values added afterwards are not seen)
+	@Override
+	public Spliterator.OfLong spliterator() {
+		return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED);
+	}
+
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		return new LongArrayIterator();
+	}
+
+	//Collection<Long> view backed by this collection (values are boxed on access)
+	public Collection<Long> boxed() {
+		if (boxed == null) {
+			boxed = new BoxedView();
+		}
+		return boxed;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			hash = (prime * hash) + Long.hashCode(array[i]);
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) {
+			return false;
+		}
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof MyLongArrayCollection)) {
+			return false;
+		}
+		MyLongArrayCollection col = (MyLongArrayCollection) obj;
+		return Arrays.equals(array, 0, size, col.array, 0, col.size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(array[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+
+	public class LongArrayIterator implements PrimitiveIterator.OfLong {
+
+		private int index;
+		private boolean nextCalled;
+
+		public LongArrayIterator() {
+			index = 0;
+			nextCalled = false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("no more elements");
+			}
+			nextCalled = true;
+			return array[index++];
+		}
+
+		@Override
+		public void remove() {
+			if (!nextCalled) {
+				throw new IllegalStateException("next has not been called");
+			}
+			System.arraycopy(array, index, array, index - 1, size - index);
+			size--;
+			index--;
+			nextCalled = false;
+		}
+
+	}
+
+	private class BoxedView extends AbstractCollection<Long> {
+
+		@Override
+		public boolean add(Long e) {
+			return MyLongArrayCollection.this.add(e.longValue());
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof Long) && MyLongArrayCollection.this.contains(((Long) o).longValue());
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return (o instanceof Long) && removeValue(((Long) o).longValue());
+		}
+
+		@Override
+		public void clear() {
+			MyLongArrayCollection.this.clear();
+		}
+
+		@Override
+		public Object[] toArray() {
+			Object[] result = new Object[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = array[i];
+			}
+			return result;
+		}
+
+		@Override
+		public PrimitiveIterator.OfLong iterator() {
+			return MyLongArrayCollection.this.iterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
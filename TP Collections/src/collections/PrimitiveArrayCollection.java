@@ -0,0 +1,97 @@
+package collections;
+
+import collections.utils.Capacity;
+
+//capacity management shared by primitive collections, which only differ by the
+//type of their internal array (reallocated by resize)
+abstract class PrimitiveArrayCollection<E> implements Capacity<E>, Iterable<E> {
+
+	protected int size;
+	private int capacity;
+	private final int capacityIncrement;
+	private GrowthPolicy growthPolicy;
+
+	protected PrimitiveArrayCollection(int c1, int c2, GrowthPolicy policy) throws IllegalArgumentException {
+		if (c1 < 0) {
+			throw new IllegalArgumentException("negative capacity");
+		}
+		if (c2 <= 0) {
+			throw new IllegalArgumentException("negative or null increment capcity");
+		}
+		if (policy == null) {
+			throw new IllegalArgumentException("null growth policy");
+		}
+		capacity = c1;
+		capacityIncrement = c2;
+		growthPolicy = policy;
+		size = 0;
+	}
+
+	//reallocates the internal array with newCapacity elements (keeping the first size values)
+	protected abstract void resize(int newCapacity);
+
+	@Override
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	public int getCapacityIncrement() {
+		return capacityIncrement;
+	}
+
+	@Override
+	public void grow(int amount) throws IllegalArgumentException {
+		if (amount < 0) {
+			throw new IllegalArgumentException("negative amount");
+		}
+		capacity += amount;
+		resize(capacity);
+	}
+
+	@Override
+	public GrowthPolicy getGrowthPolicy() {
+		return growthPolicy;
+	}
+
+	public void setGrowthPolicy(GrowthPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("null growth policy");
+		}
+		growthPolicy = policy;
+	}
+
+	@Override
+	public void trimToSize() {
+		if (size < capacity) {
+			capacity = size;
+			resize(capacity);
+		}
+	}
+
+	//grow (according to growth policy) only if there is no room for required elements
+	protected void ensureRoom(int required) {
+		if (required > capacity) {
+			grow(growthPolicy.newCapacity(capacity, capacityIncrement, required) - capacity);
+		}
+	}
+
+	protected void checkIndex(int index) throws IndexOutOfBoundsException {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("index " + index + " out of [0.." + size + "[");
+		}
+	}
+
+	public void clear() {
+		//no references to release
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
@@ -8,7 +8,8 @@ import java.util.Arrays;
  * <li>a Capacity to define the internal array's length</li>
  * <li>a Capacity Increment to define the amount by which the internal array
  * must grow or shrink when a reallocation of internal array is required</li>
- * <li>
+ * <li>a {@link GrowthPolicy} to define the new capacity of internal array
+ * when it is full</li>
  * </ul>
  * @author davidroussel
  * @param <E> the type of elements stored in interna array
@@ -25,6 +26,88 @@ public interface Capacity<E>
 	 */
 	public static final int DEFAULT_CAPACITY_INCREMENT = 10;
 
+	/**
+	 * The capacity below which {@link GrowthPolicy#HYBRID} grows by capacity
+	 * increments
+	 */
+	public static final int HYBRID_THRESHOLD = 1024;
+
+	/**
+	 * The maximum capacity of internal arrays (some VMs reserve header words
+	 * in arrays)
+	 */
+	public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Policy computing the new capacity of a full internal array.
+	 * Appending n elements one by one costs O(n<sup>2</sup>) copies with
+	 * {@link #FIXED} growth but only O(n) amortized copies with
+	 * {@link #GEOMETRIC} growth.
+	 * Object collections keep {@link #FIXED} growth by default whereas
+	 * primitive collections, meant to hold large volumes of values, grow
+	 * {@link #GEOMETRIC}ally by default.
+	 */
+	@FunctionalInterface
+	public static interface GrowthPolicy
+	{
+		/**
+		 * Grows by capacity increments (the historic behavior)
+		 */
+		public static final GrowthPolicy FIXED = (capacity, increment, minCapacity) -> {
+			long steps = ((long) minCapacity - capacity + increment - 1) / increment;
+			return GrowthPolicy.bound(capacity + (Math.max(steps, 1) * increment),
+			                          minCapacity);
+		};
+
+		/**
+		 * Grows by half the current capacity (at least by one)
+		 */
+		public static final GrowthPolicy GEOMETRIC = (capacity, increment, minCapacity) -> {
+			long newCapacity = capacity + Math.max(capacity >> 1, 1);
+			return GrowthPolicy.bound(Math.max(newCapacity, minCapacity), minCapacity);
+		};
+
+		/**
+		 * Grows by capacity increments while capacity is lower than
+		 * {@link Capacity#HYBRID_THRESHOLD} and then geometrically
+		 */
+		public static final GrowthPolicy HYBRID = (capacity, increment, minCapacity) -> {
+			return capacity < HYBRID_THRESHOLD ?
+			    FIXED.newCapacity(capacity, increment, minCapacity) :
+			    GEOMETRIC.newCapacity(capacity, increment, minCapacity);
+		};
+
+		/**
+		 * Computes the new capacity of a full internal array
+		 * @param capacity the current capacity
+		 * @param increment the capacity increment
+		 * @param minCapacity the minimum required capacity (greater than
+		 * current capacity)
+		 * @return the new capacity (at least minCapacity)
+		 * @throws OutOfMemoryError if minCapacity exceeds {@link #MAX_CAPACITY}
+		 */
+		public abstract int newCapacity(int capacity, int increment, int minCapacity)
+		    throws OutOfMemoryError;
+
+		/**
+		 * Bounds a new capacity to {@link #MAX_CAPACITY}
+		 * @param newCapacity the new capacity to bound
+		 * @param minCapacity the minimum required capacity
+		 * @return the bounded new capacity
+		 * @throws OutOfMemoryError if minCapacity exceeds {@link #MAX_CAPACITY}
+		 * (or is negative because of an overflow)
+		 */
+		public static int bound(long newCapacity, int minCapacity)
+		    throws OutOfMemoryError
+		{
+			if ((minCapacity < 0) || (minCapacity > MAX_CAPACITY))
+			{
+				throw new OutOfMemoryError("Required array capacity too large");
+			}
+			return (int) Math.min(newCapacity, MAX_CAPACITY);
+		}
+	}
+
 	/**
 	 * Capacity accessor
 	 * @return the current capacity of internal array
@@ -44,6 +127,20 @@ public interface Capacity<E>
 	 */
 	public abstract void grow(int amount) throws IllegalArgumentException;
 
+	/**
+	 * Growth policy accessor
+	 * @return the policy used to grow internal array when it is full
+	 */
+	public default GrowthPolicy getGrowthPolicy()
+	{
+		return GrowthPolicy.FIXED;
+	}
+
+	/**
+	 * Trims the capacity of internal array to the current number of elements
+	 */
+	public abstract void trimToSize();
+
 	/**
 	 * Increases the capacity of internal array, if necessary, to ensure that it
 	 * can hold at least the number of elements specified by the minimum
@@ -0,0 +1,45 @@
+package collections.utils;
+
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Interface for collections which are both a {@link List} and a
+ * {@link Deque} (such as {@link java.util.LinkedList}).
+ * Since Java 21 both interfaces define {@code reversed()} with unrelated
+ * return types ({@link List} and {@link Deque}), and {@link List} provides
+ * default implementations of end operations which {@link Deque} declares
+ * abstract. This interface resolves both conflicts by redeclaring these
+ * methods, so that its implementations compile with Java 17 as well as with
+ * Java 21 and later.
+ * @author davidroussel
+ * @param <E> the type of elements in this collection
+ */
+public interface ListDeque<E> extends List<E>, Deque<E>
+{
+	@Override
+	public abstract void addFirst(E e);
+
+	@Override
+	public abstract void addLast(E e);
+
+	@Override
+	public abstract E getFirst();
+
+	@Override
+	public abstract E getLast();
+
+	@Override
+	public abstract E removeFirst();
+
+	@Override
+	public abstract E removeLast();
+
+	/**
+	 * Reverse ordered view of this collection: changes to this collection
+	 * are visible in the view and changes to the view are written through
+	 * to this collection
+	 * @return a reverse ordered view of this collection
+	 */
+	public abstract ListDeque<E> reversed();
+}
@@ -55,6 +55,15 @@ public class Node<E>
 		return data;
 	}
 
+	/**
+	 * Data mutator
+	 * @param data the data to set
+	 */
+	public void setData(E data)
+	{
+		this.data = data;
+	}
+
 	/**
 	 * Indicator of non null next Link
 	 * @return true if {@link #next} is non null, false otherwise
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -16,10 +18,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -33,6 +37,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -42,6 +47,7 @@ import collections.MyArrayCollection;
 import collections.MyDummyCollection;
 import collections.MyLinkedCollection;
 import collections.utils.Capacity;
+import collections.utils.ListDeque;
 
 /**
  * A Class to test all kinds of {@link Collection}s
@@ -229,6 +235,32 @@ public class CollectionTest
 		});
 	}
 
+	/**
+	 * List class provider used for parameterized tests requiring the type of
+	 * collection (restricted to classes implementing both the {@link Deque}
+	 * and the {@link List} interfaces)
+	 * @return a stream of Deque Classes to use in each ParameterizedTest
+	 */
+	private static Stream<Class<? extends Collection<?>>> dequeClassesProvider()
+	{
+		return collectionClassesProvider().filter((Class<? extends Collection<?>> c) -> {
+			return Deque.class.isAssignableFrom(c) && List.class.isAssignableFrom(c);
+		});
+	}
+
+	/**
+	 * List class provider used for parameterized tests requiring the type of
+	 * collection (restricted to classes implementing the {@link ListDeque}
+	 * interface)
+	 * @return a stream of ListDeque Classes to use in each ParameterizedTest
+	 */
+	private static Stream<Class<? extends Collection<?>>> listDequeClassesProvider()
+	{
+		return collectionClassesProvider().filter((Class<? extends Collection<?>> c) -> {
+			return ListDeque.class.isAssignableFrom(c);
+		});
+	}
+
 	/**
 	 * Creates an instance of a {@code Collection<String>} according to the type of
 	 * collection to create and eventually a content to set.
@@ -729,6 +761,97 @@ public class CollectionTest
 		}
 	}
 
+	/**
+	 * Test method for {@link Capacity#getGrowthPolicy()} and
+	 * {@link Capacity#trimToSize()}.
+	 * @param type the type of collection to test provided by
+	 * {@link #capacityClassesProvider()}
+	 */
+	@ParameterizedTest
+	@MethodSource("capacityClassesProvider")
+	@DisplayName("trimToSize()")
+	@Order(6)
+	final void testTrimToSize(Class<? extends List<String>> type)
+	{
+		String baseTestName = "trimToSize()";
+		setUpTest(constructCollection(baseTestName, type, null), baseTestName);
+		if (Capacity.class.isInstance(testCollection))
+		{
+			@SuppressWarnings("unchecked")
+			Capacity<String> myCap = (Capacity<String>) testCollection;
+			assertEquals(Capacity.GrowthPolicy.FIXED,
+			             myCap.getGrowthPolicy(),
+			             testName + " unexpected default growth policy");
+			testCollection.addAll(listElements);
+			testCollection.addAll(listElements);
+			assertTrue(myCap.getCapacity() >= testCollection.size(),
+			           testName + " unexpected capacity lower than size");
+			myCap.trimToSize();
+			assertEquals(testCollection.size(),
+			             myCap.getCapacity(),
+			             testName + " unexpected capacity after trimToSize");
+			testCollection.add(elements[0]);
+			assertEquals(elements.length * 2 + Capacity.DEFAULT_CAPACITY_INCREMENT,
+			             myCap.getCapacity(),
+			             testName + " unexpected capacity after growth");
+			testCollection.clear();
+			myCap.trimToSize();
+			assertEquals(0,
+			             myCap.getCapacity(),
+			             testName + " unexpected capacity after clear");
+			testCollection.add(elements[0]);
+			assertIterableEquals(List.of(elements[0]),
+			                     testCollection,
+			                     testName + " unexpected content after growth");
+		}
+		else
+		{
+			fail(testName + " unexpected type: " + type.getSimpleName());
+		}
+	}
+
+	/**
+	 * Test method for {@link Capacity.GrowthPolicy#newCapacity(int, int, int)}.
+	 */
+	@Test
+	@DisplayName("GrowthPolicy.newCapacity(...)")
+	@Order(6)
+	final void testGrowthPolicies()
+	{
+		testName = "GrowthPolicy.newCapacity(...)";
+		System.out.println(testName);
+		assertEquals(20,
+		             Capacity.GrowthPolicy.FIXED.newCapacity(10, 10, 11),
+		             testName + " unexpected fixed growth");
+		assertEquals(40,
+		             Capacity.GrowthPolicy.FIXED.newCapacity(10, 10, 35),
+		             testName + " unexpected fixed growth");
+		assertEquals(1,
+		             Capacity.GrowthPolicy.GEOMETRIC.newCapacity(0, 10, 1),
+		             testName + " unexpected geometric growth");
+		assertEquals(15,
+		             Capacity.GrowthPolicy.GEOMETRIC.newCapacity(10, 10, 11),
+		             testName + " unexpected geometric growth");
+		assertEquals(20,
+		             Capacity.GrowthPolicy.HYBRID.newCapacity(10, 10, 11),
+		             testName + " unexpected hybrid growth");
+		assertEquals(Capacity.HYBRID_THRESHOLD + (Capacity.HYBRID_THRESHOLD / 2),
+		             Capacity.GrowthPolicy.HYBRID.newCapacity(Capacity.HYBRID_THRESHOLD,
+		                                                       10,
+		                                                       Capacity.HYBRID_THRESHOLD + 1),
+		             testName + " unexpected hybrid growth");
+		assertEquals(Capacity.MAX_CAPACITY,
+		             Capacity.GrowthPolicy.GEOMETRIC.newCapacity(Capacity.MAX_CAPACITY - 1,
+		                                                          10,
+		                                                          Capacity.MAX_CAPACITY),
+		             testName + " unexpected bounded growth");
+		assertThrows(OutOfMemoryError.class,
+		             () -> Capacity.GrowthPolicy.GEOMETRIC.newCapacity(Capacity.MAX_CAPACITY,
+		                                                                10,
+		                                                                Integer.MIN_VALUE),
+		             testName + " unexpected growth beyond max capacity");
+	}
+
 	/**
 	 * Test method for {@link Collection#size()}.
 	 * @param type the type of collection to test provided by
@@ -1636,4 +1759,215 @@ public class CollectionTest
 		assertFalse(testCollection.equals(listElements),
 		            testName +  " unexpected equality with different content (-1 elt)");
 	}
+
+	/**
+	 * Test method for {@link Deque} operations at both ends such as
+	 * {@link Deque#addFirst(Object)}, {@link Deque#pollLast()} or
+	 * {@link Deque#descendingIterator()}.
+	 * @param type the type of collection to test provided by
+	 * {@link #dequeClassesProvider()}
+	 */
+	@ParameterizedTest
+	@MethodSource("dequeClassesProvider")
+	@DisplayName("Deque<E> operations")
+	@Order(23)
+	final void testDeque(Class<? extends Collection<String>> type)
+	{
+		String baseTestName = "Deque operations";
+		setUpTest(constructCollection(baseTestName, type, null), baseTestName);
+		assertNotNull(testCollection, testName + " unexpected null collection instance");
+		Deque<String> deque = (Deque<String>) testCollection;
+
+		assertNull(deque.peekFirst(), testName + " unexpected first element on empty deque");
+		assertNull(deque.pollLast(), testName + " unexpected last element on empty deque");
+		assertThrows(NoSuchElementException.class,
+		             () -> deque.removeFirst(),
+		             testName + " removeFirst on empty deque didn't throw");
+		assertThrows(NoSuchElementException.class,
+		             () -> deque.getLast(),
+		             testName + " getLast on empty deque didn't throw");
+
+		/*
+		 * Fill deque from both ends
+		 */
+		LinkedList<String> expected = new LinkedList<>();
+		for (int i = 0; i < elements.length; i++)
+		{
+			if ((i % 2) == 0)
+			{
+				deque.addFirst(elements[i]);
+				expected.addFirst(elements[i]);
+			}
+			else
+			{
+				deque.offerLast(elements[i]);
+				expected.offerLast(elements[i]);
+			}
+			assertEquals(expected.size(), deque.size(), testName + " unexpected size");
+			assertEquals(expected.getFirst(), deque.getFirst(), testName + " unexpected first element");
+			assertEquals(expected.getLast(), deque.getLast(), testName + " unexpected last element");
+		}
+		assertIterableEquals(expected, deque, testName + " unexpected content");
+
+		Iterator<String> descending = deque.descendingIterator();
+		Iterator<String> expectedDescending = expected.descendingIterator();
+		while (expectedDescending.hasNext())
+		{
+			assertTrue(descending.hasNext(), testName + " descending iterator ended too soon");
+			assertEquals(expectedDescending.next(),
+			             descending.next(),
+			             testName + " unexpected descending element");
+		}
+		assertFalse(descending.hasNext(), testName + " descending iterator didn't end");
+
+		/*
+		 * Empty deque from both ends
+		 */
+		while (!expected.isEmpty())
+		{
+			assertEquals(expected.pollLast(), deque.pollLast(), testName + " unexpected polled last element");
+			if (!expected.isEmpty())
+			{
+				assertEquals(expected.pop(), deque.pop(), testName + " unexpected popped element");
+			}
+			assertEquals(expected.size(), deque.size(), testName + " unexpected size");
+		}
+		assertTrue(deque.isEmpty(), testName + " unexpected not empty deque");
+		assertNull(deque.peekLast(), testName + " unexpected last element on emptied deque");
+	}
+
+	/**
+	 * Test method for {@link List} index based operations such as
+	 * {@link List#get(int)}, {@link List#add(int, Object)} or
+	 * {@link List#listIterator(int)}.
+	 * @param type the type of collection to test provided by
+	 * {@link #dequeClassesProvider()}
+	 */
+	@ParameterizedTest
+	@MethodSource("dequeClassesProvider")
+	@DisplayName("List<E> index operations")
+	@Order(24)
+	final void testListIndex(Class<? extends Collection<String>> type)
+	{
+		String baseTestName = "List index operations";
+		setUpTest(constructCollection(baseTestName, type, listElements), baseTestName);
+		assertNotNull(testCollection, testName + " unexpected null filled instance");
+		List<String> list = (List<String>) testCollection;
+
+		for (int i = 0; i < listElements.size(); i++)
+		{
+			assertEquals(listElements.get(i), list.get(i), testName + " unexpected element at " + i);
+		}
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> list.get(list.size()),
+		             testName + " get out of bounds didn't throw");
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> list.add(-1, elements[0]),
+		             testName + " add out of bounds didn't throw");
+
+		int middle = list.size() / 2;
+		list.add(middle, elements3[0]);
+		listElements.add(middle, elements3[0]);
+		assertEquals(listElements.set(0, elements3[1]),
+		             list.set(0, elements3[1]),
+		             testName + " unexpected replaced element");
+		assertEquals(listElements.remove(list.size() - 1),
+		             list.remove(list.size() - 1),
+		             testName + " unexpected removed element");
+		assertIterableEquals(listElements, list, testName + " unexpected content");
+		assertEquals(listElements.indexOf(elements3[0]),
+		             list.indexOf(elements3[0]),
+		             testName + " unexpected index");
+
+		/*
+		 * Backward traversal with list iterator, removing odd indices
+		 */
+		ListIterator<String> it = list.listIterator(list.size());
+		ListIterator<String> expectedIt = listElements.listIterator(listElements.size());
+		while (expectedIt.hasPrevious())
+		{
+			assertEquals(expectedIt.previousIndex(), it.previousIndex(), testName + " unexpected index");
+			assertEquals(expectedIt.previous(), it.previous(), testName + " unexpected previous element");
+			if ((it.nextIndex() % 2) == 1)
+			{
+				it.remove();
+				expectedIt.remove();
+			}
+		}
+		assertFalse(it.hasPrevious(), testName + " unexpected previous element");
+		assertIterableEquals(listElements, list, testName + " unexpected content after removals");
+		assertEquals(listElements.size(), list.size(), testName + " unexpected size after removals");
+	}
+
+	/**
+	 * Test method for {@link ListDeque#reversed()} view of collections which
+	 * are both a {@link List} and a {@link Deque} (whose {@code reversed()}
+	 * methods conflict since Java 21).
+	 * @param type the type of collection to test provided by
+	 * {@link #listDequeClassesProvider()}
+	 */
+	@ParameterizedTest
+	@MethodSource("listDequeClassesProvider")
+	@DisplayName("reversed() List and Deque view")
+	@Order(25)
+	final void testReversed(Class<? extends Collection<String>> type)
+	{
+		String baseTestName = "reversed()";
+		setUpTest(constructCollection(baseTestName, type, listElements), baseTestName);
+		assertNotNull(testCollection, testName + " unexpected null filled instance");
+		try
+		{
+			Class<?> viewType = type.getMethod("reversed").getReturnType();
+			assertTrue(List.class.isAssignableFrom(viewType) && Deque.class.isAssignableFrom(viewType),
+			           testName + " reversed() doesn't return both a List and a Deque");
+		}
+		catch (NoSuchMethodException e)
+		{
+			fail(testName + " no reversed() method");
+		}
+		ListDeque<String> list = (ListDeque<String>) testCollection;
+		ListDeque<String> reversed = list.reversed();
+		assertSame(list, reversed.reversed(), testName + " unexpected reversed reversed view");
+
+		List<String> expected = new ArrayList<>(listElements);
+		Collections.reverse(expected);
+		assertEquals(expected.size(), reversed.size(), testName + " unexpected view size");
+		assertIterableEquals(expected, reversed, testName + " unexpected view content");
+		assertEquals(list.getLast(), reversed.getFirst(), testName + " unexpected view first element");
+		assertEquals(list.get(0), reversed.get(reversed.size() - 1), testName + " unexpected view last element");
+
+		/*
+		 * Changes through the view are written through to the collection
+		 */
+		reversed.addFirst(elements3[0]);
+		assertEquals(elements3[0], list.getLast(), testName + " view addFirst not written through");
+		reversed.add(elements3[1]);
+		assertEquals(elements3[1], list.getFirst(), testName + " view add not written through");
+		assertEquals(elements3[0], reversed.pollFirst(), testName + " unexpected view polled element");
+		assertEquals(elements3[1], reversed.removeLast(), testName + " unexpected view removed element");
+		assertIterableEquals(listElements, list, testName + " unexpected content after view changes");
+
+		ListIterator<String> it = reversed.listIterator(1);
+		ListIterator<String> expectedIt = expected.listIterator(1);
+		assertEquals(expectedIt.next(), it.next(), testName + " unexpected view next element");
+		it.add(elements3[2]);
+		expectedIt.add(elements3[2]);
+		assertEquals(expectedIt.nextIndex(), it.nextIndex(), testName + " unexpected view index after add");
+		assertThrows(IllegalStateException.class,
+		             () -> it.remove(),
+		             testName + " view remove after add didn't throw");
+		assertEquals(expectedIt.previous(), it.previous(), testName + " unexpected view previous element");
+		it.remove();
+		expectedIt.remove();
+		assertIterableEquals(expected, reversed, testName + " unexpected view content after iterator changes");
+		Collections.reverse(expected);
+		assertIterableEquals(expected, list, testName + " unexpected content after view iterator changes");
+
+		/*
+		 * Changes to the collection are visible in the view
+		 */
+		list.clear();
+		assertTrue(reversed.isEmpty(), testName + " unexpected not empty view");
+		assertNull(reversed.peekFirst(), testName + " unexpected first element in empty view");
+	}
 }
@@ -0,0 +1,1087 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import collections.MyDoubleArrayCollection;
+import collections.MyIntArrayCollection;
+import collections.MyLongArrayCollection;
+import collections.utils.Capacity;
+import collections.utils.Capacity.GrowthPolicy;
+
+/**
+ * Test class for primitive collections such as {@link MyIntArrayCollection},
+ * {@link MyLongArrayCollection} and {@link MyDoubleArrayCollection}.
+ * These collections share no common primitive interface, so each one is
+ * accessed through a {@link Primitives} adapter exchanging values as doubles
+ * (holding integral values for int and long collections).
+ * @author davidroussel
+ */
+@TestMethodOrder(OrderAnnotation.class)
+@DisplayName("Primitive collections")
+public class PrimitiveCollectionTest
+{
+	/**
+	 * Values to fill collections with
+	 */
+	private static final double[] values = new double[] {3, -1, 4, 1, -5, 9, 2, 6, 5, 3, 5, 8};
+
+	/**
+	 * Different natures of primitive collections to test
+	 */
+	@SuppressWarnings("unchecked")
+	private static final Class<? extends Capacity<?>>[] collectionTypes =
+		(Class<? extends Capacity<?>>[]) new Class<?>[] {
+			MyIntArrayCollection.class,
+			MyLongArrayCollection.class,
+			MyDoubleArrayCollection.class
+		};
+
+	/**
+	 * Primitive collections class provider used for parameterized tests
+	 * requiring the type of collection
+	 * @return a stream of primitive collections classes to use in each
+	 * ParameterizedTest
+	 */
+	private static Stream<Class<? extends Capacity<?>>> collectionClassesProvider()
+	{
+		return Stream.of(collectionTypes);
+	}
+
+	/**
+	 * Uniform access to a primitive collection, values being exchanged as
+	 * doubles
+	 */
+	private static abstract class Primitives
+	{
+		/**
+		 * The collection under test
+		 * @return the collection under test
+		 */
+		public abstract Capacity<?> collection();
+
+		public abstract void setGrowthPolicy(GrowthPolicy policy);
+
+		public abstract boolean add(double value);
+
+		public abstract boolean addAll(double[] values, int offset, int length);
+
+		/**
+		 * Adds all values of the collection to itself
+		 * @return true if the collection changed
+		 */
+		public abstract boolean addAllSelf();
+
+		public abstract double get(int index);
+
+		public abstract double set(int index, double value);
+
+		public abstract int indexOf(double value);
+
+		public abstract boolean contains(double value);
+
+		public abstract double removeAt(int index);
+
+		public abstract boolean removeValue(double value);
+
+		public abstract boolean removeIf(DoublePredicate filter);
+
+		public abstract void clear();
+
+		public abstract int size();
+
+		public abstract boolean isEmpty();
+
+		public abstract double[] toArray();
+
+		/**
+		 * Exports values into a primitive array of dest's length, then copies
+		 * this array into dest
+		 * @param dest the array to fill
+		 * @return true if values were exported into the provided primitive
+		 * array rather than into a new one
+		 */
+		public abstract boolean toArray(double[] dest);
+
+		public abstract double sum();
+
+		public abstract long count(DoublePredicate filter);
+
+		public abstract Iterator<?> iterator();
+
+		/**
+		 * Primitive next value of an iterator provided by {@link #iterator()}
+		 * @param it the iterator
+		 * @return the next primitive value
+		 */
+		public abstract double next(Iterator<?> it);
+
+		public abstract Collection<?> boxed();
+
+		/**
+		 * Values provided by {@link Iterable#forEach(Consumer)} to a consumer
+		 * which is also a primitive consumer (and fails on boxed values)
+		 * @return the values received by the primitive consumer
+		 */
+		public abstract double[] forEachPrimitive();
+
+		/**
+		 * Values provided by {@link Iterable#forEach(Consumer)} to a boxed
+		 * consumer
+		 * @return the values received by the boxed consumer
+		 */
+		public abstract List<Number> forEachBoxed();
+
+		public abstract Spliterator<? extends Number> spliterator();
+
+		/**
+		 * Boxes a value the way the collection does
+		 * @param value the value to box
+		 * @return the boxed value
+		 */
+		public abstract Number box(double value);
+	}
+
+	/**
+	 * {@link Primitives} of a {@link MyIntArrayCollection}
+	 */
+	private static class IntPrimitives extends Primitives
+	{
+		private final MyIntArrayCollection col;
+
+		public IntPrimitives(MyIntArrayCollection col)
+		{
+			this.col = col;
+		}
+
+		private static int[] unbox(double[] values)
+		{
+			int[] result = new int[values.length];
+			for (int i = 0; i < values.length; i++)
+			{
+				result[i] = (int) values[i];
+			}
+			return result;
+		}
+
+		@Override
+		public Capacity<?> collection()
+		{
+			return col;
+		}
+
+		@Override
+		public void setGrowthPolicy(GrowthPolicy policy)
+		{
+			col.setGrowthPolicy(policy);
+		}
+
+		@Override
+		public boolean add(double value)
+		{
+			return col.add((int) value);
+		}
+
+		@Override
+		public boolean addAll(double[] values, int offset, int length)
+		{
+			return col.addAll(unbox(values), offset, length);
+		}
+
+		@Override
+		public boolean addAllSelf()
+		{
+			return col.addAll(col);
+		}
+
+		@Override
+		public double get(int index)
+		{
+			return col.get(index);
+		}
+
+		@Override
+		public double set(int index, double value)
+		{
+			return col.set(index, (int) value);
+		}
+
+		@Override
+		public int indexOf(double value)
+		{
+			return col.indexOf((int) value);
+		}
+
+		@Override
+		public boolean contains(double value)
+		{
+			return col.contains((int) value);
+		}
+
+		@Override
+		public double removeAt(int index)
+		{
+			return col.removeAt(index);
+		}
+
+		@Override
+		public boolean removeValue(double value)
+		{
+			return col.removeValue((int) value);
+		}
+
+		@Override
+		public boolean removeIf(DoublePredicate filter)
+		{
+			return col.removeIf(filter::test);
+		}
+
+		@Override
+		public void clear()
+		{
+			col.clear();
+		}
+
+		@Override
+		public int size()
+		{
+			return col.size();
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			return col.isEmpty();
+		}
+
+		@Override
+		public double[] toArray()
+		{
+			return col.stream().asDoubleStream().toArray();
+		}
+
+		@Override
+		public boolean toArray(double[] dest)
+		{
+			int[] array = new int[dest.length];
+			boolean same = col.toArray(array) == array;
+			for (int i = 0; i < dest.length; i++)
+			{
+				dest[i] = array[i];
+			}
+			return same;
+		}
+
+		@Override
+		public double sum()
+		{
+			return col.stream().sum();
+		}
+
+		@Override
+		public long count(DoublePredicate filter)
+		{
+			return col.stream().filter(filter::test).count();
+		}
+
+		@Override
+		public Iterator<?> iterator()
+		{
+			return col.iterator();
+		}
+
+		@Override
+		public double next(Iterator<?> it)
+		{
+			return ((PrimitiveIterator.OfInt) it).nextInt();
+		}
+
+		@Override
+		public Collection<?> boxed()
+		{
+			return col.boxed();
+		}
+
+		@Override
+		public double[] forEachPrimitive()
+		{
+			DoubleStream.Builder builder = DoubleStream.builder();
+			//overloads of accept and andThen are inherent to consumers of both kinds
+			@SuppressWarnings("overloads")
+			class Recorder implements Consumer<Integer>, IntConsumer
+			{
+				@Override
+				public void accept(int value)
+				{
+					builder.add(value);
+				}
+
+				@Override
+				public void accept(Integer value)
+				{
+					fail("unexpected boxed value " + value);
+				}
+			}
+			col.forEach(new Recorder());
+			return builder.build().toArray();
+		}
+
+		@Override
+		public List<Number> forEachBoxed()
+		{
+			List<Number> result = new ArrayList<>();
+			col.forEach(result::add);
+			return result;
+		}
+
+		@Override
+		public Spliterator<? extends Number> spliterator()
+		{
+			return col.spliterator();
+		}
+
+		@Override
+		public Number box(double value)
+		{
+			return Integer.valueOf((int) value);
+		}
+	}
+
+	/**
+	 * {@link Primitives} of a {@link MyLongArrayCollection}
+	 */
+	private static class LongPrimitives extends Primitives
+	{
+		private final MyLongArrayCollection col;
+
+		public LongPrimitives(MyLongArrayCollection col)
+		{
+			this.col = col;
+		}
+
+		private static long[] unbox(double[] values)
+		{
+			long[] result = new long[values.length];
+			for (int i = 0; i < values.length; i++)
+			{
+				result[i] = (long) values[i];
+			}
+			return result;
+		}
+
+		@Override
+		public Capacity<?> collection()
+		{
+			return col;
+		}
+
+		@Override
+		public void setGrowthPolicy(GrowthPolicy policy)
+		{
+			col.setGrowthPolicy(policy);
+		}
+
+		@Override
+		public boolean add(double value)
+		{
+			return col.add((long) value);
+		}
+
+		@Override
+		public boolean addAll(double[] values, int offset, int length)
+		{
+			return col.addAll(unbox(values), offset, length);
+		}
+
+		@Override
+		public boolean addAllSelf()
+		{
+			return col.addAll(col);
+		}
+
+		@Override
+		public double get(int index)
+		{
+			return col.get(index);
+		}
+
+		@Override
+		public double set(int index, double value)
+		{
+			return col.set(index, (long) value);
+		}
+
+		@Override
+		public int indexOf(double value)
+		{
+			return col.indexOf((long) value);
+		}
+
+		@Override
+		public boolean contains(double value)
+		{
+			return col.contains((long) value);
+		}
+
+		@Override
+		public double removeAt(int index)
+		{
+			return col.removeAt(index);
+		}
+
+		@Override
+		public boolean removeValue(double value)
+		{
+			return col.removeValue((long) value);
+		}
+
+		@Override
+		public boolean removeIf(DoublePredicate filter)
+		{
+			return col.removeIf(filter::test);
+		}
+
+		@Override
+		public void clear()
+		{
+			col.clear();
+		}
+
+		@Override
+		public int size()
+		{
+			return col.size();
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			return col.isEmpty();
+		}
+
+		@Override
+		public double[] toArray()
+		{
+			return col.stream().asDoubleStream().toArray();
+		}
+
+		@Override
+		public boolean toArray(double[] dest)
+		{
+			long[] array = new long[dest.length];
+			boolean same = col.toArray(array) == array;
+			for (int i = 0; i < dest.length; i++)
+			{
+				dest[i] = array[i];
+			}
+			return same;
+		}
+
+		@Override
+		public double sum()
+		{
+			return col.stream().sum();
+		}
+
+		@Override
+		public long count(DoublePredicate filter)
+		{
+			return col.stream().filter(filter::test).count();
+		}
+
+		@Override
+		public Iterator<?> iterator()
+		{
+			return col.iterator();
+		}
+
+		@Override
+		public double next(Iterator<?> it)
+		{
+			return ((PrimitiveIterator.OfLong) it).nextLong();
+		}
+
+		@Override
+		public Collection<?> boxed()
+		{
+			return col.boxed();
+		}
+
+		@Override
+		public double[] forEachPrimitive()
+		{
+			DoubleStream.Builder builder = DoubleStream.builder();
+			//overloads of accept and andThen are inherent to consumers of both kinds
+			@SuppressWarnings("overloads")
+			class Recorder implements Consumer<Long>, LongConsumer
+			{
+				@Override
+				public void accept(long value)
+				{
+					builder.add(value);
+				}
+
+				@Override
+				public void accept(Long value)
+				{
+					fail("unexpected boxed value " + value);
+				}
+			}
+			col.forEach(new Recorder());
+			return builder.build().toArray();
+		}
+
+		@Override
+		public List<Number> forEachBoxed()
+		{
+			List<Number> result = new ArrayList<>();
+			col.forEach(result::add);
+			return result;
+		}
+
+		@Override
+		public Spliterator<? extends Number> spliterator()
+		{
+			return col.spliterator();
+		}
+
+		@Override
+		public Number box(double value)
+		{
+			return Long.valueOf((long) value);
+		}
+	}
+
+	/**
+	 * {@link Primitives} of a {@link MyDoubleArrayCollection}
+	 */
+	private static class DoublePrimitives extends Primitives
+	{
+		private final MyDoubleArrayCollection col;
+
+		public DoublePrimitives(MyDoubleArrayCollection col)
+		{
+			this.col = col;
+		}
+
+		@Override
+		public Capacity<?> collection()
+		{
+			return col;
+		}
+
+		@Override
+		public void setGrowthPolicy(GrowthPolicy policy)
+		{
+			col.setGrowthPolicy(policy);
+		}
+
+		@Override
+		public boolean add(double value)
+		{
+			return col.add(value);
+		}
+
+		@Override
+		public boolean addAll(double[] values, int offset, int length)
+		{
+			return col.addAll(values, offset, length);
+		}
+
+		@Override
+		public boolean addAllSelf()
+		{
+			return col.addAll(col);
+		}
+
+		@Override
+		public double get(int index)
+		{
+			return col.get(index);
+		}
+
+		@Override
+		public double set(int index, double value)
+		{
+			return col.set(index, value);
+		}
+
+		@Override
+		public int indexOf(double value)
+		{
+			return col.indexOf(value);
+		}
+
+		@Override
+		public boolean contains(double value)
+		{
+			return col.contains(value);
+		}
+
+		@Override
+		public double removeAt(int index)
+		{
+			return col.removeAt(index);
+		}
+
+		@Override
+		public boolean removeValue(double value)
+		{
+			return col.removeValue(value);
+		}
+
+		@Override
+		public boolean removeIf(DoublePredicate filter)
+		{
+			return col.removeIf(filter);
+		}
+
+		@Override
+		public void clear()
+		{
+			col.clear();
+		}
+
+		@Override
+		public int size()
+		{
+			return col.size();
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			return col.isEmpty();
+		}
+
+		@Override
+		public double[] toArray()
+		{
+			return col.toArray();
+		}
+
+		@Override
+		public boolean toArray(double[] dest)
+		{
+			return col.toArray(dest) == dest;
+		}
+
+		@Override
+		public double sum()
+		{
+			return col.stream().sum();
+		}
+
+		@Override
+		public long count(DoublePredicate filter)
+		{
+			return col.stream().filter(filter).count();
+		}
+
+		@Override
+		public Iterator<?> iterator()
+		{
+			return col.iterator();
+		}
+
+		@Override
+		public double next(Iterator<?> it)
+		{
+			return ((PrimitiveIterator.OfDouble) it).nextDouble();
+		}
+
+		@Override
+		public Collection<?> boxed()
+		{
+			return col.boxed();
+		}
+
+		@Override
+		public double[] forEachPrimitive()
+		{
+			DoubleStream.Builder builder = DoubleStream.builder();
+			//overloads of accept and andThen are inherent to consumers of both kinds
+			@SuppressWarnings("overloads")
+			class Recorder implements Consumer<Double>, DoubleConsumer
+			{
+				@Override
+				public void accept(double value)
+				{
+					builder.add(value);
+				}
+
+				@Override
+				public void accept(Double value)
+				{
+					fail("unexpected boxed value " + value);
+				}
+			}
+			col.forEach(new Recorder());
+			return builder.build().toArray();
+		}
+
+		@Override
+		public List<Number> forEachBoxed()
+		{
+			List<Number> result = new ArrayList<>();
+			col.forEach(result::add);
+			return result;
+		}
+
+		@Override
+		public Spliterator<? extends Number> spliterator()
+		{
+			return col.spliterator();
+		}
+
+		@Override
+		public Number box(double value)
+		{
+			return Double.valueOf(value);
+		}
+	}
+
+	/**
+	 * Creates an empty primitive collection
+	 * @param type the type of collection to create
+	 * @param capacity the initial capacity (or -1 for the default
+	 * constructor)
+	 * @param policy the growth policy (or null for the default policy)
+	 * @return the new collection's {@link Primitives}
+	 * @throws IllegalArgumentException if capacity is invalid
+	 */
+	private static Primitives newCollection(Class<? extends Capacity<?>> type,
+	                                        int capacity,
+	                                        GrowthPolicy policy)
+	    throws IllegalArgumentException
+	{
+		boolean byDefault = (capacity == -1) && (policy == null);
+		if (type == MyIntArrayCollection.class)
+		{
+			return new IntPrimitives(byDefault ? new MyIntArrayCollection() :
+			    policy == null ? new MyIntArrayCollection(capacity) :
+			    new MyIntArrayCollection(capacity, policy));
+		}
+		if (type == MyLongArrayCollection.class)
+		{
+			return new LongPrimitives(byDefault ? new MyLongArrayCollection() :
+			    policy == null ? new MyLongArrayCollection(capacity) :
+			    new MyLongArrayCollection(capacity, policy));
+		}
+		return new DoublePrimitives(byDefault ? new MyDoubleArrayCollection() :
+		    policy == null ? new MyDoubleArrayCollection(capacity) :
+		    new MyDoubleArrayCollection(capacity, policy));
+	}
+
+	/**
+	 * Creates a primitive collection filled with values
+	 * @param type the type of collection to create
+	 * @param values the values to fill the collection with
+	 * @return the new collection's {@link Primitives}
+	 */
+	private static Primitives newCollection(Class<? extends Capacity<?>> type,
+	                                        double[] values)
+	{
+		if (type == MyIntArrayCollection.class)
+		{
+			return new IntPrimitives(new MyIntArrayCollection(IntPrimitives.unbox(values)));
+		}
+		if (type == MyLongArrayCollection.class)
+		{
+			return new LongPrimitives(new MyLongArrayCollection(LongPrimitives.unbox(values)));
+		}
+		return new DoublePrimitives(new MyDoubleArrayCollection(values));
+	}
+
+	/**
+	 * Test method for {@link Capacity} contract of primitive collections.
+	 * @param type the type of collection to test
+	 */
+	@ParameterizedTest
+	@MethodSource("collectionClassesProvider")
+	@DisplayName("Capacity")
+	@Order(1)
+	final void testCapacity(Class<? extends Capacity<?>> type)
+	{
+		String testName = type.getSimpleName() + " Capacity";
+		System.out.println(testName);
+		Primitives col = newCollection(type, -1, null);
+		Capacity<?> capacity = col.collection();
+		assertEquals(Capacity.DEFAULT_CAPACITY,
+		             capacity.getCapacity(),
+		             testName + " unexpected initial capacity");
+		assertEquals(GrowthPolicy.GEOMETRIC,
+		             capacity.getGrowthPolicy(),
+		             testName + " unexpected default growth policy");
+		for (int i = 0; i < 1000; i++)
+		{
+			col.add(i);
+			assertTrue(capacity.getCapacity() >= col.size(),
+			           testName + " unexpected capacity lower than size");
+		}
+		capacity.trimToSize();
+		assertEquals(1000, capacity.getCapacity(), testName + " unexpected capacity after trimToSize");
+		capacity.ensureCapacity(2000);
+		assertEquals(2000, capacity.getCapacity(), testName + " unexpected capacity after ensureCapacity");
+		assertThrows(IllegalArgumentException.class,
+		             () -> newCollection(type, -2, null),
+		             testName + " negative capacity didn't throw");
+		assertThrows(IllegalArgumentException.class,
+		             () -> col.setGrowthPolicy(null),
+		             testName + " null growth policy didn't throw");
+
+		Primitives fixed = newCollection(type, Capacity.DEFAULT_CAPACITY, GrowthPolicy.FIXED);
+		for (int i = 0; i <= Capacity.DEFAULT_CAPACITY; i++)
+		{
+			fixed.add(i);
+		}
+		assertEquals(Capacity.DEFAULT_CAPACITY + Capacity.DEFAULT_CAPACITY_INCREMENT,
+		             fixed.collection().getCapacity(),
+		             testName + " unexpected fixed growth");
+	}
+
+	/**
+	 * Test method for primitive element access such as
+	 * {@link MyIntArrayCollection#add(int)}, {@link MyIntArrayCollection#get(int)}
+	 * or {@link MyIntArrayCollection#removeIf(java.util.function.IntPredicate)}.
+	 * @param type the type of collection to test
+	 */
+	@ParameterizedTest
+	@MethodSource("collectionClassesProvider")
+	@DisplayName("add / get / set / remove")
+	@Order(2)
+	final void testElements(Class<? extends Capacity<?>> type)
+	{
+		String testName = type.getSimpleName() + " elements";
+		System.out.println(testName);
+		Primitives col = newCollection(type, values);
+		assertEquals(values.length, col.size(), testName + " unexpected size");
+		for (int i = 0; i < values.length; i++)
+		{
+			assertEquals(values[i], col.get(i), testName + " unexpected value at " + i);
+		}
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> col.get(values.length),
+		             testName + " get out of bounds didn't throw");
+		assertEquals(values[0], col.set(0, 7), testName + " unexpected replaced value");
+		assertEquals(7, col.get(0), testName + " unexpected value after set");
+		assertTrue(col.contains(9), testName + " unexpected missing value");
+		assertEquals(5, col.indexOf(9), testName + " unexpected index");
+		assertEquals(9, col.removeAt(5), testName + " unexpected removed value");
+		assertFalse(col.contains(9), testName + " unexpected removed value still present");
+		assertTrue(col.removeValue(5), testName + " unexpected value not removed");
+		assertTrue(col.removeIf(v -> v < 0), testName + " unexpected negative values not removed");
+		assertArrayEquals(new double[] {7, 4, 1, 2, 6, 3, 5, 8},
+		                  col.toArray(),
+		                  testName + " unexpected content after removals");
+
+		Iterator<?> it = col.iterator();
+		assertThrows(IllegalStateException.class,
+		             () -> it.remove(),
+		             testName + " remove before next didn't throw");
+		while (it.hasNext())
+		{
+			if ((col.next(it) % 2) == 0)
+			{
+				it.remove();
+			}
+		}
+		assertThrows(NoSuchElementException.class,
+		             () -> col.next(it),
+		             testName + " next after end didn't throw");
+		assertArrayEquals(new double[] {7, 1, 3, 5},
+		                  col.toArray(),
+		                  testName + " unexpected content after iterator removals");
+		col.clear();
+		assertTrue(col.isEmpty(), testName + " unexpected not empty collection");
+	}
+
+	/**
+	 * Test method for bulk import / export such as
+	 * {@link MyIntArrayCollection#addAll(int[], int, int)},
+	 * {@link MyIntArrayCollection#toArray(int[])} and
+	 * {@link MyIntArrayCollection#stream()}.
+	 * @param type the type of collection to test
+	 */
+	@ParameterizedTest
+	@MethodSource("collectionClassesProvider")
+	@DisplayName("bulk operations and streams")
+	@Order(3)
+	final void testBulk(Class<? extends Capacity<?>> type)
+	{
+		String testName = type.getSimpleName() + " bulk";
+		System.out.println(testName);
+		Primitives col = newCollection(type, 0, null);
+		assertFalse(col.addAll(new double[0], 0, 0), testName + " unexpected change");
+		assertTrue(col.addAll(values, 2, 4), testName + " unexpected no change");
+		assertArrayEquals(new double[] {4, 1, -5, 9}, col.toArray(), testName + " unexpected content");
+		assertThrows(IndexOutOfBoundsException.class,
+		             () -> col.addAll(values, values.length - 1, 2),
+		             testName + " out of bounds import didn't throw");
+		col.addAllSelf();
+		assertEquals(8, col.size(), testName + " unexpected size after self import");
+		double[] dest = new double[10];
+		assertTrue(col.toArray(dest), testName + " unexpected new array");
+		assertArrayEquals(new double[] {4, 1, -5, 9, 4, 1, -5, 9, 0, 0},
+		                  dest,
+		                  testName + " unexpected exported content");
+		assertFalse(col.toArray(new double[4]), testName + " unexpected too small array");
+		assertEquals(18, col.sum(), testName + " unexpected stream sum");
+		assertEquals(2, col.count(v -> v < 0), testName + " unexpected stream count");
+	}
+
+	/**
+	 * Test method for {@link MyIntArrayCollection#boxed()} view.
+	 * @param type the type of collection to test
+	 */
+	@ParameterizedTest
+	@MethodSource("collectionClassesProvider")
+	@DisplayName("boxed() Collection view")
+	@Order(4)
+	final void testBoxed(Class<? extends Capacity<?>> type)
+	{
+		String testName = type.getSimpleName() + " boxed";
+		System.out.println(testName);
+		Primitives col = newCollection(type, values);
+		@SuppressWarnings("unchecked")
+		Collection<Number> view = (Collection<Number>) col.boxed();
+		List<Number> expected = new ArrayList<>();
+		for (double value : values)
+		{
+			expected.add(col.box(value));
+		}
+		assertEquals(expected.size(), view.size(), testName + " unexpected view size");
+		assertIterableEquals(expected, view, testName + " unexpected view content");
+		assertEquals(expected.hashCode(), col.collection().hashCode(), testName + " unexpected hash code");
+		assertEquals(expected.toString(), col.collection().toString(), testName + " unexpected string");
+
+		assertTrue(view.add(col.box(42)), testName + " unexpected view add failure");
+		assertEquals(42, col.get(values.length), testName + " view add not written through");
+		assertTrue(view.contains(col.box(42)), testName + " unexpected missing value in view");
+		assertFalse(view.contains("42"), testName + " unexpected contained string");
+		assertThrows(NullPointerException.class,
+		             () -> view.add(null),
+		             testName + " null element didn't throw");
+		assertTrue(view.removeAll(List.of(col.box(3), col.box(5))), testName + " unexpected no removal");
+		assertFalse(col.contains(3) || col.contains(5), testName + " view removal not written through");
+		view.clear();
+		assertTrue(col.isEmpty(), testName + " view clear not written through");
+	}
+
+	/**
+	 * Test method for {@link MyIntArrayCollection#forEach(Consumer)} and
+	 * {@link MyIntArrayCollection#spliterator()}.
+	 * @param type the type of collection to test
+	 */
+	@ParameterizedTest
+	@MethodSource("collectionClassesProvider")
+	@DisplayName("forEach(Consumer) and spliterator()")
+	@Order(5)
+	final void testForEachAndSpliterator(Class<? extends Capacity<?>> type)
+	{
+		String testName = type.getSimpleName() + " forEach / spliterator";
+		System.out.println(testName);
+		Primitives col = newCollection(type, values);
+		assertArrayEquals(values,
+		                  col.forEachPrimitive(),
+		                  testName + " unexpected values from primitive consumer");
+		List<Number> expected = new ArrayList<>();
+		for (double value : values)
+		{
+			expected.add(col.box(value));
+		}
+		assertIterableEquals(expected,
+		                     col.forEachBoxed(),
+		                     testName + " unexpected values from boxed consumer");
+
+		Spliterator<? extends Number> spliterator = col.spliterator();
+		assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED),
+		           testName + " unexpected unordered spliterator");
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED),
+		           testName + " unexpected unsized spliterator");
+		assertEquals(values.length,
+		             spliterator.getExactSizeIfKnown(),
+		             testName + " unexpected spliterator size");
+		assertArrayEquals(values,
+		                  StreamSupport.stream(spliterator, false).mapToDouble(Number::doubleValue).toArray(),
+		                  testName + " unexpected spliterator values");
+		spliterator = col.spliterator();
+		Spliterator<? extends Number> prefix = spliterator.trySplit();
+		assertEquals(values.length,
+		             prefix.estimateSize() + spliterator.estimateSize(),
+		             testName + " unexpected split sizes");
+		assertEquals(col.sum(),
+		             StreamSupport.stream(col.spliterator(), true).mapToDouble(Number::doubleValue).sum(),
+		             testName + " unexpected parallel sum");
+	}
+
+	/**
+	 * Test method for long values beyond double precision and long streams
+	 * overflow.
+	 */
+	@Test
+	@DisplayName("long values")
+	@Order(6)
+	final void testLongValues()
+	{
+		String testName = "MyLongArrayCollection values";
+		System.out.println(testName);
+		MyLongArrayCollection col = new MyLongArrayCollection(new long[] {Long.MAX_VALUE, 1L});
+		assertEquals(Long.MAX_VALUE, col.get(0), testName + " unexpected value");
+		assertTrue(col.contains(Long.MAX_VALUE), testName + " unexpected missing value");
+		assertFalse(col.contains(Long.MAX_VALUE - 1), testName + " unexpected contained value");
+		assertEquals(Long.MIN_VALUE, col.stream().sum(), testName + " unexpected long stream sum");
+	}
+
+	/**
+	 * Test method for double values equality (consistent with
+	 * {@link Double#equals(Object)}).
+	 */
+	@Test
+	@DisplayName("double equality")
+	@Order(7)
+	final void testDoubleEquality()
+	{
+		String testName = "MyDoubleArrayCollection equality";
+		System.out.println(testName);
+		MyDoubleArrayCollection col = new MyDoubleArrayCollection(new double[] {Double.NaN, 0.0});
+		assertTrue(col.contains(Double.NaN), testName + " unexpected missing NaN");
+		assertFalse(col.contains(-0.0), testName + " unexpected contained -0.0");
+		assertTrue(col.boxed().contains(Double.valueOf(0.0)), testName + " unexpected missing 0.0");
+		assertEquals(new MyDoubleArrayCollection(new double[] {Double.NaN, 0.0}),
+		             col,
+		             testName + " unexpected inequality");
+		assertEquals(List.of(Double.NaN, 0.0).hashCode(),
+		             col.hashCode(),
+		             testName + " unexpected hash code");
+	}
+}